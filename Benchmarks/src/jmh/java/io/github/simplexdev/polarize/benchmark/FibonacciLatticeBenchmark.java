@@ -0,0 +1,49 @@
+package io.github.simplexdev.polarize.benchmark;
+
+import io.github.simplexdev.polarize.api.spatial.IPoint3D;
+import io.github.simplexdev.polarize.api.units.Point;
+import io.github.simplexdev.polarize.cartesian.PointBuffer;
+import io.github.simplexdev.polarize.math.function.FibonacciLattice;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares generating a Fibonacci lattice into a set of points with generating it into a {@link PointBuffer}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FibonacciLatticeBenchmark {
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    private IPoint3D origin;
+    private PointBuffer out;
+
+    @Setup
+    public void setUp() {
+        origin = Point.fromDouble(0.0, 64.0, 0.0);
+        out = new PointBuffer(size + 1);
+    }
+
+    @Benchmark
+    public Set<IPoint3D> populateSet() {
+        return FibonacciLattice.populate(origin, size, 1.0);
+    }
+
+    @Benchmark
+    public PointBuffer populateBuffer() {
+        out.clear();
+        FibonacciLattice.populate(0.0, 64.0, 0.0, size, 1.0, out);
+        return out;
+    }
+}
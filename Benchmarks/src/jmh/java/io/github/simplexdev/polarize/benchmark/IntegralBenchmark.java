@@ -0,0 +1,51 @@
+package io.github.simplexdev.polarize.benchmark;
+
+import io.github.simplexdev.polarize.api.spatial.IPoint3D;
+import io.github.simplexdev.polarize.api.units.Point;
+import io.github.simplexdev.polarize.math.function.Integral;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the boxed, primitive and parallel trapezoidal integrals over a box.
+ * The sizes are chosen so that {@code (subIntervals + 1)^3} is about 1k, 100k and 1M evaluations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class IntegralBenchmark {
+    @Param({"9", "46", "99"})
+    public int subIntervals;
+
+    private IPoint3D origin;
+    private IPoint3D destination;
+
+    @Setup
+    public void setUp() {
+        origin = Point.fromDouble(-1.0, 0.0, -1.0);
+        destination = Point.fromDouble(1.0, 2.0, 1.0);
+    }
+
+    @Benchmark
+    public double integrateBoxed() {
+        return Integral.integrate(origin, destination, subIntervals, (x, y, z) -> x * x + y * z);
+    }
+
+    @Benchmark
+    public double integratePrimitive() {
+        return Integral.integrate(-1.0, 0.0, -1.0, 1.0, 2.0, 1.0, subIntervals, (x, y, z) -> x * x + y * z);
+    }
+
+    @Benchmark
+    public double integrateParallel() {
+        return Integral.integrateParallel(origin, destination, subIntervals, (x, y, z) -> x * x + y * z);
+    }
+}
@@ -0,0 +1,102 @@
+package io.github.simplexdev.polarize.benchmark;
+
+import io.github.simplexdev.polarize.api.spatial.IScalar;
+import io.github.simplexdev.polarize.api.spatial.IVector;
+import io.github.simplexdev.polarize.cartesian.CartesianUnit;
+import io.github.simplexdev.polarize.cartesian.CartesianVector;
+import io.github.simplexdev.polarize.cartesian.PointBuffer;
+import io.github.simplexdev.polarize.math.BinaryAngle;
+import io.github.simplexdev.polarize.polar.PolarUnit;
+import io.github.simplexdev.polarize.polar.Scalar;
+import io.github.simplexdev.polarize.polar.SphericalUnit;
+import io.github.simplexdev.polarize.util.Interpolator;
+import io.github.simplexdev.polarize.util.Polarizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares sweeping a circle with a radian angle that is wrapped with a modulo and converted one
+ * unit at a time, against {@link Interpolator#sweep} with a {@link BinaryAngle}.
+ * <p>
+ * The set-based generators {@link Interpolator#polarSet360}, {@link Interpolator#cartesian360} and
+ * {@link Interpolator#sphericalUnit360} are measured as well. They step an integer angle, so a single
+ * call returns at most seven units per axis whatever the step. Each of these benchmarks therefore calls
+ * the generator repeatedly until it has produced {@code size} units, which keeps the results
+ * comparable with the sweeps.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class InterpolatorBenchmark {
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    private double step;
+    private BinaryAngle binaryStep;
+    private PointBuffer out;
+    private IScalar scalar;
+    private IVector vector;
+
+    @Setup
+    public void setUp() {
+        step = 2.0 * Math.PI * 7.0 / size;
+        binaryStep = BinaryAngle.fromRadians(step);
+        out = new PointBuffer(size);
+        scalar = new Scalar(4.0, 0.0);
+        vector = new CartesianVector(1.0, 2.0, 3.0);
+    }
+
+    @Benchmark
+    public void sweepRadians(Blackhole blackhole) {
+        double angle = 0.0;
+        for (int i = 0; i < size; i++) {
+            CartesianUnit unit = Polarizer.toCartesianUnit(4.0, angle);
+            blackhole.consume(unit);
+            angle = (angle + step) % (2.0 * Math.PI);
+        }
+    }
+
+    @Benchmark
+    public PointBuffer sweepBinaryAngle() {
+        out.clear();
+        Interpolator.sweep(4.0, 0.0, BinaryAngle.ZERO, binaryStep, size, out);
+        return out;
+    }
+
+    @Benchmark
+    public void polarSet360(Blackhole blackhole) {
+        for (int produced = 0; produced < size; ) {
+            Set<PolarUnit> units = Interpolator.polarSet360(scalar, 1.0);
+            blackhole.consume(units);
+            produced += units.size();
+        }
+    }
+
+    @Benchmark
+    public void cartesian360(Blackhole blackhole) {
+        for (int produced = 0; produced < size; ) {
+            Set<CartesianUnit> units = Interpolator.cartesian360(vector, 1.0);
+            blackhole.consume(units);
+            produced += units.size();
+        }
+    }
+
+    @Benchmark
+    public void sphericalUnit360(Blackhole blackhole) {
+        for (int produced = 0; produced < size; ) {
+            Set<SphericalUnit> units = Interpolator.sphericalUnit360(scalar, 1.0);
+            blackhole.consume(units);
+            produced += units.size();
+        }
+    }
+}
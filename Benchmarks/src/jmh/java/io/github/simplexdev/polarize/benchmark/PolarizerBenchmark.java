@@ -0,0 +1,80 @@
+package io.github.simplexdev.polarize.benchmark;
+
+import io.github.simplexdev.polarize.cartesian.PointBuffer;
+import io.github.simplexdev.polarize.util.Polarizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the per-point {@link Polarizer} conversions, which create a unit per point,
+ * with the bulk conversions over parallel arrays and a {@link PointBuffer}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PolarizerBenchmark {
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    private double[] radius;
+    private double[] theta;
+    private double[] phi;
+    private PointBuffer points;
+    private PointBuffer out;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(1L);
+        radius = new double[size];
+        theta = new double[size];
+        phi = new double[size];
+        for (int i = 0; i < size; i++) {
+            radius[i] = random.nextDouble(1.0, 10.0);
+            theta[i] = random.nextDouble(0.0, Math.PI);
+            phi[i] = random.nextDouble(-Math.PI, Math.PI);
+        }
+        points = new PointBuffer(size);
+        Polarizer.toCartesian(radius, theta, phi, size, points);
+        out = new PointBuffer(size);
+    }
+
+    @Benchmark
+    public void toCartesianUnitScalar(Blackhole blackhole) {
+        for (int i = 0; i < size; i++) {
+            blackhole.consume(Polarizer.toCartesianUnit(radius[i], theta[i], phi[i]));
+        }
+    }
+
+    @Benchmark
+    public PointBuffer toCartesianBulk() {
+        out.clear();
+        Polarizer.toCartesian(radius, theta, phi, size, out);
+        return out;
+    }
+
+    @Benchmark
+    public void toSphericalUnitScalar(Blackhole blackhole) {
+        double[] x = points.xArray();
+        double[] y = points.yArray();
+        double[] z = points.zArray();
+        for (int i = 0; i < size; i++) {
+            blackhole.consume(Polarizer.toSphericalUnit(x[i], y[i], z[i]));
+        }
+    }
+
+    @Benchmark
+    public double[] toSphericalBulk() {
+        Polarizer.toSpherical(points, radius, theta, phi);
+        return radius;
+    }
+}
@@ -0,0 +1,72 @@
+package io.github.simplexdev.polarize.benchmark;
+
+import io.github.simplexdev.polarize.api.spatial.IPoint3D;
+import io.github.simplexdev.polarize.api.units.Point;
+import io.github.simplexdev.polarize.cartesian.PointBuffer;
+import io.github.simplexdev.polarize.math.BinaryAngle;
+import io.github.simplexdev.polarize.polar.SphericalUnit;
+import io.github.simplexdev.polarize.util.Rotator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares rotating a shape one {@link IPoint3D} at a time with rotating a whole {@link PointBuffer} in place.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RotatorBenchmark {
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    private IPoint3D[] points;
+    private PointBuffer buffer;
+    private SphericalUnit unit;
+    private BinaryAngle angle;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(2L);
+        points = new IPoint3D[size];
+        buffer = new PointBuffer(size);
+        for (int i = 0; i < size; i++) {
+            double x = random.nextDouble(-10.0, 10.0);
+            double y = random.nextDouble(0.0, 10.0);
+            double z = random.nextDouble(-10.0, 10.0);
+            points[i] = Point.fromDouble(x, y, z);
+            buffer.add(x, y, z);
+        }
+        unit = new SphericalUnit(1.0, 0.0, Math.toRadians(3.0));
+        angle = BinaryAngle.fromDegrees(3.0);
+    }
+
+    @Benchmark
+    public void rotateYSphericalUnit(Blackhole blackhole) {
+        for (IPoint3D point : points) {
+            blackhole.consume(Rotator.rotateY(point, unit));
+        }
+    }
+
+    @Benchmark
+    public void rotateYBinaryAngle(Blackhole blackhole) {
+        for (IPoint3D point : points) {
+            blackhole.consume(Rotator.rotateY(point, angle));
+        }
+    }
+
+    @Benchmark
+    public PointBuffer rotateYBulk() {
+        Rotator.rotateY(buffer, angle);
+        return buffer;
+    }
+}
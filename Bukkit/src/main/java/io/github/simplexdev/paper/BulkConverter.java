@@ -0,0 +1,180 @@
+package io.github.simplexdev.paper;
+
+import io.github.simplexdev.polarize.cartesian.PointBuffer;
+import org.bukkit.Location;
+import org.bukkit.Particle;
+import org.bukkit.World;
+import org.bukkit.util.Vector;
+
+import java.util.function.Consumer;
+
+/**
+ * Converts whole {@link PointBuffer}s to and from Bukkit {@link Location}s and {@link Vector}s,
+ * reusing mutable instances instead of creating one per point like {@link DataConverter}.
+ * <p>
+ * The {@code forEach} methods pass the same Location to the action for every point, moved to that point.
+ * The action must use it before returning and must not keep a reference to it. The {@code to} methods
+ * write into caller-owned arrays, creating an instance only for the slots that are still empty, so
+ * arrays kept between ticks are filled without allocating.
+ */
+public final class BulkConverter {
+    private BulkConverter() {
+        throw new AssertionError();
+    }
+
+    /**
+     * Calls an action with a single reused Location moved to each point of a buffer in turn.
+     *
+     * @param world  the world of the locations.
+     * @param points the points to visit.
+     * @param action the action to call for each point, which must not keep the Location.
+     */
+    public static void forEachLocation(World world, PointBuffer points, Consumer<Location> action) {
+        forEachLocation(new Location(world, 0.0, 0.0, 0.0), 0.0, 0.0, 0.0, points, action);
+    }
+
+    /**
+     * Calls an action with a single reused Location moved to each point of a buffer, offset by an origin.
+     * This places a shape generated around (0, 0, 0) around the origin, such as a player's location.
+     *
+     * @param origin the location the points are relative to. It is not modified.
+     * @param points the points to visit, relative to the origin.
+     * @param action the action to call for each point, which must not keep the Location.
+     */
+    public static void forEachLocation(Location origin, PointBuffer points, Consumer<Location> action) {
+        forEachLocation(new Location(origin.getWorld(), 0.0, 0.0, 0.0, origin.getYaw(), origin.getPitch()),
+                origin.getX(), origin.getY(), origin.getZ(), points, action);
+    }
+
+    /**
+     * Calls an action with the given Location moved to each point of a buffer, offset by an origin.
+     * The Location is left at the last point.
+     *
+     * @param reuse   the Location to move to each point, which keeps its world, yaw and pitch.
+     * @param originX the x offset added to every point.
+     * @param originY the y offset added to every point.
+     * @param originZ the z offset added to every point.
+     * @param points  the points to visit.
+     * @param action  the action to call for each point, which must not keep the Location.
+     */
+    public static void forEachLocation(Location reuse, double originX, double originY, double originZ,
+                                       PointBuffer points, Consumer<Location> action) {
+        double[] x = points.xArray();
+        double[] y = points.yArray();
+        double[] z = points.zArray();
+        for (int i = 0; i < points.size(); i++) {
+            reuse.setX(originX + x[i]);
+            reuse.setY(originY + y[i]);
+            reuse.setZ(originZ + z[i]);
+            action.accept(reuse);
+        }
+    }
+
+    /**
+     * Spawns one particle at each point of a buffer, offset by an origin.
+     * The coordinates are passed to the world directly, so no Location is created.
+     *
+     * @param origin   the location the points are relative to.
+     * @param particle the particle to spawn.
+     * @param points   the points to spawn the particles at, relative to the origin.
+     */
+    public static void spawnParticles(Location origin, Particle particle, PointBuffer points) {
+        World world = origin.getWorld();
+        if (world == null) {
+            throw new IllegalArgumentException("The origin must have a world.");
+        }
+        double originX = origin.getX();
+        double originY = origin.getY();
+        double originZ = origin.getZ();
+        double[] x = points.xArray();
+        double[] y = points.yArray();
+        double[] z = points.zArray();
+        for (int i = 0; i < points.size(); i++) {
+            world.spawnParticle(particle, originX + x[i], originY + y[i], originZ + z[i], 1);
+        }
+    }
+
+    /**
+     * Writes the points of a buffer into an array of Locations, reusing the Locations already in it.
+     * Empty slots are filled with new Locations, and reused ones are moved to the given world.
+     *
+     * @param world  the world of the locations.
+     * @param points the points to convert.
+     * @param out    the array to write the locations to, at least as long as the buffer.
+     * @return the number of locations written, which is the size of the buffer.
+     */
+    public static int toLocations(World world, PointBuffer points, Location[] out) {
+        int count = points.size();
+        if (out.length < count) {
+            throw new IllegalArgumentException("The array cannot hold " + count + " locations.");
+        }
+        double[] x = points.xArray();
+        double[] y = points.yArray();
+        double[] z = points.zArray();
+        for (int i = 0; i < count; i++) {
+            Location location = out[i];
+            if (location == null) {
+                out[i] = new Location(world, x[i], y[i], z[i]);
+                continue;
+            }
+            location.setWorld(world);
+            location.setX(x[i]);
+            location.setY(y[i]);
+            location.setZ(z[i]);
+        }
+        return count;
+    }
+
+    /**
+     * Writes the points of a buffer into an array of Vectors, reusing the Vectors already in it.
+     * Empty slots are filled with new Vectors.
+     *
+     * @param points the points to convert.
+     * @param out    the array to write the vectors to, at least as long as the buffer.
+     * @return the number of vectors written, which is the size of the buffer.
+     */
+    public static int toVectors(PointBuffer points, Vector[] out) {
+        int count = points.size();
+        if (out.length < count) {
+            throw new IllegalArgumentException("The array cannot hold " + count + " vectors.");
+        }
+        double[] x = points.xArray();
+        double[] y = points.yArray();
+        double[] z = points.zArray();
+        for (int i = 0; i < count; i++) {
+            Vector vector = out[i];
+            if (vector == null) {
+                out[i] = new Vector(x[i], y[i], z[i]);
+                continue;
+            }
+            vector.setX(x[i]);
+            vector.setY(y[i]);
+            vector.setZ(z[i]);
+        }
+        return count;
+    }
+
+    /**
+     * Appends the coordinates of Locations to a buffer. Their worlds, yaws and pitches are ignored.
+     *
+     * @param locations the locations to convert.
+     * @param out       the buffer to append the points to.
+     */
+    public static void fromLocations(Iterable<? extends Location> locations, PointBuffer out) {
+        for (Location location : locations) {
+            out.add(location.getX(), location.getY(), location.getZ());
+        }
+    }
+
+    /**
+     * Appends the coordinates of Vectors to a buffer.
+     *
+     * @param vectors the vectors to convert.
+     * @param out     the buffer to append the points to.
+     */
+    public static void fromVectors(Iterable<? extends Vector> vectors, PointBuffer out) {
+        for (Vector vector : vectors) {
+            out.add(vector.getX(), vector.getY(), vector.getZ());
+        }
+    }
+}
@@ -0,0 +1,334 @@
+package io.github.simplexdev.paper;
+
+import io.github.simplexdev.polarize.cartesian.PointBuffer;
+import org.bukkit.Chunk;
+import org.bukkit.Material;
+import org.bukkit.World;
+
+import java.util.Arrays;
+
+/**
+ * Groups the points of a shape by the chunk they are in, so they can be processed one chunk at a time.
+ * <p>
+ * {@link #partition(double, double, double, PointBuffer)} sorts the points with a counting sort on their
+ * chunk: a first pass gives every distinct chunk a dense index through a hash table and counts its points,
+ * and a second pass copies each point to its chunk's range. Both passes are linear, and the arrays are kept
+ * between calls, so partitioning a shape of a similar size again does not allocate.
+ * <p>
+ * Chunks are numbered in the order their first point appears, and points keep their order within a chunk.
+ * Consumers can then check {@link World#isChunkLoaded(int, int)} once per chunk instead of once per point,
+ * and fetch each {@link Chunk} once for all of its blocks.
+ * <p>
+ * This class is not thread-safe.
+ */
+public final class ChunkPartition {
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private double[] x = new double[0];
+    private double[] y = new double[0];
+    private double[] z = new double[0];
+    private int[] chunkOfPoint = new int[0];
+    private int size;
+
+    private int[] chunkX = new int[16];
+    private int[] chunkZ = new int[16];
+    private int[] starts = new int[17];
+    private int chunkCount;
+
+    private long[] tableKeys = new long[32];
+    private int[] tableValues = new int[32];
+
+    /**
+     * A visitor of the chunks of a partition.
+     */
+    @FunctionalInterface
+    public interface ChunkVisitor {
+        /**
+         * Visits a chunk and the range of points in it.
+         *
+         * @param chunkX the x coordinate of the chunk.
+         * @param chunkZ the z coordinate of the chunk.
+         * @param start  the index of the chunk's first point in the partition.
+         * @param end    the index after the chunk's last point in the partition.
+         */
+        void visit(int chunkX, int chunkZ, int start, int end);
+    }
+
+    /**
+     * Partitions the points of a shape by chunk, replacing the previous partition.
+     * The points are stored in world coordinates, offset by the origin.
+     *
+     * @param originX the x coordinate the points are relative to.
+     * @param originY the y coordinate the points are relative to.
+     * @param originZ the z coordinate the points are relative to.
+     * @param points  the points of the shape.
+     */
+    public void partition(double originX, double originY, double originZ, PointBuffer points) {
+        int count = points.size();
+        ensurePointCapacity(count);
+        Arrays.fill(tableKeys, EMPTY);
+        chunkCount = 0;
+
+        double[] px = points.xArray();
+        double[] pz = points.zArray();
+        for (int i = 0; i < count; i++) {
+            int cx = (int) Math.floor(originX + px[i]) >> 4;
+            int cz = (int) Math.floor(originZ + pz[i]) >> 4;
+            int chunk = chunkIndex(cx, cz);
+            chunkOfPoint[i] = chunk;
+            starts[chunk + 1]++;
+        }
+
+        // Turn the counts into the start of each chunk's range, then use them as write positions.
+        for (int chunk = 0; chunk < chunkCount; chunk++) {
+            starts[chunk + 1] += starts[chunk];
+        }
+        double[] py = points.yArray();
+        for (int i = 0; i < count; i++) {
+            int position = starts[chunkOfPoint[i]]++;
+            x[position] = originX + px[i];
+            y[position] = originY + py[i];
+            z[position] = originZ + pz[i];
+        }
+        // Each start was advanced to the next chunk's start, so shift them back by one chunk.
+        System.arraycopy(starts, 0, starts, 1, chunkCount);
+        starts[0] = 0;
+        size = count;
+    }
+
+    /**
+     * Returns the number of chunks with at least one point.
+     *
+     * @return the number of chunks.
+     */
+    public int getChunkCount() {
+        return chunkCount;
+    }
+
+    /**
+     * Returns the x coordinate of a chunk.
+     *
+     * @param chunk the index of the chunk.
+     * @return the chunk's x coordinate.
+     */
+    public int getChunkX(int chunk) {
+        checkChunk(chunk);
+        return chunkX[chunk];
+    }
+
+    /**
+     * Returns the z coordinate of a chunk.
+     *
+     * @param chunk the index of the chunk.
+     * @return the chunk's z coordinate.
+     */
+    public int getChunkZ(int chunk) {
+        checkChunk(chunk);
+        return chunkZ[chunk];
+    }
+
+    /**
+     * Returns the index of a chunk's first point.
+     *
+     * @param chunk the index of the chunk.
+     * @return the index of the chunk's first point.
+     */
+    public int getStart(int chunk) {
+        checkChunk(chunk);
+        return starts[chunk];
+    }
+
+    /**
+     * Returns the index after a chunk's last point.
+     *
+     * @param chunk the index of the chunk.
+     * @return the index after the chunk's last point.
+     */
+    public int getEnd(int chunk) {
+        checkChunk(chunk);
+        return starts[chunk + 1];
+    }
+
+    /**
+     * Returns the number of points in the partition.
+     *
+     * @return the number of points.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the x coordinate of a point, in world coordinates.
+     *
+     * @param index the index of the point in the partition.
+     * @return the x coordinate of the point.
+     */
+    public double getX(int index) {
+        checkPoint(index);
+        return x[index];
+    }
+
+    /**
+     * Returns the y coordinate of a point, in world coordinates.
+     *
+     * @param index the index of the point in the partition.
+     * @return the y coordinate of the point.
+     */
+    public double getY(int index) {
+        checkPoint(index);
+        return y[index];
+    }
+
+    /**
+     * Returns the z coordinate of a point, in world coordinates.
+     *
+     * @param index the index of the point in the partition.
+     * @return the z coordinate of the point.
+     */
+    public double getZ(int index) {
+        checkPoint(index);
+        return z[index];
+    }
+
+    /**
+     * Appends the points of a chunk to a buffer, in world coordinates.
+     *
+     * @param chunk the index of the chunk.
+     * @param out   the buffer to append the points to.
+     */
+    public void copyChunk(int chunk, PointBuffer out) {
+        int end = getEnd(chunk);
+        out.ensureCapacity(out.size() + end - starts[chunk]);
+        for (int i = starts[chunk]; i < end; i++) {
+            out.add(x[i], y[i], z[i]);
+        }
+    }
+
+    /**
+     * Visits every chunk of the partition that is loaded in a world, skipping the others.
+     *
+     * @param world   the world to check the chunks in.
+     * @param visitor the visitor to call for each loaded chunk.
+     * @return the number of chunks visited.
+     */
+    public int forEachLoadedChunk(World world, ChunkVisitor visitor) {
+        int visited = 0;
+        for (int chunk = 0; chunk < chunkCount; chunk++) {
+            if (world.isChunkLoaded(chunkX[chunk], chunkZ[chunk])) {
+                visitor.visit(chunkX[chunk], chunkZ[chunk], starts[chunk], starts[chunk + 1]);
+                visited++;
+            }
+        }
+        return visited;
+    }
+
+    /**
+     * Sets the block at each point in a loaded chunk to a material, without applying physics.
+     * Each chunk is fetched once for all of its blocks, and points in unloaded chunks are skipped.
+     * Must be called on the main thread.
+     *
+     * @param world    the world to set the blocks in.
+     * @param material the material to set the blocks to.
+     * @return the number of blocks set.
+     */
+    public int setBlocks(World world, Material material) {
+        int minHeight = world.getMinHeight();
+        int maxHeight = world.getMaxHeight();
+        int[] set = new int[1];
+        forEachLoadedChunk(world, (cx, cz, start, end) -> {
+            Chunk chunk = world.getChunkAt(cx, cz);
+            for (int i = start; i < end; i++) {
+                int blockY = (int) Math.floor(y[i]);
+                if (blockY < minHeight || blockY >= maxHeight) {
+                    continue;
+                }
+                chunk.getBlock((int) Math.floor(x[i]) & 15, blockY, (int) Math.floor(z[i]) & 15)
+                        .setType(material, false);
+                set[0]++;
+            }
+        });
+        return set[0];
+    }
+
+    /**
+     * Returns the dense index of a chunk, adding the chunk if it has not been seen in this partition.
+     */
+    private int chunkIndex(int cx, int cz) {
+        long key = ((long) cx << 32) | (cz & 0xFFFFFFFFL);
+        int mask = tableKeys.length - 1;
+        int slot = mix(key) & mask;
+        while (true) {
+            long existing = tableKeys[slot];
+            if (existing == key) {
+                return tableValues[slot];
+            }
+            if (existing == EMPTY) {
+                break;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        int chunk = chunkCount++;
+        if (chunk == chunkX.length) {
+            chunkX = Arrays.copyOf(chunkX, chunk * 2);
+            chunkZ = Arrays.copyOf(chunkZ, chunk * 2);
+            starts = Arrays.copyOf(starts, chunk * 2 + 1);
+        }
+        chunkX[chunk] = cx;
+        chunkZ[chunk] = cz;
+        starts[chunk + 1] = 0;
+        tableKeys[slot] = key;
+        tableValues[slot] = chunk;
+        // Keep the table at most half full, so probe sequences stay short.
+        if (chunkCount * 2 > tableKeys.length) {
+            growTable();
+        }
+        return chunk;
+    }
+
+    private void growTable() {
+        long[] oldKeys = tableKeys;
+        int[] oldValues = tableValues;
+        tableKeys = new long[oldKeys.length * 2];
+        tableValues = new int[oldValues.length * 2];
+        Arrays.fill(tableKeys, EMPTY);
+        int mask = tableKeys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = mix(oldKeys[i]) & mask;
+                while (tableKeys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                tableKeys[slot] = oldKeys[i];
+                tableValues[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private void ensurePointCapacity(int capacity) {
+        if (x.length < capacity) {
+            x = new double[capacity];
+            y = new double[capacity];
+            z = new double[capacity];
+            chunkOfPoint = new int[capacity];
+        }
+    }
+
+    private void checkChunk(int chunk) {
+        if (chunk < 0 || chunk >= chunkCount) {
+            throw new IndexOutOfBoundsException("Chunk " + chunk + " out of bounds for " + chunkCount + " chunks.");
+        }
+    }
+
+    private void checkPoint(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size + ".");
+        }
+    }
+}
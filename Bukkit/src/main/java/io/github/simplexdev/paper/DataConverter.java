@@ -4,9 +4,8 @@ import io.github.simplexdev.polarize.api.spatial.IPoint2D;
 import io.github.simplexdev.polarize.api.spatial.IPoint3D;
 import io.github.simplexdev.polarize.api.spatial.IScalar;
 import io.github.simplexdev.polarize.api.spatial.IVector;
+import io.github.simplexdev.polarize.api.units.Point;
 import io.github.simplexdev.polarize.cartesian.CartesianVector;
-import io.github.simplexdev.polarize.cartesian.Point2D;
-import io.github.simplexdev.polarize.cartesian.Point3D;
 import io.github.simplexdev.polarize.polar.Scalar;
 import org.bukkit.Location;
 import org.bukkit.World;
@@ -23,19 +22,19 @@ public class DataConverter {
     }
 
     public static Location toBukkitLocation(World world, IPoint3D point) {
-        return new Location(world, point.getX(), point.getY(), point.getZ());
+        return new Location(world, point.getX().get(), point.getY().get(), point.getZ().get());
     }
 
     public static Location toBukkitLocation(World world, double y, IPoint2D point) {
-        return new Location(world, point.getX(), y, point.getZ());
+        return new Location(world, point.getX().get(), y, point.getZ().get());
     }
 
     public static IPoint3D to3DPoint(Location location) {
-        return new Point3D(location.getX(), location.getY(), location.getZ());
+        return Point.fromDouble(location.getX(), location.getY(), location.getZ());
     }
 
     public static IPoint2D to2DPoint(Location location) {
-        return new Point2D(location.getX(), location.getZ());
+        return Point.fromDouble(location.getX(), location.getZ());
     }
 
     public static IScalar getScalar(Location location, Vector vector) {
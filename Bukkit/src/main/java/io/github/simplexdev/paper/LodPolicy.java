@@ -0,0 +1,91 @@
+package io.github.simplexdev.paper;
+
+import io.github.simplexdev.polarize.cartesian.PointBuffer;
+import org.bukkit.Location;
+import org.bukkit.Particle;
+import org.bukkit.entity.Player;
+
+/**
+ * Picks the level of detail of a shape to show a viewer, from the viewer's distance and a particle budget.
+ * <p>
+ * Up to the full detail distance, a shape is shown at level 0. Beyond it, the area a shape covers on screen
+ * falls with the square of the distance, so each doubling of the distance allows a quarter of the points
+ * for the same apparent density, which is two levels of {@link ShapeLevels}. The distance is measured to the
+ * nearest point of the shape's bounding sphere. The level is then raised further, if needed, until the
+ * shape fits in the particles the viewer has left to spend.
+ * <p>
+ * Instances are immutable and can be shared between players and threads.
+ */
+public final class LodPolicy {
+    private final double fullDetailDistance;
+
+    /**
+     * Creates a new LodPolicy.
+     *
+     * @param fullDetailDistance the distance up to which shapes are shown at full detail.
+     */
+    public LodPolicy(double fullDetailDistance) {
+        if (!(fullDetailDistance > 0.0)) {
+            throw new IllegalArgumentException("Full detail distance must be positive: " + fullDetailDistance);
+        }
+        this.fullDetailDistance = fullDetailDistance;
+    }
+
+    /**
+     * Returns the level of detail to show a shape at.
+     *
+     * @param shape    the levels of the shape.
+     * @param distance the distance from the viewer to the shape's center.
+     * @param budget   the number of particles the viewer has left to spend.
+     * @return the level to show, or -1 if even the coarsest level does not fit in the budget.
+     */
+    public int select(ShapeLevels shape, double distance, int budget) {
+        int coarsest = shape.getLevelCount() - 1;
+        double nearest = distance - shape.getBoundingRadius();
+        int level = 0;
+        if (nearest > fullDetailDistance) {
+            // log2((d / full)^2) levels, as each level halves the points.
+            level = (int) Math.ceil(2.0 * Math.log(nearest / fullDetailDistance) / Math.log(2.0));
+        }
+        level = Math.min(level, coarsest);
+        while (level <= coarsest && shape.getLevel(level).size() > budget) {
+            level++;
+        }
+        return level <= coarsest ? level : -1;
+    }
+
+    /**
+     * Spawns a shape for a single player at the level of detail chosen for the player's distance and budget.
+     *
+     * @param player   the player to spawn the particles for.
+     * @param particle the particle to spawn.
+     * @param origin   the location of the shape's center.
+     * @param shape    the levels of the shape.
+     * @param budget   the number of particles the player has left to spend.
+     * @return the number of particles spawned, to subtract from the budget.
+     */
+    public int spawnParticles(Player player, Particle particle, Location origin, ShapeLevels shape, int budget) {
+        Location eye = player.getEyeLocation();
+        if (eye.getWorld() != origin.getWorld()) {
+            return 0;
+        }
+        double dx = origin.getX() - eye.getX();
+        double dy = origin.getY() - eye.getY();
+        double dz = origin.getZ() - eye.getZ();
+        int level = select(shape, Math.sqrt(dx * dx + dy * dy + dz * dz), budget);
+        if (level < 0) {
+            return 0;
+        }
+        PointBuffer points = shape.getLevel(level);
+        double originX = origin.getX();
+        double originY = origin.getY();
+        double originZ = origin.getZ();
+        double[] x = points.xArray();
+        double[] y = points.yArray();
+        double[] z = points.zArray();
+        for (int i = 0; i < points.size(); i++) {
+            player.spawnParticle(particle, originX + x[i], originY + y[i], originZ + z[i], 1);
+        }
+        return points.size();
+    }
+}
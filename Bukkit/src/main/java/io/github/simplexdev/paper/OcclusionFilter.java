@@ -0,0 +1,140 @@
+package io.github.simplexdev.paper;
+
+import io.github.simplexdev.polarize.cartesian.PointBuffer;
+import io.github.simplexdev.polarize.index.LongIntHashMap;
+import io.github.simplexdev.polarize.voxel.VoxelTraversal;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Removes the points of a shape that are hidden from a viewer behind occluding blocks.
+ * <p>
+ * Each point is tested by walking the block grid from the viewer's eyes to the point with a
+ * {@link VoxelTraversal}, reading blocks from an {@link OcclusionSnapshot} instead of the world, so the
+ * filter can run on any thread. The cell the eyes are in is not tested, but the point's own cell is,
+ * so a point inside a solid block is hidden.
+ * <p>
+ * Results are cached per viewer for each block cell the points fall in, so the points of a dense shape share
+ * the test of their cell, and the same cells are not tested again on later ticks. A viewer's cache is cleared
+ * when the viewer's eyes move to another block cell, or when a different snapshot is passed in, as either can
+ * change what is visible. Capturing a new snapshot every few ticks, rather than every tick, keeps the caches
+ * useful. Call {@link #forget(UUID)} when a viewer leaves.
+ * <p>
+ * Calls for different viewers may run in parallel. Calls for the same viewer are serialized.
+ */
+public final class OcclusionFilter {
+    private static final int HIDDEN = 0;
+    private static final int VISIBLE = 1;
+
+    private final Map<UUID, ViewerCache> caches = new ConcurrentHashMap<>();
+    private final int maxCachedCells;
+
+    /**
+     * Creates a new OcclusionFilter.
+     *
+     * @param maxCachedCells the number of cells a viewer's cache may hold. A full cache stops taking new cells
+     *                       and is cleared at the start of the next call.
+     */
+    public OcclusionFilter(int maxCachedCells) {
+        if (maxCachedCells < 1) {
+            throw new IllegalArgumentException("Number of cached cells must be positive: " + maxCachedCells);
+        }
+        this.maxCachedCells = maxCachedCells;
+    }
+
+    /**
+     * Appends the points of a shape that a viewer can see to a buffer.
+     * The eye position should be read on the main thread, when the snapshot is captured.
+     *
+     * @param viewer   the unique id of the viewer, which selects the cache.
+     * @param eyeX     the x coordinate of the viewer's eyes.
+     * @param eyeY     the y coordinate of the viewer's eyes.
+     * @param eyeZ     the z coordinate of the viewer's eyes.
+     * @param snapshot the blocks around the shape and the viewer.
+     * @param originX  the x coordinate the points are relative to.
+     * @param originY  the y coordinate the points are relative to.
+     * @param originZ  the z coordinate the points are relative to.
+     * @param points   the points of the shape, relative to the origin.
+     * @param out      the buffer to append the visible points to, still relative to the origin.
+     * @return the number of points appended.
+     */
+    public int filter(UUID viewer, double eyeX, double eyeY, double eyeZ, OcclusionSnapshot snapshot,
+                      double originX, double originY, double originZ, PointBuffer points, PointBuffer out) {
+        ViewerCache cache = caches.computeIfAbsent(viewer, id -> new ViewerCache());
+        synchronized (cache) {
+            int eyeCellX = (int) Math.floor(eyeX);
+            int eyeCellY = (int) Math.floor(eyeY);
+            int eyeCellZ = (int) Math.floor(eyeZ);
+            long eyeCell = cellKey(eyeCellX, eyeCellY, eyeCellZ);
+            if (cache.snapshot != snapshot || cache.eyeCell != eyeCell || cache.cells.size() >= maxCachedCells) {
+                cache.cells.clear();
+                cache.snapshot = snapshot;
+                cache.eyeCell = eyeCell;
+            }
+
+            double[] x = points.xArray();
+            double[] y = points.yArray();
+            double[] z = points.zArray();
+            int before = out.size();
+            for (int i = 0; i < points.size(); i++) {
+                double px = originX + x[i];
+                double py = originY + y[i];
+                double pz = originZ + z[i];
+                long cell = cellKey((int) Math.floor(px), (int) Math.floor(py), (int) Math.floor(pz));
+                int visibility = cache.cells.get(cell);
+                if (visibility == LongIntHashMap.MISSING) {
+                    visibility = isVisible(cache.traversal, snapshot, eyeX, eyeY, eyeZ, eyeCellX, eyeCellY, eyeCellZ,
+                            px, py, pz) ? VISIBLE : HIDDEN;
+                    if (cache.cells.size() < maxCachedCells) {
+                        cache.cells.put(cell, visibility);
+                    }
+                }
+                if (visibility == VISIBLE) {
+                    out.add(x[i], y[i], z[i]);
+                }
+            }
+            return out.size() - before;
+        }
+    }
+
+    /**
+     * Drops the cache of a viewer, such as a player who left.
+     *
+     * @param viewer the unique id of the viewer.
+     */
+    public void forget(UUID viewer) {
+        caches.remove(viewer);
+    }
+
+    private static boolean isVisible(VoxelTraversal traversal, OcclusionSnapshot snapshot,
+                                     double eyeX, double eyeY, double eyeZ,
+                                     int eyeCellX, int eyeCellY, int eyeCellZ,
+                                     double px, double py, double pz) {
+        traversal.segment(eyeX, eyeY, eyeZ, px, py, pz);
+        while (traversal.next()) {
+            int cx = traversal.getX();
+            int cy = traversal.getY();
+            int cz = traversal.getZ();
+            if ((cx != eyeCellX || cy != eyeCellY || cz != eyeCellZ) && snapshot.isOccluding(cx, cy, cz)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Packs block coordinates into a key, with 26 bits for x and z and 12 bits for y.
+     */
+    private static long cellKey(int x, int y, int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFF);
+    }
+
+    private static final class ViewerCache {
+        private final LongIntHashMap cells = new LongIntHashMap();
+        private final VoxelTraversal traversal = new VoxelTraversal();
+        private OcclusionSnapshot snapshot;
+        private long eyeCell = Long.MIN_VALUE;
+    }
+}
@@ -0,0 +1,169 @@
+package io.github.simplexdev.paper;
+
+import org.bukkit.Chunk;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+/**
+ * A copy of the blocks of a rectangular area of chunks, which can be read from any thread to test
+ * whether blocks hide what is behind them.
+ * <p>
+ * The snapshot is captured on the main thread with {@link Chunk#getChunkSnapshot(boolean, boolean, boolean)}.
+ * Only chunks that are loaded when it is captured are copied; blocks in other chunks, and blocks above
+ * or below the world, are treated as transparent. The snapshot does not observe later changes to the world,
+ * so it should be captured again when the blocks of the area change.
+ * <p>
+ * Instances are immutable and can be shared between threads.
+ *
+ * @see OcclusionFilter
+ */
+public final class OcclusionSnapshot {
+    /**
+     * The most chunks a snapshot may cover along each axis.
+     */
+    public static final int MAX_CHUNKS_PER_AXIS = 32;
+
+    /**
+     * The farthest a viewer's area may reach from an effect's center along each horizontal axis, which keeps
+     * the area within {@link #MAX_CHUNKS_PER_AXIS} chunks however the chunk borders fall.
+     */
+    public static final double MAX_VIEWER_REACH = (MAX_CHUNKS_PER_AXIS - 2) * 16 / 2.0;
+
+    private final World world;
+    private final int minChunkX;
+    private final int minChunkZ;
+    private final int sizeX;
+    private final int sizeZ;
+    private final int minY;
+    private final int maxY;
+    private final ChunkSnapshot[] chunks;
+
+    private OcclusionSnapshot(World world, int minChunkX, int minChunkZ, int sizeX, int sizeZ) {
+        this.world = world;
+        this.minChunkX = minChunkX;
+        this.minChunkZ = minChunkZ;
+        this.sizeX = sizeX;
+        this.sizeZ = sizeZ;
+        this.minY = world.getMinHeight();
+        this.maxY = world.getMaxHeight();
+        this.chunks = new ChunkSnapshot[sizeX * sizeZ];
+    }
+
+    /**
+     * Captures the loaded chunks that contain any part of a horizontal area. Must be called on the main thread.
+     *
+     * @param world the world to capture.
+     * @param minX  the smallest x coordinate of the area.
+     * @param minZ  the smallest z coordinate of the area.
+     * @param maxX  the largest x coordinate of the area.
+     * @param maxZ  the largest z coordinate of the area.
+     * @return the captured snapshot.
+     */
+    public static OcclusionSnapshot capture(World world, double minX, double minZ, double maxX, double maxZ) {
+        int minChunkX = (int) Math.floor(minX) >> 4;
+        int minChunkZ = (int) Math.floor(minZ) >> 4;
+        int sizeX = ((int) Math.floor(maxX) >> 4) - minChunkX + 1;
+        int sizeZ = ((int) Math.floor(maxZ) >> 4) - minChunkZ + 1;
+        if (sizeX < 1 || sizeZ < 1 || sizeX > MAX_CHUNKS_PER_AXIS || sizeZ > MAX_CHUNKS_PER_AXIS) {
+            throw new IllegalArgumentException("Cannot capture an area of " + sizeX + " by " + sizeZ + " chunks.");
+        }
+
+        OcclusionSnapshot snapshot = new OcclusionSnapshot(world, minChunkX, minChunkZ, sizeX, sizeZ);
+        for (int i = 0; i < sizeX; i++) {
+            for (int j = 0; j < sizeZ; j++) {
+                int cx = minChunkX + i;
+                int cz = minChunkZ + j;
+                if (world.isChunkLoaded(cx, cz)) {
+                    snapshot.chunks[i * sizeZ + j] = world.getChunkAt(cx, cz).getChunkSnapshot(false, false, false);
+                }
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Captures the area between an effect and the eyes of the players who may see it, so that every line of
+     * sight from a viewer to the effect is covered. Players in other worlds or farther than the given
+     * distance from the effect's center are left out. Must be called on the main thread.
+     * <p>
+     * The area is clamped to {@link #MAX_VIEWER_REACH} blocks from the effect's center along each axis.
+     * The lines of sight of viewers beyond it are only tested over the part inside the area, and blocks
+     * outside it do not hide anything.
+     *
+     * @param origin      the center of the effect.
+     * @param radius      the radius of the effect's bounding sphere, between 0 and {@link #MAX_VIEWER_REACH}.
+     * @param viewers     the players who may see the effect.
+     * @param maxDistance the distance from the effect's center beyond which players are left out.
+     * @return the captured snapshot.
+     */
+    public static OcclusionSnapshot capture(Location origin, double radius, Iterable<? extends Player> viewers,
+                                            double maxDistance) {
+        World world = origin.getWorld();
+        if (world == null) {
+            throw new IllegalArgumentException("The origin must have a world.");
+        }
+        if (!(radius >= 0.0 && radius <= MAX_VIEWER_REACH)) {
+            throw new IllegalArgumentException("Effect radius must be between 0 and " + MAX_VIEWER_REACH + ": " + radius);
+        }
+        double minX = origin.getX() - radius;
+        double minZ = origin.getZ() - radius;
+        double maxX = origin.getX() + radius;
+        double maxZ = origin.getZ() + radius;
+        double maxDistanceSquared = maxDistance * maxDistance;
+        for (Player viewer : viewers) {
+            Location eye = viewer.getEyeLocation();
+            if (eye.getWorld() != world) {
+                continue;
+            }
+            double dx = eye.getX() - origin.getX();
+            double dy = eye.getY() - origin.getY();
+            double dz = eye.getZ() - origin.getZ();
+            if (dx * dx + dy * dy + dz * dz > maxDistanceSquared) {
+                continue;
+            }
+            minX = Math.min(minX, eye.getX());
+            minZ = Math.min(minZ, eye.getZ());
+            maxX = Math.max(maxX, eye.getX());
+            maxZ = Math.max(maxZ, eye.getZ());
+        }
+        minX = Math.max(minX, origin.getX() - MAX_VIEWER_REACH);
+        minZ = Math.max(minZ, origin.getZ() - MAX_VIEWER_REACH);
+        maxX = Math.min(maxX, origin.getX() + MAX_VIEWER_REACH);
+        maxZ = Math.min(maxZ, origin.getZ() + MAX_VIEWER_REACH);
+        return capture(world, minX, minZ, maxX, maxZ);
+    }
+
+    /**
+     * Returns the world the snapshot was captured from.
+     *
+     * @return the captured world.
+     */
+    public World getWorld() {
+        return world;
+    }
+
+    /**
+     * Returns whether the block at a position hides what is behind it, as reported by
+     * {@link Material#isOccluding()}.
+     *
+     * @param x the x coordinate of the block.
+     * @param y the y coordinate of the block.
+     * @param z the z coordinate of the block.
+     * @return true if the block is captured and occluding.
+     */
+    public boolean isOccluding(int x, int y, int z) {
+        if (y < minY || y >= maxY) {
+            return false;
+        }
+        int i = (x >> 4) - minChunkX;
+        int j = (z >> 4) - minChunkZ;
+        if (i < 0 || i >= sizeX || j < 0 || j >= sizeZ) {
+            return false;
+        }
+        ChunkSnapshot chunk = chunks[i * sizeZ + j];
+        return chunk != null && chunk.getBlockType(x & 15, y, z & 15).isOccluding();
+    }
+}
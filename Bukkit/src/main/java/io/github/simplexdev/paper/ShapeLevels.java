@@ -0,0 +1,98 @@
+package io.github.simplexdev.paper;
+
+import io.github.simplexdev.polarize.cartesian.PointBuffer;
+import io.github.simplexdev.polarize.index.MortonOrder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Precomputed levels of detail of a shape, each with about half the points of the level before it.
+ * <p>
+ * The shape's points are sorted into Morton order once, which places points that are close in space next
+ * to each other. Level {@code k} then keeps every {@code 2^k}th point of the sorted points, so each level
+ * thins the shape evenly over its whole surface instead of dropping one part of it. Levels are built until
+ * one has at most the given number of points, and are never regenerated; a shape is built once and shared
+ * by every viewer.
+ * <p>
+ * Instances are immutable and can be shared between threads, as long as the returned buffers are not modified.
+ *
+ * @see LodPolicy
+ */
+public final class ShapeLevels {
+    private final List<PointBuffer> levels;
+    private final double boundingRadius;
+
+    private ShapeLevels(List<PointBuffer> levels, double boundingRadius) {
+        this.levels = levels;
+        this.boundingRadius = boundingRadius;
+    }
+
+    /**
+     * Builds the levels of detail of a shape. The given buffer is copied and not modified.
+     *
+     * @param points    the points of the shape at full detail, relative to the shape's center.
+     * @param minPoints the number of points at or below which no coarser level is built.
+     * @return the levels of detail of the shape.
+     */
+    public static ShapeLevels of(PointBuffer points, int minPoints) {
+        if (minPoints < 1) {
+            throw new IllegalArgumentException("Minimum number of points must be positive: " + minPoints);
+        }
+        PointBuffer full = new PointBuffer(points.size());
+        full.addAll(points);
+        MortonOrder.sort(full);
+
+        double radiusSquared = 0.0;
+        for (int i = 0; i < full.size(); i++) {
+            double x = full.getX(i);
+            double y = full.getY(i);
+            double z = full.getZ(i);
+            radiusSquared = Math.max(radiusSquared, x * x + y * y + z * z);
+        }
+
+        List<PointBuffer> levels = new ArrayList<>();
+        levels.add(full);
+        for (int stride = 2; full.size() / (stride / 2) > minPoints; stride *= 2) {
+            // Start halfway into the first stride, so the samples are centered on the points they replace.
+            int offset = stride / 2 - 1;
+            PointBuffer level = new PointBuffer((full.size() - offset + stride - 1) / stride);
+            for (int i = offset; i < full.size(); i += stride) {
+                level.add(full.getX(i), full.getY(i), full.getZ(i));
+            }
+            levels.add(level);
+        }
+        return new ShapeLevels(List.copyOf(levels), Math.sqrt(radiusSquared));
+    }
+
+    /**
+     * Returns the number of levels, which is at least one.
+     *
+     * @return the number of levels.
+     */
+    public int getLevelCount() {
+        return levels.size();
+    }
+
+    /**
+     * Returns the points of a level. Level 0 has every point of the shape.
+     *
+     * @param level the level, from 0 to {@link #getLevelCount()} - 1.
+     * @return the points of the level, relative to the shape's center.
+     */
+    public PointBuffer getLevel(int level) {
+        if (level < 0 || level >= levels.size()) {
+            throw new IndexOutOfBoundsException("Level " + level + " out of bounds for " + levels.size() + " levels.");
+        }
+        return levels.get(level);
+    }
+
+    /**
+     * Returns the distance from the shape's center to its farthest point.
+     *
+     * @return the radius of the shape's bounding sphere.
+     */
+    public double getBoundingRadius() {
+        return boundingRadius;
+    }
+}
@@ -0,0 +1,269 @@
+package io.github.simplexdev.paper;
+
+import io.github.simplexdev.polarize.cartesian.PointBuffer;
+import org.bukkit.Location;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+
+/**
+ * Computes shapes on a pool of worker threads and applies their points on the main thread within a budget.
+ * <p>
+ * A shape is submitted as a computation that returns a {@link PointBuffer}, an origin and an action, such as
+ * spawning a particle or setting a block. The computation runs on a worker thread, and the finished buffer is
+ * handed to the main thread through a lock-free queue. Every tick, the main thread applies points from the
+ * queued shapes in order until either the time budget or the point budget of the tick is used up, and
+ * continues with the remaining points on the next tick. The clock is read every {@value #CHECK_INTERVAL}
+ * points, so a tick may run over its time budget by the time those points take.
+ * <p>
+ * Computations must not use the Bukkit API, as they do not run on the main thread. Actions always run on
+ * the main thread, and receive a single reused Location, as in {@link BulkConverter#forEachLocation}.
+ */
+public final class ShapePipeline implements AutoCloseable {
+    /**
+     * The longest time budget per tick, which is the length of a tick at 20 ticks per second.
+     */
+    public static final long MAX_TICK_BUDGET_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private static final int CHECK_INTERVAL = 64;
+
+    private final Plugin plugin;
+    private final ExecutorService workers;
+    private final long tickBudgetNanos;
+    private final int pointBudget;
+    private final Queue<Job> ready = new ConcurrentLinkedQueue<>();
+    private final Set<CompletableFuture<Void>> unfinished = ConcurrentHashMap.newKeySet();
+    private volatile boolean closed;
+    private BukkitTask task;
+    private Job current;
+
+    /**
+     * Creates a new ShapePipeline. It applies no points until {@link #start()} is called.
+     *
+     * @param plugin          the plugin that owns the pipeline's task.
+     * @param workerThreads   the number of threads computing shapes.
+     * @param tickBudgetNanos the time the main thread may spend applying points per tick, in nanoseconds,
+     *                        at most {@link #MAX_TICK_BUDGET_NANOS}.
+     * @param pointBudget     the number of points the main thread may apply per tick.
+     */
+    public ShapePipeline(Plugin plugin, int workerThreads, long tickBudgetNanos, int pointBudget) {
+        if (workerThreads < 1) {
+            throw new IllegalArgumentException("Number of worker threads must be positive: " + workerThreads);
+        }
+        if (tickBudgetNanos <= 0 || tickBudgetNanos > MAX_TICK_BUDGET_NANOS) {
+            throw new IllegalArgumentException("Tick budget must be between 0 and 50 ms: " + tickBudgetNanos + " ns");
+        }
+        if (pointBudget < 1) {
+            throw new IllegalArgumentException("Point budget must be positive: " + pointBudget);
+        }
+        this.plugin = plugin;
+        this.tickBudgetNanos = tickBudgetNanos;
+        this.pointBudget = pointBudget;
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workerThreads, runnable -> {
+            Thread thread = new Thread(runnable, "Polarize-Shape-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts applying points every tick. Must be called on the main thread.
+     */
+    public void start() {
+        if (task != null) {
+            throw new IllegalStateException("The pipeline has already been started.");
+        }
+        task = plugin.getServer().getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+    }
+
+    /**
+     * Computes a shape on a worker thread, then applies the action to each of its points on the main thread.
+     *
+     * @param shape  the computation of the shape's points, relative to the origin.
+     * @param origin the location the points are relative to. It is copied, so it may be changed afterwards.
+     * @param action the action to apply to each point, which must not keep the Location.
+     * @return a future completed on the main thread once the action has been applied to every point.
+     *         Cancelling it skips the points that have not been applied yet.
+     * @throws IllegalStateException if the pipeline has been closed.
+     */
+    public CompletableFuture<Void> submit(Supplier<PointBuffer> shape, Location origin, Consumer<Location> action) {
+        if (closed) {
+            throw new IllegalStateException("The pipeline has been closed.");
+        }
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        unfinished.add(done);
+        done.whenComplete((result, ex) -> unfinished.remove(done));
+        Location start = new Location(origin.getWorld(), origin.getX(), origin.getY(), origin.getZ(),
+                origin.getYaw(), origin.getPitch());
+        try {
+            CompletableFuture.supplyAsync(shape, workers).whenComplete((points, ex) -> {
+                if (done.isDone()) {
+                    // Cancelled by the caller or by close() while the shape was computed.
+                    return;
+                }
+                if (ex != null) {
+                    // supplyAsync wraps the computation's exception, which callers of the future should see directly.
+                    done.completeExceptionally(ex instanceof CompletionException && ex.getCause() != null
+                            ? ex.getCause() : ex);
+                    return;
+                }
+                if (points == null) {
+                    done.completeExceptionally(new NullPointerException("The shape computation returned null."));
+                    return;
+                }
+                ready.offer(new Job(points, start, action, done));
+                if (closed) {
+                    // The pipeline was closed while the shape was computed, so no tick will apply it.
+                    cancelReady();
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            // The pipeline was closed by another thread after the check above.
+            done.cancel(false);
+            throw new IllegalStateException("The pipeline has been closed.", ex);
+        }
+        return done;
+    }
+
+    /**
+     * Returns the number of submitted shapes that have not been fully applied.
+     *
+     * @return the number of pending shapes.
+     */
+    public int getPendingCount() {
+        return unfinished.size();
+    }
+
+    /**
+     * Stops applying points and shuts down the worker threads. Shapes that have not been fully applied,
+     * including those still being computed or waiting for a worker, have their futures cancelled.
+     * Must be called on the main thread.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        // Computations that have not started are discarded here and never call back, so their futures
+        // are cancelled through the set of unfinished shapes rather than through the queue.
+        workers.shutdownNow();
+        current = null;
+        cancelReady();
+        for (CompletableFuture<Void> done : unfinished) {
+            done.cancel(false);
+        }
+    }
+
+    private void cancelReady() {
+        Job job;
+        while ((job = ready.poll()) != null) {
+            job.done.cancel(false);
+        }
+    }
+
+    private void tick() {
+        long deadline = System.nanoTime() + tickBudgetNanos;
+        int remaining = pointBudget;
+        while (remaining > 0) {
+            if (current == null) {
+                current = ready.poll();
+                if (current == null) {
+                    return;
+                }
+            }
+            if (current.done.isDone()) {
+                // The caller cancelled the shape.
+                current = null;
+                continue;
+            }
+            int applied = current.apply(Math.min(remaining, CHECK_INTERVAL));
+            remaining -= applied;
+            if (current.isFinished()) {
+                finish(current);
+                current = null;
+            }
+            if (System.nanoTime() - deadline >= 0) {
+                return;
+            }
+        }
+    }
+
+    private void finish(Job job) {
+        if (job.failure != null) {
+            plugin.getLogger().log(Level.WARNING, "Failed to apply a shape.", job.failure);
+            job.done.completeExceptionally(job.failure);
+        } else {
+            job.done.complete(null);
+        }
+    }
+
+    private static final class Job {
+        private final PointBuffer points;
+        private final Location location;
+        private final double originX;
+        private final double originY;
+        private final double originZ;
+        private final Consumer<Location> action;
+        private final CompletableFuture<Void> done;
+        private int cursor;
+        private RuntimeException failure;
+
+        private Job(PointBuffer points, Location origin, Consumer<Location> action, CompletableFuture<Void> done) {
+            this.points = points;
+            this.location = origin;
+            this.originX = origin.getX();
+            this.originY = origin.getY();
+            this.originZ = origin.getZ();
+            this.action = action;
+            this.done = done;
+        }
+
+        /**
+         * Applies the action to at most the given number of points, returning how many were applied.
+         */
+        private int apply(int limit) {
+            int end = Math.min(points.size(), cursor + limit);
+            int start = cursor;
+            double[] x = points.xArray();
+            double[] y = points.yArray();
+            double[] z = points.zArray();
+            try {
+                for (int i = start; i < end; i++) {
+                    location.setX(originX + x[i]);
+                    location.setY(originY + y[i]);
+                    location.setZ(originZ + z[i]);
+                    action.accept(location);
+                }
+            } catch (RuntimeException ex) {
+                // Skip the rest of a shape whose action fails, rather than failing on every tick.
+                failure = ex;
+                cursor = points.size();
+                return end - start;
+            }
+            cursor = end;
+            return end - start;
+        }
+
+        private boolean isFinished() {
+            return cursor >= points.size();
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package io.github.simplexdev.paper;
+
+import io.github.simplexdev.polarize.api.spatial.IPoint3D;
+import io.github.simplexdev.polarize.cartesian.PointBuffer;
+import io.github.simplexdev.polarize.util.Polarizer;
+import org.bukkit.Location;
+import org.bukkit.Particle;
+import org.bukkit.entity.Player;
+
+/**
+ * Removes the points of a shape that a player cannot see, so particles are only sent for the rest.
+ * <p>
+ * A point is kept if it lies within a cone around the player's view direction and within the maximum
+ * distance of the player's eyes, or if it is within the near distance, where particles beside the player
+ * are still visible. The view direction is computed once per pass from the eye location's yaw and pitch
+ * through {@link Polarizer}, and each point is then tested with a dot product and squared distances,
+ * without a square root or an object per point.
+ * <p>
+ * Instances are immutable and can be shared between players and threads.
+ */
+public final class ViewCuller {
+    /**
+     * A half angle that covers the default field of view of 70 degrees, including the wider horizontal view
+     * of a wide screen.
+     */
+    public static final double DEFAULT_HALF_ANGLE = 70.0;
+
+    /**
+     * The distance within which points are always kept.
+     */
+    public static final double DEFAULT_NEAR_DISTANCE = 2.0;
+
+    private final double cosSquared;
+    private final boolean wide;
+    private final double maxDistanceSquared;
+    private final double nearDistanceSquared;
+
+    /**
+     * Creates a new ViewCuller.
+     *
+     * @param halfAngle    the angle between the view direction and the edge of the view cone, in degrees,
+     *                     between 0 and 180.
+     * @param maxDistance  the distance from the eyes beyond which points are removed.
+     * @param nearDistance the distance from the eyes within which points are always kept.
+     */
+    public ViewCuller(double halfAngle, double maxDistance, double nearDistance) {
+        if (!(halfAngle > 0.0 && halfAngle <= 180.0)) {
+            throw new IllegalArgumentException("Half angle must be between 0 and 180 degrees: " + halfAngle);
+        }
+        if (!(maxDistance > 0.0) || nearDistance < 0.0) {
+            throw new IllegalArgumentException("Invalid distances: " + maxDistance + ", " + nearDistance);
+        }
+        double cos = Math.cos(Math.toRadians(halfAngle));
+        this.cosSquared = cos * cos;
+        this.wide = halfAngle > 90.0;
+        this.maxDistanceSquared = maxDistance * maxDistance;
+        this.nearDistanceSquared = nearDistance * nearDistance;
+    }
+
+    /**
+     * Creates a new ViewCuller with the default half angle and near distance, which removes points beyond
+     * a player's view distance.
+     *
+     * @param player the player whose view distance is used.
+     * @return a new ViewCuller for the player's view distance.
+     */
+    public static ViewCuller forViewDistance(Player player) {
+        return new ViewCuller(DEFAULT_HALF_ANGLE, player.getClientViewDistance() * 16.0, DEFAULT_NEAR_DISTANCE);
+    }
+
+    /**
+     * Appends the points of a shape that are visible from an eye location to a buffer.
+     * Nothing is appended if the eye and the shape are in different worlds.
+     *
+     * @param eye    the location of the viewer's eyes, with the direction they look in.
+     * @param origin the location the points are relative to.
+     * @param points the points of the shape, relative to the origin.
+     * @param out    the buffer to append the visible points to, still relative to the origin.
+     * @return the number of points appended.
+     */
+    public int cull(Location eye, Location origin, PointBuffer points, PointBuffer out) {
+        if (eye.getWorld() != origin.getWorld()) {
+            return 0;
+        }
+        // Bukkit's yaw and pitch map onto the spherical angles measured from the y-axis,
+        // and the x-axis towards the z-axis, that the Polarizer uses.
+        IPoint3D direction = Polarizer.toCartesianUnit(1.0,
+                Math.PI / 2 + Math.toRadians(eye.getPitch()),
+                Math.PI / 2 + Math.toRadians(eye.getYaw())).getPoint3D();
+        double dx = direction.getX().get();
+        double dy = direction.getY().get();
+        double dz = direction.getZ().get();
+
+        double offsetX = origin.getX() - eye.getX();
+        double offsetY = origin.getY() - eye.getY();
+        double offsetZ = origin.getZ() - eye.getZ();
+        double[] x = points.xArray();
+        double[] y = points.yArray();
+        double[] z = points.zArray();
+        int before = out.size();
+        for (int i = 0; i < points.size(); i++) {
+            double px = offsetX + x[i];
+            double py = offsetY + y[i];
+            double pz = offsetZ + z[i];
+            double distanceSquared = px * px + py * py + pz * pz;
+            if (distanceSquared > maxDistanceSquared) {
+                continue;
+            }
+            if (distanceSquared <= nearDistanceSquared || isInCone(dx * px + dy * py + dz * pz, distanceSquared)) {
+                out.add(x[i], y[i], z[i]);
+            }
+        }
+        return out.size() - before;
+    }
+
+    /**
+     * Spawns a particle for a single player at each point of a shape the player can see.
+     *
+     * @param player   the player to spawn the particles for.
+     * @param particle the particle to spawn.
+     * @param origin   the location the points are relative to.
+     * @param points   the points of the shape, relative to the origin.
+     * @param scratch  a buffer to hold the visible points, which is cleared first and can be reused.
+     * @return the number of particles spawned.
+     */
+    public int spawnParticles(Player player, Particle particle, Location origin, PointBuffer points,
+                              PointBuffer scratch) {
+        scratch.clear();
+        int visible = cull(player.getEyeLocation(), origin, points, scratch);
+        double originX = origin.getX();
+        double originY = origin.getY();
+        double originZ = origin.getZ();
+        double[] x = scratch.xArray();
+        double[] y = scratch.yArray();
+        double[] z = scratch.zArray();
+        for (int i = 0; i < visible; i++) {
+            player.spawnParticle(particle, originX + x[i], originY + y[i], originZ + z[i], 1);
+        }
+        return visible;
+    }
+
+    /**
+     * Returns whether a point is within the cone, given its dot product with the view direction and its
+     * squared distance, by comparing {@code dot / distance} with the cosine of the half angle squared.
+     */
+    private boolean isInCone(double dot, double distanceSquared) {
+        double dotSquared = dot * dot;
+        if (wide) {
+            return dot >= 0.0 || dotSquared <= cosSquared * distanceSquared;
+        }
+        return dot >= 0.0 && dotSquared >= cosSquared * distanceSquared;
+    }
+}
@@ -0,0 +1,133 @@
+package io.github.simplexdev.paper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.github.simplexdev.polarize.cartesian.PointBuffer;
+import org.junit.jupiter.api.Test;
+
+class ChunkPartitionTest
+{
+    /**
+     * Method under test: {@link ChunkPartition#partition(double, double, double, PointBuffer)}
+     */
+    @Test
+    void testNegativeChunkCoordinates()
+    {
+        PointBuffer points = new PointBuffer();
+        points.add(7.5, 0.0, 0.0);     // x = -0.5 floors into chunk -1
+        points.add(8.0, 1.0, -8.0);    // x = 0 and z = 0 start chunk 0
+        points.add(-8.0, 2.0, -24.0);  // x = -16 and z = -16 are still in chunk -1
+        points.add(-8.5, 3.0, -24.5);  // x = -16.5 and z = -16.5 are in chunk -2
+        points.add(0.0, 4.0, 0.0);
+        points.add(8.5, 5.0, -8.5);    // z = -0.5 floors into chunk -1
+        points.add(7.99, 6.0, 7.99);   // x = -0.01 floors into chunk -1
+
+        ChunkPartition partition = new ChunkPartition();
+        partition.partition(-8.0, 70.0, 8.0, points);
+
+        assertEquals(7, partition.size());
+        assertEquals(5, partition.getChunkCount());
+        // Chunks are numbered in the order they are first seen.
+        int[][] expected = {{-1, 0, 0, 3}, {0, 0, 3, 4}, {-1, -1, 4, 5}, {-2, -2, 5, 6}, {0, -1, 6, 7}};
+        for (int chunk = 0; chunk < expected.length; chunk++)
+        {
+            assertEquals(expected[chunk][0], partition.getChunkX(chunk));
+            assertEquals(expected[chunk][1], partition.getChunkZ(chunk));
+            assertEquals(expected[chunk][2], partition.getStart(chunk));
+            assertEquals(expected[chunk][3], partition.getEnd(chunk));
+        }
+
+        // Points keep their order within a chunk, and are offset into world coordinates.
+        double[] ys = {70.0, 74.0, 76.0, 71.0, 72.0, 73.0, 75.0};
+        for (int i = 0; i < ys.length; i++)
+        {
+            assertEquals(ys[i], partition.getY(i));
+        }
+        assertEquals(-0.5, partition.getX(0));
+        assertEquals(8.0, partition.getZ(0));
+        assertEquals(-16.5, partition.getX(5));
+        assertEquals(-16.5, partition.getZ(5));
+    }
+
+    /**
+     * Method under test: {@link ChunkPartition#copyChunk(int, PointBuffer)}
+     */
+    @Test
+    void testCopyChunk()
+    {
+        PointBuffer points = new PointBuffer();
+        points.add(-1.0, 0.0, -1.0);
+        points.add(1.0, 1.0, 1.0);
+        points.add(-2.0, 2.0, -2.0);
+
+        ChunkPartition partition = new ChunkPartition();
+        partition.partition(0.0, 0.0, 0.0, points);
+
+        PointBuffer out = new PointBuffer();
+        out.add(9.0, 9.0, 9.0);
+        partition.copyChunk(0, out);
+        assertEquals(3, out.size());
+        assertEquals(-1.0, out.getX(1));
+        assertEquals(2.0, out.getY(2));
+    }
+
+    /**
+     * Method under test: {@link ChunkPartition#partition(double, double, double, PointBuffer)}
+     */
+    @Test
+    void testRepartitionAcrossManyChunks()
+    {
+        // Two points in each of 40 chunks, interleaved, grows the chunk arrays and the table.
+        PointBuffer points = new PointBuffer();
+        for (int round = 0; round < 2; round++)
+        {
+            for (int chunk = 0; chunk < 40; chunk++)
+            {
+                points.add(-16.0 * chunk - 1.0, round, 16.0 * chunk);
+            }
+        }
+
+        ChunkPartition partition = new ChunkPartition();
+        partition.partition(0.0, 0.0, 0.0, points);
+        assertEquals(40, partition.getChunkCount());
+        for (int chunk = 0; chunk < 40; chunk++)
+        {
+            assertEquals(-chunk - 1, partition.getChunkX(chunk));
+            assertEquals(chunk, partition.getChunkZ(chunk));
+            assertEquals(2 * chunk, partition.getStart(chunk));
+            assertEquals(2 * chunk + 2, partition.getEnd(chunk));
+            assertEquals(0.0, partition.getY(2 * chunk));
+            assertEquals(1.0, partition.getY(2 * chunk + 1));
+        }
+
+        // A second partition replaces the first, rather than adding to its counts.
+        PointBuffer fewer = new PointBuffer();
+        fewer.add(-1.0, 0.0, 0.0);
+        fewer.add(-2.0, 0.0, 0.0);
+        partition.partition(0.0, 0.0, 0.0, fewer);
+        assertEquals(2, partition.size());
+        assertEquals(1, partition.getChunkCount());
+        assertEquals(0, partition.getStart(0));
+        assertEquals(2, partition.getEnd(0));
+    }
+
+    /**
+     * Method under test: {@link ChunkPartition#getChunkX(int)} and {@link ChunkPartition#getX(int)}
+     */
+    @Test
+    void testOutOfBounds()
+    {
+        ChunkPartition partition = new ChunkPartition();
+        assertEquals(0, partition.getChunkCount());
+        assertThrows(IndexOutOfBoundsException.class, () -> partition.getChunkX(0));
+
+        PointBuffer points = new PointBuffer();
+        points.add(0.0, 0.0, 0.0);
+        partition.partition(0.0, 0.0, 0.0, points);
+        assertThrows(IndexOutOfBoundsException.class, () -> partition.getStart(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> partition.getChunkZ(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> partition.getX(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> partition.getZ(-1));
+    }
+}
@@ -0,0 +1,62 @@
+package io.github.simplexdev.paper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+class LodPolicyTest
+{
+    // Levels of 64, 32, 16 and 8 points, with a bounding radius of 1.
+    private static final ShapeLevels SHAPE = ShapeLevels.of(ShapeLevelsTest.ring(64), 8);
+
+    /**
+     * Method under test: {@link LodPolicy#select(ShapeLevels, double, int)}
+     */
+    @Test
+    void testLevelBoundaries()
+    {
+        LodPolicy policy = new LodPolicy(10.0);
+
+        // The level is ceil(2 * log2(nearest / full)), measured from the nearest point of the bounding sphere.
+        assertEquals(0, policy.select(SHAPE, 0.0, Integer.MAX_VALUE));
+        assertEquals(0, policy.select(SHAPE, 11.0, Integer.MAX_VALUE));
+        assertEquals(1, policy.select(SHAPE, 11.5, Integer.MAX_VALUE));
+        assertEquals(1, policy.select(SHAPE, 1.0 + 10.0 * Math.sqrt(2.0) - 1e-9, Integer.MAX_VALUE));
+        assertEquals(2, policy.select(SHAPE, 1.0 + 10.0 * Math.sqrt(2.0) + 1e-9, Integer.MAX_VALUE));
+        assertEquals(2, policy.select(SHAPE, 21.0, Integer.MAX_VALUE));
+        assertEquals(3, policy.select(SHAPE, 22.0, Integer.MAX_VALUE));
+        // Further away is clamped to the coarsest level.
+        assertEquals(3, policy.select(SHAPE, 1000.0, Integer.MAX_VALUE));
+    }
+
+    /**
+     * Method under test: {@link LodPolicy#select(ShapeLevels, double, int)}
+     */
+    @Test
+    void testBudgetCap()
+    {
+        LodPolicy policy = new LodPolicy(10.0);
+
+        assertEquals(0, policy.select(SHAPE, 0.0, 64));
+        assertEquals(1, policy.select(SHAPE, 0.0, 63));
+        assertEquals(2, policy.select(SHAPE, 0.0, 20));
+        assertEquals(3, policy.select(SHAPE, 0.0, 8));
+        // The budget only ever coarsens the level the distance picked.
+        assertEquals(2, policy.select(SHAPE, 21.0, 64));
+        // Nothing fits when even the coarsest level is over the budget.
+        assertEquals(-1, policy.select(SHAPE, 0.0, 7));
+        assertEquals(-1, policy.select(SHAPE, 1000.0, 0));
+    }
+
+    /**
+     * Method under test: {@link LodPolicy#LodPolicy(double)}
+     */
+    @Test
+    void testInvalidArguments()
+    {
+        assertThrows(IllegalArgumentException.class, () -> new LodPolicy(0.0));
+        assertThrows(IllegalArgumentException.class, () -> new LodPolicy(-1.0));
+        assertThrows(IllegalArgumentException.class, () -> new LodPolicy(Double.NaN));
+    }
+}
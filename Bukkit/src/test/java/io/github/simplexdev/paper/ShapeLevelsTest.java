@@ -0,0 +1,67 @@
+package io.github.simplexdev.paper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.github.simplexdev.polarize.cartesian.PointBuffer;
+import org.junit.jupiter.api.Test;
+
+class ShapeLevelsTest
+{
+    /**
+     * Method under test: {@link ShapeLevels#of(PointBuffer, int)}
+     */
+    @Test
+    void testLevelBoundaries()
+    {
+        ShapeLevels shape = ShapeLevels.of(ring(64), 8);
+
+        // Each level halves the points, down to the first level with no more than the minimum.
+        assertEquals(4, shape.getLevelCount());
+        assertEquals(64, shape.getLevel(0).size());
+        assertEquals(32, shape.getLevel(1).size());
+        assertEquals(16, shape.getLevel(2).size());
+        assertEquals(8, shape.getLevel(3).size());
+        assertEquals(1.0, shape.getBoundingRadius(), 1e-12);
+
+        // Level k takes every 2^k-th point of the full set, starting halfway into the first stride.
+        PointBuffer full = shape.getLevel(0);
+        PointBuffer level = shape.getLevel(3);
+        for (int i = 0; i < level.size(); i++)
+        {
+            assertEquals(full.getX(3 + 8 * i), level.getX(i));
+            assertEquals(full.getZ(3 + 8 * i), level.getZ(i));
+        }
+
+        assertEquals(2, ShapeLevels.of(ring(64), 32).getLevelCount());
+        assertEquals(1, ShapeLevels.of(ring(64), 64).getLevelCount());
+        assertEquals(1, ShapeLevels.of(new PointBuffer(), 1).getLevelCount());
+    }
+
+    /**
+     * Method under test: {@link ShapeLevels#of(PointBuffer, int)} and {@link ShapeLevels#getLevel(int)}
+     */
+    @Test
+    void testInvalidArguments()
+    {
+        assertThrows(IllegalArgumentException.class, () -> ShapeLevels.of(ring(4), 0));
+
+        ShapeLevels shape = ShapeLevels.of(ring(4), 4);
+        assertThrows(IndexOutOfBoundsException.class, () -> shape.getLevel(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> shape.getLevel(1));
+    }
+
+    /**
+     * Returns evenly spaced points on a circle of radius 1 around the origin.
+     */
+    static PointBuffer ring(int count)
+    {
+        PointBuffer points = new PointBuffer(count);
+        for (int i = 0; i < count; i++)
+        {
+            double angle = 2.0 * Math.PI * i / count;
+            points.add(Math.cos(angle), 0.0, Math.sin(angle));
+        }
+        return points;
+    }
+}
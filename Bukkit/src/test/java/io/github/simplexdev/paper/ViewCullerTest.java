@@ -0,0 +1,100 @@
+package io.github.simplexdev.paper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.github.simplexdev.polarize.cartesian.PointBuffer;
+import org.bukkit.Location;
+import org.junit.jupiter.api.Test;
+
+class ViewCullerTest
+{
+    // A pitch of -90 degrees looks straight up, so the angle of a point from the view direction is its polar angle.
+    private static final Location EYE = new Location(null, 0.0, 64.0, 0.0, 0.0f, -90.0f);
+    private static final Location ORIGIN = new Location(null, 0.0, 64.0, 0.0);
+
+    /**
+     * Method under test: {@link ViewCuller#cull(Location, Location, PointBuffer, PointBuffer)}
+     */
+    @Test
+    void testNarrowConeBoundary()
+    {
+        ViewCuller culler = new ViewCuller(60.0, 100.0, 0.0);
+
+        assertEquals(1, cull(culler, 0.0, 10.0));
+        assertEquals(1, cull(culler, 59.0, 10.0));
+        assertEquals(0, cull(culler, 61.0, 10.0));
+        assertEquals(0, cull(culler, 120.0, 10.0));
+        assertEquals(0, cull(culler, 180.0, 10.0));
+    }
+
+    /**
+     * Method under test: {@link ViewCuller#cull(Location, Location, PointBuffer, PointBuffer)}
+     */
+    @Test
+    void testRightAngleBoundary()
+    {
+        ViewCuller culler = new ViewCuller(90.0, 100.0, 0.0);
+
+        assertEquals(1, cull(culler, 89.0, 10.0));
+        assertEquals(0, cull(culler, 91.0, 10.0));
+    }
+
+    /**
+     * Method under test: {@link ViewCuller#cull(Location, Location, PointBuffer, PointBuffer)}
+     */
+    @Test
+    void testWideConeKeepsPointsBehindTheSide()
+    {
+        ViewCuller culler = new ViewCuller(120.0, 100.0, 0.0);
+
+        assertEquals(1, cull(culler, 0.0, 10.0));
+        assertEquals(1, cull(culler, 89.0, 10.0));
+        // Beyond 90 degrees the dot product is negative, and the comparison of squares flips.
+        assertEquals(1, cull(culler, 91.0, 10.0));
+        assertEquals(1, cull(culler, 119.0, 10.0));
+        assertEquals(0, cull(culler, 121.0, 10.0));
+        assertEquals(0, cull(culler, 180.0, 10.0));
+    }
+
+    /**
+     * Method under test: {@link ViewCuller#cull(Location, Location, PointBuffer, PointBuffer)}
+     */
+    @Test
+    void testNearAndMaxDistance()
+    {
+        ViewCuller culler = new ViewCuller(60.0, 50.0, 2.0);
+
+        assertEquals(1, cull(culler, 180.0, 1.5));
+        assertEquals(0, cull(culler, 180.0, 2.5));
+        assertEquals(1, cull(culler, 0.0, 49.0));
+        assertEquals(0, cull(culler, 0.0, 51.0));
+    }
+
+    /**
+     * Method under test: {@link ViewCuller#ViewCuller(double, double, double)}
+     */
+    @Test
+    void testInvalidArguments()
+    {
+        assertThrows(IllegalArgumentException.class, () -> new ViewCuller(0.0, 10.0, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> new ViewCuller(181.0, 10.0, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> new ViewCuller(Double.NaN, 10.0, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> new ViewCuller(60.0, 0.0, 1.0));
+    }
+
+    /**
+     * Culls a single point at the given angle from the view direction and distance from the eyes,
+     * returning how many points were kept.
+     */
+    private static int cull(ViewCuller culler, double degrees, double distance)
+    {
+        double angle = Math.toRadians(degrees);
+        PointBuffer points = new PointBuffer();
+        points.add(distance * Math.sin(angle), distance * Math.cos(angle), 0.0);
+        PointBuffer out = new PointBuffer();
+        int kept = culler.cull(EYE, ORIGIN, points, out);
+        assertEquals(kept, out.size());
+        return kept;
+    }
+}
@@ -22,7 +22,7 @@ public interface Phi {
     double getAzimuth();
 
     static Phi from(double y, Radius r) {
-        return () -> Math.cos(y / r.length());
+        return of(Math.cos(y / r.length()));
     }
 
     static Phi of(double azimuth) {
@@ -25,6 +25,6 @@ public interface Radius {
     }
 
     static Radius from(double x, double y, double z) {
-        return () -> Math.sqrt(x * x + y * y + z * z);
+        return of(Math.sqrt(x * x + y * y + z * z));
     }
 }
@@ -13,7 +13,7 @@ public interface Theta {
     double getZenith();
 
     static Theta from(double x, double z) {
-        return () -> Math.atan2(x, z);
+        return of(Math.atan2(x, z));
     }
 
     static Theta of(double zenithAngle) {
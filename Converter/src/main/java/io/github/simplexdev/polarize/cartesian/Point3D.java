@@ -8,6 +8,7 @@ import org.jetbrains.annotations.NotNull;
 
 import java.util.LinkedHashSet;
 import java.util.Set;
+import java.util.logging.Level;
 
 public class Point3D implements IPoint3D {
     private final Point.X x;
@@ -73,19 +74,23 @@ public class Point3D implements IPoint3D {
         IPoint3D diff = getDifferential(point);
         Set<IPoint3D> point3DSet = new LinkedHashSet<>();
         for (double i = 0.0; i <= numPoints; i++) {
+            double index = i;
             double multiplier = i / numPoints;
-            PolarizeLogger.info("i: " + i);
-            PolarizeLogger.info("multiplier: " + multiplier);
             IPoint3D adjusted = Point.fromDouble(diff.getX().multiply(() -> multiplier),
                     diff.getY().multiply(multiplier),
                     diff.getZ().multiply(multiplier));
-            PolarizeLogger.info("adjusted: " + "X: " + adjusted.getX()
-                    + " Y: " + adjusted.getY()
-                    + " Z: " + adjusted.getZ());
             IPoint3D added = this.add(adjusted);
-            PolarizeLogger.info("added: " + "X: " + added.getX()
-                    + " Y: " + added.getY()
-                    + " Z: " + added.getZ());
+            if (PolarizeLogger.isLoggable(Level.FINE)) {
+                // Checked here so that the capturing lambda is not allocated for every point.
+                PolarizeLogger.fine(() -> "i: " + index
+                        + " multiplier: " + multiplier
+                        + " adjusted: X: " + adjusted.getX()
+                        + " Y: " + adjusted.getY()
+                        + " Z: " + adjusted.getZ()
+                        + " added: X: " + added.getX()
+                        + " Y: " + added.getY()
+                        + " Z: " + added.getZ());
+            }
             point3DSet.add(added);
         }
         return point3DSet;
@@ -0,0 +1,289 @@
+package io.github.simplexdev.polarize.cartesian;
+
+import io.github.simplexdev.polarize.api.spatial.IPoint3D;
+import io.github.simplexdev.polarize.api.units.Point;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * A growable buffer of 3D points, stored as three parallel arrays of primitive doubles.
+ * <p>
+ * Unlike a {@code Set<IPoint3D>}, a buffer stores each point as three doubles with no
+ * per-point object, so large shapes can be generated, transformed and consumed without boxing.
+ * The buffer can be cleared and refilled, which allows the same instance to be reused every tick.
+ * <p>
+ * The backing arrays are exposed through {@link #xArray()}, {@link #yArray()} and {@link #zArray()}
+ * for bulk operations. Only the first {@link #size()} elements of each array are valid, and the
+ * arrays are replaced whenever the buffer grows.
+ * <p>
+ * This class is not thread-safe.
+ */
+public final class PointBuffer {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private double[] x;
+    private double[] y;
+    private double[] z;
+    private int size;
+
+    /**
+     * Creates a new, empty PointBuffer with a default capacity.
+     */
+    public PointBuffer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a new, empty PointBuffer which can hold the given number of points without growing.
+     *
+     * @param capacity the initial capacity of the buffer.
+     */
+    public PointBuffer(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative: " + capacity);
+        }
+        this.x = new double[capacity];
+        this.y = new double[capacity];
+        this.z = new double[capacity];
+    }
+
+    /**
+     * Creates a new PointBuffer containing the given points, in iteration order.
+     *
+     * @param points the points to copy into the buffer.
+     * @return a new PointBuffer containing the given points.
+     */
+    public static PointBuffer of(Collection<? extends IPoint3D> points) {
+        PointBuffer buffer = new PointBuffer(points.size());
+        for (IPoint3D point : points) {
+            buffer.add(point);
+        }
+        return buffer;
+    }
+
+    /**
+     * Appends a point to the end of this buffer.
+     *
+     * @param x the x coordinate of the point.
+     * @param y the y coordinate of the point.
+     * @param z the z coordinate of the point.
+     */
+    public void add(double x, double y, double z) {
+        if (size == this.x.length) {
+            grow(size + 1);
+        }
+        this.x[size] = x;
+        this.y[size] = y;
+        this.z[size] = z;
+        size++;
+    }
+
+    /**
+     * Appends a point to the end of this buffer.
+     *
+     * @param point the point to append.
+     */
+    public void add(IPoint3D point) {
+        add(point.getX().get(), point.getY().get(), point.getZ().get());
+    }
+
+    /**
+     * Appends every point of another buffer to the end of this buffer.
+     *
+     * @param other the buffer to copy points from.
+     */
+    public void addAll(PointBuffer other) {
+        ensureCapacity(size + other.size);
+        System.arraycopy(other.x, 0, x, size, other.size);
+        System.arraycopy(other.y, 0, y, size, other.size);
+        System.arraycopy(other.z, 0, z, size, other.size);
+        size += other.size;
+    }
+
+    /**
+     * Replaces the point at the given index.
+     *
+     * @param index the index of the point to replace.
+     * @param x     the new x coordinate.
+     * @param y     the new y coordinate.
+     * @param z     the new z coordinate.
+     */
+    public void set(int index, double x, double y, double z) {
+        checkIndex(index);
+        this.x[index] = x;
+        this.y[index] = y;
+        this.z[index] = z;
+    }
+
+    /**
+     * Returns the x coordinate of the point at the given index.
+     *
+     * @param index the index of the point.
+     * @return the x coordinate of the point.
+     */
+    public double getX(int index) {
+        checkIndex(index);
+        return x[index];
+    }
+
+    /**
+     * Returns the y coordinate of the point at the given index.
+     *
+     * @param index the index of the point.
+     * @return the y coordinate of the point.
+     */
+    public double getY(int index) {
+        checkIndex(index);
+        return y[index];
+    }
+
+    /**
+     * Returns the z coordinate of the point at the given index.
+     *
+     * @param index the index of the point.
+     * @return the z coordinate of the point.
+     */
+    public double getZ(int index) {
+        checkIndex(index);
+        return z[index];
+    }
+
+    /**
+     * Returns the point at the given index as a new {@link IPoint3D}.
+     *
+     * @param index the index of the point.
+     * @return a new IPoint3D with the coordinates of the point.
+     */
+    public IPoint3D get(int index) {
+        checkIndex(index);
+        return Point.fromDouble(x[index], y[index], z[index]);
+    }
+
+    /**
+     * Swaps the points at the two given indices.
+     *
+     * @param i the index of the first point.
+     * @param j the index of the second point.
+     */
+    public void swap(int i, int j) {
+        checkIndex(i);
+        checkIndex(j);
+        double t = x[i];
+        x[i] = x[j];
+        x[j] = t;
+        t = y[i];
+        y[i] = y[j];
+        y[j] = t;
+        t = z[i];
+        z[i] = z[j];
+        z[j] = t;
+    }
+
+    /**
+     * Returns the number of points in this buffer.
+     *
+     * @return the number of points in this buffer.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns whether this buffer contains no points.
+     *
+     * @return true if this buffer is empty.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes every point from this buffer.
+     * The capacity of the buffer is retained so that it can be refilled without allocating.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Shrinks this buffer to the given number of points, discarding the rest.
+     *
+     * @param size the new size of the buffer, which must not exceed the current size.
+     */
+    public void truncate(int size) {
+        if (size < 0 || size > this.size) {
+            throw new IndexOutOfBoundsException("Size " + size + " out of bounds for size " + this.size);
+        }
+        this.size = size;
+    }
+
+    /**
+     * Ensures this buffer can hold at least the given number of points without growing.
+     *
+     * @param capacity the required capacity.
+     */
+    public void ensureCapacity(int capacity) {
+        if (capacity > x.length) {
+            grow(capacity);
+        }
+    }
+
+    /**
+     * Returns the backing array of x coordinates.
+     * Only the first {@link #size()} elements are valid.
+     *
+     * @return the backing array of x coordinates.
+     */
+    public double[] xArray() {
+        return x;
+    }
+
+    /**
+     * Returns the backing array of y coordinates.
+     * Only the first {@link #size()} elements are valid.
+     *
+     * @return the backing array of y coordinates.
+     */
+    public double[] yArray() {
+        return y;
+    }
+
+    /**
+     * Returns the backing array of z coordinates.
+     * Only the first {@link #size()} elements are valid.
+     *
+     * @return the backing array of z coordinates.
+     */
+    public double[] zArray() {
+        return z;
+    }
+
+    /**
+     * Copies the points of this buffer into a new ordered set of {@link IPoint3D}.
+     *
+     * @return a new set containing every point of this buffer.
+     */
+    public Set<IPoint3D> toSet() {
+        Set<IPoint3D> set = new LinkedHashSet<>();
+        for (int i = 0; i < size; i++) {
+            set.add(Point.fromDouble(x[i], y[i], z[i]));
+        }
+        return set;
+    }
+
+    private void grow(int minCapacity) {
+        int capacity = Math.max(minCapacity, Math.max(DEFAULT_CAPACITY, x.length + (x.length >> 1)));
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        z = Arrays.copyOf(z, capacity);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+    }
+}
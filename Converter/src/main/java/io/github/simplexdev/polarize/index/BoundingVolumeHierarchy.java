@@ -0,0 +1,682 @@
+package io.github.simplexdev.polarize.index;
+
+import io.github.simplexdev.polarize.cartesian.PointBuffer;
+
+import java.util.Arrays;
+
+/**
+ * A bounding volume hierarchy over axis-aligned bounding boxes, for finding overlapping shapes
+ * and shapes hit by a ray without testing every pair.
+ * <p>
+ * Each shape, such as a dome, ring or helix generated by this library, is added as the bounding box
+ * of its points and receives an integer id. {@link #build()} then arranges the boxes into a binary tree
+ * with the binned surface area heuristic: at every node, the boxes are sorted into {@value #BINS} bins
+ * along the axis where their centers spread the most, and the split that minimizes the expected cost
+ * of a query is chosen. Enumerating all overlapping pairs then costs close to {@code O(n log n)} instead
+ * of the {@code O(n^2)} of testing every pair.
+ * <p>
+ * Shapes that move every tick do not need a full rebuild. After their boxes are changed with
+ * {@link #update(int, double, double, double, double, double, double)}, {@link #refit()} recomputes the
+ * node boxes bottom-up in linear time while keeping the tree's structure. The tree's quality degrades as
+ * shapes drift far from where they were when it was built, so an occasional {@link #build()} is still needed.
+ * <p>
+ * Shapes added or removed after the last {@link #build()} are not seen by queries until the next build.
+ * <p>
+ * This class is not thread-safe.
+ *
+ * @see <a href="https://en.wikipedia.org/wiki/Bounding_volume_hierarchy">Bounding volume hierarchy</a>
+ */
+public final class BoundingVolumeHierarchy {
+    /**
+     * The number of bins used to evaluate candidate splits.
+     */
+    public static final int BINS = 16;
+
+    private static final int MAX_LEAF_SIZE = 4;
+    private static final int NONE = -1;
+
+    private double[] boxes = new double[0];
+    private boolean[] active = new boolean[0];
+    private int count;
+
+    private int[] items = new int[0];
+    private double[] nodeBounds = new double[0];
+    private int[] nodeLeft = new int[0];
+    private int[] nodeStart = new int[0];
+    private int[] nodeCount = new int[0];
+    private int nodes;
+
+    // Scratch space for building and querying, kept between calls so that neither allocates.
+    private final double[] binBounds = new double[BINS * 6];
+    private final int[] binCounts = new int[BINS];
+    private final double[] rightArea = new double[BINS];
+    private final int[] rightCount = new int[BINS];
+    private final double[] accumulated = new double[6];
+    private final double[] centroidMin = new double[3];
+    private final double[] centroidMax = new double[3];
+    private final double[] query = new double[6];
+    private final double[] ray = new double[6];
+    private int[] stack = new int[64];
+    private double[] distances = new double[64];
+
+    /**
+     * Creates a new, empty BoundingVolumeHierarchy.
+     */
+    public BoundingVolumeHierarchy() {
+    }
+
+    /**
+     * Adds a shape with the given bounding box.
+     *
+     * @param minX the smallest x coordinate of the box.
+     * @param minY the smallest y coordinate of the box.
+     * @param minZ the smallest z coordinate of the box.
+     * @param maxX the largest x coordinate of the box.
+     * @param maxY the largest y coordinate of the box.
+     * @param maxZ the largest z coordinate of the box.
+     * @return the id of the shape.
+     */
+    public int add(double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+        if (count * 6 == boxes.length) {
+            int capacity = Math.max(16, count + (count >> 1));
+            boxes = Arrays.copyOf(boxes, capacity * 6);
+            active = Arrays.copyOf(active, capacity);
+        }
+        int id = count++;
+        active[id] = true;
+        setBox(id, minX, minY, minZ, maxX, maxY, maxZ);
+        return id;
+    }
+
+    /**
+     * Adds a shape bounded by the given points.
+     *
+     * @param points the points of the shape.
+     * @return the id of the shape.
+     */
+    public int add(PointBuffer points) {
+        int id = add(0, 0, 0, 0, 0, 0);
+        update(id, points);
+        return id;
+    }
+
+    /**
+     * Adds a shape bounded by the given sphere.
+     *
+     * @param cx     the x coordinate of the sphere's center.
+     * @param cy     the y coordinate of the sphere's center.
+     * @param cz     the z coordinate of the sphere's center.
+     * @param radius the radius of the sphere.
+     * @return the id of the shape.
+     */
+    public int addSphere(double cx, double cy, double cz, double radius) {
+        return add(cx - radius, cy - radius, cz - radius, cx + radius, cy + radius, cz + radius);
+    }
+
+    /**
+     * Changes the bounding box of a shape. Call {@link #refit()} or {@link #build()} before querying.
+     *
+     * @param id   the id of the shape.
+     * @param minX the smallest x coordinate of the box.
+     * @param minY the smallest y coordinate of the box.
+     * @param minZ the smallest z coordinate of the box.
+     * @param maxX the largest x coordinate of the box.
+     * @param maxY the largest y coordinate of the box.
+     * @param maxZ the largest z coordinate of the box.
+     */
+    public void update(int id, double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+        checkActive(id);
+        setBox(id, minX, minY, minZ, maxX, maxY, maxZ);
+    }
+
+    /**
+     * Changes the bounding box of a shape to the bounds of the given points.
+     * Call {@link #refit()} or {@link #build()} before querying.
+     *
+     * @param id     the id of the shape.
+     * @param points the points of the shape.
+     */
+    public void update(int id, PointBuffer points) {
+        checkActive(id);
+        double[] x = points.xArray();
+        double[] y = points.yArray();
+        double[] z = points.zArray();
+        double minX = Double.POSITIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double minZ = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+        double maxZ = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < points.size(); i++) {
+            minX = Math.min(minX, x[i]);
+            minY = Math.min(minY, y[i]);
+            minZ = Math.min(minZ, z[i]);
+            maxX = Math.max(maxX, x[i]);
+            maxY = Math.max(maxY, y[i]);
+            maxZ = Math.max(maxZ, z[i]);
+        }
+        setBox(id, minX, minY, minZ, maxX, maxY, maxZ);
+    }
+
+    /**
+     * Removes a shape. Its id is not reused.
+     *
+     * @param id the id of the shape.
+     * @return true if the shape was present.
+     */
+    public boolean remove(int id) {
+        if (id < 0 || id >= count || !active[id]) {
+            return false;
+        }
+        active[id] = false;
+        // An inverted box overlaps nothing, so the shape drops out of queries even before the next build.
+        setBox(id, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY,
+                Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY);
+        return true;
+    }
+
+    /**
+     * Returns the number of ids handed out, including those of removed shapes.
+     *
+     * @return the number of ids.
+     */
+    public int idCount() {
+        return count;
+    }
+
+    /**
+     * Returns the number of nodes in the tree built by the last call to {@link #build()}.
+     *
+     * @return the number of nodes.
+     */
+    public int nodeCount() {
+        return nodes;
+    }
+
+    /**
+     * Rebuilds the tree from the current boxes of every shape.
+     */
+    public void build() {
+        int live = 0;
+        if (items.length < count) {
+            items = new int[count];
+        }
+        for (int id = 0; id < count; id++) {
+            if (active[id]) {
+                items[live++] = id;
+            }
+        }
+        nodes = 0;
+        if (live == 0) {
+            return;
+        }
+        ensureNodes(2 * live);
+        build(allocate(), 0, live);
+    }
+
+    /**
+     * Recomputes the box of every node from the current boxes of its shapes, keeping the tree's structure.
+     */
+    public void refit() {
+        // Children are always allocated after their parent, so walking backwards visits children first.
+        for (int node = nodes - 1; node >= 0; node--) {
+            int b = node * 6;
+            int left = nodeLeft[node];
+            if (left == NONE) {
+                setNodeBounds(node, nodeStart[node], nodeStart[node] + nodeCount[node]);
+                continue;
+            }
+            int l = left * 6;
+            int r = (left + 1) * 6;
+            for (int axis = 0; axis < 3; axis++) {
+                nodeBounds[b + axis] = Math.min(nodeBounds[l + axis], nodeBounds[r + axis]);
+                nodeBounds[b + 3 + axis] = Math.max(nodeBounds[l + 3 + axis], nodeBounds[r + 3 + axis]);
+            }
+        }
+    }
+
+    /**
+     * Appends every pair of shapes whose boxes overlap to the buffer, as two consecutive ids with
+     * the smaller id first. Boxes that only touch are considered overlapping.
+     *
+     * @param out the buffer to append the pairs to.
+     * @return the number of pairs appended.
+     */
+    public int overlappingPairs(IndexBuffer out) {
+        int before = out.size();
+        if (nodes > 0) {
+            selfPairs(0, out);
+        }
+        return (out.size() - before) / 2;
+    }
+
+    /**
+     * Appends the id of every shape whose box overlaps the given box to the buffer.
+     *
+     * @param minX the smallest x coordinate of the box.
+     * @param minY the smallest y coordinate of the box.
+     * @param minZ the smallest z coordinate of the box.
+     * @param maxX the largest x coordinate of the box.
+     * @param maxY the largest y coordinate of the box.
+     * @param maxZ the largest z coordinate of the box.
+     * @param out  the buffer to append the ids to.
+     * @return the number of ids appended.
+     */
+    public int overlapping(double minX, double minY, double minZ, double maxX, double maxY, double maxZ,
+                           IndexBuffer out) {
+        int before = out.size();
+        if (nodes > 0) {
+            setBounds(query, minX, minY, minZ, maxX, maxY, maxZ);
+            overlapping(0, out);
+        }
+        return out.size() - before;
+    }
+
+    /**
+     * Appends the id of every shape whose box is hit by a ray to the buffer.
+     *
+     * @param ox          the x coordinate of the ray's origin.
+     * @param oy          the y coordinate of the ray's origin.
+     * @param oz          the z coordinate of the ray's origin.
+     * @param dx          the x component of the ray's direction.
+     * @param dy          the y component of the ray's direction.
+     * @param dz          the z component of the ray's direction.
+     * @param maxDistance the length of the ray, in multiples of the direction's length.
+     * @param out         the buffer to append the ids to.
+     * @return the number of ids appended.
+     */
+    public int raycast(double ox, double oy, double oz, double dx, double dy, double dz,
+                       double maxDistance, IndexBuffer out) {
+        int before = out.size();
+        if (nodes == 0) {
+            return 0;
+        }
+        setBounds(ray, ox, oy, oz, 1.0 / dx, 1.0 / dy, 1.0 / dz);
+        int[] stack = this.stack;
+        int top = 0;
+        stack[top++] = 0;
+        while (top > 0) {
+            int node = stack[--top];
+            if (entry(nodeBounds, node * 6, ray, maxDistance) < 0.0) {
+                continue;
+            }
+            int left = nodeLeft[node];
+            if (left == NONE) {
+                for (int i = nodeStart[node]; i < nodeStart[node] + nodeCount[node]; i++) {
+                    if (entry(boxes, items[i] * 6, ray, maxDistance) >= 0.0) {
+                        out.add(items[i]);
+                    }
+                }
+                continue;
+            }
+            if (top + 2 > stack.length) {
+                stack = Arrays.copyOf(stack, stack.length * 2);
+                this.stack = stack;
+            }
+            stack[top++] = left;
+            stack[top++] = left + 1;
+        }
+        return out.size() - before;
+    }
+
+    /**
+     * Returns the id of the shape whose box a ray enters first.
+     *
+     * @param ox          the x coordinate of the ray's origin.
+     * @param oy          the y coordinate of the ray's origin.
+     * @param oz          the z coordinate of the ray's origin.
+     * @param dx          the x component of the ray's direction.
+     * @param dy          the y component of the ray's direction.
+     * @param dz          the z component of the ray's direction.
+     * @param maxDistance the length of the ray, in multiples of the direction's length.
+     * @return the id of the first shape hit, or -1 if the ray hits nothing.
+     */
+    public int raycastFirst(double ox, double oy, double oz, double dx, double dy, double dz, double maxDistance) {
+        if (nodes == 0) {
+            return NONE;
+        }
+        setBounds(ray, ox, oy, oz, 1.0 / dx, 1.0 / dy, 1.0 / dz);
+        int[] stack = this.stack;
+        double[] distances = this.distances;
+        int top = 0;
+        stack[top] = 0;
+        distances[top++] = entry(nodeBounds, 0, ray, maxDistance);
+        int best = NONE;
+        double bestDistance = maxDistance;
+        while (top > 0) {
+            top--;
+            int node = stack[top];
+            double distance = distances[top];
+            if (distance < 0.0 || distance > bestDistance) {
+                continue;
+            }
+            int left = nodeLeft[node];
+            if (left == NONE) {
+                for (int i = nodeStart[node]; i < nodeStart[node] + nodeCount[node]; i++) {
+                    double hit = entry(boxes, items[i] * 6, ray, bestDistance);
+                    if (hit >= 0.0 && (best == NONE || hit < bestDistance)) {
+                        best = items[i];
+                        bestDistance = hit;
+                    }
+                }
+                continue;
+            }
+            if (top + 2 > stack.length) {
+                stack = Arrays.copyOf(stack, stack.length * 2);
+                distances = Arrays.copyOf(distances, distances.length * 2);
+                this.stack = stack;
+                this.distances = distances;
+            }
+            double leftDistance = entry(nodeBounds, left * 6, ray, bestDistance);
+            double rightDistance = entry(nodeBounds, (left + 1) * 6, ray, bestDistance);
+            // Push the farther child first so the nearer one is visited first.
+            boolean leftFirst = rightDistance < 0.0 || (leftDistance >= 0.0 && leftDistance <= rightDistance);
+            stack[top] = leftFirst ? left + 1 : left;
+            distances[top++] = leftFirst ? rightDistance : leftDistance;
+            stack[top] = leftFirst ? left : left + 1;
+            distances[top++] = leftFirst ? leftDistance : rightDistance;
+        }
+        return best;
+    }
+
+    private void build(int node, int start, int end) {
+        setNodeBounds(node, start, end);
+        int size = end - start;
+        if (size <= MAX_LEAF_SIZE) {
+            makeLeaf(node, start, size);
+            return;
+        }
+
+        Arrays.fill(centroidMin, Double.POSITIVE_INFINITY);
+        Arrays.fill(centroidMax, Double.NEGATIVE_INFINITY);
+        for (int i = start; i < end; i++) {
+            int b = items[i] * 6;
+            for (int axis = 0; axis < 3; axis++) {
+                double center = boxes[b + axis] + boxes[b + 3 + axis];
+                centroidMin[axis] = Math.min(centroidMin[axis], center);
+                centroidMax[axis] = Math.max(centroidMax[axis], center);
+            }
+        }
+        int axis = 0;
+        for (int a = 1; a < 3; a++) {
+            if (centroidMax[a] - centroidMin[a] > centroidMax[axis] - centroidMin[axis]) {
+                axis = a;
+            }
+        }
+        double extent = centroidMax[axis] - centroidMin[axis];
+        int mid;
+        if (extent > 0.0) {
+            mid = partition(start, end, axis, centroidMin[axis], BINS / extent, node);
+        } else {
+            mid = start + size / 2;
+        }
+        if (mid < 0) {
+            makeLeaf(node, start, size);
+            return;
+        }
+
+        int left = allocate();
+        allocate();
+        nodeLeft[node] = left;
+        build(left, start, mid);
+        build(left + 1, mid, end);
+    }
+
+    /**
+     * Sorts the shapes of a node into bins, picks the split with the lowest surface area cost, and
+     * partitions the shapes around it.
+     *
+     * @return the index of the first shape of the right child, or -1 if the node should stay a leaf.
+     */
+    private int partition(int start, int end, int axis, double min, double scale, int node) {
+        Arrays.fill(binCounts, 0);
+        for (int bin = 0; bin < BINS; bin++) {
+            int b = bin * 6;
+            for (int a = 0; a < 3; a++) {
+                binBounds[b + a] = Double.POSITIVE_INFINITY;
+                binBounds[b + 3 + a] = Double.NEGATIVE_INFINITY;
+            }
+        }
+        for (int i = start; i < end; i++) {
+            int box = items[i] * 6;
+            int bin = bin(box, axis, min, scale);
+            binCounts[bin]++;
+            int b = bin * 6;
+            for (int a = 0; a < 3; a++) {
+                binBounds[b + a] = Math.min(binBounds[b + a], boxes[box + a]);
+                binBounds[b + 3 + a] = Math.max(binBounds[b + 3 + a], boxes[box + 3 + a]);
+            }
+        }
+
+        // Sweep from the right to record the area and count to the right of each split.
+        Arrays.fill(accumulated, 0, 3, Double.POSITIVE_INFINITY);
+        Arrays.fill(accumulated, 3, 6, Double.NEGATIVE_INFINITY);
+        int total = 0;
+        for (int bin = BINS - 1; bin > 0; bin--) {
+            grow(accumulated, 0, binBounds, bin * 6);
+            total += binCounts[bin];
+            rightArea[bin] = area(accumulated, 0);
+            rightCount[bin] = total;
+        }
+
+        Arrays.fill(accumulated, 0, 3, Double.POSITIVE_INFINITY);
+        Arrays.fill(accumulated, 3, 6, Double.NEGATIVE_INFINITY);
+        int leftCount = 0;
+        int bestSplit = -1;
+        double bestCost = Double.POSITIVE_INFINITY;
+        for (int split = 1; split < BINS; split++) {
+            grow(accumulated, 0, binBounds, (split - 1) * 6);
+            leftCount += binCounts[split - 1];
+            if (leftCount == 0 || rightCount[split] == 0) {
+                continue;
+            }
+            double cost = area(accumulated, 0) * leftCount + rightArea[split] * rightCount[split];
+            if (cost < bestCost) {
+                bestCost = cost;
+                bestSplit = split;
+            }
+        }
+        if (bestSplit < 0) {
+            return start + (end - start) / 2;
+        }
+        if (end - start <= 2 * MAX_LEAF_SIZE && bestCost >= area(nodeBounds, node * 6) * (end - start)) {
+            return -1;
+        }
+
+        int i = start;
+        int j = end - 1;
+        while (i <= j) {
+            if (bin(items[i] * 6, axis, min, scale) < bestSplit) {
+                i++;
+            } else {
+                int swap = items[i];
+                items[i] = items[j];
+                items[j--] = swap;
+            }
+        }
+        return i;
+    }
+
+    private int bin(int box, int axis, double min, double scale) {
+        double center = boxes[box + axis] + boxes[box + 3 + axis];
+        int bin = (int) ((center - min) * scale);
+        return Math.min(BINS - 1, Math.max(0, bin));
+    }
+
+    private void selfPairs(int node, IndexBuffer out) {
+        int left = nodeLeft[node];
+        if (left == NONE) {
+            int end = nodeStart[node] + nodeCount[node];
+            for (int i = nodeStart[node]; i < end; i++) {
+                for (int j = i + 1; j < end; j++) {
+                    addIfOverlapping(items[i], items[j], out);
+                }
+            }
+            return;
+        }
+        selfPairs(left, out);
+        selfPairs(left + 1, out);
+        crossPairs(left, left + 1, out);
+    }
+
+    private void crossPairs(int a, int b, IndexBuffer out) {
+        if (!overlaps(nodeBounds, a * 6, nodeBounds, b * 6)) {
+            return;
+        }
+        int aLeft = nodeLeft[a];
+        int bLeft = nodeLeft[b];
+        if (aLeft == NONE && bLeft == NONE) {
+            int aEnd = nodeStart[a] + nodeCount[a];
+            int bEnd = nodeStart[b] + nodeCount[b];
+            for (int i = nodeStart[a]; i < aEnd; i++) {
+                for (int j = nodeStart[b]; j < bEnd; j++) {
+                    addIfOverlapping(items[i], items[j], out);
+                }
+            }
+            return;
+        }
+        // Descend into the larger node, so both sides shrink at a similar rate.
+        if (bLeft == NONE || (aLeft != NONE && area(nodeBounds, a * 6) >= area(nodeBounds, b * 6))) {
+            crossPairs(aLeft, b, out);
+            crossPairs(aLeft + 1, b, out);
+        } else {
+            crossPairs(a, bLeft, out);
+            crossPairs(a, bLeft + 1, out);
+        }
+    }
+
+    private void addIfOverlapping(int first, int second, IndexBuffer out) {
+        if (overlaps(boxes, first * 6, boxes, second * 6)) {
+            out.add(Math.min(first, second));
+            out.add(Math.max(first, second));
+        }
+    }
+
+    private void overlapping(int node, IndexBuffer out) {
+        if (!overlaps(nodeBounds, node * 6, query, 0)) {
+            return;
+        }
+        int left = nodeLeft[node];
+        if (left == NONE) {
+            for (int i = nodeStart[node]; i < nodeStart[node] + nodeCount[node]; i++) {
+                if (overlaps(boxes, items[i] * 6, query, 0)) {
+                    out.add(items[i]);
+                }
+            }
+            return;
+        }
+        overlapping(left, out);
+        overlapping(left + 1, out);
+    }
+
+    /**
+     * Returns the distance along a ray at which it enters a box, 0 if it starts inside,
+     * or -1 if it misses the box within the given distance.
+     */
+    private static double entry(double[] bounds, int b, double[] ray, double maxDistance) {
+        double near = 0.0;
+        double far = maxDistance;
+        for (int axis = 0; axis < 3; axis++) {
+            double inverse = ray[3 + axis];
+            double t1 = (bounds[b + axis] - ray[axis]) * inverse;
+            double t2 = (bounds[b + 3 + axis] - ray[axis]) * inverse;
+            if (Double.isNaN(t1) || Double.isNaN(t2)) {
+                // The ray runs along a face of the box on this axis; it is inside the slab if the origin is.
+                if (ray[axis] < bounds[b + axis] || ray[axis] > bounds[b + 3 + axis]) {
+                    return -1.0;
+                }
+                continue;
+            }
+            near = Math.max(near, Math.min(t1, t2));
+            far = Math.min(far, Math.max(t1, t2));
+            if (near > far) {
+                return -1.0;
+            }
+        }
+        return near;
+    }
+
+    private static boolean overlaps(double[] a, int i, double[] b, int j) {
+        return a[i] <= b[j + 3] && a[i + 3] >= b[j]
+                && a[i + 1] <= b[j + 4] && a[i + 4] >= b[j + 1]
+                && a[i + 2] <= b[j + 5] && a[i + 5] >= b[j + 2];
+    }
+
+    private static double area(double[] bounds, int b) {
+        double x = bounds[b + 3] - bounds[b];
+        double y = bounds[b + 4] - bounds[b + 1];
+        double z = bounds[b + 5] - bounds[b + 2];
+        if (!(x >= 0.0 && y >= 0.0 && z >= 0.0)) {
+            return 0.0;
+        }
+        return x * y + y * z + z * x;
+    }
+
+    private void setNodeBounds(int node, int start, int end) {
+        int b = node * 6;
+        for (int a = 0; a < 3; a++) {
+            nodeBounds[b + a] = Double.POSITIVE_INFINITY;
+            nodeBounds[b + 3 + a] = Double.NEGATIVE_INFINITY;
+        }
+        for (int i = start; i < end; i++) {
+            grow(nodeBounds, b, boxes, items[i] * 6);
+        }
+    }
+
+    private static void grow(double[] target, int t, double[] source, int s) {
+        for (int a = 0; a < 3; a++) {
+            target[t + a] = Math.min(target[t + a], source[s + a]);
+            target[t + 3 + a] = Math.max(target[t + 3 + a], source[s + 3 + a]);
+        }
+    }
+
+    private void makeLeaf(int node, int start, int size) {
+        nodeLeft[node] = NONE;
+        nodeStart[node] = start;
+        nodeCount[node] = size;
+    }
+
+    private int allocate() {
+        ensureNodes(nodes + 1);
+        return nodes++;
+    }
+
+    private void ensureNodes(int capacity) {
+        if (nodeLeft.length >= capacity) {
+            return;
+        }
+        int length = Math.max(capacity, nodeLeft.length * 2);
+        nodeBounds = Arrays.copyOf(nodeBounds, length * 6);
+        nodeLeft = Arrays.copyOf(nodeLeft, length);
+        nodeStart = Arrays.copyOf(nodeStart, length);
+        nodeCount = Arrays.copyOf(nodeCount, length);
+    }
+
+    private void setBox(int id, double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+        int b = id * 6;
+        boxes[b] = minX;
+        boxes[b + 1] = minY;
+        boxes[b + 2] = minZ;
+        boxes[b + 3] = maxX;
+        boxes[b + 4] = maxY;
+        boxes[b + 5] = maxZ;
+    }
+
+    /**
+     * Stores a box, or a ray's origin and inverse direction, in the first six elements of an array.
+     */
+    private static void setBounds(double[] target, double v0, double v1, double v2, double v3, double v4, double v5) {
+        target[0] = v0;
+        target[1] = v1;
+        target[2] = v2;
+        target[3] = v3;
+        target[4] = v4;
+        target[5] = v5;
+    }
+
+    private void checkActive(int id) {
+        if (id < 0 || id >= count || !active[id]) {
+            throw new IllegalArgumentException("No shape with id " + id + ".");
+        }
+    }
+}
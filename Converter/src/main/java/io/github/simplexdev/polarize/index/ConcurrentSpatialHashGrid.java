@@ -0,0 +1,483 @@
+package io.github.simplexdev.polarize.index;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A {@link SpatialHashGrid} that can be updated and queried from several threads at once.
+ * <p>
+ * Space is divided into regions of {@code 4 x 4 x 4} cells, and each region is assigned to one of a fixed
+ * number of lock stripes. Each stripe owns the cell lists of its regions and guards them with a read-write
+ * lock, so threads moving points in different parts of the world rarely contend, and queries only take
+ * read locks. Moving a point into a region of another stripe locks both stripes, in a fixed order.
+ * <p>
+ * Unlike {@link SpatialHashGrid}, the per-id arrays are allocated once, so the grid holds ids from
+ * {@code 0} up to a fixed capacity and never has to pause every thread to grow.
+ * <p>
+ * Each cell is read atomically by a query, but a query is not atomic as a whole: a point that moves
+ * while a query runs may be reported at its old or new position, missed, or reported twice.
+ * Updates to the same id must not race with each other; each id should be updated by one thread at
+ * a time, such as the thread that owns the entity.
+ */
+public final class ConcurrentSpatialHashGrid {
+    private static final int NONE = -1;
+    private static final long REGION_MASK = (3L << 42) | (3L << 21) | 3L;
+
+    private final double cellSize;
+    private final double inverseCellSize;
+    private final Stripe[] stripes;
+    private final int stripeMask;
+
+    private final double[] x;
+    private final double[] y;
+    private final double[] z;
+    private final long[] cells;
+    private final int[] next;
+    private final int[] previous;
+    private final boolean[] present;
+    private final AtomicInteger size = new AtomicInteger();
+
+    /**
+     * Creates a new, empty ConcurrentSpatialHashGrid.
+     *
+     * @param cellSize the edge length of each cell.
+     * @param capacity the number of ids the grid can hold; ids range from 0 to {@code capacity - 1}.
+     * @param stripes  the number of lock stripes, rounded up to a power of two.
+     */
+    public ConcurrentSpatialHashGrid(double cellSize, int capacity, int stripes) {
+        if (!(cellSize > 0.0) || Double.isInfinite(cellSize)) {
+            throw new IllegalArgumentException("Cell size must be positive and finite: " + cellSize);
+        }
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative: " + capacity);
+        }
+        if (stripes < 1 || stripes > 1 << 16) {
+            throw new IllegalArgumentException("Number of stripes must be between 1 and 65536: " + stripes);
+        }
+        this.cellSize = cellSize;
+        this.inverseCellSize = 1.0 / cellSize;
+
+        int count = 1;
+        while (count < stripes) {
+            count <<= 1;
+        }
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            this.stripes[i] = new Stripe(i);
+        }
+        this.stripeMask = count - 1;
+
+        this.x = new double[capacity];
+        this.y = new double[capacity];
+        this.z = new double[capacity];
+        this.cells = new long[capacity];
+        this.next = new int[capacity];
+        this.previous = new int[capacity];
+        this.present = new boolean[capacity];
+    }
+
+    /**
+     * Creates a new, empty ConcurrentSpatialHashGrid with four lock stripes per available processor.
+     *
+     * @param cellSize the edge length of each cell.
+     * @param capacity the number of ids the grid can hold; ids range from 0 to {@code capacity - 1}.
+     */
+    public ConcurrentSpatialHashGrid(double cellSize, int capacity) {
+        this(cellSize, capacity, Runtime.getRuntime().availableProcessors() * 4);
+    }
+
+    /**
+     * Returns the edge length of each cell.
+     *
+     * @return the edge length of each cell.
+     */
+    public double getCellSize() {
+        return cellSize;
+    }
+
+    /**
+     * Returns the number of ids this grid can hold.
+     *
+     * @return the capacity of this grid.
+     */
+    public int capacity() {
+        return present.length;
+    }
+
+    /**
+     * Inserts a point into the grid, or moves it if the id is already present.
+     *
+     * @param id the id of the point, between 0 and {@link #capacity()} exclusive.
+     * @param px the x coordinate of the point.
+     * @param py the y coordinate of the point.
+     * @param pz the z coordinate of the point.
+     */
+    public void insert(int id, double px, double py, double pz) {
+        checkId(id);
+        if (present[id]) {
+            move(id, px, py, pz);
+            return;
+        }
+        long key = key(px, py, pz);
+        Stripe stripe = stripe(key);
+        stripe.lock.writeLock().lock();
+        try {
+            x[id] = px;
+            y[id] = py;
+            z[id] = pz;
+            present[id] = true;
+            link(stripe, id, key);
+        } finally {
+            stripe.lock.writeLock().unlock();
+        }
+        size.incrementAndGet();
+    }
+
+    /**
+     * Moves a point that is already in the grid.
+     *
+     * @param id the id of the point.
+     * @param px the new x coordinate of the point.
+     * @param py the new y coordinate of the point.
+     * @param pz the new z coordinate of the point.
+     */
+    public void move(int id, double px, double py, double pz) {
+        checkPresent(id);
+        long oldKey = cells[id];
+        long newKey = key(px, py, pz);
+        Stripe from = stripe(oldKey);
+        Stripe to = stripe(newKey);
+        Stripe first = from.index <= to.index ? from : to;
+        Stripe second = first == from ? to : from;
+
+        first.lock.writeLock().lock();
+        if (second != first) {
+            second.lock.writeLock().lock();
+        }
+        try {
+            x[id] = px;
+            y[id] = py;
+            z[id] = pz;
+            if (oldKey != newKey) {
+                unlink(from, id);
+                link(to, id, newKey);
+            }
+        } finally {
+            if (second != first) {
+                second.lock.writeLock().unlock();
+            }
+            first.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a point from the grid.
+     *
+     * @param id the id of the point.
+     * @return true if the point was in the grid.
+     */
+    public boolean remove(int id) {
+        if (!contains(id)) {
+            return false;
+        }
+        Stripe stripe = stripe(cells[id]);
+        stripe.lock.writeLock().lock();
+        try {
+            unlink(stripe, id);
+            present[id] = false;
+        } finally {
+            stripe.lock.writeLock().unlock();
+        }
+        size.decrementAndGet();
+        return true;
+    }
+
+    /**
+     * Returns whether a point with the given id is in the grid.
+     *
+     * @param id the id of the point.
+     * @return true if the point is in the grid.
+     */
+    public boolean contains(int id) {
+        return id >= 0 && id < present.length && present[id];
+    }
+
+    /**
+     * Returns the x coordinate of a point in the grid.
+     * If the point is being moved by another thread, either its old or its new coordinate is returned.
+     *
+     * @param id the id of the point.
+     * @return the x coordinate of the point.
+     */
+    public double getX(int id) {
+        return coordinate(x, id);
+    }
+
+    /**
+     * Returns the y coordinate of a point in the grid.
+     * If the point is being moved by another thread, either its old or its new coordinate is returned.
+     *
+     * @param id the id of the point.
+     * @return the y coordinate of the point.
+     */
+    public double getY(int id) {
+        return coordinate(y, id);
+    }
+
+    /**
+     * Returns the z coordinate of a point in the grid.
+     * If the point is being moved by another thread, either its old or its new coordinate is returned.
+     *
+     * @param id the id of the point.
+     * @return the z coordinate of the point.
+     */
+    public double getZ(int id) {
+        return coordinate(z, id);
+    }
+
+    /**
+     * Returns the number of points in the grid.
+     *
+     * @return the number of points.
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Appends the id of every point in the given cell to the buffer.
+     *
+     * @param cellX the x coordinate of the cell.
+     * @param cellY the y coordinate of the cell.
+     * @param cellZ the z coordinate of the cell.
+     * @param out   the buffer to append the ids to.
+     * @return the number of ids appended.
+     */
+    public int cell(int cellX, int cellY, int cellZ, IndexBuffer out) {
+        long key = SpatialHashGrid.pack(cellX, cellY, cellZ);
+        Stripe stripe = stripe(key);
+        int count = 0;
+        stripe.lock.readLock().lock();
+        try {
+            for (int id = stripe.heads.get(key); id != NONE; id = next[id]) {
+                out.add(id);
+                count++;
+            }
+        } finally {
+            stripe.lock.readLock().unlock();
+        }
+        return count;
+    }
+
+    /**
+     * Appends the id of every point within a radius of the given position to the buffer.
+     * Points exactly on the boundary are included.
+     *
+     * @param px     the x coordinate of the position.
+     * @param py     the y coordinate of the position.
+     * @param pz     the z coordinate of the position.
+     * @param radius the radius to search.
+     * @param out    the buffer to append the ids to.
+     * @return the number of ids appended.
+     */
+    public int radius(double px, double py, double pz, double radius, IndexBuffer out) {
+        int before = out.size();
+        double radiusSquared = radius * radius;
+        int x0 = cell(px - radius);
+        int x1 = cell(px + radius);
+        int y0 = cell(py - radius);
+        int y1 = cell(py + radius);
+        int z0 = cell(pz - radius);
+        int z1 = cell(pz + radius);
+
+        // Neighbouring cells usually share a region, so the read lock is kept until the stripe changes.
+        Stripe held = null;
+        try {
+            for (int cx = x0; cx <= x1; cx++) {
+                for (int cz = z0; cz <= z1; cz++) {
+                    for (int cy = y0; cy <= y1; cy++) {
+                        long key = SpatialHashGrid.pack(cx, cy, cz);
+                        Stripe stripe = stripe(key);
+                        if (stripe != held) {
+                            if (held != null) {
+                                held.lock.readLock().unlock();
+                            }
+                            stripe.lock.readLock().lock();
+                            held = stripe;
+                        }
+                        for (int id = stripe.heads.get(key); id != NONE; id = next[id]) {
+                            double dx = x[id] - px;
+                            double dy = y[id] - py;
+                            double dz = z[id] - pz;
+                            if (dx * dx + dy * dy + dz * dz <= radiusSquared) {
+                                out.add(id);
+                            }
+                        }
+                    }
+                }
+            }
+        } finally {
+            if (held != null) {
+                held.lock.readLock().unlock();
+            }
+        }
+        return out.size() - before;
+    }
+
+    /**
+     * Appends the id of every other point within a radius of the given point to the buffer.
+     * The point should not be moved by another thread during the query.
+     *
+     * @param id     the id of the point to search around, which is not included in the results.
+     * @param radius the radius to search.
+     * @param out    the buffer to append the ids to.
+     * @return the number of ids appended.
+     */
+    public int neighbours(int id, double radius, IndexBuffer out) {
+        int before = out.size();
+        radius(getX(id), getY(id), getZ(id), radius, out);
+        int[] array = out.array();
+        for (int i = before; i < out.size(); i++) {
+            if (array[i] == id) {
+                array[i] = array[out.size() - 1];
+                out.truncate(out.size() - 1);
+                break;
+            }
+        }
+        return out.size() - before;
+    }
+
+    /**
+     * Appends the id of every point inside an axis-aligned box to the buffer.
+     * Points exactly on the boundary are included.
+     *
+     * @param minX the smallest x coordinate of the box.
+     * @param minY the smallest y coordinate of the box.
+     * @param minZ the smallest z coordinate of the box.
+     * @param maxX the largest x coordinate of the box.
+     * @param maxY the largest y coordinate of the box.
+     * @param maxZ the largest z coordinate of the box.
+     * @param out  the buffer to append the ids to.
+     * @return the number of ids appended.
+     */
+    public int box(double minX, double minY, double minZ, double maxX, double maxY, double maxZ, IndexBuffer out) {
+        int before = out.size();
+        int x1 = cell(maxX);
+        int y1 = cell(maxY);
+        int z1 = cell(maxZ);
+
+        Stripe held = null;
+        try {
+            for (int cx = cell(minX); cx <= x1; cx++) {
+                for (int cz = cell(minZ); cz <= z1; cz++) {
+                    for (int cy = cell(minY); cy <= y1; cy++) {
+                        long key = SpatialHashGrid.pack(cx, cy, cz);
+                        Stripe stripe = stripe(key);
+                        if (stripe != held) {
+                            if (held != null) {
+                                held.lock.readLock().unlock();
+                            }
+                            stripe.lock.readLock().lock();
+                            held = stripe;
+                        }
+                        for (int id = stripe.heads.get(key); id != NONE; id = next[id]) {
+                            if (x[id] >= minX && x[id] <= maxX && y[id] >= minY && y[id] <= maxY
+                                    && z[id] >= minZ && z[id] <= maxZ) {
+                                out.add(id);
+                            }
+                        }
+                    }
+                }
+            }
+        } finally {
+            if (held != null) {
+                held.lock.readLock().unlock();
+            }
+        }
+        return out.size() - before;
+    }
+
+    /**
+     * Returns the coordinate of the cell containing the given coordinate along one axis.
+     *
+     * @param coordinate the coordinate.
+     * @return the coordinate of the cell.
+     */
+    public int cell(double coordinate) {
+        return (int) Math.floor(coordinate * inverseCellSize);
+    }
+
+    /**
+     * Reads a coordinate under the lock of the point's stripe, which a move holds while writing it.
+     */
+    private double coordinate(double[] axis, int id) {
+        checkPresent(id);
+        Stripe stripe = stripe(cells[id]);
+        stripe.lock.readLock().lock();
+        try {
+            return axis[id];
+        } finally {
+            stripe.lock.readLock().unlock();
+        }
+    }
+
+    private long key(double px, double py, double pz) {
+        return SpatialHashGrid.pack(cell(px), cell(py), cell(pz));
+    }
+
+    private Stripe stripe(long key) {
+        // Clear the low bits of each packed coordinate so every cell of a region maps to the same stripe.
+        long h = (key & ~REGION_MASK) * 0x9E3779B97F4A7C15L;
+        return stripes[(int) (h >>> 40) & stripeMask];
+    }
+
+    private void link(Stripe stripe, int id, long key) {
+        int head = stripe.heads.put(key, id);
+        cells[id] = key;
+        previous[id] = NONE;
+        next[id] = head;
+        if (head != NONE) {
+            previous[head] = id;
+        }
+    }
+
+    private void unlink(Stripe stripe, int id) {
+        int before = previous[id];
+        int after = next[id];
+        if (after != NONE) {
+            previous[after] = before;
+        }
+        if (before != NONE) {
+            next[before] = after;
+        } else if (after != NONE) {
+            stripe.heads.put(cells[id], after);
+        } else {
+            stripe.heads.remove(cells[id]);
+        }
+    }
+
+    private void checkId(int id) {
+        if (id < 0 || id >= present.length) {
+            throw new IllegalArgumentException("Id " + id + " out of range for capacity " + present.length);
+        }
+    }
+
+    private void checkPresent(int id) {
+        if (!contains(id)) {
+            throw new IllegalArgumentException("No point with id " + id + " in the grid.");
+        }
+    }
+
+    /**
+     * The cell lists of every region assigned to one lock.
+     */
+    private static final class Stripe {
+        private final int index;
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final LongIntHashMap heads = new LongIntHashMap();
+
+        private Stripe(int index) {
+            this.index = index;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package io.github.simplexdev.polarize.index;
+
+import java.util.Arrays;
+
+/**
+ * A growable buffer of primitive {@code int} indices, used to collect the results of spatial queries.
+ * <p>
+ * Queries append to a buffer rather than returning a new collection, so a caller can clear and reuse
+ * the same buffer every tick without allocating or boxing. The backing array is exposed through
+ * {@link #array()} for bulk reads. Only the first {@link #size()} elements are valid, and the array
+ * is replaced whenever the buffer grows.
+ * <p>
+ * This class is not thread-safe.
+ */
+public final class IndexBuffer {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int[] indices;
+    private int size;
+
+    /**
+     * Creates a new, empty IndexBuffer with a default capacity.
+     */
+    public IndexBuffer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a new, empty IndexBuffer which can hold the given number of indices without growing.
+     *
+     * @param capacity the initial capacity of the buffer.
+     */
+    public IndexBuffer(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative: " + capacity);
+        }
+        this.indices = new int[capacity];
+    }
+
+    /**
+     * Appends an index to the end of this buffer.
+     *
+     * @param index the index to append.
+     */
+    public void add(int index) {
+        if (size == indices.length) {
+            grow(size + 1);
+        }
+        indices[size++] = index;
+    }
+
+    /**
+     * Returns the index stored at the given position.
+     *
+     * @param position the position in this buffer.
+     * @return the index stored at the position.
+     */
+    public int get(int position) {
+        if (position < 0 || position >= size) {
+            throw new IndexOutOfBoundsException("Index " + position + " out of bounds for size " + size);
+        }
+        return indices[position];
+    }
+
+    /**
+     * Returns the number of indices in this buffer.
+     *
+     * @return the number of indices.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns whether this buffer has no indices.
+     *
+     * @return true if this buffer is empty.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes every index from this buffer, keeping its capacity.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Discards every index after the given size.
+     *
+     * @param size the new size of this buffer, which must not be larger than the current size.
+     */
+    public void truncate(int size) {
+        if (size < 0 || size > this.size) {
+            throw new IndexOutOfBoundsException("Size " + size + " out of bounds for size " + this.size);
+        }
+        this.size = size;
+    }
+
+    /**
+     * Sorts the indices in this buffer into ascending order.
+     */
+    public void sort() {
+        Arrays.sort(indices, 0, size);
+    }
+
+    /**
+     * Ensures this buffer can hold the given number of indices without growing.
+     *
+     * @param capacity the number of indices to make room for.
+     */
+    public void ensureCapacity(int capacity) {
+        if (capacity > indices.length) {
+            grow(capacity);
+        }
+    }
+
+    /**
+     * Returns the backing array of this buffer. Only the first {@link #size()} elements are valid.
+     *
+     * @return the backing array.
+     */
+    public int[] array() {
+        return indices;
+    }
+
+    /**
+     * Returns a copy of the indices in this buffer.
+     *
+     * @return a new array holding the indices, in order.
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(indices, size);
+    }
+
+    private void grow(int minCapacity) {
+        int capacity = Math.max(minCapacity, Math.max(DEFAULT_CAPACITY, indices.length + (indices.length >> 1)));
+        indices = Arrays.copyOf(indices, capacity);
+    }
+}
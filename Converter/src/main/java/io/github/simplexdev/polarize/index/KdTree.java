@@ -0,0 +1,588 @@
+package io.github.simplexdev.polarize.index;
+
+import io.github.simplexdev.polarize.cartesian.PointBuffer;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * A bucketed k-d tree over a {@link PointBuffer}, answering nearest-neighbour, radius and box queries
+ * in time roughly logarithmic in the number of points.
+ * <p>
+ * The tree is built in {@code O(n log n)} by splitting each node at the median of its longest axis until
+ * at most {@value #BUCKET_SIZE} points remain. Because every split is at the median, the shape of the tree
+ * depends only on the number of points: nodes are stored implicitly, with the children of node {@code i}
+ * at {@code 2i + 1} and {@code 2i + 2}, and each node keeps only its bounding box. The coordinates are copied
+ * into the tree in tree order, so a leaf's points are contiguous in memory.
+ * <p>
+ * Query results are the indices of points in the buffer the tree was built from, and are appended to an
+ * {@link IndexBuffer} so callers can reuse one buffer across ticks. {@link #rebuild(PointBuffer)} refills
+ * an existing tree, reusing its arrays when they are large enough, and {@link #rebuildParallel(PointBuffer, ForkJoinPool)}
+ * builds the subtrees of large nodes in parallel.
+ * <p>
+ * The tree does not keep a reference to the buffer, so changes to the buffer are not seen until the
+ * tree is rebuilt. Queries may be run from several threads at once, but not while the tree is being rebuilt.
+ *
+ * @see <a href="https://en.wikipedia.org/wiki/K-d_tree">k-d tree</a>
+ */
+public final class KdTree {
+    /**
+     * The maximum number of points stored in a leaf.
+     */
+    public static final int BUCKET_SIZE = 16;
+
+    /**
+     * The smallest node that is split in parallel by {@link #rebuildParallel(PointBuffer, ForkJoinPool)}.
+     */
+    private static final int PARALLEL_THRESHOLD = 8192;
+
+    private double[] x = new double[0];
+    private double[] y = new double[0];
+    private double[] z = new double[0];
+    private int[] ids = new int[0];
+    private double[] bounds = new double[0];
+    private int size;
+    private int depth;
+
+    /**
+     * Creates a new, empty KdTree.
+     */
+    public KdTree() {
+    }
+
+    /**
+     * Creates a new KdTree holding the points of the given buffer.
+     *
+     * @param points the points to index.
+     * @return a new KdTree.
+     */
+    public static KdTree of(PointBuffer points) {
+        KdTree tree = new KdTree();
+        tree.rebuild(points);
+        return tree;
+    }
+
+    /**
+     * Replaces the contents of this tree with the points of the given buffer.
+     *
+     * @param points the points to index.
+     */
+    public void rebuild(PointBuffer points) {
+        prepare(points);
+        if (size > 0) {
+            new BuildTask(this, 0, 0, 0, size, false).compute();
+        }
+    }
+
+    /**
+     * Replaces the contents of this tree with the points of the given buffer,
+     * building large subtrees in parallel on the given pool.
+     *
+     * @param points the points to index.
+     * @param pool   the pool to build the tree on.
+     */
+    public void rebuildParallel(PointBuffer points, ForkJoinPool pool) {
+        prepare(points);
+        if (size > 0) {
+            pool.invoke(new BuildTask(this, 0, 0, 0, size, true));
+        }
+    }
+
+    /**
+     * Returns the number of points in this tree.
+     *
+     * @return the number of points.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns whether this tree has no points.
+     *
+     * @return true if this tree is empty.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Appends the index of every point within a radius of the given position to the buffer.
+     * Points exactly on the boundary are included.
+     *
+     * @param px     the x coordinate of the position.
+     * @param py     the y coordinate of the position.
+     * @param pz     the z coordinate of the position.
+     * @param radius the radius to search.
+     * @param out    the buffer to append the indices to.
+     * @return the number of indices appended.
+     */
+    public int radius(double px, double py, double pz, double radius, IndexBuffer out) {
+        int before = out.size();
+        if (size > 0 && radius >= 0.0) {
+            radius(0, 0, 0, size, px, py, pz, radius * radius, out);
+        }
+        return out.size() - before;
+    }
+
+    /**
+     * Appends the index of every point inside an axis-aligned box to the buffer.
+     * Points exactly on the boundary are included.
+     *
+     * @param minX the smallest x coordinate of the box.
+     * @param minY the smallest y coordinate of the box.
+     * @param minZ the smallest z coordinate of the box.
+     * @param maxX the largest x coordinate of the box.
+     * @param maxY the largest y coordinate of the box.
+     * @param maxZ the largest z coordinate of the box.
+     * @param out  the buffer to append the indices to.
+     * @return the number of indices appended.
+     */
+    public int box(double minX, double minY, double minZ, double maxX, double maxY, double maxZ, IndexBuffer out) {
+        int before = out.size();
+        if (size > 0) {
+            box(0, 0, 0, size, minX, minY, minZ, maxX, maxY, maxZ, out);
+        }
+        return out.size() - before;
+    }
+
+    /**
+     * Returns the index of the point closest to the given position.
+     *
+     * @param px the x coordinate of the position.
+     * @param py the y coordinate of the position.
+     * @param pz the z coordinate of the position.
+     * @return the index of the closest point, or -1 if this tree is empty.
+     */
+    public int nearest(double px, double py, double pz) {
+        if (size == 0) {
+            return -1;
+        }
+        return ids[nearest(0, 0, 0, size, px, py, pz, -1, Double.POSITIVE_INFINITY)];
+    }
+
+    /**
+     * Appends the indices of the {@code k} points closest to the given position to the buffer,
+     * closest first. If this tree holds fewer than {@code k} points, every point is appended.
+     *
+     * @param px  the x coordinate of the position.
+     * @param py  the y coordinate of the position.
+     * @param pz  the z coordinate of the position.
+     * @param k   the number of points to find.
+     * @param out the buffer to append the indices to.
+     * @return the number of indices appended.
+     */
+    public int nearest(double px, double py, double pz, int k, IndexBuffer out) {
+        if (k < 0) {
+            throw new IllegalArgumentException("Number of neighbours cannot be negative: " + k);
+        }
+        int count = Math.min(k, size);
+        if (count == 0) {
+            return 0;
+        }
+        NearestQuery query = new NearestQuery(px, py, pz, count);
+        nearest(0, 0, 0, size, query);
+        query.drainTo(out);
+        return count;
+    }
+
+    private void prepare(PointBuffer points) {
+        int n = points.size();
+        if (x.length < n) {
+            x = new double[n];
+            y = new double[n];
+            z = new double[n];
+            ids = new int[n];
+        }
+        System.arraycopy(points.xArray(), 0, x, 0, n);
+        System.arraycopy(points.yArray(), 0, y, 0, n);
+        System.arraycopy(points.zArray(), 0, z, 0, n);
+        for (int i = 0; i < n; i++) {
+            ids[i] = i;
+        }
+
+        // Every node at the same level holds floor or ceil of n / 2^level points, so all leaves share one depth.
+        int levels = 0;
+        while ((n + (1 << levels) - 1) >> levels > BUCKET_SIZE) {
+            levels++;
+        }
+        int nodes = (2 << levels) - 1;
+        if (bounds.length < nodes * 6) {
+            bounds = new double[nodes * 6];
+        }
+        this.size = n;
+        this.depth = levels;
+    }
+
+    private void radius(int node, int level, int lo, int hi,
+                        double px, double py, double pz, double radiusSquared, IndexBuffer out) {
+        int b = node * 6;
+        if (boxDistanceSquared(b, px, py, pz) > radiusSquared) {
+            return;
+        }
+        if (farthestDistanceSquared(b, px, py, pz) <= radiusSquared) {
+            appendRange(lo, hi, out);
+            return;
+        }
+        if (level == depth) {
+            for (int i = lo; i < hi; i++) {
+                double dx = x[i] - px;
+                double dy = y[i] - py;
+                double dz = z[i] - pz;
+                if (dx * dx + dy * dy + dz * dz <= radiusSquared) {
+                    out.add(ids[i]);
+                }
+            }
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        radius(node * 2 + 1, level + 1, lo, mid, px, py, pz, radiusSquared, out);
+        radius(node * 2 + 2, level + 1, mid, hi, px, py, pz, radiusSquared, out);
+    }
+
+    private void box(int node, int level, int lo, int hi, double minX, double minY, double minZ,
+                     double maxX, double maxY, double maxZ, IndexBuffer out) {
+        int b = node * 6;
+        if (bounds[b] > maxX || bounds[b + 3] < minX
+                || bounds[b + 1] > maxY || bounds[b + 4] < minY
+                || bounds[b + 2] > maxZ || bounds[b + 5] < minZ) {
+            return;
+        }
+        if (bounds[b] >= minX && bounds[b + 3] <= maxX
+                && bounds[b + 1] >= minY && bounds[b + 4] <= maxY
+                && bounds[b + 2] >= minZ && bounds[b + 5] <= maxZ) {
+            appendRange(lo, hi, out);
+            return;
+        }
+        if (level == depth) {
+            for (int i = lo; i < hi; i++) {
+                if (x[i] >= minX && x[i] <= maxX && y[i] >= minY && y[i] <= maxY && z[i] >= minZ && z[i] <= maxZ) {
+                    out.add(ids[i]);
+                }
+            }
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        box(node * 2 + 1, level + 1, lo, mid, minX, minY, minZ, maxX, maxY, maxZ, out);
+        box(node * 2 + 2, level + 1, mid, hi, minX, minY, minZ, maxX, maxY, maxZ, out);
+    }
+
+    private void nearest(int node, int level, int lo, int hi, NearestQuery query) {
+        if (level == depth) {
+            for (int i = lo; i < hi; i++) {
+                double dx = x[i] - query.px;
+                double dy = y[i] - query.py;
+                double dz = z[i] - query.pz;
+                query.offer(dx * dx + dy * dy + dz * dz, ids[i]);
+            }
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        int left = node * 2 + 1;
+        int right = left + 1;
+        double leftDistance = boxDistanceSquared(left * 6, query.px, query.py, query.pz);
+        double rightDistance = boxDistanceSquared(right * 6, query.px, query.py, query.pz);
+        if (leftDistance <= rightDistance) {
+            if (leftDistance <= query.bound()) {
+                nearest(left, level + 1, lo, mid, query);
+            }
+            if (rightDistance <= query.bound()) {
+                nearest(right, level + 1, mid, hi, query);
+            }
+        } else {
+            if (rightDistance <= query.bound()) {
+                nearest(right, level + 1, mid, hi, query);
+            }
+            if (leftDistance <= query.bound()) {
+                nearest(left, level + 1, lo, mid, query);
+            }
+        }
+    }
+
+    /**
+     * Finds the single closest point without allocating a query, by passing the best point found so far
+     * down the recursion and returning its position in the tree.
+     */
+    private int nearest(int node, int level, int lo, int hi,
+                        double px, double py, double pz, int best, double bestDistance) {
+        if (level == depth) {
+            for (int i = lo; i < hi; i++) {
+                double dx = x[i] - px;
+                double dy = y[i] - py;
+                double dz = z[i] - pz;
+                double distance = dx * dx + dy * dy + dz * dz;
+                if (distance < bestDistance) {
+                    best = i;
+                    bestDistance = distance;
+                }
+            }
+            return best;
+        }
+        int mid = (lo + hi) >>> 1;
+        int left = node * 2 + 1;
+        int right = left + 1;
+        double leftDistance = boxDistanceSquared(left * 6, px, py, pz);
+        double rightDistance = boxDistanceSquared(right * 6, px, py, pz);
+        boolean leftFirst = leftDistance <= rightDistance;
+        double nearDistance = leftFirst ? leftDistance : rightDistance;
+        double farDistance = leftFirst ? rightDistance : leftDistance;
+        if (nearDistance <= bestDistance) {
+            best = leftFirst
+                    ? nearest(left, level + 1, lo, mid, px, py, pz, best, bestDistance)
+                    : nearest(right, level + 1, mid, hi, px, py, pz, best, bestDistance);
+            bestDistance = distanceSquared(best, px, py, pz);
+        }
+        if (farDistance <= bestDistance) {
+            best = leftFirst
+                    ? nearest(right, level + 1, mid, hi, px, py, pz, best, bestDistance)
+                    : nearest(left, level + 1, lo, mid, px, py, pz, best, bestDistance);
+        }
+        return best;
+    }
+
+    private double distanceSquared(int position, double px, double py, double pz) {
+        if (position < 0) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double dx = x[position] - px;
+        double dy = y[position] - py;
+        double dz = z[position] - pz;
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    private void appendRange(int lo, int hi, IndexBuffer out) {
+        out.ensureCapacity(out.size() + hi - lo);
+        for (int i = lo; i < hi; i++) {
+            out.add(ids[i]);
+        }
+    }
+
+    private double boxDistanceSquared(int b, double px, double py, double pz) {
+        double dx = Math.max(0.0, Math.max(bounds[b] - px, px - bounds[b + 3]));
+        double dy = Math.max(0.0, Math.max(bounds[b + 1] - py, py - bounds[b + 4]));
+        double dz = Math.max(0.0, Math.max(bounds[b + 2] - pz, pz - bounds[b + 5]));
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    private double farthestDistanceSquared(int b, double px, double py, double pz) {
+        double dx = Math.max(px - bounds[b], bounds[b + 3] - px);
+        double dy = Math.max(py - bounds[b + 1], bounds[b + 4] - py);
+        double dz = Math.max(pz - bounds[b + 2], bounds[b + 5] - pz);
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    /**
+     * Computes the bounding box of a node and, for inner nodes, partitions its points around the
+     * median of the longest axis before building both children.
+     */
+    private static final class BuildTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final KdTree tree;
+        private final int node;
+        private final int level;
+        private final int lo;
+        private final int hi;
+        private final boolean parallel;
+
+        private BuildTask(KdTree tree, int node, int level, int lo, int hi, boolean parallel) {
+            this.tree = tree;
+            this.node = node;
+            this.level = level;
+            this.lo = lo;
+            this.hi = hi;
+            this.parallel = parallel;
+        }
+
+        @Override
+        protected void compute() {
+            build(node, level, lo, hi);
+        }
+
+        private void build(int node, int level, int lo, int hi) {
+            double[] x = tree.x;
+            double[] y = tree.y;
+            double[] z = tree.z;
+            double minX = Double.POSITIVE_INFINITY;
+            double minY = Double.POSITIVE_INFINITY;
+            double minZ = Double.POSITIVE_INFINITY;
+            double maxX = Double.NEGATIVE_INFINITY;
+            double maxY = Double.NEGATIVE_INFINITY;
+            double maxZ = Double.NEGATIVE_INFINITY;
+            for (int i = lo; i < hi; i++) {
+                minX = Math.min(minX, x[i]);
+                minY = Math.min(minY, y[i]);
+                minZ = Math.min(minZ, z[i]);
+                maxX = Math.max(maxX, x[i]);
+                maxY = Math.max(maxY, y[i]);
+                maxZ = Math.max(maxZ, z[i]);
+            }
+            int b = node * 6;
+            double[] bounds = tree.bounds;
+            bounds[b] = minX;
+            bounds[b + 1] = minY;
+            bounds[b + 2] = minZ;
+            bounds[b + 3] = maxX;
+            bounds[b + 4] = maxY;
+            bounds[b + 5] = maxZ;
+            if (level == tree.depth) {
+                return;
+            }
+
+            double extentX = maxX - minX;
+            double extentY = maxY - minY;
+            double extentZ = maxZ - minZ;
+            double[] axis = extentX >= extentY && extentX >= extentZ ? x : extentY >= extentZ ? y : z;
+            int mid = (lo + hi) >>> 1;
+            select(axis, lo, hi - 1, mid);
+
+            if (parallel && hi - lo >= PARALLEL_THRESHOLD) {
+                invokeAll(new BuildTask(tree, node * 2 + 1, level + 1, lo, mid, true),
+                        new BuildTask(tree, node * 2 + 2, level + 1, mid, hi, true));
+            } else {
+                build(node * 2 + 1, level + 1, lo, mid);
+                build(node * 2 + 2, level + 1, mid, hi);
+            }
+        }
+
+        /**
+         * Rearranges the points between {@code left} and {@code right} inclusive so that the point at
+         * {@code k} is the one that would be there if they were sorted along the given axis,
+         * with no greater point before it and no smaller point after it.
+         */
+        private void select(double[] axis, int left, int right, int k) {
+            while (right > left) {
+                int middle = (left + right) >>> 1;
+                // Median of three, moved to the right end to serve as the pivot.
+                if (axis[middle] < axis[left]) {
+                    swap(middle, left);
+                }
+                if (axis[right] < axis[left]) {
+                    swap(right, left);
+                }
+                if (axis[middle] < axis[right]) {
+                    swap(middle, right);
+                }
+                double pivot = axis[right];
+                // Three-way partition, so runs of equal coordinates do not degrade to quadratic time.
+                int less = left;
+                int greater = right;
+                int i = left;
+                while (i <= greater) {
+                    if (axis[i] < pivot) {
+                        swap(i++, less++);
+                    } else if (axis[i] > pivot) {
+                        swap(i, greater--);
+                    } else {
+                        i++;
+                    }
+                }
+                if (k < less) {
+                    right = less - 1;
+                } else if (k > greater) {
+                    left = greater + 1;
+                } else {
+                    return;
+                }
+            }
+        }
+
+        private void swap(int i, int j) {
+            double[] x = tree.x;
+            double[] y = tree.y;
+            double[] z = tree.z;
+            int[] ids = tree.ids;
+            double t = x[i];
+            x[i] = x[j];
+            x[j] = t;
+            t = y[i];
+            y[i] = y[j];
+            y[j] = t;
+            t = z[i];
+            z[i] = z[j];
+            z[j] = t;
+            int id = ids[i];
+            ids[i] = ids[j];
+            ids[j] = id;
+        }
+    }
+
+    /**
+     * The state of a k-nearest-neighbour query: a bounded max-heap of the closest points found so far,
+     * keyed by squared distance.
+     */
+    private static final class NearestQuery {
+        private final double px;
+        private final double py;
+        private final double pz;
+        private final double[] distances;
+        private final int[] ids;
+        private int count;
+
+        private NearestQuery(double px, double py, double pz, int k) {
+            this.px = px;
+            this.py = py;
+            this.pz = pz;
+            this.distances = new double[k];
+            this.ids = new int[k];
+        }
+
+        private double bound() {
+            return count < distances.length ? Double.POSITIVE_INFINITY : distances[0];
+        }
+
+        private void offer(double distance, int id) {
+            if (count < distances.length) {
+                int i = count++;
+                while (i > 0) {
+                    int parent = (i - 1) >>> 1;
+                    if (distances[parent] >= distance) {
+                        break;
+                    }
+                    distances[i] = distances[parent];
+                    ids[i] = ids[parent];
+                    i = parent;
+                }
+                distances[i] = distance;
+                ids[i] = id;
+            } else if (distance < distances[0]) {
+                siftDown(distance, id, count);
+            }
+        }
+
+        private void siftDown(double distance, int id, int length) {
+            int i = 0;
+            while (true) {
+                int child = i * 2 + 1;
+                if (child >= length) {
+                    break;
+                }
+                if (child + 1 < length && distances[child + 1] > distances[child]) {
+                    child++;
+                }
+                if (distances[child] <= distance) {
+                    break;
+                }
+                distances[i] = distances[child];
+                ids[i] = ids[child];
+                i = child;
+            }
+            distances[i] = distance;
+            ids[i] = id;
+        }
+
+        private void drainTo(IndexBuffer out) {
+            // Pop the heap from the back, which leaves the closest point first.
+            int start = out.size();
+            out.ensureCapacity(start + count);
+            for (int i = 0; i < count; i++) {
+                out.add(0);
+            }
+            int[] array = out.array();
+            for (int length = count; length > 0; length--) {
+                array[start + length - 1] = ids[0];
+                siftDown(distances[length - 1], ids[length - 1], length - 1);
+            }
+        }
+    }
+}
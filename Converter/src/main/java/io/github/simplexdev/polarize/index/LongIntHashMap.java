@@ -0,0 +1,208 @@
+package io.github.simplexdev.polarize.index;
+
+import java.util.Arrays;
+
+/**
+ * An open-addressing hash map from primitive {@code long} keys to non-negative {@code int} values.
+ * <p>
+ * Keys and values are stored in parallel arrays with linear probing, so lookups touch one or two cache
+ * lines and never box. Removal shifts later entries of the probe run back instead of leaving tombstones,
+ * so a map that sees constant churn, such as the cell heads of a {@link SpatialHashGrid}, never degrades.
+ * <p>
+ * This class is not thread-safe.
+ */
+public final class LongIntHashMap {
+    /**
+     * The value returned for keys that are not in the map.
+     */
+    public static final int MISSING = -1;
+
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] keys;
+    private int[] values;
+    private boolean[] used;
+    private int mask;
+    private int size;
+
+    /**
+     * Creates a new, empty LongIntHashMap with a default capacity.
+     */
+    public LongIntHashMap() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * Creates a new, empty LongIntHashMap which can hold the given number of entries without growing.
+     *
+     * @param expectedSize the number of entries to make room for.
+     */
+    public LongIntHashMap(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size cannot be negative: " + expectedSize);
+        }
+        allocate(tableSize(expectedSize));
+    }
+
+    /**
+     * Returns the value mapped to the given key.
+     *
+     * @param key the key to look up.
+     * @return the value mapped to the key, or {@link #MISSING} if the key is not in the map.
+     */
+    public int get(long key) {
+        int slot = hash(key) & mask;
+        while (used[slot]) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return MISSING;
+    }
+
+    /**
+     * Returns whether the given key is in the map.
+     *
+     * @param key the key to look up.
+     * @return true if the key is in the map.
+     */
+    public boolean containsKey(long key) {
+        return get(key) != MISSING;
+    }
+
+    /**
+     * Maps a key to a value, replacing any previous value.
+     *
+     * @param key   the key to map.
+     * @param value the value to map the key to, which must not be negative.
+     * @return the previous value mapped to the key, or {@link #MISSING} if there was none.
+     */
+    public int put(long key, int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Value cannot be negative: " + value);
+        }
+        int slot = hash(key) & mask;
+        while (used[slot]) {
+            if (keys[slot] == key) {
+                int previous = values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        used[slot] = true;
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > (mask + 1) * 3 / 4) {
+            rehash((mask + 1) * 2);
+        }
+        return MISSING;
+    }
+
+    /**
+     * Removes a key from the map.
+     *
+     * @param key the key to remove.
+     * @return the value the key was mapped to, or {@link #MISSING} if the key was not in the map.
+     */
+    public int remove(long key) {
+        int slot = hash(key) & mask;
+        while (used[slot]) {
+            if (keys[slot] == key) {
+                int previous = values[slot];
+                shiftBack(slot);
+                size--;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return MISSING;
+    }
+
+    /**
+     * Returns the number of entries in the map.
+     *
+     * @return the number of entries.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns whether the map has no entries.
+     *
+     * @return true if the map is empty.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes every entry from the map, keeping its capacity.
+     */
+    public void clear() {
+        Arrays.fill(used, false);
+        size = 0;
+    }
+
+    /**
+     * Closes the gap left by a removed entry by moving back any later entry of the same probe run
+     * whose home slot lies at or before the gap.
+     */
+    private void shiftBack(int gap) {
+        int slot = gap;
+        while (true) {
+            slot = (slot + 1) & mask;
+            if (!used[slot]) {
+                break;
+            }
+            int home = hash(keys[slot]) & mask;
+            // The entry may move into the gap only if its home is not cyclically between the gap and its slot.
+            if (((slot - home) & mask) >= ((slot - gap) & mask)) {
+                keys[gap] = keys[slot];
+                values[gap] = values[slot];
+                gap = slot;
+            }
+        }
+        used[gap] = false;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        boolean[] oldUsed = used;
+        allocate(capacity);
+        for (int i = 0; i < oldUsed.length; i++) {
+            if (oldUsed[i]) {
+                int slot = hash(oldKeys[i]) & mask;
+                while (used[slot]) {
+                    slot = (slot + 1) & mask;
+                }
+                used[slot] = true;
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        used = new boolean[capacity];
+        mask = capacity - 1;
+    }
+
+    private static int tableSize(int expectedSize) {
+        long needed = Math.max(MIN_CAPACITY, (long) expectedSize * 4 / 3 + 1);
+        if (needed > 1 << 30) {
+            throw new IllegalArgumentException("Expected size is too large: " + expectedSize);
+        }
+        return Integer.highestOneBit((int) needed - 1) << 1;
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,178 @@
+package io.github.simplexdev.polarize.index;
+
+/**
+ * Utilities for three-dimensional Morton (Z-order) codes.
+ * <p>
+ * A Morton code interleaves the bits of three coordinates, so that points close together in space
+ * tend to have close codes. Sorting points by their code therefore lays them out in memory along a
+ * space-filling curve. Each coordinate holds {@value #BITS} bits, so a code fits in the low 63 bits of
+ * a {@code long}; bit {@code 3i} of a code is bit {@code i} of x, bit {@code 3i + 1} is bit {@code i}
+ * of y, and bit {@code 3i + 2} is bit {@code i} of z.
+ * <p>
+ * The bits are spread and compacted with a fixed sequence of shifts and masks, which needs no special
+ * instructions and runs in a handful of cycles on any JVM.
+ *
+ * @see MortonOrder
+ * @see <a href="https://en.wikipedia.org/wiki/Z-order_curve">Z-order curve</a>
+ */
+public final class Morton {
+    /**
+     * The number of bits stored per coordinate.
+     */
+    public static final int BITS = 21;
+
+    /**
+     * The largest coordinate that can be encoded.
+     */
+    public static final int MAX_COORDINATE = (1 << BITS) - 1;
+
+    /**
+     * The bits of a code that belong to the x coordinate.
+     */
+    static final long X_MASK = 0x1249249249249249L;
+
+    private Morton() {
+        throw new AssertionError();
+    }
+
+    /**
+     * Encodes three coordinates into a Morton code. Only the low {@value #BITS} bits of each coordinate are used.
+     *
+     * @param x the x coordinate, between 0 and {@link #MAX_COORDINATE}.
+     * @param y the y coordinate, between 0 and {@link #MAX_COORDINATE}.
+     * @param z the z coordinate, between 0 and {@link #MAX_COORDINATE}.
+     * @return the Morton code.
+     */
+    public static long encode(int x, int y, int z) {
+        return spread(x) | (spread(y) << 1) | (spread(z) << 2);
+    }
+
+    /**
+     * Returns the x coordinate of a Morton code.
+     *
+     * @param code the Morton code.
+     * @return the x coordinate.
+     */
+    public static int decodeX(long code) {
+        return compact(code);
+    }
+
+    /**
+     * Returns the y coordinate of a Morton code.
+     *
+     * @param code the Morton code.
+     * @return the y coordinate.
+     */
+    public static int decodeY(long code) {
+        return compact(code >>> 1);
+    }
+
+    /**
+     * Returns the z coordinate of a Morton code.
+     *
+     * @param code the Morton code.
+     * @return the z coordinate.
+     */
+    public static int decodeZ(long code) {
+        return compact(code >>> 2);
+    }
+
+    /**
+     * Spreads the low {@value #BITS} bits of a value so that two zero bits follow each of them.
+     *
+     * @param value the value to spread.
+     * @return the spread bits.
+     */
+    public static long spread(int value) {
+        long v = value & MAX_COORDINATE;
+        v = (v | (v << 32)) & 0x001F00000000FFFFL;
+        v = (v | (v << 16)) & 0x001F0000FF0000FFL;
+        v = (v | (v << 8)) & 0x100F00F00F00F00FL;
+        v = (v | (v << 4)) & 0x10C30C30C30C30C3L;
+        v = (v | (v << 2)) & X_MASK;
+        return v;
+    }
+
+    /**
+     * Gathers every third bit of a value, starting at bit 0, into the low {@value #BITS} bits.
+     * This is the inverse of {@link #spread(int)}.
+     *
+     * @param code the value to compact.
+     * @return the compacted bits.
+     */
+    public static int compact(long code) {
+        long v = code & X_MASK;
+        v = (v | (v >>> 2)) & 0x10C30C30C30C30C3L;
+        v = (v | (v >>> 4)) & 0x100F00F00F00F00FL;
+        v = (v | (v >>> 8)) & 0x001F0000FF0000FFL;
+        v = (v | (v >>> 16)) & 0x001F00000000FFFFL;
+        v = (v | (v >>> 32)) & MAX_COORDINATE;
+        return (int) v;
+    }
+
+    /**
+     * Returns whether the coordinates of a code lie inside the box spanned by two codes, inclusive.
+     *
+     * @param code the code to test.
+     * @param min  the code of the smallest corner of the box.
+     * @param max  the code of the largest corner of the box.
+     * @return true if the code lies inside the box.
+     */
+    public static boolean inBox(long code, long min, long max) {
+        for (int axis = 0; axis < 3; axis++) {
+            long mask = X_MASK << axis;
+            long value = code & mask;
+            if (value < (min & mask) || value > (max & mask)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the smallest code greater than {@code code} whose coordinates lie inside the box spanned
+     * by two codes (the BIGMIN of Tropf and Herzog). This lets a scan over sorted codes jump over runs
+     * of the curve that leave the box.
+     *
+     * @param code the code to search from, which must lie between {@code min} and {@code max} and outside the box.
+     * @param min  the code of the smallest corner of the box.
+     * @param max  the code of the largest corner of the box.
+     * @return the next code inside the box, or {@code max + 1} if there is none.
+     */
+    public static long nextInBox(long code, long min, long max) {
+        long bigmin = max + 1;
+        for (int bit = 3 * BITS - 1; bit >= 0; bit--) {
+            long mask = 1L << bit;
+            boolean c = (code & mask) != 0;
+            boolean lo = (min & mask) != 0;
+            boolean hi = (max & mask) != 0;
+            if (!c && !lo && hi) {
+                bigmin = setHigh(min, bit);
+                max = setLow(max, bit);
+            } else if (!c && lo && hi) {
+                return min;
+            } else if (c && !lo && !hi) {
+                return bigmin;
+            } else if (c && !lo && hi) {
+                min = setHigh(min, bit);
+            }
+        }
+        return bigmin;
+    }
+
+    /**
+     * Sets the given bit and clears every lower bit of the same coordinate.
+     */
+    private static long setHigh(long code, int bit) {
+        long lower = (X_MASK << (bit % 3)) & ((1L << bit) - 1);
+        return (code | (1L << bit)) & ~lower;
+    }
+
+    /**
+     * Clears the given bit and sets every lower bit of the same coordinate.
+     */
+    private static long setLow(long code, int bit) {
+        long lower = (X_MASK << (bit % 3)) & ((1L << bit) - 1);
+        return (code & ~(1L << bit)) | lower;
+    }
+}
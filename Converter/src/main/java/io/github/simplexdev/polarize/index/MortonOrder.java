@@ -0,0 +1,288 @@
+package io.github.simplexdev.polarize.index;
+
+import io.github.simplexdev.polarize.cartesian.PointBuffer;
+
+import java.util.Arrays;
+
+/**
+ * The Morton (Z-order) ordering of a {@link PointBuffer}, which sorts the buffer in place so that
+ * points close together in space are close together in memory.
+ * <p>
+ * Generators produce points in sweep or lattice order, which jumps around space. Sorting a cloud once
+ * makes every later pass over it, such as grouping by chunk, voxelizing or looking up neighbours,
+ * walk memory mostly in order. The points are quantized onto a grid of {@code 2^21} cubic cells along the
+ * longest side of the buffer's bounding box, and are sorted by the Morton code of their cell with an
+ * LSD radix sort, which takes linear time.
+ * <p>
+ * After sorting, the codes are kept alongside the buffer. Points whose codes lie in a range are contiguous,
+ * so {@link #range(long, long, IndexBuffer)} finds them with a binary search, and {@link #box} visits the
+ * points inside an axis-aligned box by skipping the parts of the curve that leave the box.
+ * <p>
+ * The order does not observe later changes to the buffer; sort it again after modifying the buffer.
+ */
+public final class MortonOrder {
+    private static final int RADIX_BITS = 11;
+    private static final int RADIX = 1 << RADIX_BITS;
+
+    private final PointBuffer points;
+    private final long[] codes;
+    private final int[] original;
+    private final double minX;
+    private final double minY;
+    private final double minZ;
+    private final double cellSize;
+
+    private MortonOrder(PointBuffer points, long[] codes, int[] original,
+                        double minX, double minY, double minZ, double cellSize) {
+        this.points = points;
+        this.codes = codes;
+        this.original = original;
+        this.minX = minX;
+        this.minY = minY;
+        this.minZ = minZ;
+        this.cellSize = cellSize;
+    }
+
+    /**
+     * Sorts the points of a buffer in place into Morton order.
+     *
+     * @param points the points to sort.
+     * @return the order of the sorted points.
+     */
+    public static MortonOrder sort(PointBuffer points) {
+        int n = points.size();
+        double[] x = points.xArray();
+        double[] y = points.yArray();
+        double[] z = points.zArray();
+
+        double minX = Double.POSITIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double minZ = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+        double maxZ = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < n; i++) {
+            minX = Math.min(minX, x[i]);
+            minY = Math.min(minY, y[i]);
+            minZ = Math.min(minZ, z[i]);
+            maxX = Math.max(maxX, x[i]);
+            maxY = Math.max(maxY, y[i]);
+            maxZ = Math.max(maxZ, z[i]);
+        }
+        if (n == 0) {
+            minX = minY = minZ = maxX = maxY = maxZ = 0.0;
+        }
+        double extent = Math.max(maxX - minX, Math.max(maxY - minY, maxZ - minZ));
+        double cellSize = extent > 0.0 ? extent / Morton.MAX_COORDINATE : 1.0;
+
+        long[] codes = new long[n];
+        int[] order = new int[n];
+        double inverse = 1.0 / cellSize;
+        for (int i = 0; i < n; i++) {
+            codes[i] = Morton.encode(
+                    quantize((x[i] - minX) * inverse),
+                    quantize((y[i] - minY) * inverse),
+                    quantize((z[i] - minZ) * inverse));
+            order[i] = i;
+        }
+        radixSort(codes, order);
+
+        double[] sortedX = new double[n];
+        double[] sortedY = new double[n];
+        double[] sortedZ = new double[n];
+        for (int i = 0; i < n; i++) {
+            sortedX[i] = x[order[i]];
+            sortedY[i] = y[order[i]];
+            sortedZ[i] = z[order[i]];
+        }
+        System.arraycopy(sortedX, 0, x, 0, n);
+        System.arraycopy(sortedY, 0, y, 0, n);
+        System.arraycopy(sortedZ, 0, z, 0, n);
+        return new MortonOrder(points, codes, order, minX, minY, minZ, cellSize);
+    }
+
+    /**
+     * Returns the number of points in this order.
+     *
+     * @return the number of points.
+     */
+    public int size() {
+        return codes.length;
+    }
+
+    /**
+     * Returns the Morton code of the point at the given index of the sorted buffer.
+     *
+     * @param index the index of the point.
+     * @return the Morton code of the point.
+     */
+    public long code(int index) {
+        return codes[index];
+    }
+
+    /**
+     * Returns the index the point at the given index of the sorted buffer had before sorting.
+     *
+     * @param index the index of the point in the sorted buffer.
+     * @return the index of the point before sorting.
+     */
+    public int originalIndex(int index) {
+        return original[index];
+    }
+
+    /**
+     * Returns the edge length of the cells the points were quantized to.
+     *
+     * @return the edge length of a cell.
+     */
+    public double getCellSize() {
+        return cellSize;
+    }
+
+    /**
+     * Returns the Morton code of a position, using the same quantization as the sorted points.
+     * Positions outside the bounding box of the points are clamped to it.
+     *
+     * @param px the x coordinate of the position.
+     * @param py the y coordinate of the position.
+     * @param pz the z coordinate of the position.
+     * @return the Morton code of the position.
+     */
+    public long encode(double px, double py, double pz) {
+        double inverse = 1.0 / cellSize;
+        return Morton.encode(
+                quantize((px - minX) * inverse),
+                quantize((py - minY) * inverse),
+                quantize((pz - minZ) * inverse));
+    }
+
+    /**
+     * Returns the index of the first point whose code is at least the given code.
+     *
+     * @param code the code to search for.
+     * @return the index of the first point with a code of at least {@code code}, or {@link #size()} if there is none.
+     */
+    public int lowerBound(long code) {
+        return lowerBound(code, 0);
+    }
+
+    /**
+     * Appends the index of every point whose code lies between two codes, inclusive, to the buffer.
+     * The indices are contiguous and in ascending order.
+     *
+     * @param from the smallest code of the range.
+     * @param to   the largest code of the range.
+     * @param out  the buffer to append the indices to.
+     * @return the number of indices appended.
+     */
+    public int range(long from, long to, IndexBuffer out) {
+        if (from > to) {
+            return 0;
+        }
+        int start = lowerBound(from, 0);
+        int end = to == Long.MAX_VALUE ? codes.length : lowerBound(to + 1, start);
+        out.ensureCapacity(out.size() + end - start);
+        for (int i = start; i < end; i++) {
+            out.add(i);
+        }
+        return end - start;
+    }
+
+    /**
+     * Appends the index of every point inside an axis-aligned box to the buffer, in Morton order.
+     * Points exactly on the boundary are included.
+     *
+     * @param minX the smallest x coordinate of the box.
+     * @param minY the smallest y coordinate of the box.
+     * @param minZ the smallest z coordinate of the box.
+     * @param maxX the largest x coordinate of the box.
+     * @param maxY the largest y coordinate of the box.
+     * @param maxZ the largest z coordinate of the box.
+     * @param out  the buffer to append the indices to.
+     * @return the number of indices appended.
+     */
+    public int box(double minX, double minY, double minZ, double maxX, double maxY, double maxZ, IndexBuffer out) {
+        int before = out.size();
+        if (minX > maxX || minY > maxY || minZ > maxZ) {
+            return 0;
+        }
+        double[] x = points.xArray();
+        double[] y = points.yArray();
+        double[] z = points.zArray();
+        long low = encode(minX, minY, minZ);
+        long high = encode(maxX, maxY, maxZ);
+
+        int i = lowerBound(low, 0);
+        while (i < codes.length && codes[i] <= high) {
+            long code = codes[i];
+            if (!Morton.inBox(code, low, high)) {
+                // Jump to the next point whose cell lies inside the box.
+                long next = Morton.nextInBox(code, low, high);
+                if (next > high) {
+                    break;
+                }
+                i = lowerBound(next, i + 1);
+                continue;
+            }
+            if (x[i] >= minX && x[i] <= maxX && y[i] >= minY && y[i] <= maxY && z[i] >= minZ && z[i] <= maxZ) {
+                out.add(i);
+            }
+            i++;
+        }
+        return out.size() - before;
+    }
+
+    private int lowerBound(long code, int from) {
+        int low = from;
+        int high = codes.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (codes[middle] < code) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static int quantize(double cell) {
+        if (!(cell > 0.0)) {
+            return 0;
+        }
+        return cell >= Morton.MAX_COORDINATE ? Morton.MAX_COORDINATE : (int) cell;
+    }
+
+    /**
+     * Sorts the codes in ascending order with a least-significant-digit radix sort, applying the same
+     * permutation to the order array. Digits that are equal across every code are skipped.
+     */
+    private static void radixSort(long[] codes, int[] order) {
+        int n = codes.length;
+        long[] codeBuffer = new long[n];
+        int[] orderBuffer = new int[n];
+        int[] counts = new int[RADIX];
+        for (int shift = 0; shift < 3 * Morton.BITS; shift += RADIX_BITS) {
+            Arrays.fill(counts, 0);
+            for (int i = 0; i < n; i++) {
+                counts[(int) (codes[i] >>> shift) & (RADIX - 1)]++;
+            }
+            if (n == 0 || counts[(int) (codes[0] >>> shift) & (RADIX - 1)] == n) {
+                continue;
+            }
+            int total = 0;
+            for (int d = 0; d < RADIX; d++) {
+                int count = counts[d];
+                counts[d] = total;
+                total += count;
+            }
+            for (int i = 0; i < n; i++) {
+                int slot = counts[(int) (codes[i] >>> shift) & (RADIX - 1)]++;
+                codeBuffer[slot] = codes[i];
+                orderBuffer[slot] = order[i];
+            }
+            System.arraycopy(codeBuffer, 0, codes, 0, n);
+            System.arraycopy(orderBuffer, 0, order, 0, n);
+        }
+    }
+}
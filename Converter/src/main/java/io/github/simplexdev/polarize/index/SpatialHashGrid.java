@@ -0,0 +1,375 @@
+package io.github.simplexdev.polarize.index;
+
+import java.util.Arrays;
+
+/**
+ * A uniform grid of cubic cells, hashed by cell coordinate, for points that move every tick.
+ * <p>
+ * A {@link KdTree} has to be rebuilt whenever its points move, which is too expensive for entities or
+ * followers that all move every tick. This grid instead tracks each point by an integer id, and inserting,
+ * moving or removing a point costs {@code O(1)}: a point that stays in its cell only has its coordinates
+ * updated, and a point that changes cells is unlinked from one cell's list and linked into another.
+ * <p>
+ * Each cell holds an intrusive, doubly-linked list of the ids inside it. The links and coordinates are
+ * stored in primitive arrays indexed by id, and the head of each non-empty cell's list is stored in a
+ * {@link LongIntHashMap} keyed by the packed cell coordinates, so nothing is boxed. Ids should be small
+ * and dense, such as indices into an entity list, because the per-id arrays grow to the largest id.
+ * <p>
+ * Radius and box queries visit only the cells the query overlaps. For the best performance, the cell size
+ * should be about the radius of the most common query.
+ * <p>
+ * This class is not thread-safe. See {@link ConcurrentSpatialHashGrid} for a variant that supports
+ * updates from several threads.
+ */
+public final class SpatialHashGrid {
+    private static final int NONE = -1;
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final double cellSize;
+    private final double inverseCellSize;
+    private final LongIntHashMap heads = new LongIntHashMap();
+
+    private double[] x = new double[0];
+    private double[] y = new double[0];
+    private double[] z = new double[0];
+    private long[] cells = new long[0];
+    private int[] next = new int[0];
+    private int[] previous = new int[0];
+    private boolean[] present = new boolean[0];
+    private int size;
+
+    /**
+     * Creates a new, empty SpatialHashGrid.
+     *
+     * @param cellSize the edge length of each cell.
+     */
+    public SpatialHashGrid(double cellSize) {
+        if (!(cellSize > 0.0) || Double.isInfinite(cellSize)) {
+            throw new IllegalArgumentException("Cell size must be positive and finite: " + cellSize);
+        }
+        this.cellSize = cellSize;
+        this.inverseCellSize = 1.0 / cellSize;
+    }
+
+    /**
+     * Returns the edge length of each cell.
+     *
+     * @return the edge length of each cell.
+     */
+    public double getCellSize() {
+        return cellSize;
+    }
+
+    /**
+     * Inserts a point into the grid, or moves it if the id is already present.
+     *
+     * @param id the id of the point, which must not be negative.
+     * @param px the x coordinate of the point.
+     * @param py the y coordinate of the point.
+     * @param pz the z coordinate of the point.
+     */
+    public void insert(int id, double px, double py, double pz) {
+        if (id < 0) {
+            throw new IllegalArgumentException("Id cannot be negative: " + id);
+        }
+        if (id < present.length && present[id]) {
+            move(id, px, py, pz);
+            return;
+        }
+        ensureCapacity(id + 1);
+        x[id] = px;
+        y[id] = py;
+        z[id] = pz;
+        present[id] = true;
+        link(id, key(px, py, pz));
+        size++;
+    }
+
+    /**
+     * Moves a point that is already in the grid.
+     *
+     * @param id the id of the point.
+     * @param px the new x coordinate of the point.
+     * @param py the new y coordinate of the point.
+     * @param pz the new z coordinate of the point.
+     */
+    public void move(int id, double px, double py, double pz) {
+        checkPresent(id);
+        x[id] = px;
+        y[id] = py;
+        z[id] = pz;
+        long key = key(px, py, pz);
+        if (key != cells[id]) {
+            unlink(id);
+            link(id, key);
+        }
+    }
+
+    /**
+     * Removes a point from the grid.
+     *
+     * @param id the id of the point.
+     * @return true if the point was in the grid.
+     */
+    public boolean remove(int id) {
+        if (id < 0 || id >= present.length || !present[id]) {
+            return false;
+        }
+        unlink(id);
+        present[id] = false;
+        size--;
+        return true;
+    }
+
+    /**
+     * Returns whether a point with the given id is in the grid.
+     *
+     * @param id the id of the point.
+     * @return true if the point is in the grid.
+     */
+    public boolean contains(int id) {
+        return id >= 0 && id < present.length && present[id];
+    }
+
+    /**
+     * Returns the x coordinate of a point in the grid.
+     *
+     * @param id the id of the point.
+     * @return the x coordinate of the point.
+     */
+    public double getX(int id) {
+        checkPresent(id);
+        return x[id];
+    }
+
+    /**
+     * Returns the y coordinate of a point in the grid.
+     *
+     * @param id the id of the point.
+     * @return the y coordinate of the point.
+     */
+    public double getY(int id) {
+        checkPresent(id);
+        return y[id];
+    }
+
+    /**
+     * Returns the z coordinate of a point in the grid.
+     *
+     * @param id the id of the point.
+     * @return the z coordinate of the point.
+     */
+    public double getZ(int id) {
+        checkPresent(id);
+        return z[id];
+    }
+
+    /**
+     * Returns the number of points in the grid.
+     *
+     * @return the number of points.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of cells that hold at least one point.
+     *
+     * @return the number of occupied cells.
+     */
+    public int cellCount() {
+        return heads.size();
+    }
+
+    /**
+     * Removes every point from the grid, keeping its capacity.
+     */
+    public void clear() {
+        heads.clear();
+        Arrays.fill(present, false);
+        size = 0;
+    }
+
+    /**
+     * Appends the id of every point in the given cell to the buffer.
+     *
+     * @param cellX the x coordinate of the cell.
+     * @param cellY the y coordinate of the cell.
+     * @param cellZ the z coordinate of the cell.
+     * @param out   the buffer to append the ids to.
+     * @return the number of ids appended.
+     */
+    public int cell(int cellX, int cellY, int cellZ, IndexBuffer out) {
+        int count = 0;
+        for (int id = heads.get(pack(cellX, cellY, cellZ)); id != NONE; id = next[id]) {
+            out.add(id);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Appends the id of every point within a radius of the given position to the buffer.
+     * Points exactly on the boundary are included.
+     *
+     * @param px     the x coordinate of the position.
+     * @param py     the y coordinate of the position.
+     * @param pz     the z coordinate of the position.
+     * @param radius the radius to search.
+     * @param out    the buffer to append the ids to.
+     * @return the number of ids appended.
+     */
+    public int radius(double px, double py, double pz, double radius, IndexBuffer out) {
+        int before = out.size();
+        double radiusSquared = radius * radius;
+        int x0 = cell(px - radius);
+        int x1 = cell(px + radius);
+        int y0 = cell(py - radius);
+        int y1 = cell(py + radius);
+        int z0 = cell(pz - radius);
+        int z1 = cell(pz + radius);
+        for (int cx = x0; cx <= x1; cx++) {
+            for (int cz = z0; cz <= z1; cz++) {
+                for (int cy = y0; cy <= y1; cy++) {
+                    for (int id = heads.get(pack(cx, cy, cz)); id != NONE; id = next[id]) {
+                        double dx = x[id] - px;
+                        double dy = y[id] - py;
+                        double dz = z[id] - pz;
+                        if (dx * dx + dy * dy + dz * dz <= radiusSquared) {
+                            out.add(id);
+                        }
+                    }
+                }
+            }
+        }
+        return out.size() - before;
+    }
+
+    /**
+     * Appends the id of every other point within a radius of the given point to the buffer.
+     *
+     * @param id     the id of the point to search around, which is not included in the results.
+     * @param radius the radius to search.
+     * @param out    the buffer to append the ids to.
+     * @return the number of ids appended.
+     */
+    public int neighbours(int id, double radius, IndexBuffer out) {
+        checkPresent(id);
+        int before = out.size();
+        radius(x[id], y[id], z[id], radius, out);
+        int[] array = out.array();
+        for (int i = before; i < out.size(); i++) {
+            if (array[i] == id) {
+                array[i] = array[out.size() - 1];
+                out.truncate(out.size() - 1);
+                break;
+            }
+        }
+        return out.size() - before;
+    }
+
+    /**
+     * Appends the id of every point inside an axis-aligned box to the buffer.
+     * Points exactly on the boundary are included.
+     *
+     * @param minX the smallest x coordinate of the box.
+     * @param minY the smallest y coordinate of the box.
+     * @param minZ the smallest z coordinate of the box.
+     * @param maxX the largest x coordinate of the box.
+     * @param maxY the largest y coordinate of the box.
+     * @param maxZ the largest z coordinate of the box.
+     * @param out  the buffer to append the ids to.
+     * @return the number of ids appended.
+     */
+    public int box(double minX, double minY, double minZ, double maxX, double maxY, double maxZ, IndexBuffer out) {
+        int before = out.size();
+        int x1 = cell(maxX);
+        int y1 = cell(maxY);
+        int z1 = cell(maxZ);
+        for (int cx = cell(minX); cx <= x1; cx++) {
+            for (int cz = cell(minZ); cz <= z1; cz++) {
+                for (int cy = cell(minY); cy <= y1; cy++) {
+                    for (int id = heads.get(pack(cx, cy, cz)); id != NONE; id = next[id]) {
+                        if (x[id] >= minX && x[id] <= maxX && y[id] >= minY && y[id] <= maxY
+                                && z[id] >= minZ && z[id] <= maxZ) {
+                            out.add(id);
+                        }
+                    }
+                }
+            }
+        }
+        return out.size() - before;
+    }
+
+    /**
+     * Returns the coordinate of the cell containing the given coordinate along one axis.
+     *
+     * @param coordinate the coordinate.
+     * @return the coordinate of the cell.
+     */
+    public int cell(double coordinate) {
+        return (int) Math.floor(coordinate * inverseCellSize);
+    }
+
+    /**
+     * Packs the coordinates of a cell into a single key, using the low 21 bits of each coordinate.
+     *
+     * @param cellX the x coordinate of the cell.
+     * @param cellY the y coordinate of the cell.
+     * @param cellZ the z coordinate of the cell.
+     * @return the packed key.
+     */
+    static long pack(int cellX, int cellY, int cellZ) {
+        return ((cellX & 0x1FFFFFL) << 42) | ((cellY & 0x1FFFFFL) << 21) | (cellZ & 0x1FFFFFL);
+    }
+
+    private long key(double px, double py, double pz) {
+        return pack(cell(px), cell(py), cell(pz));
+    }
+
+    private void link(int id, long key) {
+        int head = heads.put(key, id);
+        cells[id] = key;
+        previous[id] = NONE;
+        next[id] = head;
+        if (head != NONE) {
+            previous[head] = id;
+        }
+    }
+
+    private void unlink(int id) {
+        int before = previous[id];
+        int after = next[id];
+        if (after != NONE) {
+            previous[after] = before;
+        }
+        if (before != NONE) {
+            next[before] = after;
+        } else if (after != NONE) {
+            heads.put(cells[id], after);
+        } else {
+            heads.remove(cells[id]);
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= present.length) {
+            return;
+        }
+        int length = Math.max(capacity, Math.max(DEFAULT_CAPACITY, present.length + (present.length >> 1)));
+        x = Arrays.copyOf(x, length);
+        y = Arrays.copyOf(y, length);
+        z = Arrays.copyOf(z, length);
+        cells = Arrays.copyOf(cells, length);
+        next = Arrays.copyOf(next, length);
+        previous = Arrays.copyOf(previous, length);
+        present = Arrays.copyOf(present, length);
+    }
+
+    private void checkPresent(int id) {
+        if (!contains(id)) {
+            throw new IllegalArgumentException("No point with id " + id + " in the grid.");
+        }
+    }
+}
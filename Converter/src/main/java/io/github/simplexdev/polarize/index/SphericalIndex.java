@@ -0,0 +1,416 @@
+package io.github.simplexdev.polarize.index;
+
+import io.github.simplexdev.polarize.api.spatial.IPoint3D;
+import io.github.simplexdev.polarize.api.spatial.IVector;
+import io.github.simplexdev.polarize.cartesian.PointBuffer;
+
+import java.util.Arrays;
+
+/**
+ * An index of points by their direction from an origin, for answering cone and band queries.
+ * <p>
+ * The sphere of directions is divided into pixels of equal area. Pixels are arranged in rings of constant
+ * polar angle from the +Y axis, as in HEALPix: each ring is split into as many sectors of azimuth as keeps its
+ * pixels roughly square, and the ring boundaries are then placed so that every pixel covers exactly
+ * {@code 4 * pi / pixelCount()} steradians. Each point is assigned to the pixel containing its direction once,
+ * when the index is built, and the points are stored grouped by pixel.
+ * <p>
+ * A query first enumerates the pixels that overlap the cone or band, which costs a few operations per ring,
+ * and then tests only the points of those pixels, with a dot product against precomputed unit directions.
+ * No inverse trigonometric function is evaluated per point at query time.
+ * <p>
+ * Polar angles (theta) are measured from the +Y axis and azimuths (phi) are {@code atan2(x, z)}, matching
+ * {@link io.github.simplexdev.polarize.util.Polarizer#toSphericalUnit(double, double, double)}.
+ * Points that coincide with the origin have no direction and are never returned by a query.
+ * <p>
+ * Queries may be run from several threads at once, but not while the index is being rebuilt.
+ */
+public final class SphericalIndex {
+    private static final double TWO_PI = 2.0 * Math.PI;
+    private static final double EPSILON = 1e-9;
+
+    private final int rings;
+    private final int[] ringStart;
+    private final int[] ringSectors;
+    private final double[] ringTop;
+    private final int pixelCount;
+
+    private final int[] pixelStart;
+    private final int[] counts;
+    private int[] pixels = new int[0];
+    private int[] ids = new int[0];
+    private double[] dx = new double[0];
+    private double[] dy = new double[0];
+    private double[] dz = new double[0];
+    private int size;
+
+    /**
+     * Creates a new, empty SphericalIndex.
+     * <p>
+     * The number of rings sets the resolution: with {@code n} rings, each pixel spans about
+     * {@code 180 / n} degrees, and there are about {@code 4 * n^2 / pi} pixels in total.
+     *
+     * @param rings the number of rings of pixels, from pole to pole.
+     */
+    public SphericalIndex(int rings) {
+        if (rings < 1 || rings > 4096) {
+            throw new IllegalArgumentException("Number of rings must be between 1 and 4096: " + rings);
+        }
+        this.rings = rings;
+        this.ringStart = new int[rings + 1];
+        this.ringSectors = new int[rings];
+        this.ringTop = new double[rings + 1];
+
+        double step = Math.PI / rings;
+        for (int i = 0; i < rings; i++) {
+            double middle = (i + 0.5) * step;
+            ringSectors[i] = Math.max(1, (int) Math.round(TWO_PI * Math.sin(middle) / step));
+            ringStart[i + 1] = ringStart[i] + ringSectors[i];
+        }
+        this.pixelCount = ringStart[rings];
+        // A ring holding k of the N pixels must cover k / N of the sphere, which is a height of 2k / N.
+        for (int i = 0; i <= rings; i++) {
+            ringTop[i] = 1.0 - 2.0 * ringStart[i] / pixelCount;
+        }
+        ringTop[rings] = -1.0;
+        this.pixelStart = new int[pixelCount + 1];
+        this.counts = new int[pixelCount + 1];
+    }
+
+    /**
+     * Creates a new SphericalIndex of the given points around an origin.
+     *
+     * @param origin the origin to measure directions from.
+     * @param points the points to index.
+     * @param rings  the number of rings of pixels, from pole to pole.
+     * @return a new SphericalIndex.
+     */
+    public static SphericalIndex of(IPoint3D origin, PointBuffer points, int rings) {
+        SphericalIndex index = new SphericalIndex(rings);
+        index.rebuild(origin.getX().get(), origin.getY().get(), origin.getZ().get(), points);
+        return index;
+    }
+
+    /**
+     * Replaces the contents of this index with the directions of the given points from an origin.
+     *
+     * @param ox     the x coordinate of the origin.
+     * @param oy     the y coordinate of the origin.
+     * @param oz     the z coordinate of the origin.
+     * @param points the points to index.
+     */
+    public void rebuild(double ox, double oy, double oz, PointBuffer points) {
+        int n = points.size();
+        double[] xs = points.xArray();
+        double[] ys = points.yArray();
+        double[] zs = points.zArray();
+        if (pixels.length < n) {
+            pixels = new int[n];
+        }
+        Arrays.fill(counts, 0);
+        for (int i = 0; i < n; i++) {
+            int pixel = pixel(xs[i] - ox, ys[i] - oy, zs[i] - oz);
+            pixels[i] = pixel;
+            counts[pixel + 1]++;
+        }
+        for (int p = 0; p < pixelCount; p++) {
+            counts[p + 1] += counts[p];
+        }
+        System.arraycopy(counts, 0, pixelStart, 0, counts.length);
+
+        if (ids.length < n) {
+            ids = new int[n];
+            dx = new double[n];
+            dy = new double[n];
+            dz = new double[n];
+        }
+        for (int i = 0; i < n; i++) {
+            int slot = counts[pixels[i]]++;
+            double x = xs[i] - ox;
+            double y = ys[i] - oy;
+            double z = zs[i] - oz;
+            double inverse = 1.0 / Math.sqrt(x * x + y * y + z * z);
+            ids[slot] = i;
+            // A point at the origin gets a NaN direction, which fails every comparison.
+            dx[slot] = x * inverse;
+            dy[slot] = y * inverse;
+            dz[slot] = z * inverse;
+        }
+        this.size = n;
+    }
+
+    /**
+     * Returns the number of points in this index.
+     *
+     * @return the number of points.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of rings of pixels.
+     *
+     * @return the number of rings.
+     */
+    public int ringCount() {
+        return rings;
+    }
+
+    /**
+     * Returns the number of pixels.
+     *
+     * @return the number of pixels.
+     */
+    public int pixelCount() {
+        return pixelCount;
+    }
+
+    /**
+     * Returns the solid angle covered by each pixel.
+     *
+     * @return the area of a pixel, in steradians.
+     */
+    public double pixelArea() {
+        return 2.0 * TWO_PI / pixelCount;
+    }
+
+    /**
+     * Returns the id of the pixel containing a direction. The direction does not need to be normalized.
+     *
+     * @param x the x component of the direction.
+     * @param y the y component of the direction.
+     * @param z the z component of the direction.
+     * @return the id of the pixel, between 0 and {@link #pixelCount()} exclusive.
+     */
+    public int pixel(double x, double y, double z) {
+        double length = Math.sqrt(x * x + y * y + z * z);
+        if (length == 0.0) {
+            return 0;
+        }
+        int ring = ring(y / length);
+        return ringStart[ring] + sector(ring, azimuth(x, z));
+    }
+
+    /**
+     * Returns the number of points in a pixel.
+     *
+     * @param pixel the id of the pixel.
+     * @return the number of points in the pixel.
+     */
+    public int pixelSize(int pixel) {
+        return pixelStart[pixel + 1] - pixelStart[pixel];
+    }
+
+    /**
+     * Appends the index of every point whose direction lies within an angle of an axis to the buffer.
+     *
+     * @param ax    the x component of the cone's axis.
+     * @param ay    the y component of the cone's axis.
+     * @param az    the z component of the cone's axis.
+     * @param angle the half-angle of the cone, in radians.
+     * @param out   the buffer to append the point indices to.
+     * @return the number of indices appended.
+     */
+    public int cone(double ax, double ay, double az, double angle, IndexBuffer out) {
+        int before = out.size();
+        double length = Math.sqrt(ax * ax + ay * ay + az * az);
+        if (length == 0.0 || angle < 0.0) {
+            return 0;
+        }
+        double ux = ax / length;
+        double uy = ay / length;
+        double uz = az / length;
+        double minimum = Math.cos(Math.min(angle, Math.PI));
+        // The overlapping pixels are scanned as they are found, so a query needs no buffer of pixel ids
+        // and stays safe to run from several threads at once.
+        visitCone(ux, uy, uz, angle, true, minimum, out);
+        return out.size() - before;
+    }
+
+    /**
+     * Appends the index of every point whose direction lies within an angle of an axis to the buffer.
+     *
+     * @param axis  the axis of the cone.
+     * @param angle the half-angle of the cone, in radians.
+     * @param out   the buffer to append the point indices to.
+     * @return the number of indices appended.
+     * @see #cone(double, double, double, double, IndexBuffer)
+     */
+    public int cone(IVector axis, double angle, IndexBuffer out) {
+        return cone(axis.getX(), axis.getY(), axis.getZ(), angle, out);
+    }
+
+    /**
+     * Appends the id of every pixel that overlaps a cone to the buffer. The axis must be normalized.
+     * A pixel may be reported even if it only comes close to the cone, but no overlapping pixel is missed.
+     *
+     * @param ux    the x component of the cone's unit axis.
+     * @param uy    the y component of the cone's unit axis.
+     * @param uz    the z component of the cone's unit axis.
+     * @param angle the half-angle of the cone, in radians.
+     * @param out   the buffer to append the pixel ids to.
+     * @return the number of pixel ids appended.
+     */
+    public int conePixels(double ux, double uy, double uz, double angle, IndexBuffer out) {
+        int before = out.size();
+        visitCone(ux, uy, uz, angle, false, 0.0, out);
+        return out.size() - before;
+    }
+
+    /**
+     * Visits every pixel that overlaps a cone. If {@code points} is set, the index of every point of those
+     * pixels whose direction has a dot product of at least {@code minimum} with the axis is appended to
+     * the buffer; otherwise the id of each pixel is appended.
+     */
+    private void visitCone(double ux, double uy, double uz, double angle,
+                           boolean points, double minimum, IndexBuffer out) {
+        double axisTheta = Math.acos(Math.max(-1.0, Math.min(1.0, uy)));
+        double axisPhi = azimuth(ux, uz);
+        double low = axisTheta - angle;
+        double high = axisTheta + angle;
+        boolean containsNorth = low <= 0.0;
+        boolean containsSouth = high >= Math.PI;
+        // Widen by a ring on each side so rounding in the ring lookup can never drop a point.
+        int first = containsNorth ? 0 : Math.max(0, ring(Math.cos(low)) - 1);
+        int last = containsSouth ? rings - 1 : Math.min(rings - 1, ring(Math.cos(high)) + 1);
+
+        double cosAngle = Math.cos(angle);
+        double cosAxis = Math.cos(axisTheta);
+        double sinAxis = Math.sin(axisTheta);
+        for (int ring = first; ring <= last; ring++) {
+            double width = coneHalfWidth(ring, cosAngle, cosAxis, sinAxis, containsNorth || containsSouth);
+            visitSectors(ring, axisPhi - width, axisPhi + width, ux, uy, uz, points, minimum, out);
+        }
+    }
+
+    /**
+     * Appends the index of every point whose polar angle from the +Y axis lies between two angles to the buffer.
+     *
+     * @param minTheta the smallest polar angle, in radians.
+     * @param maxTheta the largest polar angle, in radians.
+     * @param out      the buffer to append the point indices to.
+     * @return the number of indices appended.
+     */
+    public int band(double minTheta, double maxTheta, IndexBuffer out) {
+        int before = out.size();
+        double low = Math.max(0.0, minTheta);
+        double high = Math.min(Math.PI, maxTheta);
+        if (low > high) {
+            return 0;
+        }
+        double top = Math.cos(low);
+        double bottom = Math.cos(high);
+        int first = Math.max(0, ring(top) - 1);
+        int last = Math.min(rings - 1, ring(bottom) + 1);
+        // The pixels of consecutive rings are stored contiguously, so the band is one run of slots.
+        for (int slot = pixelStart[ringStart[first]]; slot < pixelStart[ringStart[last + 1]]; slot++) {
+            if (dy[slot] <= top && dy[slot] >= bottom) {
+                out.add(ids[slot]);
+            }
+        }
+        return out.size() - before;
+    }
+
+    /**
+     * Returns the largest azimuth difference from the cone's axis of any direction inside the cone
+     * whose polar angle lies within the given ring.
+     */
+    private double coneHalfWidth(int ring, double cosAngle, double cosAxis, double sinAxis, boolean containsPole) {
+        if (containsPole || ringSectors[ring] == 1) {
+            return Math.PI;
+        }
+        double top = ringTop[ring];
+        double bottom = ringTop[ring + 1];
+        // The widest point of a small circle is where cos(theta) = cos(axis) / cos(angle); otherwise it is at an edge.
+        double widest = cosAngle > 0.0 ? cosAxis / cosAngle : Double.NaN;
+        double width = Math.max(halfWidthAt(top, cosAngle, cosAxis, sinAxis),
+                halfWidthAt(bottom, cosAngle, cosAxis, sinAxis));
+        if (widest < top && widest > bottom) {
+            width = Math.max(width, halfWidthAt(widest, cosAngle, cosAxis, sinAxis));
+        }
+        return width + EPSILON;
+    }
+
+    /**
+     * Returns the azimuth half-width of a cone at the given height, or 0 if the cone misses that height.
+     */
+    private static double halfWidthAt(double height, double cosAngle, double cosAxis, double sinAxis) {
+        double sinTheta = Math.sqrt(Math.max(0.0, 1.0 - height * height));
+        double denominator = sinTheta * sinAxis;
+        if (denominator <= 0.0) {
+            return Math.PI;
+        }
+        double cosWidth = (cosAngle - height * cosAxis) / denominator;
+        if (cosWidth >= 1.0) {
+            return 0.0;
+        }
+        if (cosWidth <= -1.0) {
+            return Math.PI;
+        }
+        return Math.acos(cosWidth);
+    }
+
+    private void visitSectors(int ring, double fromPhi, double toPhi, double ux, double uy, double uz,
+                              boolean points, double minimum, IndexBuffer out) {
+        int sectors = ringSectors[ring];
+        int start = ringStart[ring];
+        if (toPhi - fromPhi >= TWO_PI) {
+            for (int s = 0; s < sectors; s++) {
+                visitPixel(start + s, ux, uy, uz, points, minimum, out);
+            }
+            return;
+        }
+        double scale = sectors / TWO_PI;
+        long first = (long) Math.floor(fromPhi * scale);
+        long last = (long) Math.floor(toPhi * scale);
+        last = Math.min(last, first + sectors - 1);
+        for (long s = first; s <= last; s++) {
+            visitPixel(start + (int) Math.floorMod(s, (long) sectors), ux, uy, uz, points, minimum, out);
+        }
+    }
+
+    private void visitPixel(int pixel, double ux, double uy, double uz,
+                            boolean points, double minimum, IndexBuffer out) {
+        if (!points) {
+            out.add(pixel);
+            return;
+        }
+        for (int slot = pixelStart[pixel]; slot < pixelStart[pixel + 1]; slot++) {
+            if (dx[slot] * ux + dy[slot] * uy + dz[slot] * uz >= minimum) {
+                out.add(ids[slot]);
+            }
+        }
+    }
+
+    /**
+     * Returns the ring containing the given height, which is the cosine of the polar angle.
+     */
+    private int ring(double height) {
+        int low = 0;
+        int high = rings - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (ringTop[middle] >= height) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    private int sector(int ring, double phi) {
+        int sectors = ringSectors[ring];
+        int sector = (int) (phi * sectors / TWO_PI);
+        return Math.min(sector, sectors - 1);
+    }
+
+    /**
+     * Returns the azimuth of a direction, in {@code [0, 2 * pi)}.
+     */
+    private static double azimuth(double x, double z) {
+        double phi = Math.atan2(x, z);
+        return phi < 0.0 ? phi + TWO_PI : phi;
+    }
+}
@@ -0,0 +1,44 @@
+package io.github.simplexdev.polarize.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * A Flight Recorder event for the computation of a quadrature or cubature rule table that was not cached yet.
+ * <p>
+ * Lookups that find their table cached are not recorded, as they are frequent and cheap. Misses are rare,
+ * so they are recorded regardless of their duration unless a threshold is set in the recording settings
+ * under the name {@code polarize.RuleCacheMiss}.
+ */
+@Name("polarize.RuleCacheMiss")
+@Label("Rule Cache Miss")
+@Category("Polarize")
+@Description("Computation of a rule table that was not cached")
+@Threshold("0 ms")
+@StackTrace(true)
+public final class RuleCacheMissEvent extends Event {
+    @Label("Rule")
+    @Description("The type of rule computed")
+    private final String rule;
+
+    @Label("Size")
+    @Description("The order or number of nodes of the rule")
+    private final int size;
+
+    /**
+     * Creates a new RuleCacheMissEvent and starts its timing.
+     *
+     * @param rule the type of rule computed.
+     * @param size the order or number of nodes of the rule.
+     */
+    public RuleCacheMissEvent(String rule, int size) {
+        this.rule = rule;
+        this.size = size;
+        begin();
+    }
+}
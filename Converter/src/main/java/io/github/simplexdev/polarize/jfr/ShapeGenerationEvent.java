@@ -0,0 +1,69 @@
+package io.github.simplexdev.polarize.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * A Flight Recorder event for the generation of the points of a shape, such as a lattice or a sweep.
+ * <p>
+ * The event is recorded when the generation takes at least its threshold, one millisecond by default,
+ * which can be changed in the recording settings under the name {@code polarize.ShapeGeneration}.
+ * Like {@link TransformationEvent}, the event is only created while a recording has its type enabled.
+ */
+@Name("polarize.ShapeGeneration")
+@Label("Shape Generation")
+@Category("Polarize")
+@Description("Generation of the points of a shape")
+@Threshold("1 ms")
+@StackTrace(true)
+public final class ShapeGenerationEvent extends Event {
+    private static final ShapeGenerationEvent PROBE = new ShapeGenerationEvent(null);
+
+    @Label("Shape")
+    @Description("The type of shape generated")
+    private final String shape;
+
+    @Label("Points")
+    @Description("The number of points generated")
+    private int points;
+
+    private ShapeGenerationEvent(String shape) {
+        this.shape = shape;
+    }
+
+    /**
+     * Starts timing the generation of a shape, if the event type is enabled.
+     *
+     * @param shape the type of shape generated.
+     * @return the started event, or null if the event type is disabled.
+     */
+    public static ShapeGenerationEvent start(String shape) {
+        if (!PROBE.isEnabled()) {
+            return null;
+        }
+        ShapeGenerationEvent event = new ShapeGenerationEvent(shape);
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends the timing of a shape's generation and records it if it took at least the threshold.
+     *
+     * @param event  the event returned by {@link #start(String)}, or null.
+     * @param points the number of points generated.
+     */
+    public static void finish(ShapeGenerationEvent event, int points) {
+        if (event != null) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.points = points;
+                event.commit();
+            }
+        }
+    }
+}
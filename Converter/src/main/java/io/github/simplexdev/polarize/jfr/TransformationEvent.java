@@ -0,0 +1,69 @@
+package io.github.simplexdev.polarize.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * A Flight Recorder event for a bulk transformation or conversion of points, such as a rotation.
+ * <p>
+ * The event is recorded when the transformation takes at least its threshold, one millisecond by default,
+ * which can be changed in the recording settings under the name {@code polarize.Transformation}.
+ * <p>
+ * Use {@link #start(String, int)} and {@link #finish(TransformationEvent)} rather than the constructor:
+ * they only create an event while a recording has the event type enabled, so a disabled event costs
+ * a single check and never allocates.
+ */
+@Name("polarize.Transformation")
+@Label("Transformation")
+@Category("Polarize")
+@Description("Bulk transformation or conversion of points")
+@Threshold("1 ms")
+@StackTrace(true)
+public final class TransformationEvent extends Event {
+    private static final TransformationEvent PROBE = new TransformationEvent(null, 0);
+
+    @Label("Operation")
+    @Description("The transformation or conversion applied")
+    private final String operation;
+
+    @Label("Points")
+    @Description("The number of points transformed")
+    private final int points;
+
+    private TransformationEvent(String operation, int points) {
+        this.operation = operation;
+        this.points = points;
+    }
+
+    /**
+     * Starts timing a transformation, if the event type is enabled.
+     *
+     * @param operation the transformation or conversion applied.
+     * @param points    the number of points transformed.
+     * @return the started event, or null if the event type is disabled.
+     */
+    public static TransformationEvent start(String operation, int points) {
+        if (!PROBE.isEnabled()) {
+            return null;
+        }
+        TransformationEvent event = new TransformationEvent(operation, points);
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends the timing of a transformation and records it if it took at least the threshold.
+     *
+     * @param event the event returned by {@link #start(String, int)}, or null.
+     */
+    public static void finish(TransformationEvent event) {
+        if (event != null) {
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package io.github.simplexdev.polarize.log;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.ErrorManager;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+/**
+ * A {@link Handler} that hands records to a background thread, which publishes them to other handlers.
+ * <p>
+ * Logging threads only place the record in a bounded, lock-free ring buffer, so they never wait for
+ * a console or file to be written. If the buffer is full, the record is dropped rather than blocking
+ * the caller, and the number of dropped records is reported by the background thread once space frees up.
+ * <p>
+ * The background thread flushes the handlers after each batch of records it publishes. While no records
+ * arrive, it sleeps for longer and longer, up to 100 milliseconds, so the first record after a quiet
+ * period may take that long to be published.
+ * <p>
+ * The ring buffer follows Dmitry Vyukov's bounded queue: each slot carries a sequence number that tells
+ * producers whether the slot is free and the consumer whether it has been filled, so producers claim
+ * slots with a single compare-and-set and no locks are taken.
+ *
+ * @see PolarizeLogger#enableAsync(int)
+ */
+public final class AsyncLogHandler extends Handler {
+    private static final long MIN_IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long MAX_IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final Handler[] delegates;
+    private final AtomicReferenceArray<LogRecord> slots;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread worker;
+    private long head;
+    private long reported;
+    private volatile boolean closed;
+
+    /**
+     * Creates a new AsyncLogHandler and starts its background thread.
+     *
+     * @param capacity  the number of records the buffer holds, rounded up to a power of two.
+     * @param delegates the handlers that publish the records.
+     */
+    public AsyncLogHandler(int capacity, Handler... delegates) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^30: " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.delegates = delegates.clone();
+        this.slots = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+        this.mask = size - 1;
+
+        this.worker = new Thread(this::drain, "Polarize-Log");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Queues a record for the background thread, or drops it if the buffer is full.
+     *
+     * @param record the record to publish.
+     */
+    @Override
+    public void publish(LogRecord record) {
+        if (closed || record == null || !isLoggable(record)) {
+            return;
+        }
+        if (!offer(record)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    /**
+     * Flushes the handlers this handler publishes to. Records still in the buffer are not waited for.
+     */
+    @Override
+    public void flush() {
+        for (Handler delegate : delegates) {
+            delegate.flush();
+        }
+    }
+
+    /**
+     * Stops accepting records, publishes the records still in the buffer, and stops the background thread.
+     * The handlers this handler publishes to are flushed but not closed.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        LockSupport.unpark(worker);
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Returns the number of records dropped because the buffer was full.
+     *
+     * @return the number of dropped records.
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Returns the number of records the buffer holds.
+     *
+     * @return the capacity of the buffer.
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+
+    private boolean offer(LogRecord record) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots.set(index, record);
+                    // Publishing the sequence after the record lets the consumer see the record.
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    private LogRecord poll() {
+        int index = (int) (head & mask);
+        if (sequences.get(index) != head + 1) {
+            return null;
+        }
+        LogRecord record = slots.get(index);
+        slots.set(index, null);
+        sequences.set(index, head + mask + 1);
+        head++;
+        return record;
+    }
+
+    private void drain() {
+        long idleNanos = MIN_IDLE_NANOS;
+        boolean delivered = false;
+        while (true) {
+            LogRecord record = poll();
+            if (record == null) {
+                delivered |= reportDropped();
+                if (delivered) {
+                    // Only flush once a batch has been published, not on every idle wake-up.
+                    flush();
+                    delivered = false;
+                }
+                if (closed) {
+                    // Publish whatever was queued between the last poll and the close.
+                    while ((record = poll()) != null) {
+                        deliver(record);
+                    }
+                    flush();
+                    return;
+                }
+                LockSupport.parkNanos(this, idleNanos);
+                // Back off while nothing is logged, so an idle handler rarely wakes up.
+                idleNanos = Math.min(MAX_IDLE_NANOS, idleNanos * 2);
+                continue;
+            }
+            deliver(record);
+            delivered = true;
+            idleNanos = MIN_IDLE_NANOS;
+        }
+    }
+
+    /**
+     * Publishes a warning if records were dropped since the last report, returning whether one was published.
+     */
+    private boolean reportDropped() {
+        long count = dropped.get();
+        if (count == reported) {
+            return false;
+        }
+        LogRecord record = new LogRecord(Level.WARNING,
+                "Dropped " + (count - reported) + " log records because the log buffer was full.");
+        record.setLoggerName("Polarize");
+        reported = count;
+        deliver(record);
+        return true;
+    }
+
+    private void deliver(LogRecord record) {
+        for (Handler delegate : delegates) {
+            try {
+                delegate.publish(record);
+            } catch (RuntimeException ex) {
+                reportError(null, ex, ErrorManager.WRITE_FAILURE);
+            }
+        }
+    }
+}
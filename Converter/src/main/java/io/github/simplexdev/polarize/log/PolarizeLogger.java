@@ -1,9 +1,20 @@
 package io.github.simplexdev.polarize.log;
 
+import java.util.function.Supplier;
+import java.util.logging.Handler;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
+/**
+ * The logger used by Polarize, backed by the {@code java.util.logging} logger named {@code "Polarize"}.
+ * <p>
+ * The {@link Supplier} overloads only build their message if the level is enabled, so diagnostic
+ * logging on hot paths costs a level check when it is turned off. {@link #enableAsync(int)} moves the
+ * writing of records to a background thread, so logging never blocks the caller.
+ */
 public class PolarizeLogger {
     private static final Logger logger = Logger.getLogger("Polarize");
+    private static AsyncLogHandler asyncHandler;
 
     private PolarizeLogger() {
         throw new AssertionError();
@@ -28,4 +39,104 @@ public class PolarizeLogger {
     public static void severe(Throwable throwable) {
         logger.severe(throwable.getMessage());
     }
+
+    /**
+     * Returns whether messages of the given level are logged.
+     *
+     * @param level the level to check.
+     * @return true if messages of the level are logged.
+     */
+    public static boolean isLoggable(Level level) {
+        return logger.isLoggable(level);
+    }
+
+    /**
+     * Logs a message at the given level, building it only if the level is enabled.
+     *
+     * @param level   the level of the message.
+     * @param message the supplier of the message.
+     */
+    public static void log(Level level, Supplier<String> message) {
+        if (logger.isLoggable(level)) {
+            logger.log(level, message.get());
+        }
+    }
+
+    /**
+     * Logs a diagnostic message, building it only if {@link Level#FINE} is enabled.
+     *
+     * @param message the supplier of the message.
+     */
+    public static void fine(Supplier<String> message) {
+        log(Level.FINE, message);
+    }
+
+    /**
+     * Logs an informational message, building it only if {@link Level#INFO} is enabled.
+     *
+     * @param message the supplier of the message.
+     */
+    public static void info(Supplier<String> message) {
+        log(Level.INFO, message);
+    }
+
+    /**
+     * Logs a warning, building it only if {@link Level#WARNING} is enabled.
+     *
+     * @param message the supplier of the message.
+     */
+    public static void warning(Supplier<String> message) {
+        log(Level.WARNING, message);
+    }
+
+    /**
+     * Logs an error, building it only if {@link Level#SEVERE} is enabled.
+     *
+     * @param message the supplier of the message.
+     */
+    public static void severe(Supplier<String> message) {
+        log(Level.SEVERE, message);
+    }
+
+    /**
+     * Sets the lowest level of messages that are logged.
+     *
+     * @param level the lowest level to log.
+     */
+    public static void setLevel(Level level) {
+        logger.setLevel(level);
+    }
+
+    /**
+     * Publishes records from a background thread instead of the logging thread.
+     * <p>
+     * The handlers of the parent logger, such as the console, are moved behind an {@link AsyncLogHandler}
+     * with the given capacity. Records logged while its buffer is full are dropped and counted.
+     * Calling this again replaces the previous handler.
+     *
+     * @param capacity the number of records that can wait to be published.
+     * @return the installed handler.
+     */
+    public static synchronized AsyncLogHandler enableAsync(int capacity) {
+        disableAsync();
+        Logger parent = logger.getParent() != null ? logger.getParent() : Logger.getLogger("");
+        Handler[] delegates = parent.getHandlers();
+        asyncHandler = new AsyncLogHandler(capacity, delegates);
+        logger.addHandler(asyncHandler);
+        logger.setUseParentHandlers(false);
+        return asyncHandler;
+    }
+
+    /**
+     * Publishes records from the logging thread again, after publishing every record still queued.
+     */
+    public static synchronized void disableAsync() {
+        if (asyncHandler == null) {
+            return;
+        }
+        logger.removeHandler(asyncHandler);
+        logger.setUseParentHandlers(true);
+        asyncHandler.close();
+        asyncHandler = null;
+    }
 }
@@ -0,0 +1,286 @@
+package io.github.simplexdev.polarize.math;
+
+import io.github.simplexdev.polarize.api.units.Phi;
+import io.github.simplexdev.polarize.api.units.Theta;
+
+/**
+ * An angle stored as a 32-bit binary angle, where a full turn is {@code 2^32} units.
+ * <p>
+ * Angles that are accumulated every tick, such as the spin of a shape or a {@link io.github.simplexdev.polarize.polar.Delta}
+ * offset, drift and need a modulo to stay in range when stored as radians. A binary angle wraps around
+ * for free: adding and subtracting use integer arithmetic, which overflows exactly at a full turn, and
+ * the result is exact no matter how many steps are taken.
+ * <p>
+ * The sine and cosine are read from a table of {@value #TABLE_SIZE} entries indexed by the high bits of
+ * the angle, and linearly interpolated with the low bits, which is accurate to about {@code 3e-7}.
+ * <p>
+ * The static methods work on the raw {@code int} representation, for loops that should not allocate.
+ *
+ * @see <a href="https://en.wikipedia.org/wiki/Binary_angular_measurement">Binary angular measurement</a>
+ */
+public final class BinaryAngle {
+    /**
+     * The number of entries in the sine table, per full turn.
+     */
+    public static final int TABLE_SIZE = 1 << 12;
+
+    /**
+     * The raw value of a quarter turn.
+     */
+    public static final int QUARTER_TURN = 1 << 30;
+
+    /**
+     * The raw value of a half turn. This is also the raw value of minus a half turn.
+     */
+    public static final int HALF_TURN = Integer.MIN_VALUE;
+
+    /**
+     * The angle of zero radians.
+     */
+    public static final BinaryAngle ZERO = new BinaryAngle(0);
+
+    private static final int TABLE_BITS = 12;
+    private static final int FRACTION_BITS = 32 - TABLE_BITS;
+    private static final double FRACTION_SCALE = 1.0 / (1 << FRACTION_BITS);
+    private static final double UNITS_PER_RADIAN = 4294967296.0 / (2.0 * Math.PI);
+    private static final double RADIANS_PER_UNIT = (2.0 * Math.PI) / 4294967296.0;
+    private static final double[] SINE = new double[TABLE_SIZE + 1];
+
+    static {
+        for (int i = 0; i <= TABLE_SIZE; i++) {
+            SINE[i] = Math.sin(2.0 * Math.PI * i / TABLE_SIZE);
+        }
+    }
+
+    private final int bits;
+
+    private BinaryAngle(int bits) {
+        this.bits = bits;
+    }
+
+    /**
+     * Returns the angle with the given raw value.
+     *
+     * @param bits the raw value, where {@code 2^32} units make a full turn.
+     * @return the angle.
+     */
+    public static BinaryAngle of(int bits) {
+        return bits == 0 ? ZERO : new BinaryAngle(bits);
+    }
+
+    /**
+     * Returns the angle nearest to the given number of radians, wrapped to a full turn.
+     *
+     * @param radians the angle in radians.
+     * @return the angle.
+     */
+    public static BinaryAngle fromRadians(double radians) {
+        return of(toBits(radians));
+    }
+
+    /**
+     * Returns the angle nearest to the given number of degrees, wrapped to a full turn.
+     *
+     * @param degrees the angle in degrees.
+     * @return the angle.
+     */
+    public static BinaryAngle fromDegrees(double degrees) {
+        return of(toBits(Math.toRadians(degrees)));
+    }
+
+    /**
+     * Returns the angle nearest to the zenith of the given theta.
+     *
+     * @param theta the theta to convert.
+     * @return the angle.
+     */
+    public static BinaryAngle from(Theta theta) {
+        return fromRadians(theta.getZenith());
+    }
+
+    /**
+     * Returns the angle nearest to the azimuth of the given phi.
+     *
+     * @param phi the phi to convert.
+     * @return the angle.
+     */
+    public static BinaryAngle from(Phi phi) {
+        return fromRadians(phi.getAzimuth());
+    }
+
+    /**
+     * Returns the raw value nearest to the given number of radians, wrapped to a full turn.
+     *
+     * @param radians the angle in radians.
+     * @return the raw value of the angle.
+     */
+    public static int toBits(double radians) {
+        // Truncating the long keeps its low 32 bits, which wraps the angle to a full turn.
+        return (int) Math.round(radians * UNITS_PER_RADIAN);
+    }
+
+    /**
+     * Returns the given raw value in radians, between {@code -pi} inclusive and {@code pi} exclusive.
+     *
+     * @param bits the raw value of the angle.
+     * @return the angle in radians.
+     */
+    public static double toRadians(int bits) {
+        return bits * RADIANS_PER_UNIT;
+    }
+
+    /**
+     * Returns the sine of the angle with the given raw value.
+     *
+     * @param bits the raw value of the angle.
+     * @return the sine of the angle.
+     */
+    public static double sin(int bits) {
+        int index = bits >>> FRACTION_BITS;
+        double fraction = (bits & ((1 << FRACTION_BITS) - 1)) * FRACTION_SCALE;
+        double low = SINE[index];
+        return low + (SINE[index + 1] - low) * fraction;
+    }
+
+    /**
+     * Returns the cosine of the angle with the given raw value.
+     *
+     * @param bits the raw value of the angle.
+     * @return the cosine of the angle.
+     */
+    public static double cos(int bits) {
+        return sin(bits + QUARTER_TURN);
+    }
+
+    /**
+     * Returns the raw value of this angle, where {@code 2^32} units make a full turn.
+     *
+     * @return the raw value of this angle.
+     */
+    public int getBits() {
+        return this.bits;
+    }
+
+    /**
+     * Returns the sum of this angle and another, wrapped to a full turn.
+     *
+     * @param other the angle to add.
+     * @return the sum of the angles.
+     */
+    public BinaryAngle add(BinaryAngle other) {
+        return of(this.bits + other.bits);
+    }
+
+    /**
+     * Returns the difference of this angle and another, wrapped to a full turn.
+     *
+     * @param other the angle to subtract.
+     * @return the difference of the angles.
+     */
+    public BinaryAngle subtract(BinaryAngle other) {
+        return of(this.bits - other.bits);
+    }
+
+    /**
+     * Returns this angle multiplied by a whole number, wrapped to a full turn.
+     *
+     * @param factor the number to multiply by.
+     * @return the product.
+     */
+    public BinaryAngle multiply(int factor) {
+        return of(this.bits * factor);
+    }
+
+    /**
+     * Returns the negation of this angle.
+     *
+     * @return the negated angle.
+     */
+    public BinaryAngle negate() {
+        return of(-this.bits);
+    }
+
+    /**
+     * Returns this angle in radians, between {@code -pi} inclusive and {@code pi} exclusive.
+     *
+     * @return this angle in radians.
+     */
+    public double radians() {
+        return toRadians(this.bits);
+    }
+
+    /**
+     * Returns this angle in radians, between {@code 0} inclusive and {@code 2 pi} exclusive.
+     *
+     * @return this angle in radians.
+     */
+    public double unsignedRadians() {
+        return Integer.toUnsignedLong(this.bits) * RADIANS_PER_UNIT;
+    }
+
+    /**
+     * Returns this angle in degrees, between {@code -180} inclusive and {@code 180} exclusive.
+     *
+     * @return this angle in degrees.
+     */
+    public double degrees() {
+        return Math.toDegrees(radians());
+    }
+
+    /**
+     * Returns the sine of this angle.
+     *
+     * @return the sine of this angle.
+     */
+    public double sin() {
+        return sin(this.bits);
+    }
+
+    /**
+     * Returns the cosine of this angle.
+     *
+     * @return the cosine of this angle.
+     */
+    public double cos() {
+        return cos(this.bits);
+    }
+
+    /**
+     * Returns this angle as a theta, in radians between {@code -pi} and {@code pi}.
+     *
+     * @return this angle as a theta.
+     */
+    public Theta toTheta() {
+        return Theta.of(radians());
+    }
+
+    /**
+     * Returns this angle as a phi, in radians between {@code -pi} and {@code pi}.
+     *
+     * @return this angle as a phi.
+     */
+    public Phi toPhi() {
+        return Phi.of(radians());
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof BinaryAngle)) {
+            return false;
+        }
+        return ((BinaryAngle) obj).bits == this.bits;
+    }
+
+    @Override
+    public int hashCode() {
+        return Integer.hashCode(this.bits);
+    }
+
+    @Override
+    public String toString() {
+        return "BinaryAngle[" + degrees() + " degrees]";
+    }
+}
@@ -0,0 +1,99 @@
+package io.github.simplexdev.polarize.math;
+
+/**
+ * Generates points of the Halton low-discrepancy sequence in the unit hypercube {@code [0, 1)^d}.
+ * <p>
+ * Dimension {@code i} of point {@code n} is the radical inverse of {@code n} in the {@code i}-th prime base.
+ * Every point is computed directly from its index, so a sequence can be split into index ranges
+ * and generated in parallel without coordination. Halton points are simpler than {@link SobolSequence}
+ * points and work well in the low dimensions used for 3D integration.
+ * <p>
+ * This class is not thread-safe; use one instance per thread.
+ *
+ * @see <a href="https://en.wikipedia.org/wiki/Halton_sequence">Halton sequence</a>
+ */
+public final class HaltonSequence {
+    private static final int[] PRIMES = {2, 3, 5, 7, 11, 13, 17, 19};
+
+    /**
+     * The maximum number of dimensions supported.
+     */
+    public static final int MAX_DIMENSIONS = PRIMES.length;
+
+    private final int dimensions;
+    private long index;
+
+    /**
+     * Creates a new HaltonSequence positioned at the first point, which is the origin.
+     *
+     * @param dimensions the number of dimensions of each point.
+     */
+    public HaltonSequence(int dimensions) {
+        if (dimensions < 1 || dimensions > MAX_DIMENSIONS) {
+            throw new IllegalArgumentException("Dimensions must be between 1 and " + MAX_DIMENSIONS + ": " + dimensions);
+        }
+        this.dimensions = dimensions;
+    }
+
+    /**
+     * Returns the number of dimensions of each point.
+     *
+     * @return the number of dimensions.
+     */
+    public int getDimensions() {
+        return dimensions;
+    }
+
+    /**
+     * Returns the index of the point the next call to {@link #next(double[])} will produce.
+     *
+     * @return the index of the next point.
+     */
+    public long getIndex() {
+        return index;
+    }
+
+    /**
+     * Positions this generator so that the next point produced is the point at the given index.
+     *
+     * @param index the index of the next point.
+     */
+    public void skipTo(long index) {
+        if (index < 0) {
+            throw new IllegalArgumentException("Index out of range: " + index);
+        }
+        this.index = index;
+    }
+
+    /**
+     * Writes the next point of the sequence into the given array and advances the generator.
+     *
+     * @param point the array to write the point to, with at least {@link #getDimensions()} elements.
+     */
+    public void next(double[] point) {
+        for (int d = 0; d < dimensions; d++) {
+            point[d] = radicalInverse(index, PRIMES[d]);
+        }
+        index++;
+    }
+
+    /**
+     * Returns the radical inverse of an index in the given base: the digits of the index,
+     * mirrored around the radix point.
+     *
+     * @param index the index to invert.
+     * @param base  the base to invert the index in.
+     * @return the radical inverse, in {@code [0, 1)}.
+     */
+    public static double radicalInverse(long index, int base) {
+        double inverseBase = 1.0 / base;
+        double factor = inverseBase;
+        double result = 0.0;
+        while (index > 0) {
+            result += (index % base) * factor;
+            index /= base;
+            factor *= inverseBase;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,421 @@
+package io.github.simplexdev.polarize.math.function;
+
+import io.github.simplexdev.polarize.api.spatial.IPoint3D;
+
+import java.util.Arrays;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Adaptive numerical integration to a requested tolerance.
+ * <p>
+ * {@link Integral#integrate(double, double, double, DoubleUnaryOperator)} evaluates the integrand
+ * on a fixed grid, so the caller has to guess how many sub-intervals are enough and pays for them on
+ * every call. The integrators in this class instead take an absolute and a relative tolerance, estimate
+ * their own error, and only subdivide the parts of the interval where the integrand is hard to integrate.
+ * Smooth integrands typically converge after a few dozen evaluations.
+ * <p>
+ * Every method returns a {@link QuadratureResult}, which reports the error estimate and the number
+ * of integrand evaluations alongside the value. The integration stops as soon as the estimated error
+ * is at most {@code max(absoluteTolerance, relativeTolerance * |value|)}.
+ *
+ * @see <a href="https://en.wikipedia.org/wiki/Gauss%E2%80%93Kronrod_quadrature_formula">Gauss-Kronrod quadrature</a>
+ * @see <a href="https://en.wikipedia.org/wiki/Adaptive_Simpson%27s_method">Adaptive Simpson's method</a>
+ */
+public final class AdaptiveQuadrature {
+    /**
+     * The default maximum number of sub-intervals used by the Gauss-Kronrod integrators.
+     */
+    public static final int DEFAULT_MAX_SUBDIVISIONS = 1000;
+
+    private static final int INITIAL_HEAP_CAPACITY = 16;
+    private static final int SIMPSON_MAX_DEPTH = 50;
+    private static final double EPSILON = Math.ulp(1.0);
+
+    /**
+     * Abscissae of the 15-point Kronrod rule. The odd indices are the abscissae of the 7-point
+     * Gauss rule, and the last entry is the center of the interval.
+     */
+    private static final double[] XGK = {
+            0.991455371120812639206854697526329,
+            0.949107912342758524526189684047851,
+            0.864864423359769072789712788640926,
+            0.741531185599394439863864773280788,
+            0.586087235467691130294144845693013,
+            0.405845151377397166906606412076961,
+            0.207784955007898467600689403773245,
+            0.000000000000000000000000000000000
+    };
+
+    /**
+     * Weights of the 15-point Kronrod rule.
+     */
+    private static final double[] WGK = {
+            0.022935322010529224963732008058970,
+            0.063092092629978553290700663189204,
+            0.104790010322250183839876322541518,
+            0.140653259715525918745189590510238,
+            0.169004726639267902826583426598550,
+            0.190350578064785409913256402421014,
+            0.204432940075298892414161999234649,
+            0.209482141084727828012999174891714
+    };
+
+    /**
+     * Weights of the 7-point Gauss rule.
+     */
+    private static final double[] WG = {
+            0.129484966168869693270611432679082,
+            0.279705391489276667901467771423780,
+            0.381830050505118944950369775488975,
+            0.417959183673469387755102040816327
+    };
+
+    private AdaptiveQuadrature() {
+        throw new AssertionError();
+    }
+
+    /**
+     * Integrates a function over an interval with globally adaptive 15-point Gauss-Kronrod quadrature,
+     * using at most {@link #DEFAULT_MAX_SUBDIVISIONS} sub-intervals.
+     *
+     * @param lower             the lower bound of the interval.
+     * @param upper             the upper bound of the interval.
+     * @param absoluteTolerance the requested absolute error.
+     * @param relativeTolerance the requested error relative to the value of the integral.
+     * @param function          the function to integrate.
+     * @return the value of the integral, with its error estimate and evaluation count.
+     */
+    public static QuadratureResult gaussKronrod(double lower, double upper,
+                                                double absoluteTolerance, double relativeTolerance,
+                                                DoubleUnaryOperator function) {
+        return gaussKronrod(lower, upper, absoluteTolerance, relativeTolerance, DEFAULT_MAX_SUBDIVISIONS, function);
+    }
+
+    /**
+     * Integrates a function over an interval with globally adaptive 15-point Gauss-Kronrod quadrature.
+     * <p>
+     * Each sub-interval is integrated with both a 7-point Gauss rule and the 15-point Kronrod rule which
+     * extends it, and the difference between the two is used as the error estimate. The sub-interval with
+     * the largest error is bisected until the total error meets the tolerance.
+     *
+     * @param lower             the lower bound of the interval.
+     * @param upper             the upper bound of the interval.
+     * @param absoluteTolerance the requested absolute error.
+     * @param relativeTolerance the requested error relative to the value of the integral.
+     * @param maxSubdivisions   the maximum number of sub-intervals to use.
+     * @param function          the function to integrate.
+     * @return the value of the integral, with its error estimate and evaluation count.
+     */
+    public static QuadratureResult gaussKronrod(double lower, double upper,
+                                                double absoluteTolerance, double relativeTolerance,
+                                                int maxSubdivisions, DoubleUnaryOperator function) {
+        if (maxSubdivisions < 1) {
+            throw new IllegalArgumentException("At least one sub-interval is required.");
+        }
+        double[] scratch = new double[1];
+        double[] values = new double[15];
+
+        // A binary max-heap of sub-intervals, ordered by their error estimate. Smooth integrands converge
+        // after a few bisections, so the heap starts small and only grows for integrands that need it.
+        int capacity = Math.min(maxSubdivisions, INITIAL_HEAP_CAPACITY);
+        double[] from = new double[capacity];
+        double[] to = new double[capacity];
+        double[] results = new double[capacity];
+        double[] errors = new double[capacity];
+        int size = 1;
+
+        from[0] = lower;
+        to[0] = upper;
+        results[0] = kronrod(lower, upper, function, values, scratch);
+        errors[0] = scratch[0];
+        double result = results[0];
+        double error = errors[0];
+        long evaluations = 15;
+
+        while (error > tolerance(absoluteTolerance, relativeTolerance, result) && size < maxSubdivisions) {
+            double a = from[0];
+            double b = to[0];
+            double mid = 0.5 * (a + b);
+            if (mid <= a || mid >= b) {
+                break;
+            }
+            double previousResult = results[0];
+            double previousError = errors[0];
+
+            double left = kronrod(a, mid, function, values, scratch);
+            double leftError = scratch[0];
+            double right = kronrod(mid, b, function, values, scratch);
+            double rightError = scratch[0];
+            evaluations += 30;
+
+            // Replace the worst interval by its left half, then add the right half.
+            to[0] = mid;
+            results[0] = left;
+            errors[0] = leftError;
+            siftDown(from, to, results, errors, 0, size);
+            if (size == from.length) {
+                capacity = (int) Math.min(maxSubdivisions, 2L * capacity);
+                from = Arrays.copyOf(from, capacity);
+                to = Arrays.copyOf(to, capacity);
+                results = Arrays.copyOf(results, capacity);
+                errors = Arrays.copyOf(errors, capacity);
+            }
+            from[size] = mid;
+            to[size] = b;
+            results[size] = right;
+            errors[size] = rightError;
+            siftUp(from, to, results, errors, size);
+            size++;
+
+            result += left + right - previousResult;
+            error += leftError + rightError - previousError;
+        }
+
+        result = 0.0;
+        error = 0.0;
+        for (int i = 0; i < size; i++) {
+            result += results[i];
+            error += errors[i];
+        }
+        return new QuadratureResult(result, error, evaluations,
+                error <= tolerance(absoluteTolerance, relativeTolerance, result));
+    }
+
+    /**
+     * Integrates a function over an interval with adaptive Simpson's rule.
+     * <p>
+     * Simpson's rule is applied to each half of an interval and compared against the rule applied to
+     * the whole interval. Halves whose difference exceeds their share of the tolerance are split again,
+     * up to a recursion depth of 50. This is cheaper per step than {@link #gaussKronrod} and works well
+     * for integrands which are smooth but not polynomial-like.
+     *
+     * @param lower             the lower bound of the interval.
+     * @param upper             the upper bound of the interval.
+     * @param absoluteTolerance the requested absolute error.
+     * @param relativeTolerance the requested error relative to the value of the integral.
+     * @param function          the function to integrate.
+     * @return the value of the integral, with its error estimate and evaluation count.
+     */
+    public static QuadratureResult simpson(double lower, double upper,
+                                           double absoluteTolerance, double relativeTolerance,
+                                           DoubleUnaryOperator function) {
+        double fa = function.applyAsDouble(lower);
+        double fb = function.applyAsDouble(upper);
+        double mid = 0.5 * (lower + upper);
+        double fm = function.applyAsDouble(mid);
+        double whole = (upper - lower) / 6.0 * (fa + 4.0 * fm + fb);
+
+        SimpsonState state = new SimpsonState();
+        state.evaluations = 3;
+        double tolerance = tolerance(absoluteTolerance, relativeTolerance, whole);
+        double result = simpson(function, lower, upper, fa, fm, fb, whole, tolerance, SIMPSON_MAX_DEPTH, state);
+        return new QuadratureResult(result, state.error, state.evaluations, state.converged);
+    }
+
+    /**
+     * Integrates a function over the box spanned by two corners with nested adaptive Gauss-Kronrod quadrature.
+     * <p>
+     * The integral over z is computed adaptively for every y sample, the integral over y for every x sample,
+     * and the integral over x on the outside. The tolerance is divided by the extent of the outer axes
+     * at each level, so that the inner errors summed over the box stay within the requested tolerance.
+     * The error estimate combines the outer estimate with the largest inner estimates scaled by the extent
+     * of the axes they are integrated over.
+     *
+     * @param x1                the x coordinate of the first corner.
+     * @param y1                the y coordinate of the first corner.
+     * @param z1                the z coordinate of the first corner.
+     * @param x2                the x coordinate of the opposite corner.
+     * @param y2                the y coordinate of the opposite corner.
+     * @param z2                the z coordinate of the opposite corner.
+     * @param absoluteTolerance the requested absolute error.
+     * @param relativeTolerance the requested error relative to the value of the integral.
+     * @param function          the function to integrate.
+     * @return the value of the integral, with its error estimate and evaluation count.
+     */
+    public static QuadratureResult gaussKronrod(double x1, double y1, double z1,
+                                                double x2, double y2, double z2,
+                                                double absoluteTolerance, double relativeTolerance,
+                                                DoubleTernaryOperator function) {
+        double xExtent = Math.abs(x2 - x1);
+        double yExtent = Math.abs(y2 - y1);
+        if (xExtent == 0.0 || yExtent == 0.0 || z1 == z2) {
+            return new QuadratureResult(0.0, 0.0, 0, true);
+        }
+        double yTolerance = absoluteTolerance / xExtent;
+        double zTolerance = yTolerance / yExtent;
+
+        // [0] evaluations, [1] largest y-level error, [2] largest z-level error, [3] 1 if any level failed.
+        double[] stats = new double[4];
+        QuadratureResult outer = gaussKronrod(x1, x2, absoluteTolerance, relativeTolerance, x -> {
+            QuadratureResult middle = gaussKronrod(y1, y2, yTolerance, relativeTolerance, y -> {
+                QuadratureResult inner = gaussKronrod(z1, z2, zTolerance, relativeTolerance,
+                        z -> function.applyAsDouble(x, y, z));
+                stats[0] += inner.getEvaluations();
+                stats[2] = Math.max(stats[2], inner.getErrorEstimate());
+                if (!inner.isConverged()) {
+                    stats[3] = 1;
+                }
+                return inner.getValue();
+            });
+            stats[1] = Math.max(stats[1], middle.getErrorEstimate());
+            if (!middle.isConverged()) {
+                stats[3] = 1;
+            }
+            return middle.getValue();
+        });
+
+        double error = outer.getErrorEstimate() + xExtent * (stats[1] + yExtent * stats[2]);
+        return new QuadratureResult(outer.getValue(), error, (long) stats[0],
+                outer.isConverged() && stats[3] == 0);
+    }
+
+    /**
+     * Integrates a function over the box spanned by two points with nested adaptive Gauss-Kronrod quadrature.
+     *
+     * @param origin            the first corner of the box.
+     * @param destination       the opposite corner of the box.
+     * @param absoluteTolerance the requested absolute error.
+     * @param relativeTolerance the requested error relative to the value of the integral.
+     * @param function          the function to integrate.
+     * @return the value of the integral, with its error estimate and evaluation count.
+     * @see #gaussKronrod(double, double, double, double, double, double, double, double, DoubleTernaryOperator)
+     */
+    public static QuadratureResult gaussKronrod(IPoint3D origin, IPoint3D destination,
+                                                double absoluteTolerance, double relativeTolerance,
+                                                DoubleTernaryOperator function) {
+        return gaussKronrod(origin.getX().get(), origin.getY().get(), origin.getZ().get(),
+                destination.getX().get(), destination.getY().get(), destination.getZ().get(),
+                absoluteTolerance, relativeTolerance, function);
+    }
+
+    private static double tolerance(double absoluteTolerance, double relativeTolerance, double value) {
+        return Math.max(absoluteTolerance, relativeTolerance * Math.abs(value));
+    }
+
+    /**
+     * Applies the 7-point Gauss and 15-point Kronrod rules to an interval.
+     * The error estimate is written to {@code scratch[0]}, using the scaling from QUADPACK's QK15.
+     *
+     * @return the Kronrod estimate of the integral.
+     */
+    private static double kronrod(double a, double b, DoubleUnaryOperator function, double[] values, double[] scratch) {
+        double center = 0.5 * (a + b);
+        double halfLength = 0.5 * (b - a);
+        double absHalfLength = Math.abs(halfLength);
+
+        double fc = function.applyAsDouble(center);
+        double gauss = fc * WG[3];
+        double kronrod = fc * WGK[7];
+        double resultAbs = Math.abs(kronrod);
+        values[14] = fc;
+
+        for (int j = 0; j < 7; j++) {
+            double abscissa = halfLength * XGK[j];
+            double f1 = function.applyAsDouble(center - abscissa);
+            double f2 = function.applyAsDouble(center + abscissa);
+            values[j] = f1;
+            values[j + 7] = f2;
+            double sum = f1 + f2;
+            kronrod += WGK[j] * sum;
+            resultAbs += WGK[j] * (Math.abs(f1) + Math.abs(f2));
+            if ((j & 1) == 1) {
+                gauss += WG[j >>> 1] * sum;
+            }
+        }
+
+        double mean = kronrod * 0.5;
+        double resultAsc = WGK[7] * Math.abs(fc - mean);
+        for (int j = 0; j < 7; j++) {
+            resultAsc += WGK[j] * (Math.abs(values[j] - mean) + Math.abs(values[j + 7] - mean));
+        }
+        resultAbs *= absHalfLength;
+        resultAsc *= absHalfLength;
+
+        double error = Math.abs((kronrod - gauss) * halfLength);
+        if (resultAsc != 0.0 && error != 0.0) {
+            error = resultAsc * Math.min(1.0, Math.pow(200.0 * error / resultAsc, 1.5));
+        }
+        if (resultAbs > Double.MIN_NORMAL / (50.0 * EPSILON)) {
+            error = Math.max(50.0 * EPSILON * resultAbs, error);
+        }
+        scratch[0] = error;
+        return kronrod * halfLength;
+    }
+
+    private static double simpson(DoubleUnaryOperator function, double a, double b,
+                                  double fa, double fm, double fb, double whole,
+                                  double tolerance, int depth, SimpsonState state) {
+        double m = 0.5 * (a + b);
+        double lm = 0.5 * (a + m);
+        double rm = 0.5 * (m + b);
+        double flm = function.applyAsDouble(lm);
+        double frm = function.applyAsDouble(rm);
+        state.evaluations += 2;
+
+        double left = (m - a) / 6.0 * (fa + 4.0 * flm + fm);
+        double right = (b - m) / 6.0 * (fm + 4.0 * frm + fb);
+        double delta = left + right - whole;
+
+        if (Math.abs(delta) <= 15.0 * tolerance || m <= a || m >= b) {
+            state.error += Math.abs(delta) / 15.0;
+            return left + right + delta / 15.0;
+        }
+        if (depth <= 0) {
+            state.converged = false;
+            state.error += Math.abs(delta) / 15.0;
+            return left + right + delta / 15.0;
+        }
+        return simpson(function, a, m, fa, flm, fm, left, 0.5 * tolerance, depth - 1, state)
+                + simpson(function, m, b, fm, frm, fb, right, 0.5 * tolerance, depth - 1, state);
+    }
+
+    private static void siftUp(double[] from, double[] to, double[] results, double[] errors, int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (errors[parent] >= errors[index]) {
+                return;
+            }
+            swap(from, to, results, errors, parent, index);
+            index = parent;
+        }
+    }
+
+    private static void siftDown(double[] from, double[] to, double[] results, double[] errors, int index, int size) {
+        while (true) {
+            int left = 2 * index + 1;
+            if (left >= size) {
+                return;
+            }
+            int largest = left + 1 < size && errors[left + 1] > errors[left] ? left + 1 : left;
+            if (errors[index] >= errors[largest]) {
+                return;
+            }
+            swap(from, to, results, errors, index, largest);
+            index = largest;
+        }
+    }
+
+    private static void swap(double[] from, double[] to, double[] results, double[] errors, int i, int j) {
+        double t = from[i];
+        from[i] = from[j];
+        from[j] = t;
+        t = to[i];
+        to[i] = to[j];
+        to[j] = t;
+        t = results[i];
+        results[i] = results[j];
+        results[j] = t;
+        t = errors[i];
+        errors[i] = errors[j];
+        errors[j] = t;
+    }
+
+    /**
+     * Accumulates the error estimate and evaluation count across the recursion of {@link #simpson}.
+     */
+    private static final class SimpsonState {
+        private long evaluations;
+        private double error;
+        private boolean converged = true;
+    }
+}
@@ -4,6 +4,8 @@ import io.github.simplexdev.polarize.api.spatial.IPoint2D;
 import io.github.simplexdev.polarize.api.units.Point;
 import io.github.simplexdev.polarize.api.units.Theta;
 import io.github.simplexdev.polarize.cartesian.Point2D;
+import io.github.simplexdev.polarize.jfr.ShapeGenerationEvent;
+import io.github.simplexdev.polarize.metrics.Metrics;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.LinkedHashSet;
@@ -24,6 +26,7 @@ public class ArchimedeanSpiral {
     }
 
     public Set<IPoint2D> getPoints(IPoint2D start) {
+        ShapeGenerationEvent event = ShapeGenerationEvent.start("archimedean-spiral");
         Set<IPoint2D> hashSet = new LinkedHashSet<>();
         hashSet.add(start);
         for (double i = origin; i < theta.getZenith(); i += step) {
@@ -31,6 +34,8 @@ public class ArchimedeanSpiral {
             double z = radius * Math.sin(i);
             hashSet.add(Point.fromDouble(x + start.getX().get(), z + start.getZ().get()));
         }
+        Metrics.POINTS_ARCHIMEDEAN_SPIRAL.add(hashSet.size());
+        ShapeGenerationEvent.finish(event, hashSet.size());
         return hashSet;
     }
 }
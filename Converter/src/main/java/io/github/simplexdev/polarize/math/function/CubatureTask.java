@@ -0,0 +1,116 @@
+package io.github.simplexdev.polarize.math.function;
+
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Evaluates the 3D trapezoidal rule for {@link Integral}, one slab of the x-axis at a time.
+ * <p>
+ * The grid points along the x-axis are grouped into slabs of {@link #SLAB_ROWS} rows. The sum
+ * of every slab is written to its own slot, and {@link #sum()} adds the slots in order. The
+ * slab layout depends only on the number of sub-intervals, which keeps the floating-point
+ * result the same whether the slabs were computed sequentially or by any number of threads.
+ */
+final class CubatureTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private static final int SLAB_ROWS = 4;
+
+    private final double x1;
+    private final double y1;
+    private final double z1;
+    private final double dx;
+    private final double dy;
+    private final double dz;
+    private final int n;
+    private final DoubleTernaryOperator function;
+    private final double[] partials;
+    private final int from;
+    private final int to;
+
+    CubatureTask(double x1, double y1, double z1,
+                 double x2, double y2, double z2,
+                 int subIntervals, DoubleTernaryOperator function) {
+        if (subIntervals < 1) {
+            throw new IllegalArgumentException("At least one sub-interval is required.");
+        }
+        this.x1 = x1;
+        this.y1 = y1;
+        this.z1 = z1;
+        this.dx = (x2 - x1) / subIntervals;
+        this.dy = (y2 - y1) / subIntervals;
+        this.dz = (z2 - z1) / subIntervals;
+        this.n = subIntervals;
+        this.function = function;
+        this.partials = new double[(subIntervals + SLAB_ROWS) / SLAB_ROWS];
+        this.from = 0;
+        this.to = partials.length;
+    }
+
+    private CubatureTask(CubatureTask parent, int from, int to) {
+        this.x1 = parent.x1;
+        this.y1 = parent.y1;
+        this.z1 = parent.z1;
+        this.dx = parent.dx;
+        this.dy = parent.dy;
+        this.dz = parent.dz;
+        this.n = parent.n;
+        this.function = parent.function;
+        this.partials = parent.partials;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+        if (to - from == 1) {
+            computeSlabs(from, to);
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        invokeAll(new CubatureTask(this, from, mid), new CubatureTask(this, mid, to));
+    }
+
+    int slabCount() {
+        return partials.length;
+    }
+
+    void computeSlabs(int fromSlab, int toSlab) {
+        for (int slab = fromSlab; slab < toSlab; slab++) {
+            int first = slab * SLAB_ROWS;
+            int last = Math.min(n, first + SLAB_ROWS - 1);
+            double slabSum = 0.0;
+            for (int i = first; i <= last; i++) {
+                slabSum += weight(i) * plane(x1 + i * dx);
+            }
+            partials[slab] = slabSum;
+        }
+    }
+
+    double sum() {
+        double total = 0.0;
+        for (double partial : partials) {
+            total += partial;
+        }
+        return total * dx * dy * dz;
+    }
+
+    /**
+     * Returns the trapezoidal sum over the y-z plane at the given x.
+     */
+    private double plane(double x) {
+        double planeSum = 0.0;
+        for (int j = 0; j <= n; j++) {
+            double y = y1 + j * dy;
+            double row = 0.5 * (function.applyAsDouble(x, y, z1) + function.applyAsDouble(x, y, z1 + n * dz));
+            for (int k = 1; k < n; k++) {
+                row += function.applyAsDouble(x, y, z1 + k * dz);
+            }
+            planeSum += weight(j) * row;
+        }
+        return planeSum;
+    }
+
+    private double weight(int index) {
+        return index == 0 || index == n ? 0.5 : 1.0;
+    }
+}
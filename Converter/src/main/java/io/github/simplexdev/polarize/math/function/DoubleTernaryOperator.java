@@ -0,0 +1,23 @@
+package io.github.simplexdev.polarize.math.function;
+
+/**
+ * Represents an operation upon three {@code double}-valued operands which produces a
+ * {@code double}-valued result. This is the primitive specialization of {@link TriFunction},
+ * in the same way that {@link java.util.function.DoubleBinaryOperator} specializes
+ * {@link java.util.function.BiFunction}.
+ * <p>
+ * Because neither the operands nor the result are boxed, this is the preferred form for functions
+ * which are evaluated many times, such as the integrands passed to {@link Integral}.
+ */
+@FunctionalInterface
+public interface DoubleTernaryOperator {
+    /**
+     * Applies this operator to the given operands.
+     *
+     * @param x the first operand.
+     * @param y the second operand.
+     * @param z the third operand.
+     * @return the operator result.
+     */
+    double applyAsDouble(double x, double y, double z);
+}
@@ -0,0 +1,99 @@
+package io.github.simplexdev.polarize.math.function;
+
+/**
+ * Represents a predicate (boolean-valued function) of three {@code double}-valued arguments.
+ * <p>
+ * This is most often used to describe a region of space, such as the inside of a sphere,
+ * by testing whether a point {@code (x, y, z)} lies inside it.
+ *
+ * @see MonteCarloIntegral
+ */
+@FunctionalInterface
+public interface DoubleTernaryPredicate {
+    /**
+     * Evaluates this predicate on the given arguments.
+     *
+     * @param x the first argument.
+     * @param y the second argument.
+     * @param z the third argument.
+     * @return true if the arguments match the predicate.
+     */
+    boolean test(double x, double y, double z);
+
+    /**
+     * Returns a predicate which matches only when both this predicate and the other predicate match.
+     *
+     * @param other the predicate to combine with this predicate.
+     * @return the combined predicate.
+     */
+    default DoubleTernaryPredicate and(DoubleTernaryPredicate other) {
+        return (x, y, z) -> test(x, y, z) && other.test(x, y, z);
+    }
+
+    /**
+     * Returns a predicate which matches when either this predicate or the other predicate matches.
+     *
+     * @param other the predicate to combine with this predicate.
+     * @return the combined predicate.
+     */
+    default DoubleTernaryPredicate or(DoubleTernaryPredicate other) {
+        return (x, y, z) -> test(x, y, z) || other.test(x, y, z);
+    }
+
+    /**
+     * Returns a predicate which matches exactly when this predicate does not.
+     *
+     * @return the negated predicate.
+     */
+    default DoubleTernaryPredicate negate() {
+        return (x, y, z) -> !test(x, y, z);
+    }
+
+    /**
+     * Returns a predicate which matches every point.
+     *
+     * @return a predicate which always returns true.
+     */
+    static DoubleTernaryPredicate all() {
+        return (x, y, z) -> true;
+    }
+
+    /**
+     * Returns a predicate which matches the points inside a sphere, including its surface.
+     *
+     * @param cx     the x coordinate of the sphere's center.
+     * @param cy     the y coordinate of the sphere's center.
+     * @param cz     the z coordinate of the sphere's center.
+     * @param radius the radius of the sphere.
+     * @return a predicate for the inside of the sphere.
+     */
+    static DoubleTernaryPredicate sphere(double cx, double cy, double cz, double radius) {
+        double radiusSquared = radius * radius;
+        return (x, y, z) -> {
+            double dx = x - cx;
+            double dy = y - cy;
+            double dz = z - cz;
+            return dx * dx + dy * dy + dz * dz <= radiusSquared;
+        };
+    }
+
+    /**
+     * Returns a predicate which matches the points inside an upright cylinder, including its surface.
+     * The cylinder's axis is parallel to the y-axis, starting at the given base point.
+     *
+     * @param cx     the x coordinate of the center of the cylinder's base.
+     * @param cy     the y coordinate of the cylinder's base.
+     * @param cz     the z coordinate of the center of the cylinder's base.
+     * @param radius the radius of the cylinder.
+     * @param height the height of the cylinder.
+     * @return a predicate for the inside of the cylinder.
+     */
+    static DoubleTernaryPredicate cylinder(double cx, double cy, double cz, double radius, double height) {
+        double radiusSquared = radius * radius;
+        return (x, y, z) -> {
+            double dx = x - cx;
+            double dz = z - cz;
+            return y >= cy && y <= cy + height && dx * dx + dz * dz <= radiusSquared;
+        };
+    }
+}
@@ -3,6 +3,9 @@ package io.github.simplexdev.polarize.math.function;
 import io.github.simplexdev.polarize.api.spatial.IPoint3D;
 import io.github.simplexdev.polarize.api.units.Point;
 import io.github.simplexdev.polarize.cartesian.Point3D;
+import io.github.simplexdev.polarize.cartesian.PointBuffer;
+import io.github.simplexdev.polarize.jfr.ShapeGenerationEvent;
+import io.github.simplexdev.polarize.metrics.Metrics;
 
 import java.util.LinkedHashSet;
 import java.util.Set;
@@ -10,6 +13,7 @@ import java.util.Set;
 public final class FibonacciLattice {
 
     public static Set<IPoint3D> populate(IPoint3D origin, int radius, double step) {
+        ShapeGenerationEvent event = ShapeGenerationEvent.start("fibonacci-lattice");
         Set<IPoint3D> points = new LinkedHashSet<>();
         final double goldenRatio = (1 + Math.sqrt(5)) / 2;
 
@@ -23,6 +27,35 @@ public final class FibonacciLattice {
             points.add(origin.add(Point.fromDouble(x, y, z)));
         }
 
+        Metrics.POINTS_FIBONACCI_LATTICE.add(points.size());
+        ShapeGenerationEvent.finish(event, points.size());
         return points;
     }
+
+    /**
+     * Appends the same lattice as {@link #populate(IPoint3D, int, double)} to a buffer, without creating
+     * an object per point.
+     *
+     * @param originX the x coordinate of the lattice's center.
+     * @param originY the y coordinate of the lattice's center.
+     * @param originZ the z coordinate of the lattice's center.
+     * @param radius  the radius the lattice is generated for.
+     * @param step    the step between consecutive lattice indices.
+     * @param out     the buffer to append the points to.
+     */
+    public static void populate(double originX, double originY, double originZ, int radius, double step,
+                                PointBuffer out) {
+        ShapeGenerationEvent event = ShapeGenerationEvent.start("fibonacci-lattice");
+        int before = out.size();
+        final double goldenRatio = (1 + Math.sqrt(5)) / 2;
+
+        for (double i = 0; i <= radius; i += step) {
+            double theta = 2 * Math.PI * i / goldenRatio;
+            double phi = Math.acos(1 - 2 * (i + 0.5) / radius);
+            double sinPhi = Math.sin(phi);
+            out.add(originX + Math.cos(theta) * sinPhi, originY + Math.cos(phi), originZ + Math.sin(theta) * sinPhi);
+        }
+        Metrics.POINTS_FIBONACCI_LATTICE.add(out.size() - before);
+        ShapeGenerationEvent.finish(event, out.size() - before);
+    }
 }
@@ -3,6 +3,7 @@ package io.github.simplexdev.polarize.math.function;
 import io.github.simplexdev.polarize.api.spatial.IPoint3D;
 import io.github.simplexdev.polarize.cartesian.Point3D;
 
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.DoubleUnaryOperator;
 import java.util.function.Function;
 import java.util.function.UnaryOperator;
@@ -48,4 +49,71 @@ public interface Integral {
 
         return integral;
     }
+
+    /**
+     * Integrates a function over the box spanned by two corners using the trapezoidal rule,
+     * with {@code subIntervals} intervals along each axis.
+     * <p>
+     * This is the primitive counterpart of {@link #integrate(IPoint3D, IPoint3D, double, TriFunction)}.
+     * The function receives and returns primitive doubles, so none of the {@code (subIntervals + 1)^3}
+     * evaluations box their arguments or result.
+     *
+     * @param x1           the x coordinate of the first corner.
+     * @param y1           the y coordinate of the first corner.
+     * @param z1           the z coordinate of the first corner.
+     * @param x2           the x coordinate of the opposite corner.
+     * @param y2           the y coordinate of the opposite corner.
+     * @param z2           the z coordinate of the opposite corner.
+     * @param subIntervals the number of intervals along each axis.
+     * @param function     the function to integrate.
+     * @return the approximate integral of the function over the box.
+     */
+    static double integrate(double x1, double y1, double z1,
+                            double x2, double y2, double z2,
+                            int subIntervals, DoubleTernaryOperator function) {
+        CubatureTask task = new CubatureTask(x1, y1, z1, x2, y2, z2, subIntervals, function);
+        task.computeSlabs(0, task.slabCount());
+        return task.sum();
+    }
+
+    /**
+     * Integrates a function over the box spanned by two points using the trapezoidal rule,
+     * splitting the work along the x-axis across the {@link ForkJoinPool#commonPool() common pool}.
+     *
+     * @param origin       the first corner of the box.
+     * @param destination  the opposite corner of the box.
+     * @param subIntervals the number of intervals along each axis.
+     * @param function     the function to integrate. It must be safe to call from multiple threads.
+     * @return the approximate integral of the function over the box.
+     * @see #integrateParallel(IPoint3D, IPoint3D, int, DoubleTernaryOperator, ForkJoinPool)
+     */
+    static double integrateParallel(IPoint3D origin, IPoint3D destination, int subIntervals,
+                                    DoubleTernaryOperator function) {
+        return integrateParallel(origin, destination, subIntervals, function, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Integrates a function over the box spanned by two points using the trapezoidal rule,
+     * splitting the work along the x-axis across the given pool.
+     * <p>
+     * The x-axis is cut into slabs whose boundaries depend only on {@code subIntervals}. Each slab
+     * is summed independently and the slab sums are then added in a fixed order, so the result is
+     * identical from run to run regardless of the size of the pool or how the slabs were scheduled.
+     *
+     * @param origin       the first corner of the box.
+     * @param destination  the opposite corner of the box.
+     * @param subIntervals the number of intervals along each axis.
+     * @param function     the function to integrate. It must be safe to call from multiple threads.
+     * @param pool         the pool to run the slabs in.
+     * @return the approximate integral of the function over the box.
+     */
+    static double integrateParallel(IPoint3D origin, IPoint3D destination, int subIntervals,
+                                    DoubleTernaryOperator function, ForkJoinPool pool) {
+        CubatureTask task = new CubatureTask(
+                origin.getX().get(), origin.getY().get(), origin.getZ().get(),
+                destination.getX().get(), destination.getY().get(), destination.getZ().get(),
+                subIntervals, function);
+        pool.invoke(task);
+        return task.sum();
+    }
 }
@@ -0,0 +1,452 @@
+package io.github.simplexdev.polarize.math.function;
+
+import io.github.simplexdev.polarize.api.spatial.IPoint3D;
+import io.github.simplexdev.polarize.math.HaltonSequence;
+import io.github.simplexdev.polarize.math.SobolSequence;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Monte Carlo and quasi-Monte Carlo integration over regions of space.
+ * <p>
+ * {@link Integral#integrate(IPoint3D, IPoint3D, double, TriFunction)} evaluates the integrand on every
+ * point of a box-shaped grid. When the region of interest is not a box, such as the inside of a sphere,
+ * most of those evaluations are wasted, and the cost grows with the cube of the resolution.
+ * The integrators in this class instead sample points in a bounding box, keep only the points that lie
+ * inside a {@link DoubleTernaryPredicate region}, and estimate their own error as they go. The integration
+ * stops as soon as the estimated error is at most the target error, or when the sample budget is spent.
+ * <p>
+ * Points are drawn in one of three ways, chosen with {@link Sampling}:
+ * <ul>
+ *     <li>{@link Sampling#PSEUDO_RANDOM} draws independent points from {@link SplittableRandom} streams.
+ *     The error estimate is the standard error of the sample mean and shrinks like {@code 1 / sqrt(n)}.</li>
+ *     <li>{@link Sampling#SOBOL} and {@link Sampling#HALTON} draw points from a low-discrepancy sequence,
+ *     which covers the box more evenly and usually converges much faster. To estimate the error, the
+ *     sequence is evaluated under {@value #REPLICATES} independent random shifts (Cranley-Patterson rotation),
+ *     and the error estimate is the standard error of the mean of those replicates. Every point of the
+ *     sequence is evaluated once per replicate, so the sample budget is rounded up to a multiple of
+ *     {@value #REPLICATES}.</li>
+ * </ul>
+ * <p>
+ * Samples are taken in chunks of {@value #CHUNK_SAMPLES}, and the error is checked after every round of
+ * {@value #ROUND_CHUNKS} chunks. Each chunk draws from its own stream, which is fixed by the seed and the
+ * chunk's position, and chunk results are combined in order. The result for a given seed is therefore the
+ * same whether the integration runs on one thread or is split across a {@link ForkJoinPool}.
+ *
+ * @see <a href="https://en.wikipedia.org/wiki/Quasi-Monte_Carlo_method">Quasi-Monte Carlo method</a>
+ * @see SobolSequence
+ * @see HaltonSequence
+ */
+public final class MonteCarloIntegral {
+    /**
+     * The number of samples drawn by a single chunk of work.
+     */
+    public static final int CHUNK_SAMPLES = 4096;
+
+    /**
+     * The number of chunks drawn between two checks of the error estimate.
+     */
+    public static final int ROUND_CHUNKS = 8;
+
+    /**
+     * The number of randomly shifted replicates used to estimate the error of quasi-Monte Carlo sampling.
+     */
+    public static final int REPLICATES = 16;
+
+    private MonteCarloIntegral() {
+        throw new AssertionError();
+    }
+
+    /**
+     * The ways in which sample points can be drawn.
+     */
+    public enum Sampling {
+        /**
+         * Independent, uniformly distributed points from {@link SplittableRandom} streams.
+         */
+        PSEUDO_RANDOM,
+        /**
+         * Points from a randomly shifted {@link SobolSequence}.
+         */
+        SOBOL,
+        /**
+         * Points from a randomly shifted {@link HaltonSequence}.
+         */
+        HALTON
+    }
+
+    /**
+     * Integrates a function over the part of a box that lies inside a region.
+     *
+     * @param x1          the x coordinate of the first corner of the box.
+     * @param y1          the y coordinate of the first corner of the box.
+     * @param z1          the z coordinate of the first corner of the box.
+     * @param x2          the x coordinate of the opposite corner of the box.
+     * @param y2          the y coordinate of the opposite corner of the box.
+     * @param z2          the z coordinate of the opposite corner of the box.
+     * @param sampling    the way sample points are drawn.
+     * @param targetError the absolute error at which to stop, or 0 to spend the whole budget.
+     * @param maxSamples  the maximum number of sample points to draw.
+     * @param seed        the seed of the random streams.
+     * @param region      the region to integrate over; points outside it contribute nothing.
+     * @param function    the function to integrate.
+     * @return the result of the integration.
+     */
+    public static QuadratureResult integrate(double x1, double y1, double z1,
+                                             double x2, double y2, double z2,
+                                             Sampling sampling, double targetError, long maxSamples, long seed,
+                                             DoubleTernaryPredicate region, DoubleTernaryOperator function) {
+        return run(new double[]{x1, y1, z1, x2 - x1, y2 - y1, z2 - z1},
+                sampling, targetError, maxSamples, seed, region, function, null);
+    }
+
+    /**
+     * Integrates a function over the part of the box spanned by two points that lies inside a region.
+     *
+     * @param origin      the first corner of the box.
+     * @param destination the opposite corner of the box.
+     * @param sampling    the way sample points are drawn.
+     * @param targetError the absolute error at which to stop, or 0 to spend the whole budget.
+     * @param maxSamples  the maximum number of sample points to draw.
+     * @param seed        the seed of the random streams.
+     * @param region      the region to integrate over; points outside it contribute nothing.
+     * @param function    the function to integrate.
+     * @return the result of the integration.
+     * @see #integrate(double, double, double, double, double, double, Sampling, double, long, long,
+     * DoubleTernaryPredicate, DoubleTernaryOperator)
+     */
+    public static QuadratureResult integrate(IPoint3D origin, IPoint3D destination,
+                                             Sampling sampling, double targetError, long maxSamples, long seed,
+                                             DoubleTernaryPredicate region, DoubleTernaryOperator function) {
+        return run(box(origin, destination), sampling, targetError, maxSamples, seed, region, function, null);
+    }
+
+    /**
+     * Integrates a function over the part of the box spanned by two points that lies inside a region,
+     * drawing the chunks of every round in parallel on the {@link ForkJoinPool#commonPool() common pool}.
+     *
+     * @param origin      the first corner of the box.
+     * @param destination the opposite corner of the box.
+     * @param sampling    the way sample points are drawn.
+     * @param targetError the absolute error at which to stop, or 0 to spend the whole budget.
+     * @param maxSamples  the maximum number of sample points to draw.
+     * @param seed        the seed of the random streams.
+     * @param region      the region to integrate over; points outside it contribute nothing.
+     * @param function    the function to integrate, which must be safe to call from several threads.
+     * @return the result of the integration.
+     * @see #integrateParallel(IPoint3D, IPoint3D, Sampling, double, long, long,
+     * DoubleTernaryPredicate, DoubleTernaryOperator, ForkJoinPool)
+     */
+    public static QuadratureResult integrateParallel(IPoint3D origin, IPoint3D destination,
+                                                     Sampling sampling, double targetError, long maxSamples,
+                                                     long seed, DoubleTernaryPredicate region,
+                                                     DoubleTernaryOperator function) {
+        return integrateParallel(origin, destination, sampling, targetError, maxSamples, seed,
+                region, function, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Integrates a function over the part of the box spanned by two points that lies inside a region,
+     * drawing the chunks of every round in parallel on the given pool.
+     * <p>
+     * The result is identical to that of
+     * {@link #integrate(IPoint3D, IPoint3D, Sampling, double, long, long, DoubleTernaryPredicate, DoubleTernaryOperator)}
+     * with the same arguments.
+     *
+     * @param origin      the first corner of the box.
+     * @param destination the opposite corner of the box.
+     * @param sampling    the way sample points are drawn.
+     * @param targetError the absolute error at which to stop, or 0 to spend the whole budget.
+     * @param maxSamples  the maximum number of sample points to draw.
+     * @param seed        the seed of the random streams.
+     * @param region      the region to integrate over; points outside it contribute nothing.
+     * @param function    the function to integrate, which must be safe to call from several threads.
+     * @param pool        the pool to run the chunks on.
+     * @return the result of the integration.
+     */
+    public static QuadratureResult integrateParallel(IPoint3D origin, IPoint3D destination,
+                                                     Sampling sampling, double targetError, long maxSamples,
+                                                     long seed, DoubleTernaryPredicate region,
+                                                     DoubleTernaryOperator function, ForkJoinPool pool) {
+        return run(box(origin, destination), sampling, targetError, maxSamples, seed, region, function, pool);
+    }
+
+    private static double[] box(IPoint3D origin, IPoint3D destination) {
+        double x = origin.getX().get();
+        double y = origin.getY().get();
+        double z = origin.getZ().get();
+        return new double[]{x, y, z,
+                destination.getX().get() - x, destination.getY().get() - y, destination.getZ().get() - z};
+    }
+
+    private static QuadratureResult run(double[] box, Sampling sampling, double targetError, long maxSamples,
+                                        long seed, DoubleTernaryPredicate region, DoubleTernaryOperator function,
+                                        ForkJoinPool pool) {
+        if (maxSamples < 1) {
+            throw new IllegalArgumentException("Sample budget must be positive: " + maxSamples);
+        }
+        if (sampling != Sampling.PSEUDO_RANDOM) {
+            // Chunks hold a multiple of REPLICATES samples, so only the last one can be short of a whole point.
+            maxSamples = (maxSamples + REPLICATES - 1) / REPLICATES * REPLICATES;
+        }
+        if (sampling == Sampling.SOBOL && maxSamples / REPLICATES >= (1L << 32)) {
+            throw new IllegalArgumentException("Sample budget exceeds the length of the Sobol sequence: " + maxSamples);
+        }
+        double volume = Math.abs(box[3] * box[4] * box[5]);
+        if (volume == 0.0) {
+            return new QuadratureResult(0.0, 0.0, 0L, true);
+        }
+        // Integrating over a box given in reverse along an odd number of axes flips the sign.
+        double scale = box[3] * box[4] * box[5];
+
+        SplittableRandom root = new SplittableRandom(seed);
+        Chunk chunk = new Chunk(box, sampling, region, function, root);
+        Accumulator total = new Accumulator(sampling);
+        long chunks = (maxSamples + CHUNK_SAMPLES - 1) / CHUNK_SAMPLES;
+        double value = 0.0;
+        double error = Double.POSITIVE_INFINITY;
+
+        for (long first = 0; first < chunks; first += ROUND_CHUNKS) {
+            int count = (int) Math.min(ROUND_CHUNKS, chunks - first);
+            SplittableRandom[] streams = new SplittableRandom[count];
+            for (int i = 0; i < count; i++) {
+                streams[i] = root.split();
+            }
+            double[] results = new double[count * chunk.slots];
+            if (pool == null) {
+                for (int i = 0; i < count; i++) {
+                    chunk.draw(first + i, maxSamples, streams[i], results, i * chunk.slots);
+                }
+            } else {
+                pool.invoke(new ChunkTask(chunk, first, maxSamples, streams, results, 0, count));
+            }
+            for (int i = 0; i < count; i++) {
+                total.merge(results, i * chunk.slots);
+            }
+
+            value = scale * total.mean();
+            error = volume * total.standardError();
+            if (total.hits > 0 && error <= targetError) {
+                return new QuadratureResult(value, error, total.samples, true);
+            }
+        }
+        return new QuadratureResult(value, error, total.samples, total.hits > 0 && error <= targetError);
+    }
+
+    /**
+     * The immutable description of an integration, able to draw any chunk of its samples.
+     * <p>
+     * The results of a chunk are written to a slice of a {@code double[]}. For pseudo-random sampling
+     * the slice holds the sample count, the number of samples inside the region, the mean, and the sum
+     * of squared deviations. For quasi-random sampling it holds the sample count, the number of samples
+     * inside the region, and the sum of each replicate.
+     */
+    private static final class Chunk {
+        private final double[] box;
+        private final Sampling sampling;
+        private final DoubleTernaryPredicate region;
+        private final DoubleTernaryOperator function;
+        private final double[] shifts;
+        private final int slots;
+
+        private Chunk(double[] box, Sampling sampling, DoubleTernaryPredicate region,
+                      DoubleTernaryOperator function, SplittableRandom root) {
+            this.box = box;
+            this.sampling = sampling;
+            this.region = region;
+            this.function = function;
+            if (sampling == Sampling.PSEUDO_RANDOM) {
+                this.shifts = null;
+                this.slots = 4;
+            } else {
+                this.shifts = new double[REPLICATES * 3];
+                for (int i = 0; i < shifts.length; i++) {
+                    shifts[i] = root.nextDouble();
+                }
+                this.slots = 2 + REPLICATES;
+            }
+        }
+
+        private void draw(long index, long maxSamples, SplittableRandom stream, double[] out, int offset) {
+            long start = index * CHUNK_SAMPLES;
+            int samples = (int) Math.min(CHUNK_SAMPLES, maxSamples - start);
+            if (sampling == Sampling.PSEUDO_RANDOM) {
+                drawRandom(samples, stream, out, offset);
+            } else {
+                drawShifted(start / REPLICATES, samples / REPLICATES, out, offset);
+            }
+        }
+
+        private void drawRandom(int samples, SplittableRandom stream, double[] out, int offset) {
+            long hits = 0;
+            double mean = 0.0;
+            double squares = 0.0;
+            for (int n = 1; n <= samples; n++) {
+                double x = box[0] + box[3] * stream.nextDouble();
+                double y = box[1] + box[4] * stream.nextDouble();
+                double z = box[2] + box[5] * stream.nextDouble();
+                double value = 0.0;
+                if (region.test(x, y, z)) {
+                    value = function.applyAsDouble(x, y, z);
+                    hits++;
+                }
+                double delta = value - mean;
+                mean += delta / n;
+                squares += delta * (value - mean);
+            }
+            out[offset] = samples;
+            out[offset + 1] = hits;
+            out[offset + 2] = mean;
+            out[offset + 3] = squares;
+        }
+
+        private void drawShifted(long startPoint, int points, double[] out, int offset) {
+            SobolSequence sobol = null;
+            HaltonSequence halton = null;
+            if (sampling == Sampling.SOBOL) {
+                sobol = new SobolSequence(3);
+                sobol.skipTo(startPoint);
+            } else {
+                halton = new HaltonSequence(3);
+                halton.skipTo(startPoint);
+            }
+
+            double[] point = new double[3];
+            long hits = 0;
+            for (int p = 0; p < points; p++) {
+                if (sobol != null) {
+                    sobol.next(point);
+                } else {
+                    halton.next(point);
+                }
+                for (int r = 0; r < REPLICATES; r++) {
+                    double x = box[0] + box[3] * wrap(point[0] + shifts[r * 3]);
+                    double y = box[1] + box[4] * wrap(point[1] + shifts[r * 3 + 1]);
+                    double z = box[2] + box[5] * wrap(point[2] + shifts[r * 3 + 2]);
+                    if (region.test(x, y, z)) {
+                        out[offset + 2 + r] += function.applyAsDouble(x, y, z);
+                        hits++;
+                    }
+                }
+            }
+            out[offset] = (long) points * REPLICATES;
+            out[offset + 1] = hits;
+        }
+
+        private static double wrap(double value) {
+            return value >= 1.0 ? value - 1.0 : value;
+        }
+    }
+
+    /**
+     * Draws a contiguous range of the chunks of one round, splitting the range in half until
+     * a single chunk remains.
+     */
+    private static final class ChunkTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Chunk chunk;
+        private final long firstChunk;
+        private final long maxSamples;
+        private final SplittableRandom[] streams;
+        private final double[] results;
+        private final int from;
+        private final int to;
+
+        private ChunkTask(Chunk chunk, long firstChunk, long maxSamples, SplittableRandom[] streams,
+                          double[] results, int from, int to) {
+            this.chunk = chunk;
+            this.firstChunk = firstChunk;
+            this.maxSamples = maxSamples;
+            this.streams = streams;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new ChunkTask(chunk, firstChunk, maxSamples, streams, results, from, middle),
+                        new ChunkTask(chunk, firstChunk, maxSamples, streams, results, middle, to));
+                return;
+            }
+            for (int i = from; i < to; i++) {
+                chunk.draw(firstChunk + i, maxSamples, streams[i], results, i * chunk.slots);
+            }
+        }
+    }
+
+    /**
+     * The running totals of an integration, merged chunk by chunk in a fixed order.
+     */
+    private static final class Accumulator {
+        private final boolean replicated;
+        private final double[] sums;
+        private long samples;
+        private long hits;
+        private double mean;
+        private double squares;
+
+        private Accumulator(Sampling sampling) {
+            this.replicated = sampling != Sampling.PSEUDO_RANDOM;
+            this.sums = replicated ? new double[REPLICATES] : null;
+        }
+
+        private void merge(double[] results, int offset) {
+            long count = (long) results[offset];
+            hits += (long) results[offset + 1];
+            if (count == 0) {
+                return;
+            }
+            if (replicated) {
+                for (int r = 0; r < REPLICATES; r++) {
+                    sums[r] += results[offset + 2 + r];
+                }
+                samples += count;
+                return;
+            }
+            // Chan et al.'s pairwise update keeps the variance accurate when merging chunks.
+            long combined = samples + count;
+            double delta = results[offset + 2] - mean;
+            mean += delta * count / combined;
+            squares += results[offset + 3] + delta * delta * samples * count / combined;
+            samples = combined;
+        }
+
+        private double mean() {
+            if (!replicated) {
+                return mean;
+            }
+            double points = (double) samples / REPLICATES;
+            if (points == 0.0) {
+                return 0.0;
+            }
+            double total = 0.0;
+            for (double sum : sums) {
+                total += sum / points;
+            }
+            return total / REPLICATES;
+        }
+
+        private double standardError() {
+            if (!replicated) {
+                return samples > 1 ? Math.sqrt(squares / (samples - 1) / samples) : Double.POSITIVE_INFINITY;
+            }
+            double points = (double) samples / REPLICATES;
+            if (points == 0.0) {
+                return Double.POSITIVE_INFINITY;
+            }
+            double average = mean();
+            double deviations = 0.0;
+            for (double sum : sums) {
+                double delta = sum / points - average;
+                deviations += delta * delta;
+            }
+            return Math.sqrt(deviations / (REPLICATES * (REPLICATES - 1.0)));
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package io.github.simplexdev.polarize.math.function;
+
+import io.github.simplexdev.polarize.jfr.RuleCacheMissEvent;
+import io.github.simplexdev.polarize.metrics.Metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.DoubleBinaryOperator;
+
+/**
+ * Integration over discs, annuli and upright cylinders.
+ * <p>
+ * Points are placed in polar coordinates on the horizontal (x, z) plane, using the same convention as
+ * {@link io.github.simplexdev.polarize.polar.PolarUnit}: {@code x = r sin(theta)} and {@code z = r cos(theta)}.
+ * The radius is integrated with a {@link GaussLegendre} rule, with the Jacobian {@code r} folded into a
+ * per-call weight for each radius, and the angle with the trapezoidal rule over equally spaced sectors,
+ * which converges very quickly for periodic integrands. The sines and cosines of the sector angles are
+ * cached per sector count, so every node costs one function call and one multiply-add.
+ *
+ * @see SphericalCubature
+ */
+public final class PolarCubature {
+    private static final Map<Integer, double[]> SECTORS = new ConcurrentHashMap<>();
+
+    private PolarCubature() {
+        throw new AssertionError();
+    }
+
+    /**
+     * Integrates a function of (x, z) over the area of a disc.
+     *
+     * @param cx       the x coordinate of the disc's center.
+     * @param cz       the z coordinate of the disc's center.
+     * @param radius   the radius of the disc.
+     * @param radial   the radial rule to integrate with.
+     * @param sectors  the number of angular sectors to integrate with.
+     * @param function the function to integrate, taking x and z.
+     * @return the approximate value of the area integral.
+     */
+    public static double disc(double cx, double cz, double radius,
+                              GaussLegendre radial, int sectors, DoubleBinaryOperator function) {
+        return annulus(cx, cz, 0.0, radius, radial, sectors, function);
+    }
+
+    /**
+     * Integrates a function of (x, z) over the area of an annulus, between an inner and an outer radius.
+     *
+     * @param cx          the x coordinate of the annulus's center.
+     * @param cz          the z coordinate of the annulus's center.
+     * @param innerRadius the inner radius of the annulus.
+     * @param outerRadius the outer radius of the annulus.
+     * @param radial      the radial rule to integrate with.
+     * @param sectors     the number of angular sectors to integrate with.
+     * @param function    the function to integrate, taking x and z.
+     * @return the approximate value of the area integral.
+     */
+    public static double annulus(double cx, double cz, double innerRadius, double outerRadius,
+                                 GaussLegendre radial, int sectors, DoubleBinaryOperator function) {
+        double[] angles = sectors(sectors);
+        double middle = 0.5 * (innerRadius + outerRadius);
+        double half = 0.5 * (outerRadius - innerRadius);
+        double step = 2.0 * Math.PI / sectors;
+        double total = 0.0;
+        for (int i = 0; i < radial.nodes.length; i++) {
+            double radius = middle + half * radial.nodes[i];
+            double sum = 0.0;
+            for (int j = 0; j < angles.length; j += 2) {
+                sum += function.applyAsDouble(cx + radius * angles[j], cz + radius * angles[j + 1]);
+            }
+            total += half * radial.weights[i] * radius * step * sum;
+        }
+        return total;
+    }
+
+    /**
+     * Integrates a function over the volume of a filled, upright cylinder.
+     * The cylinder's axis is parallel to the y-axis, starting at the given base point.
+     *
+     * @param cx       the x coordinate of the center of the cylinder's base.
+     * @param cy       the y coordinate of the cylinder's base.
+     * @param cz       the z coordinate of the center of the cylinder's base.
+     * @param radius   the radius of the cylinder.
+     * @param height   the height of the cylinder.
+     * @param radial   the radial rule to integrate with.
+     * @param sectors  the number of angular sectors to integrate with.
+     * @param axial    the rule to integrate along the height of the cylinder with.
+     * @param function the function to integrate.
+     * @return the approximate value of the volume integral.
+     */
+    public static double cylinder(double cx, double cy, double cz, double radius, double height,
+                                  GaussLegendre radial, int sectors, GaussLegendre axial,
+                                  DoubleTernaryOperator function) {
+        double[] angles = sectors(sectors);
+        double radialHalf = 0.5 * radius;
+        double axialHalf = 0.5 * height;
+        double step = 2.0 * Math.PI / sectors;
+        double total = 0.0;
+        for (int k = 0; k < axial.nodes.length; k++) {
+            double y = cy + axialHalf * (1.0 + axial.nodes[k]);
+            double slice = 0.0;
+            for (int i = 0; i < radial.nodes.length; i++) {
+                double r = radialHalf * (1.0 + radial.nodes[i]);
+                double sum = 0.0;
+                for (int j = 0; j < angles.length; j += 2) {
+                    sum += function.applyAsDouble(cx + r * angles[j], y, cz + r * angles[j + 1]);
+                }
+                slice += radial.weights[i] * r * sum;
+            }
+            total += axial.weights[k] * slice;
+        }
+        return axialHalf * radialHalf * step * total;
+    }
+
+    /**
+     * Returns the cached sines and cosines of the midpoints of equally spaced sectors, interleaved.
+     */
+    private static double[] sectors(int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("Number of sectors must be positive: " + count);
+        }
+        Metrics.CACHE_RULE_LOOKUPS.increment();
+        return SECTORS.computeIfAbsent(count, n -> {
+            Metrics.CACHE_RULE_MISSES.increment();
+            RuleCacheMissEvent event = new RuleCacheMissEvent("polar-sectors", n);
+            double[] angles = new double[n * 2];
+            double step = 2.0 * Math.PI / n;
+            for (int j = 0; j < n; j++) {
+                double theta = step * (j + 0.5);
+                angles[j * 2] = Math.sin(theta);
+                angles[j * 2 + 1] = Math.cos(theta);
+            }
+            event.commit();
+            return angles;
+        });
+    }
+}
@@ -0,0 +1,79 @@
+package io.github.simplexdev.polarize.math.function;
+
+/**
+ * The result of a numerical integration which estimates its own accuracy.
+ * <p>
+ * Along with the value of the integral, this reports the estimated absolute error, the number of
+ * times the integrand was evaluated, and whether the requested tolerance was reached before the
+ * integrator ran out of its evaluation budget.
+ *
+ * @see AdaptiveQuadrature
+ * @see MonteCarloIntegral
+ */
+public final class QuadratureResult {
+    private final double value;
+    private final double errorEstimate;
+    private final long evaluations;
+    private final boolean converged;
+
+    /**
+     * Creates a new QuadratureResult.
+     *
+     * @param value         the estimated value of the integral.
+     * @param errorEstimate the estimated absolute error of the value.
+     * @param evaluations   the number of times the integrand was evaluated.
+     * @param converged     whether the requested tolerance was reached.
+     */
+    public QuadratureResult(double value, double errorEstimate, long evaluations, boolean converged) {
+        this.value = value;
+        this.errorEstimate = errorEstimate;
+        this.evaluations = evaluations;
+        this.converged = converged;
+    }
+
+    /**
+     * Returns the estimated value of the integral.
+     *
+     * @return the estimated value of the integral.
+     */
+    public double getValue() {
+        return value;
+    }
+
+    /**
+     * Returns the estimated absolute error of {@link #getValue()}.
+     *
+     * @return the estimated absolute error.
+     */
+    public double getErrorEstimate() {
+        return errorEstimate;
+    }
+
+    /**
+     * Returns the number of times the integrand was evaluated.
+     *
+     * @return the number of integrand evaluations.
+     */
+    public long getEvaluations() {
+        return evaluations;
+    }
+
+    /**
+     * Returns whether the requested tolerance was reached.
+     * If this is false, the integrator stopped because it reached its subdivision limit or sample budget,
+     * and the error estimate may be larger than requested.
+     *
+     * @return true if the requested tolerance was reached.
+     */
+    public boolean isConverged() {
+        return converged;
+    }
+
+    @Override
+    public String toString() {
+        return "QuadratureResult{value=" + value
+                + ", errorEstimate=" + errorEstimate
+                + ", evaluations=" + evaluations
+                + ", converged=" + converged + "}";
+    }
+}
@@ -0,0 +1,132 @@
+package io.github.simplexdev.polarize.math.function;
+
+import io.github.simplexdev.polarize.api.spatial.IPoint3D;
+
+/**
+ * Integration over sphere surfaces, spherical shells and balls.
+ * <p>
+ * Integrating in spherical coordinates by hand means converting every grid point through
+ * {@link io.github.simplexdev.polarize.util.Polarizer} and multiplying by the Jacobian
+ * {@code r^2 sin(theta)}. The methods in this class take a {@link SphericalRule} for the angular
+ * directions and a {@link GaussLegendre} rule for the radial direction instead. The directions and
+ * the angular part of the Jacobian are folded into the rule's cached tables, and the radial part is
+ * folded into a per-call weight for each radius, so every node costs one function call and one
+ * multiply-add.
+ * <p>
+ * The integrand is evaluated at Cartesian coordinates, so it can be written without any
+ * spherical conversions.
+ *
+ * @see PolarCubature
+ * @see SphericalRule
+ */
+public final class SphericalCubature {
+    private SphericalCubature() {
+        throw new AssertionError();
+    }
+
+    /**
+     * Integrates a function over the surface of a sphere.
+     *
+     * @param cx       the x coordinate of the sphere's center.
+     * @param cy       the y coordinate of the sphere's center.
+     * @param cz       the z coordinate of the sphere's center.
+     * @param radius   the radius of the sphere.
+     * @param rule     the angular rule to integrate with.
+     * @param function the function to integrate.
+     * @return the approximate value of the surface integral.
+     */
+    public static double surface(double cx, double cy, double cz, double radius,
+                                 SphericalRule rule, DoubleTernaryOperator function) {
+        return radius * radius * sum(cx, cy, cz, radius, rule, function);
+    }
+
+    /**
+     * Integrates a function over the surface of a sphere.
+     *
+     * @param center   the center of the sphere.
+     * @param radius   the radius of the sphere.
+     * @param rule     the angular rule to integrate with.
+     * @param function the function to integrate.
+     * @return the approximate value of the surface integral.
+     * @see #surface(double, double, double, double, SphericalRule, DoubleTernaryOperator)
+     */
+    public static double surface(IPoint3D center, double radius, SphericalRule rule, DoubleTernaryOperator function) {
+        return surface(center.getX().get(), center.getY().get(), center.getZ().get(), radius, rule, function);
+    }
+
+    /**
+     * Integrates a function over the volume of a spherical shell, between an inner and an outer radius.
+     *
+     * @param cx          the x coordinate of the shell's center.
+     * @param cy          the y coordinate of the shell's center.
+     * @param cz          the z coordinate of the shell's center.
+     * @param innerRadius the inner radius of the shell.
+     * @param outerRadius the outer radius of the shell.
+     * @param rule        the angular rule to integrate with.
+     * @param radial      the radial rule to integrate with.
+     * @param function    the function to integrate.
+     * @return the approximate value of the volume integral.
+     */
+    public static double shell(double cx, double cy, double cz, double innerRadius, double outerRadius,
+                               SphericalRule rule, GaussLegendre radial, DoubleTernaryOperator function) {
+        double middle = 0.5 * (innerRadius + outerRadius);
+        double half = 0.5 * (outerRadius - innerRadius);
+        double total = 0.0;
+        for (int i = 0; i < radial.nodes.length; i++) {
+            double radius = middle + half * radial.nodes[i];
+            total += half * radial.weights[i] * radius * radius * sum(cx, cy, cz, radius, rule, function);
+        }
+        return total;
+    }
+
+    /**
+     * Integrates a function over the volume of a spherical shell, between an inner and an outer radius.
+     *
+     * @param center      the center of the shell.
+     * @param innerRadius the inner radius of the shell.
+     * @param outerRadius the outer radius of the shell.
+     * @param rule        the angular rule to integrate with.
+     * @param radial      the radial rule to integrate with.
+     * @param function    the function to integrate.
+     * @return the approximate value of the volume integral.
+     * @see #shell(double, double, double, double, double, SphericalRule, GaussLegendre, DoubleTernaryOperator)
+     */
+    public static double shell(IPoint3D center, double innerRadius, double outerRadius,
+                               SphericalRule rule, GaussLegendre radial, DoubleTernaryOperator function) {
+        return shell(center.getX().get(), center.getY().get(), center.getZ().get(),
+                innerRadius, outerRadius, rule, radial, function);
+    }
+
+    /**
+     * Integrates a function over the volume of a ball.
+     *
+     * @param cx       the x coordinate of the ball's center.
+     * @param cy       the y coordinate of the ball's center.
+     * @param cz       the z coordinate of the ball's center.
+     * @param radius   the radius of the ball.
+     * @param rule     the angular rule to integrate with.
+     * @param radial   the radial rule to integrate with.
+     * @param function the function to integrate.
+     * @return the approximate value of the volume integral.
+     */
+    public static double ball(double cx, double cy, double cz, double radius,
+                              SphericalRule rule, GaussLegendre radial, DoubleTernaryOperator function) {
+        return shell(cx, cy, cz, 0.0, radius, rule, radial, function);
+    }
+
+    /**
+     * Returns the weighted sum of the function over the nodes of the rule, scaled to the given radius.
+     */
+    private static double sum(double cx, double cy, double cz, double radius,
+                              SphericalRule rule, DoubleTernaryOperator function) {
+        double[] x = rule.x;
+        double[] y = rule.y;
+        double[] z = rule.z;
+        double[] weights = rule.weights;
+        double sum = 0.0;
+        for (int i = 0; i < weights.length; i++) {
+            sum += weights[i] * function.applyAsDouble(cx + radius * x[i], cy + radius * y[i], cz + radius * z[i]);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,160 @@
+package io.github.simplexdev.polarize.math.function;
+
+import io.github.simplexdev.polarize.jfr.RuleCacheMissEvent;
+import io.github.simplexdev.polarize.metrics.Metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A table of nodes and weights for integrating over the surface of the unit sphere.
+ * <p>
+ * Each node is a unit direction {@code (x, y, z)} with a weight, and the weights sum to the area of
+ * the unit sphere, {@code 4 * pi}. An integral over the sphere is approximated by the weighted sum of
+ * the integrand at the nodes, so once a rule has been built every node costs one function call and
+ * one multiply-add. Rules are cached per kind and order, and are immutable and safe to share.
+ * <p>
+ * Two kinds of rule are available:
+ * <ul>
+ *     <li>{@link #fibonacci(int)} spreads equally weighted nodes over the sphere along a Fibonacci spiral.
+ *     Any number of nodes can be used, and the rule works well for integrands that are not smooth.</li>
+ *     <li>{@link #gaussProduct(int)} combines Gauss-Legendre nodes in {@code cos(theta)} with equally spaced
+ *     nodes in {@code phi}. A rule of order n uses {@code 2n^2} nodes and integrates every polynomial
+ *     of degree up to {@code 2n - 1} exactly.</li>
+ * </ul>
+ * <p>
+ * The y-axis points up, as in {@link io.github.simplexdev.polarize.util.Polarizer}.
+ *
+ * @see SphericalCubature
+ */
+public final class SphericalRule {
+    private static final Map<Integer, SphericalRule> FIBONACCI = new ConcurrentHashMap<>();
+    private static final Map<Integer, SphericalRule> GAUSS_PRODUCT = new ConcurrentHashMap<>();
+
+    final double[] x;
+    final double[] y;
+    final double[] z;
+    final double[] weights;
+
+    private SphericalRule(int size) {
+        this.x = new double[size];
+        this.y = new double[size];
+        this.z = new double[size];
+        this.weights = new double[size];
+    }
+
+    /**
+     * Returns the rule with the given number of equally weighted nodes on a Fibonacci spiral.
+     *
+     * @param points the number of nodes.
+     * @return the cached rule.
+     */
+    public static SphericalRule fibonacci(int points) {
+        if (points < 1) {
+            throw new IllegalArgumentException("Number of points must be positive: " + points);
+        }
+        Metrics.CACHE_RULE_LOOKUPS.increment();
+        return FIBONACCI.computeIfAbsent(points, n -> {
+            Metrics.CACHE_RULE_MISSES.increment();
+            RuleCacheMissEvent event = new RuleCacheMissEvent("spherical-fibonacci", n);
+            SphericalRule rule = new SphericalRule(n);
+            double goldenAngle = Math.PI * (3.0 - Math.sqrt(5.0));
+            double weight = 4.0 * Math.PI / n;
+            for (int i = 0; i < n; i++) {
+                double height = 1.0 - (2.0 * i + 1.0) / n;
+                double ring = Math.sqrt(1.0 - height * height);
+                double phi = goldenAngle * i;
+                rule.x[i] = ring * Math.cos(phi);
+                rule.y[i] = height;
+                rule.z[i] = ring * Math.sin(phi);
+                rule.weights[i] = weight;
+            }
+            event.commit();
+            return rule;
+        });
+    }
+
+    /**
+     * Returns the Gauss-Legendre by trapezoid product rule of the given order, which has
+     * {@code order} rings of {@code 2 * order} nodes each.
+     *
+     * @param order the number of rings of the rule.
+     * @return the cached rule.
+     */
+    public static SphericalRule gaussProduct(int order) {
+        GaussLegendre legendre = GaussLegendre.of(order);
+        Metrics.CACHE_RULE_LOOKUPS.increment();
+        return GAUSS_PRODUCT.computeIfAbsent(order, n -> {
+            Metrics.CACHE_RULE_MISSES.increment();
+            RuleCacheMissEvent event = new RuleCacheMissEvent("spherical-gauss-product", n);
+            int sectors = 2 * n;
+            SphericalRule rule = new SphericalRule(n * sectors);
+            double step = 2.0 * Math.PI / sectors;
+            int index = 0;
+            for (int i = 0; i < n; i++) {
+                double height = legendre.nodes[i];
+                double ring = Math.sqrt(1.0 - height * height);
+                double weight = legendre.weights[i] * step;
+                for (int j = 0; j < sectors; j++) {
+                    double phi = step * (j + 0.5);
+                    rule.x[index] = ring * Math.cos(phi);
+                    rule.y[index] = height;
+                    rule.z[index] = ring * Math.sin(phi);
+                    rule.weights[index] = weight;
+                    index++;
+                }
+            }
+            event.commit();
+            return rule;
+        });
+    }
+
+    /**
+     * Returns the number of nodes of this rule.
+     *
+     * @return the number of nodes.
+     */
+    public int size() {
+        return weights.length;
+    }
+
+    /**
+     * Returns the x component of a node's direction.
+     *
+     * @param index the index of the node.
+     * @return the x component of the node.
+     */
+    public double x(int index) {
+        return x[index];
+    }
+
+    /**
+     * Returns the y component of a node's direction.
+     *
+     * @param index the index of the node.
+     * @return the y component of the node.
+     */
+    public double y(int index) {
+        return y[index];
+    }
+
+    /**
+     * Returns the z component of a node's direction.
+     *
+     * @param index the index of the node.
+     * @return the z component of the node.
+     */
+    public double z(int index) {
+        return z[index];
+    }
+
+    /**
+     * Returns the weight of a node. The weights of a rule sum to {@code 4 * pi}.
+     *
+     * @param index the index of the node.
+     * @return the weight of the node.
+     */
+    public double weight(int index) {
+        return weights[index];
+    }
+}
@@ -0,0 +1,63 @@
+package io.github.simplexdev.polarize.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A counter that many threads can increment at once without contending.
+ * <p>
+ * The count is kept in a {@link LongAdder}, which spreads concurrent updates over separate cells and
+ * only adds them together when the count is read. While the owning {@link MetricsRegistry} is disabled,
+ * updates are dropped after a single check.
+ */
+public final class Counter {
+    private final MetricsRegistry registry;
+    private final String name;
+    private final LongAdder count = new LongAdder();
+
+    Counter(MetricsRegistry registry, String name) {
+        this.registry = registry;
+        this.name = name;
+    }
+
+    /**
+     * Returns the name of this counter.
+     *
+     * @return the name of this counter.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Adds one to this counter.
+     */
+    public void increment() {
+        if (registry.isEnabled()) {
+            count.increment();
+        }
+    }
+
+    /**
+     * Adds the given amount to this counter.
+     *
+     * @param amount the amount to add.
+     */
+    public void add(long amount) {
+        if (registry.isEnabled()) {
+            count.add(amount);
+        }
+    }
+
+    /**
+     * Returns the current count.
+     *
+     * @return the current count.
+     */
+    public long sum() {
+        return count.sum();
+    }
+
+    void reset() {
+        count.reset();
+    }
+}
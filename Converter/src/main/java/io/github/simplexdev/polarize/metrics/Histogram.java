@@ -0,0 +1,147 @@
+package io.github.simplexdev.polarize.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A histogram of non-negative long values with a bounded relative error, in the style of HdrHistogram.
+ * <p>
+ * Values are counted in log-linear buckets: each power of two is split into {@value #SUB_BUCKETS}
+ * equally wide buckets, so any recorded value is reported within about 3% of its true value, from
+ * {@code 0} up to {@link Long#MAX_VALUE}, with a fixed {@value #BUCKETS} counters. Recording a value
+ * is a few bit operations and one atomic increment, and never allocates.
+ * <p>
+ * While the owning {@link MetricsRegistry} is disabled, values are dropped after a single check.
+ *
+ * @see <a href="http://hdrhistogram.org/">HdrHistogram</a>
+ */
+public final class Histogram {
+    /**
+     * The number of buckets each power of two is split into.
+     */
+    public static final int SUB_BUCKETS = 32;
+
+    /**
+     * The total number of buckets.
+     */
+    public static final int BUCKETS = (64 - 5 + 1) * SUB_BUCKETS;
+
+    private static final int SUB_BUCKET_BITS = 5;
+
+    private final MetricsRegistry registry;
+    private final String name;
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    Histogram(MetricsRegistry registry, String name) {
+        this.registry = registry;
+        this.name = name;
+    }
+
+    /**
+     * Returns the name of this histogram.
+     *
+     * @return the name of this histogram.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Records a value. Negative values are recorded as zero.
+     *
+     * @param value the value to record.
+     */
+    public void record(long value) {
+        if (registry.isEnabled()) {
+            recordValue(value);
+        }
+    }
+
+    /**
+     * Returns a snapshot of the values recorded so far.
+     *
+     * @return the snapshot.
+     */
+    public HistogramSnapshot snapshot() {
+        long[] copy = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+            total += copy[i];
+        }
+        long largest = max.get();
+        return new HistogramSnapshot(total, sum.sum(), largest,
+                percentile(copy, total, largest, 50.0),
+                percentile(copy, total, largest, 90.0),
+                percentile(copy, total, largest, 99.0),
+                percentile(copy, total, largest, 99.9));
+    }
+
+    void recordValue(long value) {
+        long clamped = Math.max(0L, value);
+        counts.incrementAndGet(bucket(clamped));
+        sum.add(clamped);
+        long current = max.get();
+        while (clamped > current && !max.compareAndSet(current, clamped)) {
+            current = max.get();
+        }
+    }
+
+    void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0L);
+        }
+        sum.reset();
+        max.set(0L);
+    }
+
+    /**
+     * Returns the bucket a value falls into.
+     *
+     * @param value the value, which must not be negative.
+     * @return the index of the bucket.
+     */
+    static int bucket(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        int mantissa = (int) (value >>> shift);
+        return (shift + 1) * SUB_BUCKETS + (mantissa - SUB_BUCKETS);
+    }
+
+    /**
+     * Returns the largest value that falls into a bucket.
+     *
+     * @param bucket the index of the bucket.
+     * @return the largest value of the bucket.
+     */
+    static long highestValue(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        long mantissa = SUB_BUCKETS + bucket % SUB_BUCKETS;
+        long next = (mantissa + 1) << shift;
+        // The last bucket ends at Long.MAX_VALUE, where the shift overflows.
+        return next <= 0 ? Long.MAX_VALUE : next - 1;
+    }
+
+    private static long percentile(long[] counts, long total, long max, double percentile) {
+        if (total == 0) {
+            return 0L;
+        }
+        long target = Math.max(1L, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return Math.min(highestValue(i), max);
+            }
+        }
+        return max;
+    }
+}
@@ -0,0 +1,103 @@
+package io.github.simplexdev.polarize.metrics;
+
+/**
+ * The values recorded by a {@link Histogram} or {@link Timer} at one point in time.
+ * Percentiles are accurate to the bucket width of the histogram, about 3%.
+ */
+public final class HistogramSnapshot {
+    private final long count;
+    private final long sum;
+    private final long max;
+    private final long p50;
+    private final long p90;
+    private final long p99;
+    private final long p999;
+
+    HistogramSnapshot(long count, long sum, long max, long p50, long p90, long p99, long p999) {
+        this.count = count;
+        this.sum = sum;
+        this.max = max;
+        this.p50 = p50;
+        this.p90 = p90;
+        this.p99 = p99;
+        this.p999 = p999;
+    }
+
+    /**
+     * Returns the number of values recorded.
+     *
+     * @return the number of values.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the sum of every value recorded.
+     *
+     * @return the sum of the values.
+     */
+    public long getSum() {
+        return sum;
+    }
+
+    /**
+     * Returns the largest value recorded, or 0 if no value was recorded.
+     *
+     * @return the largest value.
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * Returns the mean of the values recorded, or 0 if no value was recorded.
+     *
+     * @return the mean value.
+     */
+    public double getMean() {
+        return count == 0 ? 0.0 : (double) sum / count;
+    }
+
+    /**
+     * Returns the median of the values recorded.
+     *
+     * @return the 50th percentile.
+     */
+    public long getP50() {
+        return p50;
+    }
+
+    /**
+     * Returns the 90th percentile of the values recorded.
+     *
+     * @return the 90th percentile.
+     */
+    public long getP90() {
+        return p90;
+    }
+
+    /**
+     * Returns the 99th percentile of the values recorded.
+     *
+     * @return the 99th percentile.
+     */
+    public long getP99() {
+        return p99;
+    }
+
+    /**
+     * Returns the 99.9th percentile of the values recorded.
+     *
+     * @return the 99.9th percentile.
+     */
+    public long getP999() {
+        return p999;
+    }
+
+    @Override
+    public String toString() {
+        return "count=" + count + " mean=" + getMean() + " p50=" + p50 + " p90=" + p90
+                + " p99=" + p99 + " p99.9=" + p999 + " max=" + max;
+    }
+}
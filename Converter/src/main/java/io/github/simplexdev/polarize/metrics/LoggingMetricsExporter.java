@@ -0,0 +1,33 @@
+package io.github.simplexdev.polarize.metrics;
+
+import io.github.simplexdev.polarize.log.PolarizeLogger;
+
+import java.util.Map;
+
+/**
+ * Writes every metric of a snapshot to the {@link PolarizeLogger}, one line per metric.
+ * Timer durations are written in microseconds.
+ */
+public final class LoggingMetricsExporter implements MetricsExporter {
+    @Override
+    public void export(MetricsSnapshot snapshot) {
+        for (Map.Entry<String, Long> counter : snapshot.getCounters().entrySet()) {
+            PolarizeLogger.info("[metrics] " + counter.getKey() + " = " + counter.getValue());
+        }
+        for (Map.Entry<String, HistogramSnapshot> timer : snapshot.getTimers().entrySet()) {
+            HistogramSnapshot value = timer.getValue();
+            PolarizeLogger.info("[metrics] " + timer.getKey() + " count=" + value.getCount()
+                    + " mean=" + micros(Math.round(value.getMean())) + "us"
+                    + " p50=" + micros(value.getP50()) + "us"
+                    + " p99=" + micros(value.getP99()) + "us"
+                    + " max=" + micros(value.getMax()) + "us");
+        }
+        for (Map.Entry<String, HistogramSnapshot> histogram : snapshot.getHistograms().entrySet()) {
+            PolarizeLogger.info("[metrics] " + histogram.getKey() + " " + histogram.getValue());
+        }
+    }
+
+    private static String micros(long nanos) {
+        return String.format("%.1f", nanos / 1000.0);
+    }
+}
@@ -0,0 +1,100 @@
+package io.github.simplexdev.polarize.metrics;
+
+/**
+ * The global {@link MetricsRegistry} and the metrics this library records into it.
+ * <p>
+ * The registry is disabled by default. Call {@link #enable()} and add an exporter to the registry
+ * to start collecting:
+ * <pre>{@code
+ * Metrics.registry().addExporter(new LoggingMetricsExporter());
+ * Metrics.enable();
+ * }</pre>
+ * The metric names are grouped by prefix: {@code points.} counts the points generated per shape type,
+ * {@code time.} holds the timers of bulk transformations and conversions, and {@code cache.} counts the
+ * lookups and misses of the cached rule tables, from which a hit rate is {@code 1 - misses / lookups}.
+ */
+public final class Metrics {
+    private static final MetricsRegistry REGISTRY = new MetricsRegistry();
+
+    /**
+     * Points generated by {@link io.github.simplexdev.polarize.math.function.FibonacciLattice}.
+     */
+    public static final Counter POINTS_FIBONACCI_LATTICE = REGISTRY.counter("points.fibonacci-lattice");
+
+    /**
+     * Points generated by {@link io.github.simplexdev.polarize.util.Interpolator#sweep}.
+     */
+    public static final Counter POINTS_SWEEP = REGISTRY.counter("points.sweep");
+
+    /**
+     * Units generated by the {@code cartesian} methods of {@link io.github.simplexdev.polarize.util.Interpolator}.
+     */
+    public static final Counter POINTS_CARTESIAN = REGISTRY.counter("points.cartesian");
+
+    /**
+     * Units generated by the {@code polarSet} methods of {@link io.github.simplexdev.polarize.util.Interpolator}.
+     */
+    public static final Counter POINTS_POLAR = REGISTRY.counter("points.polar-set");
+
+    /**
+     * Units generated by the {@code sphericalUnit} methods of {@link io.github.simplexdev.polarize.util.Interpolator}.
+     */
+    public static final Counter POINTS_SPHERICAL = REGISTRY.counter("points.spherical-unit");
+
+    /**
+     * Points generated by {@link io.github.simplexdev.polarize.math.function.ArchimedeanSpiral}.
+     */
+    public static final Counter POINTS_ARCHIMEDEAN_SPIRAL = REGISTRY.counter("points.archimedean-spiral");
+
+    /**
+     * Time spent in bulk rotations by {@link io.github.simplexdev.polarize.util.Rotator}.
+     */
+    public static final Timer TIME_ROTATE_BULK = REGISTRY.timer("time.rotator.bulk");
+
+    /**
+     * Time spent in bulk conversions to Cartesian coordinates by {@link io.github.simplexdev.polarize.util.Polarizer}.
+     */
+    public static final Timer TIME_TO_CARTESIAN_BULK = REGISTRY.timer("time.polarizer.to-cartesian.bulk");
+
+    /**
+     * Time spent in bulk conversions to spherical coordinates by {@link io.github.simplexdev.polarize.util.Polarizer}.
+     */
+    public static final Timer TIME_TO_SPHERICAL_BULK = REGISTRY.timer("time.polarizer.to-spherical.bulk");
+
+    /**
+     * Lookups of cached quadrature and cubature rule tables.
+     */
+    public static final Counter CACHE_RULE_LOOKUPS = REGISTRY.counter("cache.rules.lookups");
+
+    /**
+     * Lookups of cached quadrature and cubature rule tables that had to compute the table.
+     */
+    public static final Counter CACHE_RULE_MISSES = REGISTRY.counter("cache.rules.misses");
+
+    private Metrics() {
+        throw new AssertionError();
+    }
+
+    /**
+     * Returns the global registry.
+     *
+     * @return the global registry.
+     */
+    public static MetricsRegistry registry() {
+        return REGISTRY;
+    }
+
+    /**
+     * Starts recording the metrics of the global registry.
+     */
+    public static void enable() {
+        REGISTRY.setEnabled(true);
+    }
+
+    /**
+     * Stops recording the metrics of the global registry.
+     */
+    public static void disable() {
+        REGISTRY.setEnabled(false);
+    }
+}
@@ -0,0 +1,15 @@
+package io.github.simplexdev.polarize.metrics;
+
+/**
+ * Receives the metrics of a {@link MetricsRegistry} each time it is exported, to publish them
+ * to a log, a file or a monitoring system.
+ */
+@FunctionalInterface
+public interface MetricsExporter {
+    /**
+     * Publishes a snapshot of a registry's metrics.
+     *
+     * @param snapshot the snapshot to publish.
+     */
+    void export(MetricsSnapshot snapshot);
+}
@@ -0,0 +1,145 @@
+package io.github.simplexdev.polarize.metrics;
+
+import io.github.simplexdev.polarize.log.PolarizeLogger;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * A registry of named {@link Counter counters}, {@link Timer timers} and {@link Histogram histograms},
+ * and of the {@link MetricsExporter exporters} that publish them.
+ * <p>
+ * Metrics are looked up by name once, typically into a static field, and updated directly from then on.
+ * Looking up an existing name returns the same metric, so separate parts of a program can share one.
+ * <p>
+ * A registry starts disabled. While it is disabled, every update to its metrics returns after reading a
+ * single volatile flag, and timers do not read the clock, so instrumented code costs next to nothing
+ * when nobody is collecting metrics.
+ * <p>
+ * This class is thread-safe.
+ */
+public final class MetricsRegistry {
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+    private final List<MetricsExporter> exporters = new CopyOnWriteArrayList<>();
+    private volatile boolean enabled;
+
+    /**
+     * Creates a new, empty and disabled MetricsRegistry.
+     */
+    public MetricsRegistry() {
+    }
+
+    /**
+     * Returns whether the metrics of this registry are recording.
+     *
+     * @return true if this registry is enabled.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Starts or stops recording the metrics of this registry. Recorded values are kept while disabled.
+     *
+     * @param enabled whether the metrics should record.
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Returns the counter with the given name, creating it if it does not exist.
+     *
+     * @param name the name of the counter.
+     * @return the counter.
+     */
+    public Counter counter(String name) {
+        return counters.computeIfAbsent(name, key -> new Counter(this, key));
+    }
+
+    /**
+     * Returns the timer with the given name, creating it if it does not exist.
+     *
+     * @param name the name of the timer.
+     * @return the timer.
+     */
+    public Timer timer(String name) {
+        return timers.computeIfAbsent(name, key -> new Timer(this, key));
+    }
+
+    /**
+     * Returns the histogram with the given name, creating it if it does not exist.
+     *
+     * @param name the name of the histogram.
+     * @return the histogram.
+     */
+    public Histogram histogram(String name) {
+        return histograms.computeIfAbsent(name, key -> new Histogram(this, key));
+    }
+
+    /**
+     * Adds an exporter, which receives every later call to {@link #export()}.
+     *
+     * @param exporter the exporter to add.
+     */
+    public void addExporter(MetricsExporter exporter) {
+        exporters.add(exporter);
+    }
+
+    /**
+     * Removes an exporter.
+     *
+     * @param exporter the exporter to remove.
+     * @return true if the exporter was registered.
+     */
+    public boolean removeExporter(MetricsExporter exporter) {
+        return exporters.remove(exporter);
+    }
+
+    /**
+     * Returns the current value of every metric.
+     *
+     * @return the snapshot.
+     */
+    public MetricsSnapshot snapshot() {
+        Map<String, Long> counterValues = new TreeMap<>();
+        counters.forEach((name, counter) -> counterValues.put(name, counter.sum()));
+        Map<String, HistogramSnapshot> timerValues = new TreeMap<>();
+        timers.forEach((name, timer) -> timerValues.put(name, timer.snapshot()));
+        Map<String, HistogramSnapshot> histogramValues = new TreeMap<>();
+        histograms.forEach((name, histogram) -> histogramValues.put(name, histogram.snapshot()));
+        return new MetricsSnapshot(System.currentTimeMillis(), counterValues, timerValues, histogramValues);
+    }
+
+    /**
+     * Takes a snapshot and passes it to every exporter. An exporter that throws is logged and skipped.
+     * This is meant to be called periodically, for example once every few seconds from a scheduler.
+     */
+    public void export() {
+        if (exporters.isEmpty()) {
+            return;
+        }
+        MetricsSnapshot snapshot = snapshot();
+        for (MetricsExporter exporter : exporters) {
+            try {
+                exporter.export(snapshot);
+            } catch (RuntimeException ex) {
+                PolarizeLogger.warning(ex);
+            }
+        }
+    }
+
+    /**
+     * Clears the recorded values of every metric, keeping the metrics themselves.
+     */
+    public void reset() {
+        counters.values().forEach(Counter::reset);
+        timers.values().forEach(Timer::reset);
+        histograms.values().forEach(Histogram::reset);
+    }
+}
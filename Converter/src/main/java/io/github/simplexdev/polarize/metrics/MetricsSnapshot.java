@@ -0,0 +1,59 @@
+package io.github.simplexdev.polarize.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * The values of every metric in a {@link MetricsRegistry} at one point in time, keyed by metric name
+ * in name order. Counts and histograms are cumulative since the registry was created or last reset.
+ */
+public final class MetricsSnapshot {
+    private final long timestamp;
+    private final Map<String, Long> counters;
+    private final Map<String, HistogramSnapshot> timers;
+    private final Map<String, HistogramSnapshot> histograms;
+
+    MetricsSnapshot(long timestamp, Map<String, Long> counters, Map<String, HistogramSnapshot> timers,
+                    Map<String, HistogramSnapshot> histograms) {
+        this.timestamp = timestamp;
+        this.counters = Collections.unmodifiableMap(counters);
+        this.timers = Collections.unmodifiableMap(timers);
+        this.histograms = Collections.unmodifiableMap(histograms);
+    }
+
+    /**
+     * Returns the time the snapshot was taken, in milliseconds since the epoch.
+     *
+     * @return the time the snapshot was taken.
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Returns the count of every counter.
+     *
+     * @return the counts, keyed by counter name.
+     */
+    public Map<String, Long> getCounters() {
+        return counters;
+    }
+
+    /**
+     * Returns the durations recorded by every timer, in nanoseconds.
+     *
+     * @return the durations, keyed by timer name.
+     */
+    public Map<String, HistogramSnapshot> getTimers() {
+        return timers;
+    }
+
+    /**
+     * Returns the values recorded by every histogram.
+     *
+     * @return the values, keyed by histogram name.
+     */
+    public Map<String, HistogramSnapshot> getHistograms() {
+        return histograms;
+    }
+}
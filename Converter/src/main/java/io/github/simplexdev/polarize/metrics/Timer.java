@@ -0,0 +1,82 @@
+package io.github.simplexdev.polarize.metrics;
+
+/**
+ * Measures how long an operation takes, recording each duration in nanoseconds into a {@link Histogram}.
+ * <p>
+ * A timed section is bracketed by {@link #start()} and {@link #stop(long)}, which pass the start time
+ * as a primitive so timing never allocates:
+ * <pre>{@code
+ * long start = timer.start();
+ * ...
+ * timer.stop(start);
+ * }</pre>
+ * While the owning {@link MetricsRegistry} is disabled, {@link #start()} does not read the clock and
+ * {@link #stop(long)} returns immediately.
+ */
+public final class Timer {
+    private static final long NOT_STARTED = Long.MIN_VALUE;
+
+    private final MetricsRegistry registry;
+    private final Histogram durations;
+
+    Timer(MetricsRegistry registry, String name) {
+        this.registry = registry;
+        this.durations = new Histogram(registry, name);
+    }
+
+    /**
+     * Returns the name of this timer.
+     *
+     * @return the name of this timer.
+     */
+    public String getName() {
+        return durations.getName();
+    }
+
+    /**
+     * Starts timing an operation.
+     *
+     * @return the start time, to pass to {@link #stop(long)}.
+     */
+    public long start() {
+        return registry.isEnabled() ? System.nanoTime() : NOT_STARTED;
+    }
+
+    /**
+     * Stops timing an operation and records its duration.
+     *
+     * @param start the start time returned by {@link #start()}.
+     */
+    public void stop(long start) {
+        if (start != NOT_STARTED) {
+            durations.recordValue(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Times an operation.
+     *
+     * @param operation the operation to time.
+     */
+    public void time(Runnable operation) {
+        long start = start();
+        try {
+            operation.run();
+        } finally {
+            stop(start);
+        }
+    }
+
+    /**
+     * Returns a snapshot of the durations recorded so far, in nanoseconds.
+     *
+     * @return the snapshot.
+     */
+    public HistogramSnapshot snapshot() {
+        return durations.snapshot();
+    }
+
+    void reset() {
+        durations.reset();
+    }
+}
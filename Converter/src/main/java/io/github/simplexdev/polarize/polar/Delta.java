@@ -8,10 +8,16 @@ import io.github.simplexdev.polarize.api.units.Theta;
  * <p>
  * Typically, these are used in full rotations along the unit circle / unit sphere,
  * but can be used in any degree of rotation.
+ * <p>
+ * The modifiers are stored as primitives. The {@link Theta} and {@link Phi}
+ * objects are only created the first time they are requested, and are then reused.
  */
 public class Delta {
-    private final Theta theta;
-    private final Phi phi;
+    private final double theta;
+    private final double phi;
+
+    private Theta thetaView;
+    private Phi phiView;
 
     /**
      * Creates a new Delta with the given theta and phi modifiers.
@@ -20,8 +26,8 @@ public class Delta {
      * @param phi   the phi modifier.
      */
     public Delta(double theta, double phi) {
-        this.theta = () -> theta;
-        this.phi = () -> phi;
+        this.theta = theta;
+        this.phi = phi;
     }
 
     /**
@@ -31,7 +37,10 @@ public class Delta {
      * @see Theta
      */
     public Theta getTheta() {
-        return theta;
+        if (thetaView == null) {
+            thetaView = Theta.of(theta);
+        }
+        return thetaView;
     }
 
     /**
@@ -41,7 +50,10 @@ public class Delta {
      * @see Phi
      */
     public Phi getPhi() {
-        return phi;
+        if (phiView == null) {
+            phiView = Phi.of(phi);
+        }
+        return phiView;
     }
 
     /**
@@ -51,7 +63,7 @@ public class Delta {
      * @return the theta modifier.
      */
     public double theta() {
-        return theta.getZenith();
+        return theta;
     }
 
     /**
@@ -61,6 +73,6 @@ public class Delta {
      * @return the phi modifier.
      */
     public double phi() {
-        return phi.getAzimuth();
+        return phi;
     }
 }
@@ -5,10 +5,16 @@ import io.github.simplexdev.polarize.api.units.Theta;
 
 /**
  * Represents a unit in polar coordinates.
+ * <p>
+ * The radius and angle are stored as primitives. The {@link Radius} and {@link Theta}
+ * objects are only created the first time they are requested, and are then reused.
  */
 public class PolarUnit {
-    private final Radius radius;
-    private final Theta theta;
+    private final double radius;
+    private final double theta;
+
+    private Radius radiusView;
+    private Theta thetaView;
 
     /**
      * Creates a new PolarUnit with the given radius and angle theta.
@@ -17,8 +23,8 @@ public class PolarUnit {
      * @param theta  the angle theta of the unit.
      */
     public PolarUnit(double radius, double theta) {
-        this.radius = () -> radius;
-        this.theta = () -> theta;
+        this.radius = radius;
+        this.theta = theta;
     }
 
     /**
@@ -30,7 +36,10 @@ public class PolarUnit {
      * @return the radius object of this unit.
      */
     public Radius getRadius() {
-        return radius;
+        if (radiusView == null) {
+            radiusView = Radius.of(radius);
+        }
+        return radiusView;
     }
 
     /**
@@ -42,7 +51,10 @@ public class PolarUnit {
      * @return the angle object theta of this unit.
      */
     public Theta getTheta() {
-        return theta;
+        if (thetaView == null) {
+            thetaView = Theta.of(theta);
+        }
+        return thetaView;
     }
 
     /**
@@ -52,7 +64,7 @@ public class PolarUnit {
      * @return the radius of this unit.
      */
     public double radius() {
-        return radius.length();
+        return radius;
     }
 
     /**
@@ -62,7 +74,7 @@ public class PolarUnit {
      * @return the angle theta of this unit.
      */
     public double theta() {
-        return theta.getZenith();
+        return theta;
     }
 
     /**
@@ -73,7 +85,7 @@ public class PolarUnit {
      * @return the adjacent side of the triangle formed by this unit in 2d space.
      */
     public double adjacent() {
-        return radius() * Math.cos(theta());
+        return radius * Math.cos(theta);
     }
 
     /**
@@ -84,6 +96,6 @@ public class PolarUnit {
      * @return the opposite side of the triangle formed by this unit in 2d space.
      */
     public double opposite() {
-        return radius() * Math.sin(theta());
+        return radius * Math.sin(theta);
     }
 }
@@ -3,16 +3,21 @@ package io.github.simplexdev.polarize.polar;
 import io.github.simplexdev.polarize.api.units.Phi;
 import io.github.simplexdev.polarize.api.units.Radius;
 import io.github.simplexdev.polarize.api.units.Theta;
-import io.github.simplexdev.polarize.cartesian.CartesianUnit;
-import io.github.simplexdev.polarize.util.Polarizer;
 
 /**
  * A class that represents a spherical unit.
+ * <p>
+ * The radius and angles are stored as primitives. The {@link Radius}, {@link Theta} and {@link Phi}
+ * objects are only created the first time they are requested, and are then reused.
  */
 public class SphericalUnit {
-    private final Radius radius;
-    private final Theta theta;
-    private final Phi phi;
+    private final double radius;
+    private final double theta;
+    private final double phi;
+
+    private Radius radiusView;
+    private Theta thetaView;
+    private Phi phiView;
 
     /**
      * Creates a new SphericalUnit with the given radius, theta, and phi.
@@ -22,9 +27,9 @@ public class SphericalUnit {
      * @param phi    The phi of the unit.
      */
     public SphericalUnit(double radius, double theta, double phi) {
-        this.radius = () -> radius;
-        this.theta = () -> theta;
-        this.phi = () -> phi;
+        this.radius = radius;
+        this.theta = theta;
+        this.phi = phi;
     }
 
     /**
@@ -37,7 +42,10 @@ public class SphericalUnit {
      * @see Radius
      */
     public Radius getRadius() {
-        return this.radius;
+        if (this.radiusView == null) {
+            this.radiusView = Radius.of(this.radius);
+        }
+        return this.radiusView;
     }
 
     /**
@@ -50,7 +58,10 @@ public class SphericalUnit {
      * @see Theta
      */
     public Theta getTheta() {
-        return this.theta;
+        if (this.thetaView == null) {
+            this.thetaView = Theta.of(this.theta);
+        }
+        return this.thetaView;
     }
 
     /**
@@ -63,7 +74,10 @@ public class SphericalUnit {
      * @see Phi
      */
     public Phi getPhi() {
-        return this.phi;
+        if (this.phiView == null) {
+            this.phiView = Phi.of(this.phi);
+        }
+        return this.phiView;
     }
 
     /**
@@ -73,7 +87,7 @@ public class SphericalUnit {
      * @return The radius of the unit.
      */
     public double radius() {
-        return this.radius.length();
+        return this.radius;
     }
 
     /**
@@ -83,7 +97,7 @@ public class SphericalUnit {
      * @return The theta of the unit.
      */
     public double theta() {
-        return this.theta.getZenith();
+        return this.theta;
     }
 
     /**
@@ -93,32 +107,28 @@ public class SphericalUnit {
      * @return The phi of the unit.
      */
     public double phi() {
-        return this.phi.getAzimuth();
+        return this.phi;
     }
 
     /**
      * Returns the adjacent side of the unit.
      * <p>
-     * This is calculated from a translation to Cartesian units,
-     * and returning the X value.
+     * This is the X value of the unit's translation to Cartesian units.
      *
      * @return The adjacent side of the unit.
      */
     public double adjacent() {
-        CartesianUnit unit = Polarizer.toCartesianUnit(this);
-        return unit.getPoint3D().getX().get();
+        return this.radius * Math.sin(this.theta) * Math.cos(this.phi);
     }
 
     /**
      * Returns the opposite side of the unit.
      * <p>
-     * This is calculated from a translation to Cartesian units,
-     * and returning the Z value.
+     * This is the Z value of the unit's translation to Cartesian units.
      *
      * @return The opposite side of the unit.
      */
     public double opposite() {
-        CartesianUnit unit = Polarizer.toCartesianUnit(this);
-        return unit.getPoint3D().getZ().get();
+        return this.radius * Math.sin(this.theta) * Math.sin(this.phi);
     }
 }
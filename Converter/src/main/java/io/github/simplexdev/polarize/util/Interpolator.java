@@ -3,6 +3,10 @@ package io.github.simplexdev.polarize.util;
 import io.github.simplexdev.polarize.api.spatial.IScalar;
 import io.github.simplexdev.polarize.api.spatial.IVector;
 import io.github.simplexdev.polarize.cartesian.CartesianUnit;
+import io.github.simplexdev.polarize.cartesian.PointBuffer;
+import io.github.simplexdev.polarize.jfr.ShapeGenerationEvent;
+import io.github.simplexdev.polarize.math.BinaryAngle;
+import io.github.simplexdev.polarize.metrics.Metrics;
 import io.github.simplexdev.polarize.polar.PolarUnit;
 import io.github.simplexdev.polarize.polar.SphericalUnit;
 
@@ -44,6 +48,7 @@ public class Interpolator {
      * @see IVector
      */
     public static Set<CartesianUnit> cartesian45(IVector vector, double step) {
+        ShapeGenerationEvent event = ShapeGenerationEvent.start("cartesian-45");
         Set<CartesianUnit> unitSet = new HashSet<>();
 
         for (int i = 0; i <= Utilities.RADIAN_45; i += step) {
@@ -53,6 +58,8 @@ public class Interpolator {
             }
         }
 
+        Metrics.POINTS_CARTESIAN.add(unitSet.size());
+        ShapeGenerationEvent.finish(event, unitSet.size());
         return unitSet;
     }
 
@@ -70,6 +77,7 @@ public class Interpolator {
      * @see IVector
      */
     public static Set<CartesianUnit> cartesian90(IVector vector, double step) {
+        ShapeGenerationEvent event = ShapeGenerationEvent.start("cartesian-90");
         Set<CartesianUnit> unitSet = new HashSet<>();
 
         for (int i = 0; i <= Utilities.RADIAN_90; i += step) {
@@ -79,6 +87,8 @@ public class Interpolator {
             }
         }
 
+        Metrics.POINTS_CARTESIAN.add(unitSet.size());
+        ShapeGenerationEvent.finish(event, unitSet.size());
         return unitSet;
     }
 
@@ -96,6 +106,7 @@ public class Interpolator {
      * @see IVector
      */
     public static Set<CartesianUnit> cartesian180(IVector vector, double step) {
+        ShapeGenerationEvent event = ShapeGenerationEvent.start("cartesian-180");
         Set<CartesianUnit> unitSet = new HashSet<>();
 
         for (int i = 0; i <= Utilities.RADIAN_180; i += step) {
@@ -105,6 +116,8 @@ public class Interpolator {
             }
         }
 
+        Metrics.POINTS_CARTESIAN.add(unitSet.size());
+        ShapeGenerationEvent.finish(event, unitSet.size());
         return unitSet;
     }
 
@@ -122,6 +135,7 @@ public class Interpolator {
      * @see IVector
      */
     public static Set<CartesianUnit> cartesian270(IVector vector, double step) {
+        ShapeGenerationEvent event = ShapeGenerationEvent.start("cartesian-270");
         Set<CartesianUnit> unitSet = new HashSet<>();
 
         for (int i = 0; i <= Utilities.RADIAN_270; i += step) {
@@ -131,6 +145,8 @@ public class Interpolator {
             }
         }
 
+        Metrics.POINTS_CARTESIAN.add(unitSet.size());
+        ShapeGenerationEvent.finish(event, unitSet.size());
         return unitSet;
     }
 
@@ -148,6 +164,7 @@ public class Interpolator {
      * @see IVector
      */
     public static Set<CartesianUnit> cartesian360(IVector vector, double step) {
+        ShapeGenerationEvent event = ShapeGenerationEvent.start("cartesian-360");
         Set<CartesianUnit> unitSet = new HashSet<>();
 
         for (int i = 0; i <= Utilities.RADIAN_360; i += step) {
@@ -157,6 +174,8 @@ public class Interpolator {
             }
         }
 
+        Metrics.POINTS_CARTESIAN.add(unitSet.size());
+        ShapeGenerationEvent.finish(event, unitSet.size());
         return unitSet;
     }
 
@@ -175,6 +194,7 @@ public class Interpolator {
      * @see IScalar
      */
     public static Set<PolarUnit> polarSet45(IScalar scalar, double step) {
+        ShapeGenerationEvent event = ShapeGenerationEvent.start("polar-set-45");
         Set<PolarUnit> unitSet = new HashSet<>();
 
         for (int i = 0; i <= Utilities.RADIAN_45; i += step) {
@@ -182,6 +202,8 @@ public class Interpolator {
             unitSet.add(unit);
         }
 
+        Metrics.POINTS_POLAR.add(unitSet.size());
+        ShapeGenerationEvent.finish(event, unitSet.size());
         return unitSet;
     }
 
@@ -200,6 +222,7 @@ public class Interpolator {
      * @see IScalar
      */
     public static Set<PolarUnit> polarSet90(IScalar scalar, double step) {
+        ShapeGenerationEvent event = ShapeGenerationEvent.start("polar-set-90");
         Set<PolarUnit> unitSet = new HashSet<>();
 
         for (int i = 0; i <= Utilities.RADIAN_90; i += step) {
@@ -207,6 +230,8 @@ public class Interpolator {
             unitSet.add(unit);
         }
 
+        Metrics.POINTS_POLAR.add(unitSet.size());
+        ShapeGenerationEvent.finish(event, unitSet.size());
         return unitSet;
     }
 
@@ -225,6 +250,7 @@ public class Interpolator {
      * @see IScalar
      */
     public static Set<PolarUnit> polarSet180(IScalar scalar, double step) {
+        ShapeGenerationEvent event = ShapeGenerationEvent.start("polar-set-180");
         Set<PolarUnit> unitSet = new HashSet<>();
 
         for (int i = 0; i <= Utilities.RADIAN_180; i += step) {
@@ -232,6 +258,8 @@ public class Interpolator {
             unitSet.add(unit);
         }
 
+        Metrics.POINTS_POLAR.add(unitSet.size());
+        ShapeGenerationEvent.finish(event, unitSet.size());
         return unitSet;
     }
 
@@ -250,6 +278,7 @@ public class Interpolator {
      * @see IScalar
      */
     public static Set<PolarUnit> polarSet270(IScalar scalar, double step) {
+        ShapeGenerationEvent event = ShapeGenerationEvent.start("polar-set-270");
         Set<PolarUnit> unitSet = new HashSet<>();
 
         for (int i = 0; i <= Utilities.RADIAN_270; i += step) {
@@ -257,6 +286,8 @@ public class Interpolator {
             unitSet.add(unit);
         }
 
+        Metrics.POINTS_POLAR.add(unitSet.size());
+        ShapeGenerationEvent.finish(event, unitSet.size());
         return unitSet;
     }
 
@@ -275,6 +306,7 @@ public class Interpolator {
      * @see IScalar
      */
     public static Set<PolarUnit> polarSet360(IScalar scalar, double step) {
+        ShapeGenerationEvent event = ShapeGenerationEvent.start("polar-set-360");
         Set<PolarUnit> unitSet = new HashSet<>();
 
         for (int i = 0; i < Utilities.RADIAN_360; i += step) {
@@ -282,6 +314,8 @@ public class Interpolator {
             unitSet.add(unit);
         }
 
+        Metrics.POINTS_POLAR.add(unitSet.size());
+        ShapeGenerationEvent.finish(event, unitSet.size());
         return unitSet;
     }
 
@@ -300,6 +334,7 @@ public class Interpolator {
      * @see IScalar
      */
     public static Set<SphericalUnit> sphericalUnit45(IScalar scalar, double step) {
+        ShapeGenerationEvent event = ShapeGenerationEvent.start("spherical-unit-45");
         Set<SphericalUnit> unitSet = new HashSet<>();
 
         for (int i = 0; i <= Utilities.RADIAN_45; i += step) {
@@ -309,6 +344,8 @@ public class Interpolator {
             }
         }
 
+        Metrics.POINTS_SPHERICAL.add(unitSet.size());
+        ShapeGenerationEvent.finish(event, unitSet.size());
         return unitSet;
     }
 
@@ -327,6 +364,7 @@ public class Interpolator {
      * @see IScalar
      */
     public static Set<SphericalUnit> sphericalUnit90(IScalar scalar, double step) {
+        ShapeGenerationEvent event = ShapeGenerationEvent.start("spherical-unit-90");
         Set<SphericalUnit> unitSet = new HashSet<>();
 
         for (int i = 0; i <= Utilities.RADIAN_90; i += step) {
@@ -336,6 +374,8 @@ public class Interpolator {
             }
         }
 
+        Metrics.POINTS_SPHERICAL.add(unitSet.size());
+        ShapeGenerationEvent.finish(event, unitSet.size());
         return unitSet;
     }
 
@@ -354,6 +394,7 @@ public class Interpolator {
      * @see IScalar
      */
     public static Set<SphericalUnit> sphericalUnit180(IScalar scalar, double step) {
+        ShapeGenerationEvent event = ShapeGenerationEvent.start("spherical-unit-180");
         Set<SphericalUnit> unitSet = new HashSet<>();
 
         for (int i = 0; i <= Utilities.RADIAN_180; i += step) {
@@ -363,6 +404,8 @@ public class Interpolator {
             }
         }
 
+        Metrics.POINTS_SPHERICAL.add(unitSet.size());
+        ShapeGenerationEvent.finish(event, unitSet.size());
         return unitSet;
     }
 
@@ -381,6 +424,7 @@ public class Interpolator {
      * @see IScalar
      */
     public static Set<SphericalUnit> sphericalUnit270(IScalar scalar, double step) {
+        ShapeGenerationEvent event = ShapeGenerationEvent.start("spherical-unit-270");
         Set<SphericalUnit> unitSet = new HashSet<>();
 
         for (int i = 0; i <= Utilities.RADIAN_270; i += step) {
@@ -390,6 +434,8 @@ public class Interpolator {
             }
         }
 
+        Metrics.POINTS_SPHERICAL.add(unitSet.size());
+        ShapeGenerationEvent.finish(event, unitSet.size());
         return unitSet;
     }
 
@@ -408,6 +454,7 @@ public class Interpolator {
      * @see IScalar
      */
     public static Set<SphericalUnit> sphericalUnit360(IScalar scalar, double step) {
+        ShapeGenerationEvent event = ShapeGenerationEvent.start("spherical-unit-360");
         Set<SphericalUnit> unitSet = new HashSet<>();
 
         for (int i = 0; i < Utilities.RADIAN_360; i += step) {
@@ -417,6 +464,41 @@ public class Interpolator {
             }
         }
 
+        Metrics.POINTS_SPHERICAL.add(unitSet.size());
+        ShapeGenerationEvent.finish(event, unitSet.size());
         return unitSet;
     }
+
+    /**
+     * Appends points swept around a circle in the xz-plane to the buffer.
+     * The points are at {@code x = r sin(angle)} and {@code z = r cos(angle)}, matching polar units.
+     * <p>
+     * The angle is stepped as a {@link BinaryAngle}, so a sweep of any length wraps around exactly
+     * and never drifts, and the sine and cosine are read from its table.
+     *
+     * @param radius the radius of the circle.
+     * @param y      the y coordinate of every point.
+     * @param start  the angle of the first point.
+     * @param step   the angle between consecutive points.
+     * @param count  the number of points to append.
+     * @param out    the buffer to append the points to.
+     * @return the angle after the last point, which can start the next sweep.
+     */
+    public static BinaryAngle sweep(double radius, double y, BinaryAngle start, BinaryAngle step, int count,
+                                    PointBuffer out) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Count cannot be negative: " + count);
+        }
+        ShapeGenerationEvent event = ShapeGenerationEvent.start("sweep");
+        out.ensureCapacity(out.size() + count);
+        int angle = start.getBits();
+        int increment = step.getBits();
+        for (int i = 0; i < count; i++) {
+            out.add(radius * BinaryAngle.sin(angle), y, radius * BinaryAngle.cos(angle));
+            angle += increment;
+        }
+        Metrics.POINTS_SWEEP.add(count);
+        ShapeGenerationEvent.finish(event, count);
+        return BinaryAngle.of(angle);
+    }
 }
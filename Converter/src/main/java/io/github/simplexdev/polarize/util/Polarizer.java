@@ -10,8 +10,11 @@ import io.github.simplexdev.polarize.api.units.Phi;
 import io.github.simplexdev.polarize.api.units.Radius;
 import io.github.simplexdev.polarize.api.units.Theta;
 import io.github.simplexdev.polarize.cartesian.CartesianUnit;
+import io.github.simplexdev.polarize.cartesian.PointBuffer;
+import io.github.simplexdev.polarize.jfr.TransformationEvent;
 import io.github.simplexdev.polarize.math.AxisAngle;
 import io.github.simplexdev.polarize.math.Quaternion;
+import io.github.simplexdev.polarize.metrics.Metrics;
 import io.github.simplexdev.polarize.polar.PolarUnit;
 import io.github.simplexdev.polarize.polar.SphericalUnit;
 
@@ -274,6 +277,71 @@ public class Polarizer {
         return new SphericalUnit(radius, theta, phi);
     }
 
+    /**
+     * Converts spherical coordinates stored in parallel arrays to Cartesian coordinates, appending them to a buffer.
+     * <p>
+     * This is the bulk counterpart of {@link #toCartesianUnit(double, double, double)}, and uses the same formula.
+     * No object is created per point.
+     *
+     * @param radius the radii of the spherical coordinates
+     * @param theta  the theta angles in radians of the spherical coordinates
+     * @param phi    the phi angles in radians of the spherical coordinates
+     * @param count  the number of coordinates to convert, starting at index 0
+     * @param out    the buffer to append the Cartesian coordinates to
+     */
+    public static void toCartesian(double[] radius, double[] theta, double[] phi, int count, PointBuffer out) {
+        if (count < 0 || count > radius.length || count > theta.length || count > phi.length) {
+            throw new IllegalArgumentException("Count " + count + " out of range for the given arrays.");
+        }
+        TransformationEvent event = TransformationEvent.start("toCartesian", count);
+        long start = Metrics.TIME_TO_CARTESIAN_BULK.start();
+        out.ensureCapacity(out.size() + count);
+        for (int i = 0; i < count; i++) {
+            double sinTheta = Math.sin(theta[i]);
+            double x = radius[i] * sinTheta * Math.cos(phi[i]);
+            double y = radius[i] * Math.cos(theta[i]);
+            double z = radius[i] * sinTheta * Math.sin(phi[i]);
+            out.add(x, y, z);
+        }
+        Metrics.TIME_TO_CARTESIAN_BULK.stop(start);
+        TransformationEvent.finish(event);
+    }
+
+    /**
+     * Converts the Cartesian coordinates of every point in a buffer to spherical coordinates,
+     * storing them in parallel arrays.
+     * <p>
+     * This is the bulk counterpart of {@link #toSphericalUnit(double, double, double)}, and uses the same formula.
+     * No object is created per point.
+     *
+     * @param points the points to convert
+     * @param radius the array to store the radii in, at least as long as the buffer
+     * @param theta  the array to store the theta angles in, at least as long as the buffer
+     * @param phi    the array to store the phi angles in, at least as long as the buffer
+     */
+    public static void toSpherical(PointBuffer points, double[] radius, double[] theta, double[] phi) {
+        int count = points.size();
+        if (count > radius.length || count > theta.length || count > phi.length) {
+            throw new IllegalArgumentException("The given arrays cannot hold " + count + " coordinates.");
+        }
+        TransformationEvent event = TransformationEvent.start("toSpherical", count);
+        long start = Metrics.TIME_TO_SPHERICAL_BULK.start();
+        double[] xs = points.xArray();
+        double[] ys = points.yArray();
+        double[] zs = points.zArray();
+        for (int i = 0; i < count; i++) {
+            double x = xs[i];
+            double y = ys[i];
+            double z = zs[i];
+            double r = Math.sqrt(x * x + y * y + z * z);
+            radius[i] = r;
+            theta[i] = Math.acos(y / r);
+            phi[i] = Math.atan2(x, z);
+        }
+        Metrics.TIME_TO_SPHERICAL_BULK.stop(start);
+        TransformationEvent.finish(event);
+    }
+
     /**
      * Converts the given {@link IQuaternion} to an {@link IAxisAngle}.
      * <p>
@@ -6,7 +6,11 @@ import io.github.simplexdev.polarize.api.spatial.IPoint3D;
 import io.github.simplexdev.polarize.api.units.Point;
 import io.github.simplexdev.polarize.cartesian.Point2D;
 import io.github.simplexdev.polarize.cartesian.Point3D;
+import io.github.simplexdev.polarize.cartesian.PointBuffer;
+import io.github.simplexdev.polarize.jfr.TransformationEvent;
+import io.github.simplexdev.polarize.math.BinaryAngle;
 import io.github.simplexdev.polarize.math.Quaternion;
+import io.github.simplexdev.polarize.metrics.Metrics;
 import io.github.simplexdev.polarize.polar.Delta;
 import io.github.simplexdev.polarize.polar.PolarUnit;
 import io.github.simplexdev.polarize.polar.SphericalUnit;
@@ -105,6 +109,89 @@ public class Rotator {
         return Point.fromDouble(xRot, yRot, zRot);
     }
 
+    /**
+     * Rotates a point in 3d space by a binary angle.
+     * The returned result is a point in 3d space represented by {@link IPoint3D}.
+     * This will rotate the point around the x-axis.
+     *
+     * @param point the point to rotate.
+     * @param angle the angle to rotate the point by.
+     * @return the rotated point.
+     */
+    public static IPoint3D rotateX(IPoint3D point, BinaryAngle angle) {
+        double cos = angle.cos();
+        double sin = angle.sin();
+        double x = point.getX().get();
+        double y = point.getY().multiply(cos) - point.getZ().multiply(sin);
+        double z = point.getY().multiply(sin) + point.getZ().multiply(cos);
+
+        return Point.fromDouble(x, y, z);
+    }
+
+    /**
+     * Rotates a point in 3d space by a binary angle.
+     * The returned result is a point in 3d space represented by {@link IPoint3D}.
+     * This will rotate the point around the y-axis.
+     *
+     * @param point the point to rotate.
+     * @param angle the angle to rotate the point by.
+     * @return the rotated point.
+     */
+    public static IPoint3D rotateY(IPoint3D point, BinaryAngle angle) {
+        double cos = angle.cos();
+        double sin = angle.sin();
+        double x = point.getX().multiply(cos) - point.getZ().multiply(sin);
+        double y = point.getY().get();
+        double z = point.getX().multiply(sin) + point.getZ().multiply(cos);
+
+        return Point.fromDouble(x, y, z);
+    }
+
+    /**
+     * Rotates a point in 3d space by a binary angle.
+     * The returned result is a point in 3d space represented by {@link IPoint3D}.
+     * This will rotate the point around the z-axis.
+     *
+     * @param point the point to rotate.
+     * @param angle the angle to rotate the point by.
+     * @return the rotated point.
+     */
+    public static IPoint3D rotateZ(IPoint3D point, BinaryAngle angle) {
+        double cos = angle.cos();
+        double sin = angle.sin();
+        double x = point.getX().multiply(cos) - point.getY().multiply(sin);
+        double y = point.getX().multiply(sin) + point.getY().multiply(cos);
+        double z = point.getZ().get();
+
+        return Point.fromDouble(x, y, z);
+    }
+
+    /**
+     * Rotates every point of a buffer in place by a binary angle around the y-axis,
+     * which is the axis shapes usually spin around.
+     * <p>
+     * The sine and cosine are looked up once for the whole buffer.
+     *
+     * @param points the points to rotate.
+     * @param angle  the angle to rotate the points by.
+     */
+    public static void rotateY(PointBuffer points, BinaryAngle angle) {
+        TransformationEvent event = TransformationEvent.start("rotateY", points.size());
+        long start = Metrics.TIME_ROTATE_BULK.start();
+        double cos = angle.cos();
+        double sin = angle.sin();
+        double[] x = points.xArray();
+        double[] z = points.zArray();
+        for (int i = 0; i < points.size(); i++) {
+            double px = x[i];
+            double pz = z[i];
+            x[i] = px * cos - pz * sin;
+            z[i] = px * sin + pz * cos;
+        }
+        Metrics.TIME_ROTATE_BULK.stop(start);
+        TransformationEvent.finish(event);
+    }
+
     /**
      * Rotates a point in 2d space using spherical units.
      * The returned result is a point in 2d space represented by {@link IPoint2D}.
@@ -156,6 +243,22 @@ public class Rotator {
         return Point.fromDouble(x, z);
     }
 
+    /**
+     * Rotates a point in 2d space by a binary angle.
+     * The returned result is a point in 2d space represented by {@link IPoint2D}.
+     *
+     * @param point the point to rotate.
+     * @param angle the angle to rotate the point by.
+     * @return the rotated point.
+     */
+    public static IPoint2D rotate(IPoint2D point, BinaryAngle angle) {
+        double cos = angle.cos();
+        double sin = angle.sin();
+        double x = point.getX().multiply(cos) - point.getZ().multiply(sin);
+        double z = point.getX().multiply(sin) + point.getZ().multiply(cos);
+        return Point.fromDouble(x, z);
+    }
+
     /**
      * Rotates a point in 3d space using a quaternion.
      * The returned result is a point in 3d space represented by {@link IPoint3D}.
@@ -0,0 +1,326 @@
+package io.github.simplexdev.polarize.voxel;
+
+import java.util.Arrays;
+
+/**
+ * A dense bitset of voxel (block) cells inside a fixed, axis-aligned box.
+ * <p>
+ * Each cell is a single bit, so a grid of 64 x 64 x 64 blocks needs only 32 KiB, and adding
+ * the same cell twice is a no-op. This makes the grid a cheap replacement for deduplicating
+ * block positions through a {@code HashSet}.
+ * <p>
+ * Cells are laid out with Y as the fastest-varying axis. Vertical runs of cells, which is what
+ * the {@link Voxelizer} produces for every column of a sphere or cylinder, are therefore filled
+ * a whole word at a time with {@link #addColumn(int, int, int, int)}.
+ * <p>
+ * Cells outside the bounds of the grid are ignored by every mutating method.
+ * <p>
+ * This class is not thread-safe.
+ *
+ * @see Voxelizer
+ * @see VoxelSet
+ */
+public final class VoxelGrid implements VoxelTarget {
+    private final int minX;
+    private final int minY;
+    private final int minZ;
+    private final int sizeX;
+    private final int sizeY;
+    private final int sizeZ;
+    private final long[] words;
+    private int cardinality;
+
+    /**
+     * Creates a new, empty VoxelGrid covering the given box of cells.
+     *
+     * @param minX  the smallest x coordinate inside the grid.
+     * @param minY  the smallest y coordinate inside the grid.
+     * @param minZ  the smallest z coordinate inside the grid.
+     * @param sizeX the number of cells along the x-axis.
+     * @param sizeY the number of cells along the y-axis.
+     * @param sizeZ the number of cells along the z-axis.
+     */
+    public VoxelGrid(int minX, int minY, int minZ, int sizeX, int sizeY, int sizeZ) {
+        if (sizeX < 0 || sizeY < 0 || sizeZ < 0) {
+            throw new IllegalArgumentException("Grid dimensions cannot be negative.");
+        }
+        long cells = (long) sizeX * sizeY * sizeZ;
+        if (cells > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Grid of " + cells + " cells is too large.");
+        }
+        this.minX = minX;
+        this.minY = minY;
+        this.minZ = minZ;
+        this.sizeX = sizeX;
+        this.sizeY = sizeY;
+        this.sizeZ = sizeZ;
+        this.words = new long[(int) ((cells + 63) >>> 6)];
+    }
+
+    /**
+     * Creates a new, empty VoxelGrid that covers every cell touched by the given box.
+     *
+     * @param minX the smallest x coordinate of the box.
+     * @param minY the smallest y coordinate of the box.
+     * @param minZ the smallest z coordinate of the box.
+     * @param maxX the largest x coordinate of the box.
+     * @param maxY the largest y coordinate of the box.
+     * @param maxZ the largest z coordinate of the box.
+     * @return a new VoxelGrid large enough to hold the box.
+     */
+    public static VoxelGrid bounding(double minX, double minY, double minZ,
+                                     double maxX, double maxY, double maxZ) {
+        int x0 = (int) Math.floor(minX);
+        int y0 = (int) Math.floor(minY);
+        int z0 = (int) Math.floor(minZ);
+        return new VoxelGrid(x0, y0, z0,
+                (int) Math.floor(maxX) - x0 + 1,
+                (int) Math.floor(maxY) - y0 + 1,
+                (int) Math.floor(maxZ) - z0 + 1);
+    }
+
+    /**
+     * Creates a new, empty VoxelGrid that covers every cell touched by a sphere.
+     *
+     * @param cx     the x coordinate of the sphere's center.
+     * @param cy     the y coordinate of the sphere's center.
+     * @param cz     the z coordinate of the sphere's center.
+     * @param radius the radius of the sphere.
+     * @return a new VoxelGrid large enough to hold the sphere.
+     */
+    public static VoxelGrid bounding(double cx, double cy, double cz, double radius) {
+        return bounding(cx - radius, cy - radius, cz - radius, cx + radius, cy + radius, cz + radius);
+    }
+
+    /**
+     * Adds a single cell to this grid.
+     *
+     * @param x the x coordinate of the cell.
+     * @param y the y coordinate of the cell.
+     * @param z the z coordinate of the cell.
+     * @return true if the cell was inside the grid and was not already set.
+     */
+    @Override
+    public boolean add(int x, int y, int z) {
+        if (!inBounds(x, y, z)) {
+            return false;
+        }
+        int index = index(x, y, z);
+        long mask = 1L << index;
+        long word = words[index >>> 6];
+        if ((word & mask) != 0) {
+            return false;
+        }
+        words[index >>> 6] = word | mask;
+        cardinality++;
+        return true;
+    }
+
+    /**
+     * Adds a vertical run of cells, from {@code fromY} to {@code toY} inclusive, to this grid.
+     * The run is clipped to the bounds of the grid.
+     *
+     * @param x     the x coordinate of the column.
+     * @param z     the z coordinate of the column.
+     * @param fromY the lowest y coordinate of the run.
+     * @param toY   the highest y coordinate of the run.
+     */
+    @Override
+    public void addColumn(int x, int z, int fromY, int toY) {
+        if (x < minX || x >= minX + sizeX || z < minZ || z >= minZ + sizeZ) {
+            return;
+        }
+        int from = Math.max(fromY, minY);
+        int to = Math.min(toY, minY + sizeY - 1);
+        if (from > to) {
+            return;
+        }
+        int start = index(x, from, z);
+        int end = start + (to - from) + 1;
+
+        int startWord = start >>> 6;
+        int endWord = (end - 1) >>> 6;
+        long firstMask = -1L << start;
+        long lastMask = -1L >>> -end;
+
+        if (startWord == endWord) {
+            setBits(startWord, firstMask & lastMask);
+            return;
+        }
+        setBits(startWord, firstMask);
+        for (int i = startWord + 1; i < endWord; i++) {
+            setBits(i, -1L);
+        }
+        setBits(endWord, lastMask);
+    }
+
+    /**
+     * Removes a single cell from this grid.
+     *
+     * @param x the x coordinate of the cell.
+     * @param y the y coordinate of the cell.
+     * @param z the z coordinate of the cell.
+     * @return true if the cell was set before this call.
+     */
+    public boolean remove(int x, int y, int z) {
+        if (!inBounds(x, y, z)) {
+            return false;
+        }
+        int index = index(x, y, z);
+        long mask = 1L << index;
+        long word = words[index >>> 6];
+        if ((word & mask) == 0) {
+            return false;
+        }
+        words[index >>> 6] = word & ~mask;
+        cardinality--;
+        return true;
+    }
+
+    /**
+     * Returns whether the given cell is set in this grid.
+     *
+     * @param x the x coordinate of the cell.
+     * @param y the y coordinate of the cell.
+     * @param z the z coordinate of the cell.
+     * @return true if the cell is inside the grid and set.
+     */
+    public boolean contains(int x, int y, int z) {
+        if (!inBounds(x, y, z)) {
+            return false;
+        }
+        int index = index(x, y, z);
+        return (words[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Returns whether the given cell lies inside the bounds of this grid.
+     *
+     * @param x the x coordinate of the cell.
+     * @param y the y coordinate of the cell.
+     * @param z the z coordinate of the cell.
+     * @return true if the cell lies inside the grid.
+     */
+    public boolean inBounds(int x, int y, int z) {
+        return x >= minX && x < minX + sizeX
+                && y >= minY && y < minY + sizeY
+                && z >= minZ && z < minZ + sizeZ;
+    }
+
+    /**
+     * Visits every set cell of this grid, ordered by x, then z, then y.
+     * Iteration skips empty words entirely, so sparse grids are cheap to walk.
+     *
+     * @param visitor the visitor to call for each set cell.
+     * @return true if every cell was visited, false if the visitor stopped early.
+     */
+    public boolean forEach(VoxelVisitor visitor) {
+        for (int w = 0; w < words.length; w++) {
+            long word = words[w];
+            while (word != 0) {
+                int index = (w << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+
+                int column = index / sizeY;
+                int y = index - column * sizeY;
+                int x = column / sizeZ;
+                int z = column - x * sizeZ;
+                if (!visitor.visit(x + minX, y + minY, z + minZ)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of set cells in this grid.
+     *
+     * @return the number of set cells.
+     */
+    public int cardinality() {
+        return cardinality;
+    }
+
+    /**
+     * Returns whether this grid has no set cells.
+     *
+     * @return true if this grid is empty.
+     */
+    public boolean isEmpty() {
+        return cardinality == 0;
+    }
+
+    /**
+     * Removes every cell from this grid.
+     */
+    public void clear() {
+        Arrays.fill(words, 0L);
+        cardinality = 0;
+    }
+
+    /**
+     * Returns the smallest x coordinate inside this grid.
+     *
+     * @return the smallest x coordinate inside this grid.
+     */
+    public int getMinX() {
+        return minX;
+    }
+
+    /**
+     * Returns the smallest y coordinate inside this grid.
+     *
+     * @return the smallest y coordinate inside this grid.
+     */
+    public int getMinY() {
+        return minY;
+    }
+
+    /**
+     * Returns the smallest z coordinate inside this grid.
+     *
+     * @return the smallest z coordinate inside this grid.
+     */
+    public int getMinZ() {
+        return minZ;
+    }
+
+    /**
+     * Returns the number of cells along the x-axis.
+     *
+     * @return the number of cells along the x-axis.
+     */
+    public int getSizeX() {
+        return sizeX;
+    }
+
+    /**
+     * Returns the number of cells along the y-axis.
+     *
+     * @return the number of cells along the y-axis.
+     */
+    public int getSizeY() {
+        return sizeY;
+    }
+
+    /**
+     * Returns the number of cells along the z-axis.
+     *
+     * @return the number of cells along the z-axis.
+     */
+    public int getSizeZ() {
+        return sizeZ;
+    }
+
+    private void setBits(int wordIndex, long mask) {
+        long word = words[wordIndex];
+        long updated = word | mask;
+        cardinality += Long.bitCount(updated) - Long.bitCount(word);
+        words[wordIndex] = updated;
+    }
+
+    private int index(int x, int y, int z) {
+        return ((x - minX) * sizeZ + (z - minZ)) * sizeY + (y - minY);
+    }
+}
@@ -0,0 +1,539 @@
+package io.github.simplexdev.polarize.voxel;
+
+import java.util.Arrays;
+
+/**
+ * An unbounded, compressed set of voxel (block) cells, suited to constructive solid geometry.
+ * <p>
+ * Space is divided into regions of 16 x 16 x 16 cells. Only regions which contain at least one
+ * cell are stored, each as a 4096-bit bitmap, and the regions are kept sorted by key in the
+ * style of a Roaring bitmap. This has two consequences:
+ * <ul>
+ *     <li>{@link #union}, {@link #intersection}, {@link #difference} and {@link #xor} walk both
+ *     sets in key order and combine matching regions 64 cells at a time. Regions present in only
+ *     one set are copied or skipped without looking at their bits.</li>
+ *     <li>{@link #cardinality()} is tracked as regions change, and {@link #getMinX()} and the
+ *     other bounds are computed from per-region bit masks and cached until the set changes.</li>
+ * </ul>
+ * Within a region, cells are laid out with Y as the fastest-varying axis, the same as {@link VoxelGrid},
+ * so {@link #addColumn(int, int, int, int)} sets up to 16 cells with a single mask.
+ * <p>
+ * Shapes can be rasterized directly into a VoxelSet with the {@link Voxelizer}. For example, a hollow
+ * dome with a door cut out of it is the difference of a shell and a cylinder.
+ * <p>
+ * This class is not thread-safe.
+ *
+ * @see <a href="https://roaringbitmap.org/">Roaring Bitmaps</a>
+ */
+public final class VoxelSet implements VoxelTarget {
+    private static final int REGION_SHIFT = 4;
+    private static final int REGION_MASK = (1 << REGION_SHIFT) - 1;
+    private static final int REGION_WORDS = 64;
+
+    private static final int OR = 0;
+    private static final int AND = 1;
+    private static final int AND_NOT = 2;
+    private static final int XOR = 3;
+
+    private long[] keys;
+    private long[][] regions;
+    private int[] counts;
+    private int size;
+    private long cardinality;
+    private int lastIndex;
+
+    private boolean boundsValid;
+    private int minX;
+    private int minY;
+    private int minZ;
+    private int maxX;
+    private int maxY;
+    private int maxZ;
+
+    /**
+     * Creates a new, empty VoxelSet.
+     */
+    public VoxelSet() {
+        this(8);
+    }
+
+    private VoxelSet(int regionCapacity) {
+        this.keys = new long[regionCapacity];
+        this.regions = new long[regionCapacity][];
+        this.counts = new int[regionCapacity];
+    }
+
+    /**
+     * Creates a new VoxelSet containing every set cell of the given grid.
+     *
+     * @param grid the grid to copy cells from.
+     * @return a new VoxelSet with the same cells as the grid.
+     */
+    public static VoxelSet of(VoxelGrid grid) {
+        VoxelSet set = new VoxelSet();
+        grid.forEach((x, y, z) -> {
+            set.add(x, y, z);
+            return true;
+        });
+        return set;
+    }
+
+    @Override
+    public boolean add(int x, int y, int z) {
+        long[] region = regionFor(key(x, y, z));
+        int bit = bit(x, y, z);
+        long mask = 1L << bit;
+        long word = region[bit >>> 6];
+        if ((word & mask) != 0) {
+            return false;
+        }
+        region[bit >>> 6] = word | mask;
+        counts[lastIndex]++;
+        cardinality++;
+        boundsValid = false;
+        return true;
+    }
+
+    @Override
+    public void addColumn(int x, int z, int fromY, int toY) {
+        int y = fromY;
+        while (y <= toY) {
+            int regionTop = (y | REGION_MASK);
+            int end = Math.min(toY, regionTop);
+
+            long[] region = regionFor(key(x, y, z));
+            int bit = bit(x, y, z);
+            int length = end - y + 1;
+            long mask = ((1L << length) - 1) << (bit & 63);
+            long word = region[bit >>> 6];
+            long updated = word | mask;
+            int added = Long.bitCount(updated) - Long.bitCount(word);
+            region[bit >>> 6] = updated;
+            counts[lastIndex] += added;
+            cardinality += added;
+
+            if (end == Integer.MAX_VALUE) {
+                break;
+            }
+            y = end + 1;
+        }
+        boundsValid = false;
+    }
+
+    /**
+     * Removes a single cell from this set.
+     *
+     * @param x the x coordinate of the cell.
+     * @param y the y coordinate of the cell.
+     * @param z the z coordinate of the cell.
+     * @return true if the cell was present before this call.
+     */
+    public boolean remove(int x, int y, int z) {
+        int index = Arrays.binarySearch(keys, 0, size, key(x, y, z));
+        if (index < 0) {
+            return false;
+        }
+        long[] region = regions[index];
+        int bit = bit(x, y, z);
+        long mask = 1L << bit;
+        long word = region[bit >>> 6];
+        if ((word & mask) == 0) {
+            return false;
+        }
+        region[bit >>> 6] = word & ~mask;
+        cardinality--;
+        boundsValid = false;
+        if (--counts[index] == 0) {
+            removeRegion(index);
+        }
+        return true;
+    }
+
+    /**
+     * Returns whether the given cell is present in this set.
+     *
+     * @param x the x coordinate of the cell.
+     * @param y the y coordinate of the cell.
+     * @param z the z coordinate of the cell.
+     * @return true if the cell is present.
+     */
+    public boolean contains(int x, int y, int z) {
+        int index = Arrays.binarySearch(keys, 0, size, key(x, y, z));
+        if (index < 0) {
+            return false;
+        }
+        int bit = bit(x, y, z);
+        return (regions[index][bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    /**
+     * Returns a new set containing every cell present in this set or the other set.
+     *
+     * @param other the other set.
+     * @return the union of the two sets.
+     */
+    public VoxelSet union(VoxelSet other) {
+        return combine(this, other, OR, true, true);
+    }
+
+    /**
+     * Returns a new set containing every cell present in both this set and the other set.
+     *
+     * @param other the other set.
+     * @return the intersection of the two sets.
+     */
+    public VoxelSet intersection(VoxelSet other) {
+        return combine(this, other, AND, false, false);
+    }
+
+    /**
+     * Returns a new set containing every cell present in this set but not in the other set.
+     *
+     * @param other the set of cells to remove.
+     * @return the difference of the two sets.
+     */
+    public VoxelSet difference(VoxelSet other) {
+        return combine(this, other, AND_NOT, true, false);
+    }
+
+    /**
+     * Returns a new set containing every cell present in exactly one of this set and the other set.
+     *
+     * @param other the other set.
+     * @return the symmetric difference of the two sets.
+     */
+    public VoxelSet xor(VoxelSet other) {
+        return combine(this, other, XOR, true, true);
+    }
+
+    /**
+     * Visits every cell of this set, region by region.
+     *
+     * @param visitor the visitor to call for each cell.
+     * @return true if every cell was visited, false if the visitor stopped early.
+     */
+    public boolean forEach(VoxelVisitor visitor) {
+        for (int r = 0; r < size; r++) {
+            long key = keys[r];
+            int baseX = regionX(key) << REGION_SHIFT;
+            int baseY = regionY(key) << REGION_SHIFT;
+            int baseZ = regionZ(key) << REGION_SHIFT;
+            long[] region = regions[r];
+            for (int w = 0; w < REGION_WORDS; w++) {
+                long word = region[w];
+                while (word != 0) {
+                    int bit = (w << 6) + Long.numberOfTrailingZeros(word);
+                    word &= word - 1;
+                    if (!visitor.visit(baseX + (bit >>> 8),
+                            baseY + (bit & REGION_MASK),
+                            baseZ + ((bit >>> 4) & REGION_MASK))) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Copies every cell of this set that lies inside the grid's bounds into the grid.
+     *
+     * @param grid the grid to copy cells into.
+     */
+    public void copyTo(VoxelGrid grid) {
+        forEach((x, y, z) -> {
+            grid.add(x, y, z);
+            return true;
+        });
+    }
+
+    /**
+     * Returns the number of cells in this set.
+     *
+     * @return the number of cells in this set.
+     */
+    public long cardinality() {
+        return cardinality;
+    }
+
+    /**
+     * Returns whether this set contains no cells.
+     *
+     * @return true if this set is empty.
+     */
+    public boolean isEmpty() {
+        return cardinality == 0;
+    }
+
+    /**
+     * Returns the number of 16 x 16 x 16 regions this set currently stores.
+     *
+     * @return the number of stored regions.
+     */
+    public int regionCount() {
+        return size;
+    }
+
+    /**
+     * Removes every cell from this set.
+     */
+    public void clear() {
+        Arrays.fill(regions, 0, size, null);
+        size = 0;
+        cardinality = 0;
+        boundsValid = false;
+    }
+
+    /**
+     * Returns the smallest x coordinate of any cell in this set.
+     *
+     * @return the smallest x coordinate, or 0 if the set is empty.
+     */
+    public int getMinX() {
+        computeBounds();
+        return minX;
+    }
+
+    /**
+     * Returns the smallest y coordinate of any cell in this set.
+     *
+     * @return the smallest y coordinate, or 0 if the set is empty.
+     */
+    public int getMinY() {
+        computeBounds();
+        return minY;
+    }
+
+    /**
+     * Returns the smallest z coordinate of any cell in this set.
+     *
+     * @return the smallest z coordinate, or 0 if the set is empty.
+     */
+    public int getMinZ() {
+        computeBounds();
+        return minZ;
+    }
+
+    /**
+     * Returns the largest x coordinate of any cell in this set.
+     *
+     * @return the largest x coordinate, or 0 if the set is empty.
+     */
+    public int getMaxX() {
+        computeBounds();
+        return maxX;
+    }
+
+    /**
+     * Returns the largest y coordinate of any cell in this set.
+     *
+     * @return the largest y coordinate, or 0 if the set is empty.
+     */
+    public int getMaxY() {
+        computeBounds();
+        return maxY;
+    }
+
+    /**
+     * Returns the largest z coordinate of any cell in this set.
+     *
+     * @return the largest z coordinate, or 0 if the set is empty.
+     */
+    public int getMaxZ() {
+        computeBounds();
+        return maxZ;
+    }
+
+    /**
+     * Merges two sets region by region.
+     *
+     * @param keepLeft  whether regions present only in the left set belong in the result.
+     * @param keepRight whether regions present only in the right set belong in the result.
+     */
+    private static VoxelSet combine(VoxelSet left, VoxelSet right, int operation,
+                                    boolean keepLeft, boolean keepRight) {
+        VoxelSet result = new VoxelSet(Math.max(1, left.size + right.size));
+        int i = 0;
+        int j = 0;
+        while (i < left.size && j < right.size) {
+            long a = left.keys[i];
+            long b = right.keys[j];
+            if (a < b) {
+                if (keepLeft) {
+                    result.append(a, left.regions[i].clone(), left.counts[i]);
+                }
+                i++;
+            } else if (b < a) {
+                if (keepRight) {
+                    result.append(b, right.regions[j].clone(), right.counts[j]);
+                }
+                j++;
+            } else {
+                long[] x = left.regions[i];
+                long[] y = right.regions[j];
+                long[] region = new long[REGION_WORDS];
+                int count = 0;
+                for (int w = 0; w < REGION_WORDS; w++) {
+                    long word;
+                    switch (operation) {
+                        case OR:
+                            word = x[w] | y[w];
+                            break;
+                        case AND:
+                            word = x[w] & y[w];
+                            break;
+                        case AND_NOT:
+                            word = x[w] & ~y[w];
+                            break;
+                        default:
+                            word = x[w] ^ y[w];
+                            break;
+                    }
+                    region[w] = word;
+                    count += Long.bitCount(word);
+                }
+                if (count > 0) {
+                    result.append(a, region, count);
+                }
+                i++;
+                j++;
+            }
+        }
+        for (; keepLeft && i < left.size; i++) {
+            result.append(left.keys[i], left.regions[i].clone(), left.counts[i]);
+        }
+        for (; keepRight && j < right.size; j++) {
+            result.append(right.keys[j], right.regions[j].clone(), right.counts[j]);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the region with the given key, creating it if needed.
+     * The index of the region is stored in {@link #lastIndex}.
+     */
+    private long[] regionFor(long key) {
+        if (lastIndex < size && keys[lastIndex] == key) {
+            return regions[lastIndex];
+        }
+        int index = Arrays.binarySearch(keys, 0, size, key);
+        if (index < 0) {
+            index = -index - 1;
+            insertRegion(index, key);
+        }
+        lastIndex = index;
+        return regions[index];
+    }
+
+    private void insertRegion(int index, long key) {
+        ensureRegionCapacity(size + 1);
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(regions, index, regions, index + 1, size - index);
+        System.arraycopy(counts, index, counts, index + 1, size - index);
+        keys[index] = key;
+        regions[index] = new long[REGION_WORDS];
+        counts[index] = 0;
+        size++;
+    }
+
+    private void removeRegion(int index) {
+        System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+        System.arraycopy(regions, index + 1, regions, index, size - index - 1);
+        System.arraycopy(counts, index + 1, counts, index, size - index - 1);
+        regions[--size] = null;
+    }
+
+    private void append(long key, long[] region, int count) {
+        ensureRegionCapacity(size + 1);
+        keys[size] = key;
+        regions[size] = region;
+        counts[size] = count;
+        size++;
+        cardinality += count;
+    }
+
+    private void ensureRegionCapacity(int capacity) {
+        if (capacity > keys.length) {
+            int length = Math.max(capacity, keys.length * 2);
+            keys = Arrays.copyOf(keys, length);
+            regions = Arrays.copyOf(regions, length);
+            counts = Arrays.copyOf(counts, length);
+        }
+    }
+
+    private void computeBounds() {
+        if (boundsValid) {
+            return;
+        }
+        minX = minY = minZ = Integer.MAX_VALUE;
+        maxX = maxY = maxZ = Integer.MIN_VALUE;
+        for (int r = 0; r < size; r++) {
+            long key = keys[r];
+            long[] region = regions[r];
+
+            // Collapse the region into bit masks of the occupied local x, y and z coordinates.
+            int xMask = 0;
+            int zMask = 0;
+            long yLanes = 0;
+            for (int w = 0; w < REGION_WORDS; w++) {
+                long word = region[w];
+                if (word == 0) {
+                    continue;
+                }
+                yLanes |= word;
+                xMask |= 1 << (w >>> 2);
+                for (int lane = 0; lane < 4; lane++) {
+                    if ((word >>> (lane << 4) & 0xFFFF) != 0) {
+                        zMask |= 1 << (((w & 3) << 2) | lane);
+                    }
+                }
+            }
+            int yMask = (int) ((yLanes | yLanes >>> 16 | yLanes >>> 32 | yLanes >>> 48) & 0xFFFF);
+
+            int baseX = regionX(key) << REGION_SHIFT;
+            int baseY = regionY(key) << REGION_SHIFT;
+            int baseZ = regionZ(key) << REGION_SHIFT;
+            minX = Math.min(minX, baseX + Integer.numberOfTrailingZeros(xMask));
+            maxX = Math.max(maxX, baseX + 31 - Integer.numberOfLeadingZeros(xMask));
+            minY = Math.min(minY, baseY + Integer.numberOfTrailingZeros(yMask));
+            maxY = Math.max(maxY, baseY + 31 - Integer.numberOfLeadingZeros(yMask));
+            minZ = Math.min(minZ, baseZ + Integer.numberOfTrailingZeros(zMask));
+            maxZ = Math.max(maxZ, baseZ + 31 - Integer.numberOfLeadingZeros(zMask));
+        }
+        if (size == 0) {
+            minX = minY = minZ = maxX = maxY = maxZ = 0;
+        }
+        boundsValid = true;
+    }
+
+    /**
+     * Packs the region coordinates of a cell into a key.
+     * The region x coordinate takes the top 22 bits, followed by 22 bits of z and 20 bits of y,
+     * which covers the full horizontal extent of a Minecraft world.
+     */
+    private static long key(int x, int y, int z) {
+        long rx = x >> REGION_SHIFT;
+        long ry = y >> REGION_SHIFT;
+        long rz = z >> REGION_SHIFT;
+        return (rx << 42) | ((rz & 0x3FFFFFL) << 20) | (ry & 0xFFFFFL);
+    }
+
+    private static int regionX(long key) {
+        return (int) (key >> 42);
+    }
+
+    private static int regionY(long key) {
+        return (int) (key << 44 >> 44);
+    }
+
+    private static int regionZ(long key) {
+        return (int) (key << 22 >> 42);
+    }
+
+    /**
+     * Returns the index of a cell within its region's bitmap.
+     */
+    private static int bit(int x, int y, int z) {
+        return ((x & REGION_MASK) << 8) | ((z & REGION_MASK) << 4) | (y & REGION_MASK);
+    }
+}
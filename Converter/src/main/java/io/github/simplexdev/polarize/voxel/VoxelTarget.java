@@ -0,0 +1,29 @@
+package io.github.simplexdev.polarize.voxel;
+
+/**
+ * A collection of voxel (block) cells which shapes can be rasterized into.
+ * <p>
+ * The {@link Voxelizer} writes to this interface, so any shape can be rasterized into either
+ * a bounded {@link VoxelGrid} or an unbounded, compressed {@link VoxelSet}.
+ */
+public interface VoxelTarget {
+    /**
+     * Adds a single cell.
+     *
+     * @param x the x coordinate of the cell.
+     * @param y the y coordinate of the cell.
+     * @param z the z coordinate of the cell.
+     * @return true if the cell was added and was not already present.
+     */
+    boolean add(int x, int y, int z);
+
+    /**
+     * Adds a vertical run of cells, from {@code fromY} to {@code toY} inclusive.
+     *
+     * @param x     the x coordinate of the column.
+     * @param z     the z coordinate of the column.
+     * @param fromY the lowest y coordinate of the run.
+     * @param toY   the highest y coordinate of the run.
+     */
+    void addColumn(int x, int z, int fromY, int toY);
+}
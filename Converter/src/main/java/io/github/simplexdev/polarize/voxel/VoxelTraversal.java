@@ -0,0 +1,355 @@
+package io.github.simplexdev.polarize.voxel;
+
+import io.github.simplexdev.polarize.api.spatial.IPoint3D;
+import io.github.simplexdev.polarize.api.spatial.IVector;
+
+/**
+ * Walks the unit voxel (block) grid along a ray or a line segment, visiting every cell the line
+ * passes through exactly once and in order.
+ * <p>
+ * This is an implementation of the algorithm described by Amanatides and Woo in
+ * "A Fast Voxel Traversal Algorithm for Ray Tracing". Rather than sampling points along the
+ * line and flooring them, the traversal computes the distance to the next cell boundary on each axis
+ * and always steps across the closest one. Corner cells are never skipped and long lines are never
+ * oversampled; the amount of work is proportional to the number of cells crossed.
+ * <p>
+ * There are two ways to use this class:
+ * <ul>
+ *     <li>The static {@code traverse} methods, which call a {@link VoxelVisitor} for each cell.
+ *     The visitor may stop the traversal early by returning {@code false}.</li>
+ *     <li>A reusable instance, which acts as a cursor. Call {@link #ray} or {@link #segment}
+ *     to start a new traversal, then call {@link #next()} until it returns {@code false}.</li>
+ * </ul>
+ * Neither form allocates while traversing, so an instance can be kept per thread and reused
+ * for any number of rays.
+ * <p>
+ * Cell {@code (x, y, z)} covers the half-open box {@code [x, x + 1) * [y, y + 1) * [z, z + 1)}.
+ *
+ * @see <a href="http://www.cse.yorku.ca/~amana/research/grid.pdf">A Fast Voxel Traversal Algorithm for Ray Tracing</a>
+ */
+public final class VoxelTraversal {
+    private int x;
+    private int y;
+    private int z;
+    private int stepX;
+    private int stepY;
+    private int stepZ;
+    private int remainingX;
+    private int remainingY;
+    private int remainingZ;
+    private double tMaxX;
+    private double tMaxY;
+    private double tMaxZ;
+    private double tDeltaX;
+    private double tDeltaY;
+    private double tDeltaZ;
+    private double maxT;
+    private double t;
+    private boolean pending;
+    private boolean done = true;
+
+    /**
+     * Starts a new traversal along a ray.
+     * <p>
+     * The direction does not need to be normalized; the traversal ends once the ray
+     * has travelled {@code maxDistance} units from its origin.
+     *
+     * @param ox          the x coordinate of the ray origin.
+     * @param oy          the y coordinate of the ray origin.
+     * @param oz          the z coordinate of the ray origin.
+     * @param dx          the x component of the ray direction.
+     * @param dy          the y component of the ray direction.
+     * @param dz          the z component of the ray direction.
+     * @param maxDistance the maximum distance to travel along the ray.
+     * @return this traversal, positioned before the first cell.
+     */
+    public VoxelTraversal ray(double ox, double oy, double oz,
+                              double dx, double dy, double dz,
+                              double maxDistance) {
+        double length = Math.sqrt(dx * dx + dy * dy + dz * dz);
+        if (length == 0.0) {
+            dx = dy = dz = 0.0;
+        } else {
+            dx /= length;
+            dy /= length;
+            dz /= length;
+        }
+        start(ox, oy, oz, dx, dy, dz, maxDistance,
+                Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE);
+        return this;
+    }
+
+    /**
+     * Starts a new traversal along the line segment between two points.
+     * <p>
+     * The traversal visits the cell containing the first point, every cell crossed in between,
+     * and ends on the cell containing the second point.
+     *
+     * @param x1 the x coordinate of the start point.
+     * @param y1 the y coordinate of the start point.
+     * @param z1 the z coordinate of the start point.
+     * @param x2 the x coordinate of the end point.
+     * @param y2 the y coordinate of the end point.
+     * @param z2 the z coordinate of the end point.
+     * @return this traversal, positioned before the first cell.
+     */
+    public VoxelTraversal segment(double x1, double y1, double z1,
+                                  double x2, double y2, double z2) {
+        start(x1, y1, z1, x2 - x1, y2 - y1, z2 - z1, Double.POSITIVE_INFINITY,
+                Math.abs(floor(x2) - floor(x1)),
+                Math.abs(floor(y2) - floor(y1)),
+                Math.abs(floor(z2) - floor(z1)));
+        return this;
+    }
+
+    /**
+     * Advances to the next cell along the line.
+     * The first call after {@link #ray} or {@link #segment} positions the cursor on the starting cell.
+     *
+     * @return true if the cursor moved to a new cell, false if the traversal is complete.
+     */
+    public boolean next() {
+        if (done) {
+            return false;
+        }
+        if (pending) {
+            pending = false;
+            return true;
+        }
+
+        if (tMaxX < tMaxY && tMaxX < tMaxZ) {
+            if (tMaxX > maxT) {
+                return finish();
+            }
+            x += stepX;
+            t = tMaxX;
+            tMaxX = --remainingX == 0 ? Double.POSITIVE_INFINITY : tMaxX + tDeltaX;
+        } else if (tMaxY < tMaxZ) {
+            if (tMaxY > maxT) {
+                return finish();
+            }
+            y += stepY;
+            t = tMaxY;
+            tMaxY = --remainingY == 0 ? Double.POSITIVE_INFINITY : tMaxY + tDeltaY;
+        } else {
+            if (tMaxZ > maxT || tMaxZ == Double.POSITIVE_INFINITY) {
+                return finish();
+            }
+            z += stepZ;
+            t = tMaxZ;
+            tMaxZ = --remainingZ == 0 ? Double.POSITIVE_INFINITY : tMaxZ + tDeltaZ;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the x coordinate of the current cell.
+     *
+     * @return the x coordinate of the current cell.
+     */
+    public int getX() {
+        return x;
+    }
+
+    /**
+     * Returns the y coordinate of the current cell.
+     *
+     * @return the y coordinate of the current cell.
+     */
+    public int getY() {
+        return y;
+    }
+
+    /**
+     * Returns the z coordinate of the current cell.
+     *
+     * @return the z coordinate of the current cell.
+     */
+    public int getZ() {
+        return z;
+    }
+
+    /**
+     * Returns the line parameter at which the current cell was entered.
+     * <p>
+     * For rays this is the distance from the origin. For segments this is the fraction
+     * of the segment (0 to 1) travelled before entering the cell.
+     *
+     * @return the line parameter at which the current cell was entered.
+     */
+    public double getT() {
+        return t;
+    }
+
+    /**
+     * Visits every cell crossed by a ray, in order, until the visitor returns false
+     * or the ray has travelled {@code maxDistance} units.
+     *
+     * @param ox          the x coordinate of the ray origin.
+     * @param oy          the y coordinate of the ray origin.
+     * @param oz          the z coordinate of the ray origin.
+     * @param dx          the x component of the ray direction.
+     * @param dy          the y component of the ray direction.
+     * @param dz          the z component of the ray direction.
+     * @param maxDistance the maximum distance to travel along the ray.
+     * @param visitor     the visitor to call for each cell.
+     * @return the number of cells visited.
+     */
+    public static int traverse(double ox, double oy, double oz,
+                               double dx, double dy, double dz,
+                               double maxDistance, VoxelVisitor visitor) {
+        double length = Math.sqrt(dx * dx + dy * dy + dz * dz);
+        if (length == 0.0) {
+            visitor.visit(floor(ox), floor(oy), floor(oz));
+            return 1;
+        }
+        return walk(ox, oy, oz, dx / length, dy / length, dz / length, maxDistance,
+                Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE, visitor);
+    }
+
+    /**
+     * Visits every cell crossed by a ray, in order, until the visitor returns false
+     * or the ray has travelled {@code maxDistance} units.
+     *
+     * @param origin      the origin of the ray.
+     * @param direction   the direction of the ray.
+     * @param maxDistance the maximum distance to travel along the ray.
+     * @param visitor     the visitor to call for each cell.
+     * @return the number of cells visited.
+     */
+    public static int traverse(IPoint3D origin, IVector direction, double maxDistance, VoxelVisitor visitor) {
+        return traverse(origin.getX().get(), origin.getY().get(), origin.getZ().get(),
+                direction.getX(), direction.getY(), direction.getZ(),
+                maxDistance, visitor);
+    }
+
+    /**
+     * Visits every cell crossed by the line segment between two points, in order,
+     * until the visitor returns false or the cell containing the end point has been visited.
+     *
+     * @param x1      the x coordinate of the start point.
+     * @param y1      the y coordinate of the start point.
+     * @param z1      the z coordinate of the start point.
+     * @param x2      the x coordinate of the end point.
+     * @param y2      the y coordinate of the end point.
+     * @param z2      the z coordinate of the end point.
+     * @param visitor the visitor to call for each cell.
+     * @return the number of cells visited.
+     */
+    public static int traverse(double x1, double y1, double z1,
+                               double x2, double y2, double z2,
+                               VoxelVisitor visitor) {
+        return walk(x1, y1, z1, x2 - x1, y2 - y1, z2 - z1, Double.POSITIVE_INFINITY,
+                Math.abs(floor(x2) - floor(x1)),
+                Math.abs(floor(y2) - floor(y1)),
+                Math.abs(floor(z2) - floor(z1)),
+                visitor);
+    }
+
+    /**
+     * Visits every cell crossed by the line segment between two points, in order,
+     * until the visitor returns false or the cell containing the end point has been visited.
+     *
+     * @param from    the start point.
+     * @param to      the end point.
+     * @param visitor the visitor to call for each cell.
+     * @return the number of cells visited.
+     */
+    public static int traverse(IPoint3D from, IPoint3D to, VoxelVisitor visitor) {
+        return traverse(from.getX().get(), from.getY().get(), from.getZ().get(),
+                to.getX().get(), to.getY().get(), to.getZ().get(),
+                visitor);
+    }
+
+    private void start(double ox, double oy, double oz,
+                       double dx, double dy, double dz,
+                       double maxT, int remainingX, int remainingY, int remainingZ) {
+        this.x = floor(ox);
+        this.y = floor(oy);
+        this.z = floor(oz);
+        this.stepX = (int) Math.signum(dx);
+        this.stepY = (int) Math.signum(dy);
+        this.stepZ = (int) Math.signum(dz);
+        this.tDeltaX = delta(dx);
+        this.tDeltaY = delta(dy);
+        this.tDeltaZ = delta(dz);
+        this.remainingX = remainingX;
+        this.remainingY = remainingY;
+        this.remainingZ = remainingZ;
+        this.tMaxX = remainingX == 0 ? Double.POSITIVE_INFINITY : boundary(ox, dx, x);
+        this.tMaxY = remainingY == 0 ? Double.POSITIVE_INFINITY : boundary(oy, dy, y);
+        this.tMaxZ = remainingZ == 0 ? Double.POSITIVE_INFINITY : boundary(oz, dz, z);
+        this.maxT = maxT;
+        this.t = 0.0;
+        this.pending = true;
+        this.done = false;
+    }
+
+    private boolean finish() {
+        done = true;
+        return false;
+    }
+
+    private static int walk(double ox, double oy, double oz,
+                            double dx, double dy, double dz,
+                            double maxT, int remainingX, int remainingY, int remainingZ,
+                            VoxelVisitor visitor) {
+        int x = floor(ox);
+        int y = floor(oy);
+        int z = floor(oz);
+        int stepX = (int) Math.signum(dx);
+        int stepY = (int) Math.signum(dy);
+        int stepZ = (int) Math.signum(dz);
+        double tDeltaX = delta(dx);
+        double tDeltaY = delta(dy);
+        double tDeltaZ = delta(dz);
+        double tMaxX = remainingX == 0 ? Double.POSITIVE_INFINITY : boundary(ox, dx, x);
+        double tMaxY = remainingY == 0 ? Double.POSITIVE_INFINITY : boundary(oy, dy, y);
+        double tMaxZ = remainingZ == 0 ? Double.POSITIVE_INFINITY : boundary(oz, dz, z);
+
+        int visited = 0;
+        while (true) {
+            visited++;
+            if (!visitor.visit(x, y, z)) {
+                return visited;
+            }
+
+            if (tMaxX < tMaxY && tMaxX < tMaxZ) {
+                if (tMaxX > maxT) {
+                    return visited;
+                }
+                x += stepX;
+                tMaxX = --remainingX == 0 ? Double.POSITIVE_INFINITY : tMaxX + tDeltaX;
+            } else if (tMaxY < tMaxZ) {
+                if (tMaxY > maxT) {
+                    return visited;
+                }
+                y += stepY;
+                tMaxY = --remainingY == 0 ? Double.POSITIVE_INFINITY : tMaxY + tDeltaY;
+            } else {
+                if (tMaxZ > maxT || tMaxZ == Double.POSITIVE_INFINITY) {
+                    return visited;
+                }
+                z += stepZ;
+                tMaxZ = --remainingZ == 0 ? Double.POSITIVE_INFINITY : tMaxZ + tDeltaZ;
+            }
+        }
+    }
+
+    private static double delta(double d) {
+        return d == 0.0 ? Double.POSITIVE_INFINITY : Math.abs(1.0 / d);
+    }
+
+    private static double boundary(double origin, double d, int cell) {
+        if (d > 0.0) {
+            return (cell + 1 - origin) / d;
+        } else if (d < 0.0) {
+            return (origin - cell) / -d;
+        }
+        return Double.POSITIVE_INFINITY;
+    }
+
+    private static int floor(double value) {
+        return (int) Math.floor(value);
+    }
+}
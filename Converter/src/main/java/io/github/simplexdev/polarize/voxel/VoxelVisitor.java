@@ -0,0 +1,23 @@
+package io.github.simplexdev.polarize.voxel;
+
+/**
+ * A primitive callback which receives the integer coordinates of a single voxel (block) cell.
+ * <p>
+ * Implementations return {@code true} to keep receiving cells, or {@code false} to stop
+ * the operation early. Because the coordinates are passed as primitives, no objects
+ * are created per visited cell.
+ *
+ * @see VoxelTraversal
+ */
+@FunctionalInterface
+public interface VoxelVisitor {
+    /**
+     * Visits a single voxel cell.
+     *
+     * @param x the x coordinate of the cell.
+     * @param y the y coordinate of the cell.
+     * @param z the z coordinate of the cell.
+     * @return true to continue visiting cells, false to stop.
+     */
+    boolean visit(int x, int y, int z);
+}
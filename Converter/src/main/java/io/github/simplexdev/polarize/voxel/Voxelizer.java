@@ -0,0 +1,226 @@
+package io.github.simplexdev.polarize.voxel;
+
+import io.github.simplexdev.polarize.api.spatial.IPoint3D;
+import io.github.simplexdev.polarize.cartesian.PointBuffer;
+
+/**
+ * A utility class for rasterizing shapes directly into a {@link VoxelGrid} or {@link VoxelSet}.
+ * <p>
+ * Generating a shape as points and flooring each one into a block produces many duplicates,
+ * which then have to be removed with a set. The methods in this class skip that step: they
+ * compute, for every (x, z) column the shape covers, the range of y cells inside the shape and
+ * fill that range in one call. The work done is proportional to the number of columns rather
+ * than to the number of sampled points.
+ * <p>
+ * A cell belongs to a shape when the center of the cell, {@code (x + 0.5, y + 0.5, z + 0.5)},
+ * lies inside the shape. When rasterizing into a {@link VoxelGrid}, cells that fall outside
+ * the grid are clipped.
+ *
+ * @see VoxelTarget
+ * @see VoxelGrid
+ * @see VoxelSet
+ */
+public final class Voxelizer {
+    private Voxelizer() {
+        throw new AssertionError();
+    }
+
+    /**
+     * Rasterizes a filled sphere into the target.
+     *
+     * @param target the target to add the cells to.
+     * @param cx     the x coordinate of the sphere's center.
+     * @param cy     the y coordinate of the sphere's center.
+     * @param cz     the z coordinate of the sphere's center.
+     * @param radius the radius of the sphere.
+     */
+    public static void sphere(VoxelTarget target, double cx, double cy, double cz, double radius) {
+        shell(target, cx, cy, cz, radius, radius);
+    }
+
+    /**
+     * Rasterizes a hollow sphere with a thickness of one block into the target.
+     *
+     * @param target the target to add the cells to.
+     * @param cx     the x coordinate of the sphere's center.
+     * @param cy     the y coordinate of the sphere's center.
+     * @param cz     the z coordinate of the sphere's center.
+     * @param radius the outer radius of the sphere.
+     */
+    public static void shell(VoxelTarget target, double cx, double cy, double cz, double radius) {
+        shell(target, cx, cy, cz, radius, 1.0);
+    }
+
+    /**
+     * Rasterizes a hollow sphere into the target.
+     * <p>
+     * A cell is part of the shell when the distance from the sphere's center to the center
+     * of the cell is greater than {@code radius - thickness} and at most {@code radius}.
+     *
+     * @param target    the target to add the cells to.
+     * @param cx        the x coordinate of the sphere's center.
+     * @param cy        the y coordinate of the sphere's center.
+     * @param cz        the z coordinate of the sphere's center.
+     * @param radius    the outer radius of the sphere.
+     * @param thickness the thickness of the shell.
+     */
+    public static void shell(VoxelTarget target, double cx, double cy, double cz, double radius, double thickness) {
+        double outer = radius * radius;
+        double innerRadius = radius - thickness;
+        double inner = innerRadius > 0.0 ? innerRadius * innerRadius : -1.0;
+
+        int x0 = (int) Math.floor(cx - radius);
+        int x1 = (int) Math.floor(cx + radius);
+        int z0 = (int) Math.floor(cz - radius);
+        int z1 = (int) Math.floor(cz + radius);
+
+        for (int x = x0; x <= x1; x++) {
+            double dx = x + 0.5 - cx;
+            for (int z = z0; z <= z1; z++) {
+                double dz = z + 0.5 - cz;
+                double planar = dx * dx + dz * dz;
+                double outerSpan = outer - planar;
+                if (outerSpan < 0.0) {
+                    continue;
+                }
+                double outerHeight = Math.sqrt(outerSpan);
+                int bottom = lowestCell(cy - outerHeight);
+                int top = highestCell(cy + outerHeight);
+
+                double innerSpan = inner - planar;
+                if (innerSpan <= 0.0) {
+                    target.addColumn(x, z, bottom, top);
+                    continue;
+                }
+                double innerHeight = Math.sqrt(innerSpan);
+                int innerBottom = lowestCell(cy - innerHeight);
+                int innerTop = highestCell(cy + innerHeight);
+                if (innerBottom > innerTop) {
+                    target.addColumn(x, z, bottom, top);
+                    continue;
+                }
+                target.addColumn(x, z, bottom, innerBottom - 1);
+                target.addColumn(x, z, innerTop + 1, top);
+            }
+        }
+    }
+
+    /**
+     * Rasterizes a filled, upright cylinder into the target.
+     * The cylinder's axis is parallel to the y-axis, starting at the given base point.
+     *
+     * @param target the target to add the cells to.
+     * @param cx     the x coordinate of the center of the cylinder's base.
+     * @param cy     the y coordinate of the cylinder's base.
+     * @param cz     the z coordinate of the center of the cylinder's base.
+     * @param radius the radius of the cylinder.
+     * @param height the height of the cylinder.
+     */
+    public static void cylinder(VoxelTarget target, double cx, double cy, double cz, double radius, double height) {
+        cylinder(target, cx, cy, cz, radius, height, radius);
+    }
+
+    /**
+     * Rasterizes a hollow, upright cylinder (a tube) into the target.
+     * The cylinder's axis is parallel to the y-axis, starting at the given base point.
+     * The top and bottom of the tube are left open.
+     *
+     * @param target    the target to add the cells to.
+     * @param cx        the x coordinate of the center of the cylinder's base.
+     * @param cy        the y coordinate of the cylinder's base.
+     * @param cz        the z coordinate of the center of the cylinder's base.
+     * @param radius    the outer radius of the cylinder.
+     * @param height    the height of the cylinder.
+     * @param thickness the thickness of the cylinder's wall.
+     */
+    public static void cylinder(VoxelTarget target, double cx, double cy, double cz,
+                                double radius, double height, double thickness) {
+        double outer = radius * radius;
+        double innerRadius = radius - thickness;
+        double inner = innerRadius > 0.0 ? innerRadius * innerRadius : -1.0;
+        int bottom = lowestCell(cy);
+        int top = highestCell(cy + height);
+        if (bottom > top) {
+            return;
+        }
+
+        int x0 = (int) Math.floor(cx - radius);
+        int x1 = (int) Math.floor(cx + radius);
+        int z0 = (int) Math.floor(cz - radius);
+        int z1 = (int) Math.floor(cz + radius);
+
+        for (int x = x0; x <= x1; x++) {
+            double dx = x + 0.5 - cx;
+            for (int z = z0; z <= z1; z++) {
+                double dz = z + 0.5 - cz;
+                double planar = dx * dx + dz * dz;
+                if (planar <= outer && planar > inner) {
+                    target.addColumn(x, z, bottom, top);
+                }
+            }
+        }
+    }
+
+    /**
+     * Rasterizes the line segment between two points into the target.
+     * Every cell the segment passes through is added, including corner cells.
+     *
+     * @param target the target to add the cells to.
+     * @param x1     the x coordinate of the start point.
+     * @param y1     the y coordinate of the start point.
+     * @param z1     the z coordinate of the start point.
+     * @param x2     the x coordinate of the end point.
+     * @param y2     the y coordinate of the end point.
+     * @param z2     the z coordinate of the end point.
+     * @see VoxelTraversal
+     */
+    public static void line(VoxelTarget target, double x1, double y1, double z1, double x2, double y2, double z2) {
+        VoxelTraversal.traverse(x1, y1, z1, x2, y2, z2, (x, y, z) -> {
+            target.add(x, y, z);
+            return true;
+        });
+    }
+
+    /**
+     * Rasterizes the line segment between two points into the target.
+     *
+     * @param target the target to add the cells to.
+     * @param from   the start point.
+     * @param to     the end point.
+     * @see #line(VoxelTarget, double, double, double, double, double, double)
+     */
+    public static void line(VoxelTarget target, IPoint3D from, IPoint3D to) {
+        line(target, from.getX().get(), from.getY().get(), from.getZ().get(),
+                to.getX().get(), to.getY().get(), to.getZ().get());
+    }
+
+    /**
+     * Adds the cell containing each point of the buffer to the target.
+     * Points that share a cell are stored only once.
+     *
+     * @param target the target to add the cells to.
+     * @param points the points to rasterize.
+     */
+    public static void points(VoxelTarget target, PointBuffer points) {
+        double[] xs = points.xArray();
+        double[] ys = points.yArray();
+        double[] zs = points.zArray();
+        for (int i = 0; i < points.size(); i++) {
+            target.add((int) Math.floor(xs[i]), (int) Math.floor(ys[i]), (int) Math.floor(zs[i]));
+        }
+    }
+
+    /**
+     * Returns the lowest cell whose center lies at or above the given height.
+     */
+    private static int lowestCell(double y) {
+        return (int) Math.ceil(y - 0.5);
+    }
+
+    /**
+     * Returns the highest cell whose center lies at or below the given height.
+     */
+    private static int highestCell(double y) {
+        return (int) Math.floor(y - 0.5);
+    }
+}
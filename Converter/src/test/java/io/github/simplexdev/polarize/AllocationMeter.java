@@ -0,0 +1,114 @@
+package io.github.simplexdev.polarize;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Measures the bytes allocated on the heap by an operation, for tests that guard allocation-free hot paths.
+ * <p>
+ * The operation is first run enough times for the JIT compiler to compile it, so that allocations
+ * removed by escape analysis are not counted. It is then run in several rounds, reading the current
+ * thread's allocation counter from {@link com.sun.management.ThreadMXBean} before and after each round,
+ * and the smallest per-run result of any round is reported. Taking the smallest round filters out
+ * one-off allocations such as class loading or a deoptimization.
+ * <p>
+ * Only the calling thread is measured, so operations that hand work to other threads are not covered.
+ */
+public final class AllocationMeter {
+    private static final int WARMUP_RUNS = 2_000;
+    private static final int MEASURED_RUNS = 200;
+    private static final int ROUNDS = 5;
+
+    private AllocationMeter() {
+        throw new AssertionError();
+    }
+
+    /**
+     * Returns whether the running JVM can measure the bytes allocated by a thread.
+     *
+     * @return true if allocations can be measured.
+     */
+    public static boolean isSupported() {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        return threads instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) threads).isThreadAllocatedMemorySupported()
+                && ((com.sun.management.ThreadMXBean) threads).isThreadAllocatedMemoryEnabled();
+    }
+
+    /**
+     * Returns the number of bytes a warmed-up operation allocates per run, with the default number of runs.
+     *
+     * @param operation the operation to measure.
+     * @return the number of bytes allocated per run.
+     */
+    public static long bytesPerRun(Runnable operation) {
+        return bytesPerRun(operation, WARMUP_RUNS, MEASURED_RUNS);
+    }
+
+    /**
+     * Returns the number of bytes a warmed-up operation allocates per run.
+     *
+     * @param operation    the operation to measure.
+     * @param warmupRuns   the number of runs before measuring.
+     * @param measuredRuns the number of runs in each measured round.
+     * @return the number of bytes allocated per run, rounded down.
+     */
+    public static long bytesPerRun(Runnable operation, int warmupRuns, int measuredRuns) {
+        if (warmupRuns < 0 || measuredRuns < 1) {
+            throw new IllegalArgumentException("Invalid number of runs: " + warmupRuns + ", " + measuredRuns);
+        }
+        com.sun.management.ThreadMXBean threads = threads();
+        for (int i = 0; i < warmupRuns; i++) {
+            operation.run();
+        }
+
+        // Reading the counter can itself allocate, so measure an empty round to subtract it.
+        long overhead = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long before = threads.getCurrentThreadAllocatedBytes();
+            overhead = Math.min(overhead, threads.getCurrentThreadAllocatedBytes() - before);
+        }
+
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long before = threads.getCurrentThreadAllocatedBytes();
+            for (int i = 0; i < measuredRuns; i++) {
+                operation.run();
+            }
+            long allocated = threads.getCurrentThreadAllocatedBytes() - before - overhead;
+            best = Math.min(best, Math.max(0L, allocated) / measuredRuns);
+        }
+        return best;
+    }
+
+    /**
+     * Asserts that a warmed-up operation allocates at most the given number of bytes per run.
+     *
+     * @param description a description of the operation, used in the failure message.
+     * @param budget      the largest number of bytes the operation may allocate per run.
+     * @param operation   the operation to measure.
+     */
+    public static void assertAllocatesAtMost(String description, long budget, Runnable operation) {
+        long allocated = bytesPerRun(operation);
+        assertTrue(allocated <= budget,
+                description + " allocated " + allocated + " bytes per run, over its budget of " + budget + ".");
+    }
+
+    /**
+     * Asserts that a warmed-up operation does not allocate.
+     *
+     * @param description a description of the operation, used in the failure message.
+     * @param operation   the operation to measure.
+     */
+    public static void assertAllocationFree(String description, Runnable operation) {
+        assertAllocatesAtMost(description, 0L, operation);
+    }
+
+    private static com.sun.management.ThreadMXBean threads() {
+        if (!isSupported()) {
+            throw new UnsupportedOperationException("This JVM cannot measure the bytes allocated by a thread.");
+        }
+        return (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    }
+}
@@ -0,0 +1,212 @@
+package io.github.simplexdev.polarize;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import io.github.simplexdev.polarize.api.units.Point;
+import io.github.simplexdev.polarize.cartesian.CartesianVector;
+import io.github.simplexdev.polarize.cartesian.PointBuffer;
+import io.github.simplexdev.polarize.index.BoundingVolumeHierarchy;
+import io.github.simplexdev.polarize.index.IndexBuffer;
+import io.github.simplexdev.polarize.index.KdTree;
+import io.github.simplexdev.polarize.index.Morton;
+import io.github.simplexdev.polarize.index.SphericalIndex;
+import io.github.simplexdev.polarize.math.BinaryAngle;
+import io.github.simplexdev.polarize.math.HaltonSequence;
+import io.github.simplexdev.polarize.math.SobolSequence;
+import io.github.simplexdev.polarize.math.function.FibonacciLattice;
+import io.github.simplexdev.polarize.metrics.Counter;
+import io.github.simplexdev.polarize.metrics.MetricsRegistry;
+import io.github.simplexdev.polarize.metrics.Timer;
+import io.github.simplexdev.polarize.util.Interpolator;
+import io.github.simplexdev.polarize.util.Polarizer;
+import io.github.simplexdev.polarize.util.Rotator;
+import io.github.simplexdev.polarize.util.Utilities;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+class AllocationTest
+{
+    private double sink;
+
+    /**
+     * Method under test: {@link Rotator#rotateY(PointBuffer, BinaryAngle)}
+     */
+    @Test
+    void testBulkRotateIsAllocationFree()
+    {
+        assumeTrue(AllocationMeter.isSupported(), "Allocation measurement is not supported.");
+        PointBuffer points = randomPoints(10_000, 1L);
+        BinaryAngle angle = BinaryAngle.fromDegrees(3.0);
+
+        AllocationMeter.assertAllocationFree("Bulk rotate of 10k points", () -> Rotator.rotateY(points, angle));
+    }
+
+    /**
+     * Method under test: {@link Polarizer#toCartesian(double[], double[], double[], int, PointBuffer)}
+     */
+    @Test
+    void testBulkConversionIsAllocationFree()
+    {
+        assumeTrue(AllocationMeter.isSupported(), "Allocation measurement is not supported.");
+        PointBuffer points = randomPoints(10_000, 2L);
+        double[] radius = new double[points.size()];
+        double[] theta = new double[points.size()];
+        double[] phi = new double[points.size()];
+        PointBuffer out = new PointBuffer(points.size());
+
+        AllocationMeter.assertAllocationFree("Bulk conversion of 10k points to spherical",
+                () -> Polarizer.toSpherical(points, radius, theta, phi));
+        AllocationMeter.assertAllocationFree("Bulk conversion of 10k points to Cartesian", () ->
+        {
+            out.clear();
+            Polarizer.toCartesian(radius, theta, phi, points.size(), out);
+        });
+    }
+
+    /**
+     * Method under test: {@link CartesianVector#dot(io.github.simplexdev.polarize.api.spatial.IVector)}
+     */
+    @Test
+    void testVectorMathIsAllocationFree()
+    {
+        assumeTrue(AllocationMeter.isSupported(), "Allocation measurement is not supported.");
+        CartesianVector a = new CartesianVector(1.0, 2.0, 3.0);
+        CartesianVector b = new CartesianVector(-2.0, 0.5, 4.0);
+
+        AllocationMeter.assertAllocationFree("Vector math", () ->
+        {
+            sink += a.dot(b) + a.length() + a.distance(b) + a.getAngle(b) + Utilities.magnitudeOf(1.0, 2.0, 3.0);
+            sink += BinaryAngle.sin(BinaryAngle.toBits(sink)) + Morton.encode(1, 2, 3);
+        });
+    }
+
+    /**
+     * Method under test: {@link FibonacciLattice#populate(double, double, double, int, double, PointBuffer)}
+     */
+    @Test
+    void testGeneratorsAreAllocationFree()
+    {
+        assumeTrue(AllocationMeter.isSupported(), "Allocation measurement is not supported.");
+        SobolSequence sobol = new SobolSequence(3);
+        HaltonSequence halton = new HaltonSequence(3);
+        double[] point = new double[3];
+        PointBuffer out = new PointBuffer(1_001);
+        BinaryAngle step = BinaryAngle.fromDegrees(1.0);
+
+        AllocationMeter.assertAllocationFree("Sobol sequence", () -> sobol.next(point));
+        AllocationMeter.assertAllocationFree("Halton sequence", () -> halton.next(point));
+        AllocationMeter.assertAllocationFree("Fibonacci lattice of 1k points", () ->
+        {
+            out.clear();
+            FibonacciLattice.populate(0.0, 64.0, 0.0, 1_000, 1.0, out);
+        });
+        // The sweep returns the angle after its last point, which is its only allocation.
+        AllocationMeter.assertAllocatesAtMost("Sweep of 1k points", 24L, () ->
+        {
+            out.clear();
+            Interpolator.sweep(4.0, 0.0, BinaryAngle.ZERO, step, 1_000, out);
+        });
+    }
+
+    /**
+     * Method under test: {@link KdTree#radius(double, double, double, double, IndexBuffer)},
+     * {@link SphericalIndex#cone(double, double, double, double, IndexBuffer)} and
+     * {@link SphericalIndex#rebuild(double, double, double, PointBuffer)}
+     */
+    @Test
+    void testIndexQueriesAreAllocationFree()
+    {
+        assumeTrue(AllocationMeter.isSupported(), "Allocation measurement is not supported.");
+        KdTree tree = KdTree.of(randomPoints(10_000, 3L));
+        IndexBuffer out = new IndexBuffer();
+        tree.radius(0.0, 5.0, 0.0, 30.0, out);
+
+        AllocationMeter.assertAllocationFree("Radius query on a k-d tree", () ->
+        {
+            out.clear();
+            tree.radius(0.0, 5.0, 0.0, 3.0, out);
+        });
+        AllocationMeter.assertAllocationFree("Nearest neighbour query on a k-d tree",
+                () -> sink += tree.nearest(1.0, 2.0, 3.0));
+
+        PointBuffer points = randomPoints(10_000, 5L);
+        SphericalIndex index = SphericalIndex.of(Point.fromDouble(0, 0, 0), points, 64);
+        index.cone(1.0, 1.0, 0.0, 0.6, out);
+        AllocationMeter.assertAllocationFree("Cone query on a spherical index", () ->
+        {
+            out.clear();
+            index.cone(1.0, 1.0, 0.0, 0.3, out);
+        });
+        AllocationMeter.assertAllocationFree("Rebuilding a spherical index",
+                () -> index.rebuild(1.0, 2.0, 3.0, points));
+    }
+
+    /**
+     * Method under test: {@link BoundingVolumeHierarchy#build()},
+     * {@link BoundingVolumeHierarchy#overlapping(double, double, double, double, double, double, IndexBuffer)},
+     * {@link BoundingVolumeHierarchy#raycast(double, double, double, double, double, double, double, IndexBuffer)}
+     * and {@link BoundingVolumeHierarchy#raycastFirst(double, double, double, double, double, double, double)}
+     */
+    @Test
+    void testBoundingVolumeQueriesAreAllocationFree()
+    {
+        assumeTrue(AllocationMeter.isSupported(), "Allocation measurement is not supported.");
+        PointBuffer centers = randomPoints(2_000, 7L);
+        BoundingVolumeHierarchy bvh = new BoundingVolumeHierarchy();
+        for (int i = 0; i < centers.size(); i++)
+        {
+            bvh.addSphere(centers.getX(i), centers.getY(i), centers.getZ(i), 1.5);
+        }
+        bvh.build();
+        IndexBuffer out = new IndexBuffer();
+        bvh.raycast(-100.0, 0.0, 0.0, 1.0, 0.01, 0.02, 200.0, out);
+
+        AllocationMeter.assertAllocationFree("Rebuilding a bounding volume hierarchy", bvh::build);
+        AllocationMeter.assertAllocationFree("Box query on a bounding volume hierarchy", () ->
+        {
+            out.clear();
+            bvh.overlapping(-5.0, -5.0, -5.0, 5.0, 5.0, 5.0, out);
+        });
+        AllocationMeter.assertAllocationFree("Raycast on a bounding volume hierarchy", () ->
+        {
+            out.clear();
+            bvh.raycast(-100.0, 0.0, 0.0, 1.0, 0.01, 0.02, 200.0, out);
+        });
+        AllocationMeter.assertAllocationFree("First hit of a ray on a bounding volume hierarchy",
+                () -> sink += bvh.raycastFirst(-100.0, 0.0, 0.0, 1.0, 0.01, 0.02, 200.0));
+    }
+
+    /**
+     * Method under test: {@link Timer#stop(long)}
+     */
+    @Test
+    void testMetricsAreAllocationFree()
+    {
+        assumeTrue(AllocationMeter.isSupported(), "Allocation measurement is not supported.");
+        MetricsRegistry registry = new MetricsRegistry();
+        Counter counter = registry.counter("points");
+        Timer timer = registry.timer("time");
+        Runnable record = () ->
+        {
+            long start = timer.start();
+            counter.add(16);
+            timer.stop(start);
+        };
+
+        AllocationMeter.assertAllocationFree("Disabled metrics", record);
+        registry.setEnabled(true);
+        AllocationMeter.assertAllocationFree("Enabled metrics", record);
+    }
+
+    private static PointBuffer randomPoints(int count, long seed)
+    {
+        SplittableRandom random = new SplittableRandom(seed);
+        PointBuffer points = new PointBuffer(count);
+        for (int i = 0; i < count; i++)
+        {
+            points.add(random.nextDouble(-50, 50), random.nextDouble(0, 10), random.nextDouble(-50, 50));
+        }
+        return points;
+    }
+}
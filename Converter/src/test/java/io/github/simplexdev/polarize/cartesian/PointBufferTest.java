@@ -0,0 +1,88 @@
+package io.github.simplexdev.polarize.cartesian;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class PointBufferTest
+{
+    /**
+     * Method under test: {@link PointBuffer#add(double, double, double)}
+     */
+    @Test
+    void testGrowsPastInitialCapacity()
+    {
+        PointBuffer buffer = new PointBuffer(2);
+        for (int i = 0; i < 1000; i++)
+        {
+            buffer.add(i, -i, i * 0.5);
+        }
+
+        assertEquals(1000, buffer.size());
+        assertTrue(buffer.xArray().length >= 1000);
+        for (int i = 0; i < 1000; i++)
+        {
+            assertEquals(i, buffer.getX(i), 0.0);
+            assertEquals(-i, buffer.getY(i), 0.0);
+            assertEquals(i * 0.5, buffer.getZ(i), 0.0);
+        }
+    }
+
+    /**
+     * Method under test: {@link PointBuffer#addAll(PointBuffer)}
+     */
+    @Test
+    void testAddAll()
+    {
+        PointBuffer first = new PointBuffer(1);
+        first.add(1.0, 2.0, 3.0);
+        PointBuffer second = new PointBuffer();
+        for (int i = 0; i < 40; i++)
+        {
+            second.add(i, i + 1, i + 2);
+        }
+
+        first.addAll(second);
+        first.addAll(new PointBuffer());
+
+        assertEquals(41, first.size());
+        assertEquals(1.0, first.getX(0), 0.0);
+        assertEquals(3.0, first.getZ(0), 0.0);
+        for (int i = 0; i < 40; i++)
+        {
+            assertEquals(i, first.getX(i + 1), 0.0);
+            assertEquals(i + 1, first.getY(i + 1), 0.0);
+            assertEquals(i + 2, first.getZ(i + 1), 0.0);
+        }
+        assertEquals(40, second.size());
+    }
+
+    /**
+     * Method under test: {@link PointBuffer#clear()} and {@link PointBuffer#truncate(int)}
+     */
+    @Test
+    void testClearAndTruncate()
+    {
+        PointBuffer buffer = new PointBuffer();
+        for (int i = 0; i < 20; i++)
+        {
+            buffer.add(i, i, i);
+        }
+        int capacity = buffer.xArray().length;
+
+        buffer.truncate(5);
+        assertEquals(5, buffer.size());
+        assertThrows(IndexOutOfBoundsException.class, () -> buffer.getX(5));
+        assertThrows(IndexOutOfBoundsException.class, () -> buffer.truncate(6));
+
+        buffer.clear();
+        assertTrue(buffer.isEmpty());
+        assertEquals(capacity, buffer.xArray().length);
+
+        buffer.add(7.0, 8.0, 9.0);
+        assertEquals(1, buffer.size());
+        assertEquals(8.0, buffer.getY(0), 0.0);
+    }
+}
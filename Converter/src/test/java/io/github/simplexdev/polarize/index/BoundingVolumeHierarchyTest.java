@@ -0,0 +1,235 @@
+package io.github.simplexdev.polarize.index;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.simplexdev.polarize.cartesian.PointBuffer;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+
+class BoundingVolumeHierarchyTest
+{
+    /**
+     * Method under test: {@link BoundingVolumeHierarchy#overlappingPairs(IndexBuffer)}
+     */
+    @Test
+    void testOverlappingPairsMatchBruteForce()
+    {
+        SplittableRandom random = new SplittableRandom(21L);
+        double[][] boxes = randomBoxes(random, 2_000);
+        BoundingVolumeHierarchy bvh = new BoundingVolumeHierarchy();
+        for (double[] box : boxes)
+        {
+            bvh.add(box[0], box[1], box[2], box[3], box[4], box[5]);
+        }
+        bvh.build();
+
+        assertEquals(bruteForcePairs(boxes), pairs(bvh));
+    }
+
+    /**
+     * Method under test: {@link BoundingVolumeHierarchy#refit()}
+     */
+    @Test
+    void testRefitAfterMoving()
+    {
+        SplittableRandom random = new SplittableRandom(22L);
+        double[][] boxes = randomBoxes(random, 1_000);
+        BoundingVolumeHierarchy bvh = new BoundingVolumeHierarchy();
+        for (double[] box : boxes)
+        {
+            bvh.add(box[0], box[1], box[2], box[3], box[4], box[5]);
+        }
+        bvh.build();
+
+        for (int id = 0; id < boxes.length; id++)
+        {
+            double dx = random.nextDouble(-20, 20);
+            double dz = random.nextDouble(-20, 20);
+            double[] box = boxes[id];
+            box[0] += dx;
+            box[3] += dx;
+            box[2] += dz;
+            box[5] += dz;
+            bvh.update(id, box[0], box[1], box[2], box[3], box[4], box[5]);
+        }
+        bvh.refit();
+
+        assertEquals(bruteForcePairs(boxes), pairs(bvh));
+    }
+
+    /**
+     * Method under test: {@link BoundingVolumeHierarchy#add(PointBuffer)}
+     */
+    @Test
+    void testAddPointBuffer()
+    {
+        PointBuffer ring = new PointBuffer();
+        for (int i = 0; i < 64; i++)
+        {
+            double angle = 2.0 * Math.PI * i / 64;
+            ring.add(5.0 * Math.sin(angle), 2.0, 5.0 * Math.cos(angle));
+        }
+        BoundingVolumeHierarchy bvh = new BoundingVolumeHierarchy();
+        int id = bvh.add(ring);
+        int sphere = bvh.addSphere(0.0, 0.0, 0.0, 1.0);
+        int far = bvh.addSphere(20.0, 0.0, 0.0, 1.0);
+        bvh.build();
+
+        IndexBuffer out = new IndexBuffer();
+        assertEquals(1, bvh.overlapping(4.9, 1.9, -0.1, 6.0, 2.1, 0.1, out));
+        assertEquals(id, out.get(0));
+
+        out.clear();
+        assertEquals(0, bvh.overlappingPairs(out));
+
+        bvh.update(sphere, 0.0, 1.0, 0.0, 1.0, 3.0, 1.0);
+        bvh.refit();
+        out.clear();
+        assertEquals(1, bvh.overlappingPairs(out));
+        assertArrayEquals(new int[]{id, sphere}, out.toArray());
+
+        assertTrue(bvh.remove(far));
+        bvh.build();
+        out.clear();
+        assertEquals(0, bvh.overlapping(19.0, -1.0, -1.0, 21.0, 1.0, 1.0, out));
+    }
+
+    /**
+     * Method under test: {@link BoundingVolumeHierarchy#raycast(double, double, double, double, double, double, double, IndexBuffer)}
+     */
+    @Test
+    void testRaycastMatchesBruteForce()
+    {
+        SplittableRandom random = new SplittableRandom(23L);
+        double[][] boxes = randomBoxes(random, 1_500);
+        BoundingVolumeHierarchy bvh = new BoundingVolumeHierarchy();
+        for (double[] box : boxes)
+        {
+            bvh.add(box[0], box[1], box[2], box[3], box[4], box[5]);
+        }
+        bvh.build();
+
+        IndexBuffer out = new IndexBuffer();
+        for (int r = 0; r < 200; r++)
+        {
+            double ox = random.nextDouble(-120, 120);
+            double oy = random.nextDouble(-10, 40);
+            double oz = random.nextDouble(-120, 120);
+            double dx = random.nextDouble(-1, 1);
+            double dy = r % 4 == 0 ? 0.0 : random.nextDouble(-1, 1);
+            double dz = random.nextDouble(-1, 1);
+            double length = random.nextDouble(10, 200);
+
+            out.clear();
+            bvh.raycast(ox, oy, oz, dx, dy, dz, length, out);
+            TreeSet<Integer> hits = new TreeSet<>();
+            for (int i = 0; i < out.size(); i++)
+            {
+                hits.add(out.get(i));
+            }
+
+            TreeSet<Integer> expected = new TreeSet<>();
+            int first = -1;
+            double firstDistance = Double.POSITIVE_INFINITY;
+            for (int id = 0; id < boxes.length; id++)
+            {
+                double t = entry(boxes[id], ox, oy, oz, dx, dy, dz, length);
+                if (t >= 0.0)
+                {
+                    expected.add(id);
+                    if (t < firstDistance)
+                    {
+                        firstDistance = t;
+                        first = id;
+                    }
+                }
+            }
+            assertEquals(expected, hits);
+
+            int found = bvh.raycastFirst(ox, oy, oz, dx, dy, dz, length);
+            if (first == -1)
+            {
+                assertEquals(-1, found);
+            }
+            else
+            {
+                assertEquals(firstDistance, entry(boxes[found], ox, oy, oz, dx, dy, dz, length), 1e-9);
+            }
+        }
+    }
+
+    private static double[][] randomBoxes(SplittableRandom random, int count)
+    {
+        double[][] boxes = new double[count][];
+        for (int i = 0; i < count; i++)
+        {
+            double x = random.nextDouble(-100, 100);
+            double y = random.nextDouble(0, 30);
+            double z = random.nextDouble(-100, 100);
+            double size = random.nextDouble(0.5, 4);
+            boxes[i] = new double[]{x, y, z, x + size, y + random.nextDouble(0.5, 4), z + size};
+        }
+        return boxes;
+    }
+
+    private static TreeSet<Long> pairs(BoundingVolumeHierarchy bvh)
+    {
+        IndexBuffer out = new IndexBuffer();
+        int count = bvh.overlappingPairs(out);
+        TreeSet<Long> pairs = new TreeSet<>();
+        for (int i = 0; i < out.size(); i += 2)
+        {
+            assertTrue(out.get(i) < out.get(i + 1));
+            pairs.add(((long) out.get(i) << 32) | out.get(i + 1));
+        }
+        assertEquals(count, pairs.size());
+        return pairs;
+    }
+
+    private static TreeSet<Long> bruteForcePairs(double[][] boxes)
+    {
+        TreeSet<Long> pairs = new TreeSet<>();
+        for (int i = 0; i < boxes.length; i++)
+        {
+            for (int j = i + 1; j < boxes.length; j++)
+            {
+                double[] a = boxes[i];
+                double[] b = boxes[j];
+                if (a[0] <= b[3] && a[3] >= b[0] && a[1] <= b[4] && a[4] >= b[1] && a[2] <= b[5] && a[5] >= b[2])
+                {
+                    pairs.add(((long) i << 32) | j);
+                }
+            }
+        }
+        return pairs;
+    }
+
+    private static double entry(double[] box, double ox, double oy, double oz,
+                                double dx, double dy, double dz, double length)
+    {
+        double[] origin = {ox, oy, oz};
+        double[] direction = {dx, dy, dz};
+        double near = 0.0;
+        double far = length;
+        for (int axis = 0; axis < 3; axis++)
+        {
+            if (direction[axis] == 0.0)
+            {
+                if (origin[axis] < box[axis] || origin[axis] > box[axis + 3])
+                {
+                    return -1.0;
+                }
+                continue;
+            }
+            double t1 = (box[axis] - origin[axis]) / direction[axis];
+            double t2 = (box[axis + 3] - origin[axis]) / direction[axis];
+            near = Math.max(near, Math.min(t1, t2));
+            far = Math.min(far, Math.max(t1, t2));
+        }
+        return near <= far ? near : -1.0;
+    }
+}
@@ -0,0 +1,125 @@
+package io.github.simplexdev.polarize.index;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.github.simplexdev.polarize.cartesian.PointBuffer;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+class KdTreeTest
+{
+    private static PointBuffer cloud(int size, long seed)
+    {
+        SplittableRandom random = new SplittableRandom(seed);
+        PointBuffer points = new PointBuffer(size);
+        for (int i = 0; i < size; i++)
+        {
+            // Round some coordinates so the tree has to split runs of equal values.
+            points.add(Math.floor(random.nextDouble(-50, 50)), random.nextDouble(0, 20), random.nextDouble(-50, 50));
+        }
+        return points;
+    }
+
+    private static double distanceSquared(PointBuffer points, int i, double x, double y, double z)
+    {
+        double dx = points.getX(i) - x;
+        double dy = points.getY(i) - y;
+        double dz = points.getZ(i) - z;
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    /**
+     * Method under test: {@link KdTree#radius(double, double, double, double, IndexBuffer)}
+     */
+    @Test
+    void testRadiusAndBoxMatchLinearScan()
+    {
+        PointBuffer points = cloud(20_000, 1L);
+        KdTree tree = KdTree.of(points);
+        IndexBuffer found = new IndexBuffer();
+
+        tree.radius(3, 10, -7, 12.5, found);
+        found.sort();
+        IndexBuffer expected = new IndexBuffer();
+        for (int i = 0; i < points.size(); i++)
+        {
+            if (distanceSquared(points, i, 3, 10, -7) <= 12.5 * 12.5)
+            {
+                expected.add(i);
+            }
+        }
+        assertArrayEquals(expected.toArray(), found.toArray());
+
+        found.clear();
+        expected.clear();
+        tree.box(-10, 2, 0, 4, 8, 30, found);
+        found.sort();
+        for (int i = 0; i < points.size(); i++)
+        {
+            double x = points.getX(i);
+            double y = points.getY(i);
+            double z = points.getZ(i);
+            if (x >= -10 && x <= 4 && y >= 2 && y <= 8 && z >= 0 && z <= 30)
+            {
+                expected.add(i);
+            }
+        }
+        assertArrayEquals(expected.toArray(), found.toArray());
+    }
+
+    /**
+     * Method under test: {@link KdTree#nearest(double, double, double, int, IndexBuffer)}
+     */
+    @Test
+    void testNearestNeighbours()
+    {
+        PointBuffer points = cloud(5_000, 2L);
+        KdTree tree = KdTree.of(points);
+        IndexBuffer found = new IndexBuffer();
+
+        assertEquals(10, tree.nearest(11.2, 4, -30.5, 10, found));
+        double[] distances = new double[points.size()];
+        for (int i = 0; i < points.size(); i++)
+        {
+            distances[i] = distanceSquared(points, i, 11.2, 4, -30.5);
+        }
+        double[] sorted = distances.clone();
+        Arrays.sort(sorted);
+        for (int i = 0; i < 10; i++)
+        {
+            assertEquals(sorted[i], distances[found.get(i)]);
+        }
+        assertEquals(sorted[0], distances[tree.nearest(11.2, 4, -30.5)]);
+    }
+
+    /**
+     * Method under test: {@link KdTree#rebuildParallel(PointBuffer, ForkJoinPool)}
+     */
+    @Test
+    void testParallelRebuild()
+    {
+        PointBuffer points = cloud(100_000, 3L);
+        KdTree sequential = KdTree.of(points);
+        KdTree parallel = KdTree.of(cloud(10, 4L));
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try
+        {
+            parallel.rebuildParallel(points, pool);
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+
+        IndexBuffer expected = new IndexBuffer();
+        IndexBuffer actual = new IndexBuffer();
+        sequential.radius(0, 10, 0, 20, expected);
+        parallel.radius(0, 10, 0, 20, actual);
+        assertEquals(points.size(), parallel.size());
+        assertArrayEquals(expected.toArray(), actual.toArray());
+    }
+}
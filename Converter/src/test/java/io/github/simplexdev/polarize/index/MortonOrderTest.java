@@ -0,0 +1,101 @@
+package io.github.simplexdev.polarize.index;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.simplexdev.polarize.cartesian.PointBuffer;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+class MortonOrderTest
+{
+    /**
+     * Method under test: {@link Morton#encode(int, int, int)}
+     */
+    @Test
+    void testEncodeRoundTrip()
+    {
+        SplittableRandom random = new SplittableRandom(11L);
+        for (int i = 0; i < 10_000; i++)
+        {
+            int x = random.nextInt(Morton.MAX_COORDINATE + 1);
+            int y = random.nextInt(Morton.MAX_COORDINATE + 1);
+            int z = random.nextInt(Morton.MAX_COORDINATE + 1);
+            long code = Morton.encode(x, y, z);
+
+            assertEquals(x, Morton.decodeX(code));
+            assertEquals(y, Morton.decodeY(code));
+            assertEquals(z, Morton.decodeZ(code));
+        }
+        assertEquals(0b111_000L, Morton.encode(2, 2, 2));
+        assertEquals(0b100_010_001L, Morton.encode(1, 2, 4));
+    }
+
+    /**
+     * Method under test: {@link MortonOrder#sort(PointBuffer)}
+     */
+    @Test
+    void testSortKeepsPoints()
+    {
+        SplittableRandom random = new SplittableRandom(12L);
+        PointBuffer points = new PointBuffer();
+        for (int i = 0; i < 50_000; i++)
+        {
+            points.add(random.nextDouble(-100, 100), random.nextDouble(0, 50), random.nextDouble(-100, 100));
+        }
+        PointBuffer original = new PointBuffer();
+        original.addAll(points);
+
+        MortonOrder order = MortonOrder.sort(points);
+        for (int i = 0; i < points.size(); i++)
+        {
+            if (i > 0)
+            {
+                assertTrue(order.code(i - 1) <= order.code(i));
+            }
+            int before = order.originalIndex(i);
+            assertEquals(original.getX(before), points.getX(i));
+            assertEquals(original.getY(before), points.getY(i));
+            assertEquals(original.getZ(before), points.getZ(i));
+        }
+    }
+
+    /**
+     * Method under test: {@link MortonOrder#box(double, double, double, double, double, double, IndexBuffer)}
+     */
+    @Test
+    void testBoxMatchesLinearScan()
+    {
+        SplittableRandom random = new SplittableRandom(13L);
+        PointBuffer points = new PointBuffer();
+        for (int i = 0; i < 50_000; i++)
+        {
+            points.add(random.nextDouble(-100, 100), random.nextDouble(0, 50), random.nextDouble(-100, 100));
+        }
+        MortonOrder order = MortonOrder.sort(points);
+
+        IndexBuffer found = new IndexBuffer();
+        order.box(-20, 10, 5, 35, 22, 60, found);
+        IndexBuffer expected = new IndexBuffer();
+        for (int i = 0; i < points.size(); i++)
+        {
+            double x = points.getX(i);
+            double y = points.getY(i);
+            double z = points.getZ(i);
+            if (x >= -20 && x <= 35 && y >= 10 && y <= 22 && z >= 5 && z <= 60)
+            {
+                expected.add(i);
+            }
+        }
+        assertArrayEquals(expected.toArray(), found.toArray());
+
+        IndexBuffer range = new IndexBuffer();
+        long from = order.code(100);
+        long to = order.code(200);
+        order.range(from, to, range);
+        assertEquals(order.lowerBound(from), range.get(0));
+        assertTrue(range.size() >= 101);
+    }
+}
@@ -0,0 +1,206 @@
+package io.github.simplexdev.polarize.index;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+class SpatialHashGridTest
+{
+    private static int[] linearRadius(double[][] points, boolean[] alive, double px, double py, double pz, double radius)
+    {
+        IndexBuffer expected = new IndexBuffer();
+        for (int id = 0; id < points.length; id++)
+        {
+            double dx = points[id][0] - px;
+            double dy = points[id][1] - py;
+            double dz = points[id][2] - pz;
+            if (alive[id] && dx * dx + dy * dy + dz * dz <= radius * radius)
+            {
+                expected.add(id);
+            }
+        }
+        return expected.toArray();
+    }
+
+    /**
+     * Method under test: {@link SpatialHashGrid#move(int, double, double, double)}
+     */
+    @Test
+    void testIncrementalUpdates()
+    {
+        SplittableRandom random = new SplittableRandom(5L);
+        SpatialHashGrid grid = new SpatialHashGrid(4.0);
+        double[][] points = new double[2_000][3];
+        boolean[] alive = new boolean[points.length];
+        for (int id = 0; id < points.length; id++)
+        {
+            points[id] = new double[]{random.nextDouble(-60, 60), random.nextDouble(-10, 10), random.nextDouble(-60, 60)};
+            grid.insert(id, points[id][0], points[id][1], points[id][2]);
+            alive[id] = true;
+        }
+
+        for (int tick = 0; tick < 20; tick++)
+        {
+            for (int id = 0; id < points.length; id++)
+            {
+                if (random.nextInt(50) == 0)
+                {
+                    assertEquals(alive[id], grid.remove(id));
+                    alive[id] = false;
+                    continue;
+                }
+                points[id][0] += random.nextDouble(-3, 3);
+                points[id][1] += random.nextDouble(-3, 3);
+                points[id][2] += random.nextDouble(-3, 3);
+                if (alive[id])
+                {
+                    grid.move(id, points[id][0], points[id][1], points[id][2]);
+                }
+            }
+
+            IndexBuffer found = new IndexBuffer();
+            grid.radius(5, 0, -5, 15, found);
+            found.sort();
+            assertArrayEquals(linearRadius(points, alive, 5, 0, -5, 15), found.toArray());
+        }
+
+        assertFalse(grid.contains(-1));
+        int alivePoints = 0;
+        for (boolean value : alive)
+        {
+            alivePoints += value ? 1 : 0;
+        }
+        assertEquals(alivePoints, grid.size());
+    }
+
+    /**
+     * Method under test: {@link SpatialHashGrid#neighbours(int, double, IndexBuffer)}
+     */
+    @Test
+    void testNeighboursExcludeSelf()
+    {
+        SpatialHashGrid grid = new SpatialHashGrid(1.0);
+        grid.insert(0, 0.5, 0.5, 0.5);
+        grid.insert(1, 1.2, 0.5, 0.5);
+        grid.insert(7, -0.9, 0.5, 0.5);
+        grid.insert(3, 5, 5, 5);
+
+        IndexBuffer found = new IndexBuffer();
+        assertEquals(2, grid.neighbours(0, 1.5, found));
+        found.sort();
+        assertArrayEquals(new int[]{1, 7}, found.toArray());
+    }
+
+    /**
+     * Method under test: {@link ConcurrentSpatialHashGrid#move(int, double, double, double)}
+     */
+    @Test
+    void testConcurrentUpdates() throws Exception
+    {
+        int threads = 4;
+        int perThread = 1_000;
+        ConcurrentSpatialHashGrid grid = new ConcurrentSpatialHashGrid(2.0, threads * perThread, 8);
+        double[][] points = new double[threads * perThread][3];
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try
+        {
+            Future<?>[] futures = new Future<?>[threads];
+            for (int t = 0; t < threads; t++)
+            {
+                int first = t * perThread;
+                futures[t] = executor.submit(() -> {
+                    SplittableRandom random = new SplittableRandom(first);
+                    for (int id = first; id < first + perThread; id++)
+                    {
+                        points[id] = new double[]{random.nextDouble(-20, 20), random.nextDouble(-20, 20), random.nextDouble(-20, 20)};
+                        grid.insert(id, points[id][0], points[id][1], points[id][2]);
+                    }
+                    for (int step = 0; step < 10; step++)
+                    {
+                        for (int id = first; id < first + perThread; id++)
+                        {
+                            points[id][0] += random.nextDouble(-4, 4);
+                            points[id][2] += random.nextDouble(-4, 4);
+                            grid.move(id, points[id][0], points[id][1], points[id][2]);
+                            grid.radius(points[id][0], points[id][1], points[id][2], 3, new IndexBuffer());
+                        }
+                    }
+                });
+            }
+            for (Future<?> future : futures)
+            {
+                future.get();
+            }
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+
+        boolean[] alive = new boolean[points.length];
+        Arrays.fill(alive, true);
+        IndexBuffer found = new IndexBuffer();
+        grid.radius(0, 0, 0, 12, found);
+        found.sort();
+        assertArrayEquals(linearRadius(points, alive, 0, 0, 0, 12), found.toArray());
+        assertEquals(points.length, grid.size());
+        assertTrue(grid.contains(threads * perThread - 1));
+    }
+
+    /**
+     * Method under test: {@link ConcurrentSpatialHashGrid#box(double, double, double, double, double, double, IndexBuffer)},
+     * {@link ConcurrentSpatialHashGrid#cell(int, int, int, IndexBuffer)} and
+     * {@link ConcurrentSpatialHashGrid#neighbours(int, double, IndexBuffer)}
+     */
+    @Test
+    void testConcurrentQueriesMatchSequentialGrid()
+    {
+        SplittableRandom random = new SplittableRandom(9L);
+        SpatialHashGrid grid = new SpatialHashGrid(3.0);
+        ConcurrentSpatialHashGrid concurrent = new ConcurrentSpatialHashGrid(3.0, 1_000, 4);
+        for (int id = 0; id < 1_000; id++)
+        {
+            double px = random.nextDouble(-30, 30);
+            double py = random.nextDouble(-30, 30);
+            double pz = random.nextDouble(-30, 30);
+            grid.insert(id, px, py, pz);
+            concurrent.insert(id, px, py, pz);
+        }
+
+        assertEquals(grid.getX(42), concurrent.getX(42));
+        assertEquals(grid.getY(42), concurrent.getY(42));
+        assertEquals(grid.getZ(42), concurrent.getZ(42));
+
+        IndexBuffer expected = new IndexBuffer();
+        IndexBuffer actual = new IndexBuffer();
+        grid.box(-7, -2, 3, 11, 9, 20, expected);
+        concurrent.box(-7, -2, 3, 11, 9, 20, actual);
+        assertSameIds(expected, actual);
+
+        grid.cell(1, -2, 0, expected);
+        concurrent.cell(1, -2, 0, actual);
+        assertSameIds(expected, actual);
+
+        grid.neighbours(42, 8, expected);
+        concurrent.neighbours(42, 8, actual);
+        assertSameIds(expected, actual);
+    }
+
+    private static void assertSameIds(IndexBuffer expected, IndexBuffer actual)
+    {
+        expected.sort();
+        actual.sort();
+        assertArrayEquals(expected.toArray(), actual.toArray());
+        expected.clear();
+        actual.clear();
+    }
+}
@@ -0,0 +1,120 @@
+package io.github.simplexdev.polarize.index;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.github.simplexdev.polarize.cartesian.PointBuffer;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+class SphericalIndexTest
+{
+    private static final double OX = 10;
+    private static final double OY = 64;
+    private static final double OZ = -3;
+
+    private static PointBuffer cloud(int size)
+    {
+        SplittableRandom random = new SplittableRandom(9L);
+        PointBuffer points = new PointBuffer(size);
+        for (int i = 0; i < size; i++)
+        {
+            points.add(OX + random.nextDouble(-30, 30), OY + random.nextDouble(-30, 30), OZ + random.nextDouble(-30, 30));
+        }
+        // A point straight above the origin, on the pole.
+        points.add(OX, OY + 5, OZ);
+        return points;
+    }
+
+    /**
+     * Method under test: {@link SphericalIndex#SphericalIndex(int)}
+     */
+    @Test
+    void testPixelsHaveEqualArea()
+    {
+        SphericalIndex index = new SphericalIndex(24);
+        SplittableRandom random = new SplittableRandom(1L);
+        int[] counts = new int[index.pixelCount()];
+        int samples = 2_000_000;
+        for (int i = 0; i < samples; i++)
+        {
+            // Uniform directions on the sphere.
+            double y = random.nextDouble(-1, 1);
+            double phi = random.nextDouble(0, 2 * Math.PI);
+            double ring = Math.sqrt(1 - y * y);
+            counts[index.pixel(ring * Math.cos(phi), y, ring * Math.sin(phi))]++;
+        }
+        double expected = (double) samples / index.pixelCount();
+        for (int count : counts)
+        {
+            assertEquals(expected, count, 6 * Math.sqrt(expected));
+        }
+    }
+
+    /**
+     * Method under test: {@link SphericalIndex#cone(double, double, double, double, IndexBuffer)}
+     */
+    @Test
+    void testConeMatchesLinearScan()
+    {
+        PointBuffer points = cloud(30_000);
+        SphericalIndex index = new SphericalIndex(32);
+        index.rebuild(OX, OY, OZ, points);
+        double[][] axes = {{1, 0, 0}, {0.3, -0.8, 0.2}, {0, 1, 0}, {0, -1, 0.01}, {-2, 1, 5}};
+        double[] angles = {0.05, Math.toRadians(30), 1.2, Math.toRadians(100)};
+        for (double[] axis : axes)
+        {
+            double length = Math.sqrt(axis[0] * axis[0] + axis[1] * axis[1] + axis[2] * axis[2]);
+            for (double angle : angles)
+            {
+                IndexBuffer found = new IndexBuffer();
+                index.cone(axis[0], axis[1], axis[2], angle, found);
+                found.sort();
+
+                IndexBuffer expected = new IndexBuffer();
+                for (int i = 0; i < points.size(); i++)
+                {
+                    double x = points.getX(i) - OX;
+                    double y = points.getY(i) - OY;
+                    double z = points.getZ(i) - OZ;
+                    double cos = (x * axis[0] + y * axis[1] + z * axis[2]) / (length * Math.sqrt(x * x + y * y + z * z));
+                    if (cos >= Math.cos(angle))
+                    {
+                        expected.add(i);
+                    }
+                }
+                assertArrayEquals(expected.toArray(), found.toArray());
+            }
+        }
+    }
+
+    /**
+     * Method under test: {@link SphericalIndex#band(double, double, IndexBuffer)}
+     */
+    @Test
+    void testBandMatchesLinearScan()
+    {
+        PointBuffer points = cloud(10_000);
+        SphericalIndex index = new SphericalIndex(16);
+        index.rebuild(OX, OY, OZ, points);
+
+        IndexBuffer found = new IndexBuffer();
+        index.band(Math.toRadians(40), Math.toRadians(75), found);
+        found.sort();
+
+        IndexBuffer expected = new IndexBuffer();
+        for (int i = 0; i < points.size(); i++)
+        {
+            double x = points.getX(i) - OX;
+            double y = points.getY(i) - OY;
+            double z = points.getZ(i) - OZ;
+            double theta = Math.acos(y / Math.sqrt(x * x + y * y + z * z));
+            if (theta >= Math.toRadians(40) && theta <= Math.toRadians(75))
+            {
+                expected.add(i);
+            }
+        }
+        assertArrayEquals(expected.toArray(), found.toArray());
+    }
+}
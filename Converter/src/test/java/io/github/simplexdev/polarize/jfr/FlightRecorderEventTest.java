@@ -0,0 +1,107 @@
+package io.github.simplexdev.polarize.jfr;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.simplexdev.polarize.api.spatial.IScalar;
+import io.github.simplexdev.polarize.cartesian.PointBuffer;
+import io.github.simplexdev.polarize.math.BinaryAngle;
+import io.github.simplexdev.polarize.math.function.FibonacciLattice;
+import io.github.simplexdev.polarize.math.function.GaussLegendre;
+import io.github.simplexdev.polarize.polar.Scalar;
+import io.github.simplexdev.polarize.util.Interpolator;
+import io.github.simplexdev.polarize.util.Rotator;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+class FlightRecorderEventTest
+{
+    /**
+     * Method under test: {@link ShapeGenerationEvent#finish(ShapeGenerationEvent, int)}
+     */
+    @Test
+    void testEventsAreRecorded() throws IOException
+    {
+        Path file = Files.createTempFile("polarize", ".jfr");
+        try (Recording recording = new Recording())
+        {
+            recording.enable(ShapeGenerationEvent.class).withThreshold(Duration.ZERO);
+            recording.enable(TransformationEvent.class).withThreshold(Duration.ZERO);
+            recording.enable(RuleCacheMissEvent.class);
+            recording.start();
+
+            PointBuffer points = new PointBuffer();
+            FibonacciLattice.populate(0.0, 0.0, 0.0, 100, 1.0, points);
+            Rotator.rotateY(points, BinaryAngle.fromDegrees(90.0));
+            GaussLegendre.of(97);
+            GaussLegendre.of(97);
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().startsWith("polarize."))
+                .collect(Collectors.toList());
+        Files.delete(file);
+
+        RecordedEvent generation = find(events, "polarize.ShapeGeneration");
+        assertEquals("fibonacci-lattice", generation.getString("shape"));
+        assertEquals(101, generation.getInt("points"));
+
+        RecordedEvent transformation = find(events, "polarize.Transformation");
+        assertEquals("rotateY", transformation.getString("operation"));
+        assertEquals(101, transformation.getInt("points"));
+
+        RecordedEvent miss = find(events, "polarize.RuleCacheMiss");
+        assertEquals("gauss-legendre", miss.getString("rule"));
+        assertEquals(97, miss.getInt("size"));
+    }
+
+    /**
+     * Method under test: {@link Interpolator#polarSet360(IScalar, double)}
+     */
+    @Test
+    void testExistingGeneratorsAreRecorded() throws IOException
+    {
+        Path file = Files.createTempFile("polarize", ".jfr");
+        int size;
+        try (Recording recording = new Recording())
+        {
+            recording.enable(ShapeGenerationEvent.class).withThreshold(Duration.ZERO);
+            recording.start();
+
+            size = Interpolator.polarSet360(new Scalar(2.0, 0.0), 1.0).size();
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().startsWith("polarize."))
+                .collect(Collectors.toList());
+        Files.delete(file);
+
+        RecordedEvent generation = find(events, "polarize.ShapeGeneration");
+        assertEquals("polar-set-360", generation.getString("shape"));
+        assertEquals(size, generation.getInt("points"));
+    }
+
+    private static RecordedEvent find(List<RecordedEvent> events, String name)
+    {
+        List<RecordedEvent> matching = events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .collect(Collectors.toList());
+        assertTrue(matching.size() == 1, "Expected one " + name + " event, found " + matching.size() + ".");
+        return matching.get(0);
+    }
+}
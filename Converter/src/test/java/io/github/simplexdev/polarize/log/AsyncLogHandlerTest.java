@@ -0,0 +1,160 @@
+package io.github.simplexdev.polarize.log;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+class AsyncLogHandlerTest
+{
+    /**
+     * Method under test: {@link AsyncLogHandler#publish(LogRecord)}
+     */
+    @Test
+    void testPublishesInOrder()
+    {
+        CapturingHandler delegate = new CapturingHandler(null, null);
+        AsyncLogHandler handler = new AsyncLogHandler(1_000, delegate);
+        assertEquals(1_024, handler.capacity());
+
+        for (int i = 0; i < 500; i++)
+        {
+            handler.publish(new LogRecord(Level.INFO, "Record " + i));
+        }
+        handler.close();
+
+        assertEquals(500, delegate.messages.size());
+        for (int i = 0; i < 500; i++)
+        {
+            assertEquals("Record " + i, delegate.messages.get(i));
+        }
+        assertEquals(0L, handler.getDroppedCount());
+    }
+
+    /**
+     * Method under test: {@link AsyncLogHandler#getDroppedCount()}
+     */
+    @Test
+    void testDropsRecordsWhenFull() throws InterruptedException
+    {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CapturingHandler delegate = new CapturingHandler(entered, release);
+        AsyncLogHandler handler = new AsyncLogHandler(4, delegate);
+
+        // The first record holds the background thread inside the delegate until released.
+        handler.publish(new LogRecord(Level.INFO, "First"));
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 7; i++)
+        {
+            handler.publish(new LogRecord(Level.INFO, "Queued " + i));
+        }
+        assertEquals(3L, handler.getDroppedCount());
+
+        release.countDown();
+        handler.close();
+
+        assertEquals(6, delegate.messages.size());
+        assertEquals("Queued 3", delegate.messages.get(4));
+        assertTrue(delegate.messages.get(5).startsWith("Dropped 3 "));
+    }
+
+    /**
+     * Method under test: {@link AsyncLogHandler#publish(LogRecord)}
+     */
+    @Test
+    void testFlushesOnlyAfterDelivery() throws InterruptedException
+    {
+        CapturingHandler delegate = new CapturingHandler(null, null);
+        AsyncLogHandler handler = new AsyncLogHandler(16, delegate);
+
+        Thread.sleep(200);
+        assertEquals(0, delegate.flushes.get());
+
+        handler.publish(new LogRecord(Level.INFO, "Record"));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (delegate.flushes.get() == 0 && System.nanoTime() < deadline)
+        {
+            Thread.sleep(10);
+        }
+        Thread.sleep(200);
+        assertEquals(1, delegate.flushes.get());
+
+        handler.close();
+        assertEquals(List.of("Record"), delegate.messages);
+    }
+
+    /**
+     * Method under test: {@link AsyncLogHandler#AsyncLogHandler(int, Handler...)}
+     */
+    @Test
+    void testInvalidCapacity()
+    {
+        assertThrows(IllegalArgumentException.class, () -> new AsyncLogHandler(0));
+    }
+
+    /**
+     * Method under test: {@link PolarizeLogger#fine(java.util.function.Supplier)}
+     */
+    @Test
+    void testDisabledLevelSkipsSupplier()
+    {
+        PolarizeLogger.fine(() ->
+        {
+            throw new AssertionError("The message of a disabled level was built.");
+        });
+    }
+
+    private static final class CapturingHandler extends Handler
+    {
+        private final List<String> messages = new CopyOnWriteArrayList<>();
+        private final AtomicInteger flushes = new AtomicInteger();
+        private final CountDownLatch entered;
+        private final CountDownLatch release;
+
+        private CapturingHandler(CountDownLatch entered, CountDownLatch release)
+        {
+            this.entered = entered;
+            this.release = release;
+        }
+
+        @Override
+        public void publish(LogRecord record)
+        {
+            messages.add(record.getMessage());
+            if (entered != null && entered.getCount() > 0)
+            {
+                entered.countDown();
+                try
+                {
+                    release.await(5, TimeUnit.SECONDS);
+                }
+                catch (InterruptedException ex)
+                {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        @Override
+        public void flush()
+        {
+            flushes.incrementAndGet();
+        }
+
+        @Override
+        public void close()
+        {
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package io.github.simplexdev.polarize.math;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.github.simplexdev.polarize.api.units.Theta;
+import io.github.simplexdev.polarize.cartesian.PointBuffer;
+import io.github.simplexdev.polarize.util.Interpolator;
+import org.junit.jupiter.api.Test;
+
+class BinaryAngleTest
+{
+    /**
+     * Method under test: {@link BinaryAngle#add(BinaryAngle)}
+     */
+    @Test
+    void testAddWrapsExactly()
+    {
+        BinaryAngle step = BinaryAngle.of(BinaryAngle.QUARTER_TURN / 90);
+        BinaryAngle angle = BinaryAngle.ZERO;
+        for (int i = 0; i < 360 * 1000; i++)
+        {
+            angle = angle.add(step);
+        }
+        // Repeated addition accumulates no error, no matter how many turns it wraps around.
+        assertEquals(step.multiply(360 * 1000), angle);
+        assertEquals(BinaryAngle.ZERO, BinaryAngle.fromDegrees(90).multiply(4));
+        assertEquals(BinaryAngle.HALF_TURN, BinaryAngle.fromDegrees(270).subtract(BinaryAngle.fromDegrees(90)).getBits());
+        assertEquals(-90.0, BinaryAngle.fromDegrees(270).degrees(), 1e-6);
+        assertEquals(1.5 * Math.PI, BinaryAngle.fromDegrees(270).unsignedRadians(), 1e-9);
+    }
+
+    /**
+     * Method under test: {@link BinaryAngle#sin(int)}
+     */
+    @Test
+    void testSinCos()
+    {
+        for (int i = 0; i < 100_000; i++)
+        {
+            double radians = -20.0 + 40.0 * i / 100_000;
+            int bits = BinaryAngle.toBits(radians);
+            assertEquals(Math.sin(radians), BinaryAngle.sin(bits), 5e-7);
+            assertEquals(Math.cos(radians), BinaryAngle.cos(bits), 5e-7);
+        }
+        assertEquals(1.0, BinaryAngle.sin(BinaryAngle.QUARTER_TURN), 0.0);
+        assertEquals(-1.0, BinaryAngle.cos(BinaryAngle.HALF_TURN), 0.0);
+    }
+
+    /**
+     * Method under test: {@link BinaryAngle#from(Theta)}
+     */
+    @Test
+    void testThetaRoundTrip()
+    {
+        BinaryAngle angle = BinaryAngle.from(Theta.of(1.25));
+        assertEquals(1.25, angle.toTheta().getZenith(), 1e-9);
+        BinaryAngle halfTurn = BinaryAngle.fromDegrees(180);
+        assertEquals(1.25, BinaryAngle.fromRadians(1.25 + 4 * Math.PI).add(halfTurn).add(halfTurn).radians(), 1e-9);
+    }
+
+    /**
+     * Method under test: {@link Interpolator#sweep(double, double, BinaryAngle, BinaryAngle, int, PointBuffer)}
+     */
+    @Test
+    void testSweep()
+    {
+        PointBuffer out = new PointBuffer();
+        BinaryAngle end = Interpolator.sweep(2.0, 5.0, BinaryAngle.ZERO, BinaryAngle.fromDegrees(90), 4, out);
+
+        assertEquals(BinaryAngle.ZERO, end);
+        assertEquals(4, out.size());
+        assertEquals(0.0, out.getX(0), 1e-6);
+        assertEquals(2.0, out.getZ(0), 1e-6);
+        assertEquals(2.0, out.getX(1), 1e-6);
+        assertEquals(0.0, out.getZ(1), 1e-6);
+        assertEquals(-2.0, out.getZ(2), 1e-6);
+        assertEquals(5.0, out.getY(3), 0.0);
+    }
+}
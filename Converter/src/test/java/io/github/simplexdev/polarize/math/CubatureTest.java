@@ -0,0 +1,56 @@
+package io.github.simplexdev.polarize.math;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.github.simplexdev.polarize.math.function.GaussLegendre;
+import io.github.simplexdev.polarize.math.function.PolarCubature;
+import io.github.simplexdev.polarize.math.function.SphericalCubature;
+import io.github.simplexdev.polarize.math.function.SphericalRule;
+import org.junit.jupiter.api.Test;
+
+class CubatureTest
+{
+    /**
+     * Method under test: {@link SphericalCubature#surface(double, double, double, double, SphericalRule, io.github.simplexdev.polarize.math.function.DoubleTernaryOperator)}
+     */
+    @Test
+    void testSphereSurface()
+    {
+        SphericalRule product = SphericalRule.gaussProduct(6);
+        SphericalRule fibonacci = SphericalRule.fibonacci(4000);
+
+        assertEquals(4 * Math.PI * 9, SphericalCubature.surface(1, 2, 3, 3, product, (x, y, z) -> 1.0), 1e-10);
+        // The surface integral of y^2 over a sphere of radius r is 4 * pi * r^4 / 3.
+        assertEquals(4 * Math.PI * 16 / 3, SphericalCubature.surface(0, 0, 0, 2, product, (x, y, z) -> y * y), 1e-10);
+        assertEquals(4 * Math.PI * 16 / 3, SphericalCubature.surface(0, 0, 0, 2, fibonacci, (x, y, z) -> y * y), 1e-2);
+    }
+
+    /**
+     * Method under test: {@link SphericalCubature#shell(double, double, double, double, double, SphericalRule, GaussLegendre, io.github.simplexdev.polarize.math.function.DoubleTernaryOperator)}
+     */
+    @Test
+    void testShellVolume()
+    {
+        SphericalRule rule = SphericalRule.gaussProduct(4);
+        GaussLegendre radial = GaussLegendre.of(4);
+
+        assertEquals(4.0 / 3.0 * Math.PI * (27 - 8), SphericalCubature.shell(5, 5, 5, 2, 3, rule, radial, (x, y, z) -> 1.0), 1e-10);
+        // The integral of x^2 + y^2 + z^2 over the unit ball is 4 * pi / 5.
+        assertEquals(4 * Math.PI / 5, SphericalCubature.ball(0, 0, 0, 1, rule, radial, (x, y, z) -> x * x + y * y + z * z), 1e-10);
+    }
+
+    /**
+     * Method under test: {@link PolarCubature#annulus(double, double, double, double, GaussLegendre, int, java.util.function.DoubleBinaryOperator)}
+     */
+    @Test
+    void testPolarRegions()
+    {
+        GaussLegendre rule = GaussLegendre.of(5);
+
+        assertEquals(Math.PI * (16 - 1), PolarCubature.annulus(2, -1, 1, 4, rule, 16, (x, z) -> 1.0), 1e-10);
+        // The integral of x^2 over the unit disc is pi / 4.
+        assertEquals(Math.PI / 4, PolarCubature.disc(0, 0, 1, rule, 16, (x, z) -> x * x), 1e-10);
+        // The integral of y over a cylinder of radius 2 and height 3 is pi * 4 * 9 / 2.
+        assertEquals(Math.PI * 18, PolarCubature.cylinder(0, 0, 0, 2, 3, rule, 8, rule, (x, y, z) -> y), 1e-10);
+    }
+}
@@ -0,0 +1,107 @@
+package io.github.simplexdev.polarize.math;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.simplexdev.polarize.api.spatial.IPoint3D;
+import io.github.simplexdev.polarize.api.units.Point;
+import io.github.simplexdev.polarize.math.function.AdaptiveQuadrature;
+import io.github.simplexdev.polarize.math.function.DoubleTernaryOperator;
+import io.github.simplexdev.polarize.math.function.Integral;
+import io.github.simplexdev.polarize.math.function.QuadratureResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+class IntegralTest
+{
+    private static final DoubleTernaryOperator FIELD = (x, y, z) -> x * y * z + Math.sin(x);
+
+    /**
+     * Method under test: {@link Integral#integrate(double, double, double, double, double, double, int, DoubleTernaryOperator)}
+     */
+    @Test
+    void testPrimitiveMatchesBoxed()
+    {
+        IPoint3D origin = Point.fromDouble(0, 0, 0);
+        IPoint3D destination = Point.fromDouble(1, 2, 3);
+
+        double boxed = Integral.integrate(origin, destination, 30, (x, y, z) -> FIELD.applyAsDouble(x, y, z));
+        double primitive = Integral.integrate(0, 0, 0, 1, 2, 3, 30, FIELD);
+
+        assertEquals(boxed, primitive, 1e-12);
+        assertEquals(4.5 + 6 * (1 - Math.cos(1)), primitive, 1e-3);
+    }
+
+    /**
+     * Method under test: {@link Integral#integrateParallel(IPoint3D, IPoint3D, int, DoubleTernaryOperator, ForkJoinPool)}
+     */
+    @Test
+    void testParallelIsDeterministic()
+    {
+        IPoint3D origin = Point.fromDouble(-1, 0, 2);
+        IPoint3D destination = Point.fromDouble(3, 1, 5);
+        double sequential = Integral.integrate(-1, 0, 2, 3, 1, 5, 57, FIELD);
+
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool many = new ForkJoinPool(8);
+        try
+        {
+            assertEquals(sequential, Integral.integrateParallel(origin, destination, 57, FIELD, single));
+            assertEquals(sequential, Integral.integrateParallel(origin, destination, 57, FIELD, many));
+        }
+        finally
+        {
+            single.shutdown();
+            many.shutdown();
+        }
+    }
+
+    /**
+     * Method under test: {@link AdaptiveQuadrature#gaussKronrod(double, double, double, double, java.util.function.DoubleUnaryOperator)}
+     * and {@link AdaptiveQuadrature#simpson(double, double, double, double, java.util.function.DoubleUnaryOperator)}
+     */
+    @Test
+    void testAdaptiveMeetsTolerance()
+    {
+        QuadratureResult kronrod = AdaptiveQuadrature.gaussKronrod(0, 1, 1e-8, 0, Math::sqrt);
+        assertTrue(kronrod.isConverged());
+        assertEquals(2.0 / 3.0, kronrod.getValue(), 1e-8);
+        assertTrue(kronrod.getErrorEstimate() <= 1e-8);
+
+        QuadratureResult simpson = AdaptiveQuadrature.simpson(0, Math.PI, 1e-9, 0, Math::sin);
+        assertTrue(simpson.isConverged());
+        assertEquals(2.0, simpson.getValue(), 1e-9);
+
+        // A smooth integrand needs far fewer evaluations than the fixed grid would use.
+        assertTrue(AdaptiveQuadrature.gaussKronrod(0, Math.PI, 1e-10, 0, Math::sin).getEvaluations() < 100);
+    }
+
+    /**
+     * Method under test: {@link AdaptiveQuadrature#gaussKronrod(double, double, double, double, int, java.util.function.DoubleUnaryOperator)}
+     */
+    @Test
+    void testAdaptiveGrowsToMaxSubdivisions()
+    {
+        // An oscillating integrand needs far more sub-intervals than the heap starts with.
+        QuadratureResult converged = AdaptiveQuadrature.gaussKronrod(0, 20, 1e-12, 0, 1000, x -> Math.sin(10 * x));
+        assertTrue(converged.isConverged());
+        assertEquals((1 - Math.cos(200)) / 10, converged.getValue(), 1e-12);
+        assertTrue(converged.getEvaluations() > 16 * 30);
+
+        QuadratureResult capped = AdaptiveQuadrature.gaussKronrod(0, 20, 1e-12, 0, 21, x -> Math.sin(10 * x));
+        assertEquals(15 + 20 * 30, capped.getEvaluations());
+    }
+
+    /**
+     * Method under test: {@link AdaptiveQuadrature#gaussKronrod(IPoint3D, IPoint3D, double, double, DoubleTernaryOperator)}
+     */
+    @Test
+    void testAdaptiveCubature()
+    {
+        QuadratureResult result = AdaptiveQuadrature.gaussKronrod(Point.fromDouble(0, 0, 0), Point.fromDouble(1, 2, 3), 1e-8, 0, FIELD);
+        assertTrue(result.isConverged());
+        assertEquals(4.5 + 6 * (1 - Math.cos(1)), result.getValue(), 1e-8);
+        assertTrue(result.getEvaluations() > 0);
+    }
+}
@@ -0,0 +1,113 @@
+package io.github.simplexdev.polarize.math;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.simplexdev.polarize.api.spatial.IPoint3D;
+import io.github.simplexdev.polarize.api.units.Point;
+import io.github.simplexdev.polarize.math.function.DoubleTernaryPredicate;
+import io.github.simplexdev.polarize.math.function.MonteCarloIntegral;
+import io.github.simplexdev.polarize.math.function.MonteCarloIntegral.Sampling;
+import io.github.simplexdev.polarize.math.function.QuadratureResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+class MonteCarloIntegralTest
+{
+    private static final DoubleTernaryPredicate BALL = DoubleTernaryPredicate.sphere(0, 0, 0, 1);
+    private static final double BALL_VOLUME = 4.0 / 3.0 * Math.PI;
+
+    /**
+     * Method under test: {@link MonteCarloIntegral#integrate(double, double, double, double, double, double, Sampling, double, long, long, DoubleTernaryPredicate, io.github.simplexdev.polarize.math.function.DoubleTernaryOperator)}
+     */
+    @Test
+    void testSphereVolume()
+    {
+        for (Sampling sampling : Sampling.values())
+        {
+            QuadratureResult result = MonteCarloIntegral.integrate(-1, -1, -1, 1, 1, 1,
+                    sampling, 0, 1 << 18, 42L, BALL, (x, y, z) -> 1.0);
+
+            assertTrue(result.getErrorEstimate() > 0, sampling.name());
+            assertEquals(BALL_VOLUME, result.getValue(), 5 * result.getErrorEstimate(), sampling.name());
+            assertEquals(1 << 18, result.getEvaluations(), sampling.name());
+        }
+    }
+
+    /**
+     * Method under test: {@link MonteCarloIntegral#integrate(double, double, double, double, double, double, Sampling, double, long, long, DoubleTernaryPredicate, io.github.simplexdev.polarize.math.function.DoubleTernaryOperator)}
+     */
+    @Test
+    void testStopsAtTargetError()
+    {
+        QuadratureResult random = MonteCarloIntegral.integrate(-1, -1, -1, 1, 1, 1,
+                Sampling.PSEUDO_RANDOM, 1e-2, 1 << 24, 7L, BALL, (x, y, z) -> x * x);
+        QuadratureResult sobol = MonteCarloIntegral.integrate(-1, -1, -1, 1, 1, 1,
+                Sampling.SOBOL, 1e-2, 1 << 24, 7L, BALL, (x, y, z) -> x * x);
+
+        // The integral of x^2 over the unit ball is 4 * pi / 15.
+        double expected = 4 * Math.PI / 15;
+        assertTrue(random.isConverged());
+        assertTrue(sobol.isConverged());
+        assertTrue(random.getEvaluations() < 1 << 24);
+        assertTrue(sobol.getEvaluations() <= random.getEvaluations());
+        assertEquals(expected, random.getValue(), 5e-2);
+        assertEquals(expected, sobol.getValue(), 5e-2);
+    }
+
+    /**
+     * Method under test: {@link MonteCarloIntegral#integrateParallel(IPoint3D, IPoint3D, Sampling, double, long, long, DoubleTernaryPredicate, io.github.simplexdev.polarize.math.function.DoubleTernaryOperator, ForkJoinPool)}
+     */
+    @Test
+    void testParallelMatchesSequential()
+    {
+        IPoint3D origin = Point.fromDouble(-1, -1, -1);
+        IPoint3D destination = Point.fromDouble(1, 1, 1);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try
+        {
+            for (Sampling sampling : Sampling.values())
+            {
+                QuadratureResult sequential = MonteCarloIntegral.integrate(origin, destination,
+                        sampling, 0, 100_000, 3L, BALL, (x, y, z) -> y + 2);
+                QuadratureResult parallel = MonteCarloIntegral.integrateParallel(origin, destination,
+                        sampling, 0, 100_000, 3L, BALL, (x, y, z) -> y + 2, pool);
+
+                assertEquals(sequential.getValue(), parallel.getValue(), sampling.name());
+                assertEquals(sequential.getErrorEstimate(), parallel.getErrorEstimate(), sampling.name());
+            }
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Method under test: {@link MonteCarloIntegral#integrate(double, double, double, double, double, double, Sampling, double, long, long, DoubleTernaryPredicate, io.github.simplexdev.polarize.math.function.DoubleTernaryOperator)}
+     */
+    @Test
+    void testNaNIntegrandIsNotTreatedAsOutside()
+    {
+        for (Sampling sampling : Sampling.values())
+        {
+            QuadratureResult result = MonteCarloIntegral.integrate(-1, -1, -1, 1, 1, 1,
+                    sampling, 0, 1 << 12, 3L, BALL, (x, y, z) -> Double.NaN);
+
+            assertTrue(Double.isNaN(result.getValue()), sampling.name());
+        }
+    }
+
+    /**
+     * Method under test: {@link MonteCarloIntegral#integrate(double, double, double, double, double, double, Sampling, double, long, long, DoubleTernaryPredicate, io.github.simplexdev.polarize.math.function.DoubleTernaryOperator)}
+     */
+    @Test
+    void testQuasiRandomBudgetIsRoundedUp()
+    {
+        QuadratureResult result = MonteCarloIntegral.integrate(-1, -1, -1, 1, 1, 1,
+                Sampling.HALTON, 0, 4096 + 5, 3L, BALL, (x, y, z) -> 1.0);
+
+        assertEquals(4096 + MonteCarloIntegral.REPLICATES, result.getEvaluations());
+    }
+}
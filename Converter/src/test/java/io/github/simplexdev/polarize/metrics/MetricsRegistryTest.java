@@ -0,0 +1,133 @@
+package io.github.simplexdev.polarize.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.simplexdev.polarize.cartesian.CartesianVector;
+import io.github.simplexdev.polarize.polar.Scalar;
+import io.github.simplexdev.polarize.util.Interpolator;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+class MetricsRegistryTest
+{
+    /**
+     * Method under test: {@link Counter#add(long)}
+     */
+    @Test
+    void testDisabledRegistryDropsUpdates()
+    {
+        MetricsRegistry registry = new MetricsRegistry();
+        Counter counter = registry.counter("points");
+        Timer timer = registry.timer("time");
+
+        counter.add(5);
+        timer.stop(timer.start());
+        assertEquals(0L, counter.sum());
+        assertEquals(0L, timer.snapshot().getCount());
+
+        registry.setEnabled(true);
+        counter.add(5);
+        counter.increment();
+        timer.stop(timer.start());
+        assertEquals(6L, registry.counter("points").sum());
+        assertEquals(1L, timer.snapshot().getCount());
+
+        registry.reset();
+        assertEquals(0L, counter.sum());
+    }
+
+    /**
+     * Method under test: {@link Histogram#snapshot()}
+     */
+    @Test
+    void testHistogramPercentiles()
+    {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.setEnabled(true);
+        Histogram histogram = registry.histogram("values");
+        for (long value = 1; value <= 100_000; value++)
+        {
+            histogram.record(value);
+        }
+        HistogramSnapshot snapshot = histogram.snapshot();
+
+        assertEquals(100_000L, snapshot.getCount());
+        assertEquals(100_000L, snapshot.getMax());
+        assertEquals(50_000.5, snapshot.getMean(), 1e-9);
+        assertEquals(50_000.0, snapshot.getP50(), 50_000 * 0.04);
+        assertEquals(99_000.0, snapshot.getP99(), 99_000 * 0.04);
+        assertTrue(snapshot.getP999() <= snapshot.getMax());
+    }
+
+    /**
+     * Method under test: {@link Histogram#bucket(long)}
+     */
+    @Test
+    void testBucketsBoundTheRelativeError()
+    {
+        SplittableRandom random = new SplittableRandom(42L);
+        for (int i = 0; i < 100_000; i++)
+        {
+            long value = random.nextLong(Long.MAX_VALUE) >>> random.nextInt(63);
+            int bucket = Histogram.bucket(value);
+            long highest = Histogram.highestValue(bucket);
+
+            assertTrue(bucket >= 0 && bucket < Histogram.BUCKETS);
+            assertTrue(highest >= value);
+            assertTrue(highest - value <= value / Histogram.SUB_BUCKETS);
+            assertTrue(bucket == 0 || Histogram.highestValue(bucket - 1) < value);
+        }
+        assertEquals(Long.MAX_VALUE, Histogram.highestValue(Histogram.bucket(Long.MAX_VALUE)));
+    }
+
+    /**
+     * Method under test: {@link MetricsRegistry#export()}
+     */
+    @Test
+    void testExport()
+    {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.setEnabled(true);
+        registry.counter("b").add(2);
+        registry.counter("a").add(1);
+        List<MetricsSnapshot> exported = new ArrayList<>();
+        registry.addExporter(snapshot ->
+        {
+            throw new IllegalStateException("Exporter failure.");
+        });
+        registry.addExporter(exported::add);
+
+        registry.export();
+
+        assertEquals(1, exported.size());
+        assertEquals(List.of("a", "b"), new ArrayList<>(exported.get(0).getCounters().keySet()));
+        assertEquals(2L, (long) exported.get(0).getCounters().get("b"));
+    }
+
+    /**
+     * Method under test: {@link Interpolator#sphericalUnit90(io.github.simplexdev.polarize.api.spatial.IScalar, double)}
+     */
+    @Test
+    void testGeneratorsCountTheirPoints()
+    {
+        Metrics.enable();
+        try
+        {
+            long before = Metrics.POINTS_SPHERICAL.sum();
+            int size = Interpolator.sphericalUnit90(new Scalar(1.0, 0.0), 1.0).size();
+            assertEquals(before + size, Metrics.POINTS_SPHERICAL.sum());
+
+            before = Metrics.POINTS_CARTESIAN.sum();
+            size = Interpolator.cartesian90(new CartesianVector(1.0, 2.0, 3.0), 1.0).size();
+            assertEquals(before + size, Metrics.POINTS_CARTESIAN.sum());
+        }
+        finally
+        {
+            Metrics.disable();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package io.github.simplexdev.polarize.voxel;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class VoxelGridTest
+{
+    /**
+     * Method under test: {@link VoxelGrid#addColumn(int, int, int, int)}
+     */
+    @Test
+    void testAddColumnAcrossWordBoundaries()
+    {
+        // A height of 100 makes columns start at every offset within a word and span up to three words.
+        for (int x = 0; x < 3; x++)
+        {
+            for (int z = 0; z < 3; z++)
+            {
+                for (int from = -5; from < 105; from += 7)
+                {
+                    for (int to = from - 1; to < 110; to += 13)
+                    {
+                        VoxelGrid columns = new VoxelGrid(0, 0, 0, 3, 100, 3);
+                        VoxelGrid cells = new VoxelGrid(0, 0, 0, 3, 100, 3);
+                        columns.addColumn(x, z, from, to);
+                        for (int y = from; y <= to; y++)
+                        {
+                            cells.add(x, y, z);
+                        }
+                        assertSameCells(cells, columns);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Method under test: {@link VoxelGrid#addColumn(int, int, int, int)}
+     */
+    @Test
+    void testAddColumnKeepsNeighbouringColumns()
+    {
+        VoxelGrid grid = new VoxelGrid(-2, 10, -2, 4, 64, 4);
+        grid.addColumn(-1, 0, 10, 73);
+        grid.addColumn(-1, 1, 20, 30);
+        grid.addColumn(-1, -1, 70, 80);
+
+        assertEquals(64 + 11 + 4, grid.cardinality());
+        assertTrue(grid.contains(-1, 73, 0));
+        assertFalse(grid.contains(-1, 19, 1));
+        assertTrue(grid.contains(-1, 73, -1));
+        assertFalse(grid.contains(-1, 74, -1));
+        assertFalse(grid.contains(0, 10, 0));
+    }
+
+    /**
+     * Method under test: {@link VoxelGrid#add(int, int, int)}
+     */
+    @Test
+    void testAddAndRemove()
+    {
+        VoxelGrid grid = new VoxelGrid(-4, -4, -4, 8, 8, 8);
+
+        assertTrue(grid.add(-4, 3, 0));
+        assertFalse(grid.add(-4, 3, 0));
+        assertFalse(grid.add(4, 0, 0));
+        assertEquals(1, grid.cardinality());
+        assertTrue(grid.remove(-4, 3, 0));
+        assertFalse(grid.remove(-4, 3, 0));
+        assertTrue(grid.isEmpty());
+    }
+
+    private static void assertSameCells(VoxelGrid expected, VoxelGrid actual)
+    {
+        assertEquals(expected.cardinality(), actual.cardinality());
+        expected.forEach((x, y, z) ->
+        {
+            assertTrue(actual.contains(x, y, z));
+            return true;
+        });
+    }
+}
@@ -0,0 +1,84 @@
+package io.github.simplexdev.polarize.voxel;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class VoxelSetTest
+{
+    /**
+     * Method under test: {@link VoxelSet#union(VoxelSet)}, {@link VoxelSet#intersection(VoxelSet)},
+     * {@link VoxelSet#difference(VoxelSet)} and {@link VoxelSet#xor(VoxelSet)}
+     */
+    @Test
+    void testSetOperationsMatchGrid()
+    {
+        VoxelSet sphere = new VoxelSet();
+        Voxelizer.sphere(sphere, -3.5, 60.2, 7.1, 12.0);
+        VoxelSet cylinder = new VoxelSet();
+        Voxelizer.cylinder(cylinder, 4.0, 50.0, 2.0, 6.5, 30.0);
+
+        VoxelSet union = sphere.union(cylinder);
+        VoxelSet intersection = sphere.intersection(cylinder);
+        VoxelSet difference = sphere.difference(cylinder);
+        VoxelSet xor = sphere.xor(cylinder);
+
+        // The same shapes rasterized into dense grids serve as the reference for each set.
+        VoxelGrid sphereGrid = new VoxelGrid(-20, 40, -10, 36, 46, 36);
+        Voxelizer.sphere(sphereGrid, -3.5, 60.2, 7.1, 12.0);
+        VoxelGrid cylinderGrid = new VoxelGrid(-20, 40, -10, 36, 46, 36);
+        Voxelizer.cylinder(cylinderGrid, 4.0, 50.0, 2.0, 6.5, 30.0);
+        assertEquals(sphereGrid.cardinality(), sphere.cardinality());
+        assertEquals(cylinderGrid.cardinality(), cylinder.cardinality());
+
+        assertEquals(sphere.cardinality() + cylinder.cardinality(), union.cardinality() + intersection.cardinality());
+        assertEquals(sphere.cardinality() - intersection.cardinality(), difference.cardinality());
+        assertEquals(union.cardinality() - intersection.cardinality(), xor.cardinality());
+
+        for (int x = -20; x <= 15; x++)
+        {
+            for (int y = 40; y <= 85; y++)
+            {
+                for (int z = -10; z <= 25; z++)
+                {
+                    boolean a = sphereGrid.contains(x, y, z);
+                    boolean b = cylinderGrid.contains(x, y, z);
+                    assertEquals(a, sphere.contains(x, y, z));
+                    assertEquals(b, cylinder.contains(x, y, z));
+                    assertEquals(a || b, union.contains(x, y, z));
+                    assertEquals(a && b, intersection.contains(x, y, z));
+                    assertEquals(a && !b, difference.contains(x, y, z));
+                    assertEquals(a != b, xor.contains(x, y, z));
+                }
+            }
+        }
+    }
+
+    /**
+     * Method under test: {@link VoxelSet#getMinX()} and the other bounds
+     */
+    @Test
+    void testBoundsAndRemoval()
+    {
+        VoxelSet set = new VoxelSet();
+        assertTrue(set.add(-17, 3, 40));
+        assertTrue(set.add(5, -70, 2));
+        set.addColumn(9, -33, 10, 45);
+        assertFalse(set.add(9, 20, -33));
+
+        assertEquals(2 + 36, set.cardinality());
+        assertEquals(-17, set.getMinX());
+        assertEquals(9, set.getMaxX());
+        assertEquals(-70, set.getMinY());
+        assertEquals(45, set.getMaxY());
+        assertEquals(-33, set.getMinZ());
+        assertEquals(40, set.getMaxZ());
+
+        assertTrue(set.remove(-17, 3, 40));
+        assertFalse(set.contains(-17, 3, 40));
+        assertEquals(5, set.getMinX());
+        assertEquals(2, set.getMaxZ());
+    }
+}
@@ -0,0 +1,81 @@
+package io.github.simplexdev.polarize.voxel;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class VoxelTraversalTest
+{
+    /**
+     * Method under test: {@link VoxelTraversal#traverse(double, double, double, double, double, double, VoxelVisitor)}
+     */
+    @Test
+    void testSegmentVisitsConnectedCells()
+    {
+        List<int[]> cells = new ArrayList<>();
+        int visited = VoxelTraversal.traverse(2.5, 6.2, 5.7, 10.1, 6.9, -15.3, (x, y, z) -> cells.add(new int[]{x, y, z}));
+
+        // One cell per boundary crossed on each axis, plus the starting cell.
+        assertEquals(8 + 0 + 21 + 1, visited);
+        assertEquals(visited, cells.size());
+
+        int[] first = cells.get(0);
+        int[] last = cells.get(cells.size() - 1);
+        assertEquals(2, first[0]);
+        assertEquals(6, first[1]);
+        assertEquals(5, first[2]);
+        assertEquals(10, last[0]);
+        assertEquals(6, last[1]);
+        assertEquals(-16, last[2]);
+
+        for (int i = 1; i < cells.size(); i++)
+        {
+            int[] a = cells.get(i - 1);
+            int[] b = cells.get(i);
+            int distance = Math.abs(a[0] - b[0]) + Math.abs(a[1] - b[1]) + Math.abs(a[2] - b[2]);
+            assertEquals(1, distance, "cells must share a face");
+        }
+    }
+
+    /**
+     * Method under test: {@link VoxelTraversal#traverse(double, double, double, double, double, double, double, VoxelVisitor)}
+     */
+    @Test
+    void testRayStopsAtMaxDistanceAndVisitor()
+    {
+        int visited = VoxelTraversal.traverse(0.5, 0.5, 0.5, 1, 0, 0, 10.0, (x, y, z) -> true);
+        // Cells 0 through 10 are entered within 10 units of travel.
+        assertEquals(11, visited);
+
+        int stopped = VoxelTraversal.traverse(0.5, 0.5, 0.5, 1, 1, 1, 100.0, (x, y, z) -> x < 3);
+        assertTrue(stopped > 1);
+        assertTrue(stopped < 20);
+    }
+
+    /**
+     * Method under test: {@link VoxelTraversal#next()}
+     */
+    @Test
+    void testCursorMatchesVisitor()
+    {
+        List<int[]> expected = new ArrayList<>();
+        VoxelTraversal.traverse(-3.2, 1.1, 4.4, 7.9, -2.6, 0.3, (x, y, z) -> expected.add(new int[]{x, y, z}));
+
+        VoxelTraversal cursor = new VoxelTraversal().segment(-3.2, 1.1, 4.4, 7.9, -2.6, 0.3);
+        int index = 0;
+        while (cursor.next())
+        {
+            int[] cell = expected.get(index++);
+            assertEquals(cell[0], cursor.getX());
+            assertEquals(cell[1], cursor.getY());
+            assertEquals(cell[2], cursor.getZ());
+        }
+        assertEquals(expected.size(), index);
+        assertFalse(cursor.next());
+    }
+}
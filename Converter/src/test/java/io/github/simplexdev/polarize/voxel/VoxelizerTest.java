@@ -0,0 +1,113 @@
+package io.github.simplexdev.polarize.voxel;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+class VoxelizerTest
+{
+    private static final double CX = 3.3;
+    private static final double CY = 20.6;
+    private static final double CZ = -4.8;
+
+    /**
+     * Method under test: {@link Voxelizer#sphere(VoxelTarget, double, double, double, double)}
+     */
+    @Test
+    void testSphereMatchesCellCentres()
+    {
+        for (double radius : new double[]{0.4, 1.7, 5.25, 9.9})
+        {
+            VoxelGrid grid = grid();
+            Voxelizer.sphere(grid, CX, CY, CZ, radius);
+
+            assertMatches(grid, (x, y, z) -> distanceSquared(x, y, z) <= radius * radius);
+        }
+    }
+
+    /**
+     * Method under test: {@link Voxelizer#shell(VoxelTarget, double, double, double, double, double)}
+     */
+    @Test
+    void testShellMatchesCellCentres()
+    {
+        for (double thickness : new double[]{0.6, 1.0, 2.3, 20.0})
+        {
+            double radius = 8.7;
+            double inner = radius - thickness;
+            VoxelGrid grid = grid();
+            Voxelizer.shell(grid, CX, CY, CZ, radius, thickness);
+
+            assertMatches(grid, (x, y, z) ->
+            {
+                double d = distanceSquared(x, y, z);
+                return d <= radius * radius && (inner <= 0.0 || d > inner * inner);
+            });
+        }
+    }
+
+    /**
+     * Method under test: {@link Voxelizer#cylinder(VoxelTarget, double, double, double, double, double, double)}
+     */
+    @Test
+    void testCylinderMatchesCellCentres()
+    {
+        double radius = 6.4;
+        double height = 11.2;
+        for (double thickness : new double[]{1.5, radius})
+        {
+            double inner = radius - thickness;
+            VoxelGrid grid = grid();
+            Voxelizer.cylinder(grid, CX, CY, CZ, radius, height, thickness);
+
+            assertMatches(grid, (x, y, z) ->
+            {
+                double dx = x + 0.5 - CX;
+                double dz = z + 0.5 - CZ;
+                double planar = dx * dx + dz * dz;
+                double centre = y + 0.5;
+                return centre >= CY && centre <= CY + height
+                        && planar <= radius * radius && (inner <= 0.0 || planar > inner * inner);
+            });
+        }
+    }
+
+    private static VoxelGrid grid()
+    {
+        return new VoxelGrid(-20, 0, -25, 45, 45, 45);
+    }
+
+    private static double distanceSquared(int x, int y, int z)
+    {
+        double dx = x + 0.5 - CX;
+        double dy = y + 0.5 - CY;
+        double dz = z + 0.5 - CZ;
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    private static void assertMatches(VoxelGrid grid, CellPredicate expected)
+    {
+        int count = 0;
+        for (int x = grid.getMinX(); x < grid.getMinX() + grid.getSizeX(); x++)
+        {
+            for (int y = grid.getMinY(); y < grid.getMinY() + grid.getSizeY(); y++)
+            {
+                for (int z = grid.getMinZ(); z < grid.getMinZ() + grid.getSizeZ(); z++)
+                {
+                    boolean inside = expected.test(x, y, z);
+                    assertEquals(inside, grid.contains(x, y, z), "Cell " + x + ", " + y + ", " + z);
+                    if (inside)
+                    {
+                        count++;
+                    }
+                }
+            }
+        }
+        assertEquals(count, grid.cardinality());
+    }
+
+    private interface CellPredicate
+    {
+        boolean test(int x, int y, int z);
+    }
+}